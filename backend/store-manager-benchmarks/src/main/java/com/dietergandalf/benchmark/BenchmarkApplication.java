@@ -0,0 +1,38 @@
+package com.dietergandalf.benchmark;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.servlet.UserDetailsServiceAutoConfiguration;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+/**
+ * Boots the persistence and service layers of the store manager against in-memory H2,
+ * without controllers, security or a web server.
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration(exclude = {
+    SecurityAutoConfiguration.class,
+    UserDetailsServiceAutoConfiguration.class
+})
+@EntityScan("com.dietergandalf.store_manager.model")
+@EnableJpaRepositories("com.dietergandalf.store_manager.repository")
+@ComponentScan({
+    "com.dietergandalf.store_manager.analytics",
+    "com.dietergandalf.store_manager.service",
+    "com.dietergandalf.store_manager.util",
+    "com.dietergandalf.store_manager.cache",
+    "com.dietergandalf.store_manager.outbox",
+    "com.dietergandalf.store_manager.payment",
+    "com.dietergandalf.store_manager.search"
+})
+public class BenchmarkApplication {
+
+    public static ConfigurableApplicationContext start(String... args) {
+        return SpringApplication.run(BenchmarkApplication.class, args);
+    }
+}
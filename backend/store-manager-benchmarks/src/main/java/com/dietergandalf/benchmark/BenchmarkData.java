@@ -0,0 +1,55 @@
+package com.dietergandalf.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.dietergandalf.store_manager.dto.CreateProductRequestDto;
+import com.dietergandalf.store_manager.dto.RegisterRequestDto;
+import com.dietergandalf.store_manager.service.CustomerService;
+import com.dietergandalf.store_manager.service.SellerService;
+
+/**
+ * Seeds benchmark data through the public service API so it goes through the same code paths as the application.
+ */
+final class BenchmarkData {
+
+    // Large enough that no benchmark run can exhaust a product
+    static final int UNLIMITED_STOCK = 100_000_000;
+
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    private BenchmarkData() {
+    }
+
+    static Long createCustomer(CustomerService customerService) {
+        return customerService.createCustomer(registerRequest("customer")).getPersonId();
+    }
+
+    static List<Long> createProducts(SellerService sellerService, int count) {
+        Long sellerId = sellerService.createSeller(registerRequest("seller")).getPersonId();
+        List<Long> productStockIds = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            CreateProductRequestDto request = CreateProductRequestDto.builder()
+                    .name("Benchmark Product " + i)
+                    .description("Product used by the JMH benchmarks")
+                    .price(1.0 + i % 50)
+                    .initialStock(UNLIMITED_STOCK)
+                    .build();
+            productStockIds.add(sellerService.addProduct(sellerId, request).getProductStockId());
+        }
+        return productStockIds;
+    }
+
+    private static RegisterRequestDto registerRequest(String role) {
+        long id = SEQUENCE.incrementAndGet();
+        return RegisterRequestDto.builder()
+                .firstName("Bench")
+                .lastName(role + id)
+                .email(role + id + "@benchmark.local")
+                .password("benchmark")
+                .phoneNumber("0000000000")
+                .dateOfBirth("1990-01-01")
+                .build();
+    }
+}
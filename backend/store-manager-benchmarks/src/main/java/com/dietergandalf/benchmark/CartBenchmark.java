@@ -0,0 +1,81 @@
+package com.dietergandalf.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.dietergandalf.store_manager.dto.AddToCartRequestDto;
+import com.dietergandalf.store_manager.dto.CartUpdateDto;
+import com.dietergandalf.store_manager.dto.ShoppingCartDto;
+import com.dietergandalf.store_manager.service.CustomerService;
+import com.dietergandalf.store_manager.service.SellerService;
+
+/**
+ * Cart mutation and cart read latency for a customer whose cart holds {@code cartLines} distinct products.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CartBenchmark {
+
+    @Param({"1", "10", "50"})
+    private int cartLines;
+
+    private ConfigurableApplicationContext context;
+    private CustomerService customerService;
+    private TransactionTemplate readTransaction;
+
+    private Long customerId;
+    private List<Long> productStockIds;
+    private int nextProduct;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        customerService = context.getBean(CustomerService.class);
+        readTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readTransaction.setReadOnly(true);
+
+        customerId = BenchmarkData.createCustomer(customerService);
+        productStockIds = BenchmarkData.createProducts(context.getBean(SellerService.class), cartLines);
+        for (Long productStockId : productStockIds) {
+            customerService.addToCart(customerId, AddToCartRequestDto.builder().productStockId(productStockId).quantity(1).build());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public CartUpdateDto addToCart() {
+        Long productStockId = productStockIds.get(nextProduct++ % productStockIds.size());
+        return customerService.addToCart(customerId, AddToCartRequestDto.builder().productStockId(productStockId).quantity(1).build());
+    }
+
+    @Benchmark
+    public ShoppingCartDto getCart() {
+        // The application reads the cart inside the request's open session; mirror that with a read-only transaction
+        return readTransaction.execute(status -> customerService.getCart(customerId));
+    }
+}
@@ -0,0 +1,117 @@
+package com.dietergandalf.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.dietergandalf.store_manager.dto.AddToCartRequestDto;
+import com.dietergandalf.store_manager.dto.CheckoutRequestDto;
+import com.dietergandalf.store_manager.dto.OrderDto;
+import com.dietergandalf.store_manager.service.CustomerService;
+import com.dietergandalf.store_manager.service.OrderService;
+import com.dietergandalf.store_manager.service.SellerService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * End-to-end checkout latency for a cart of {@code cartLines} lines. The cart is refilled before every
+ * invocation, outside the measured region.
+ *
+ * Runs with JDBC batching on ({@code jdbcBatchSize=50}) and off ({@code 1}) and reports the JDBC statements
+ * each checkout prepared, so the round trips saved by batched inserts show up next to the latency.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CheckoutBenchmark {
+
+    @Param({"1", "10", "50"})
+    private int cartLines;
+
+    @Param({"50", "1"})
+    private int jdbcBatchSize;
+
+    private ConfigurableApplicationContext context;
+    private CustomerService customerService;
+    private OrderService orderService;
+    private Statistics statistics;
+
+    private Long customerId;
+    private List<Long> productStockIds;
+    private CheckoutRequestDto checkoutRequest;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class JdbcStatements {
+        public long statements;
+        public long checkouts;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            statements = 0;
+            checkouts = 0;
+        }
+
+        // JMH reports EVENTS counters per iteration, so expose the per-checkout average directly
+        public double statementsPerCheckout() {
+            return checkouts == 0 ? 0 : (double) statements / checkouts;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("--spring.jpa.properties.hibernate.jdbc.batch_size=" + jdbcBatchSize);
+        customerService = context.getBean(CustomerService.class);
+        orderService = context.getBean(OrderService.class);
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+
+        customerId = BenchmarkData.createCustomer(customerService);
+        productStockIds = BenchmarkData.createProducts(context.getBean(SellerService.class), cartLines);
+        checkoutRequest = CheckoutRequestDto.builder()
+                .shippingAddress("Main Street 1, 1000 Vienna")
+                .billingAddress("Main Street 1, 1000 Vienna")
+                .paymentMethod("CREDIT_CARD")
+                .build();
+    }
+
+    @Setup(Level.Invocation)
+    public void fillCart() {
+        for (Long productStockId : productStockIds) {
+            customerService.addToCart(customerId, AddToCartRequestDto.builder().productStockId(productStockId).quantity(1).build());
+        }
+        statistics.clear();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public OrderDto checkout(JdbcStatements counters) {
+        OrderDto order = orderService.checkout(customerId, checkoutRequest);
+        counters.statements += statistics.getPrepareStatementCount();
+        counters.checkouts++;
+        return order;
+    }
+}
@@ -0,0 +1,111 @@
+package com.dietergandalf.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.dietergandalf.store_manager.StoreManagerApplication;
+import com.dietergandalf.store_manager.service.CustomerService;
+import com.dietergandalf.store_manager.service.SellerService;
+
+/**
+ * End-to-end request throughput of the catalog and cart endpoints with platform versus virtual request threads.
+ * The full application runs on a random port; each JMH client thread drives their own customer over HTTP.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(64)
+@Fork(1)
+public class HttpLoadBenchmark {
+
+    private static final int CATALOG_PRODUCTS = 200;
+
+    @Param({"false", "true"})
+    private boolean virtualThreads;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private String baseUrl;
+    private List<Long> productStockIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = SpringApplication.run(StoreManagerApplication.class,
+                "--spring.main.web-application-type=servlet",
+                "--server.port=0",
+                // The application serves requests with an open session; keep the lazy loading behaviour identical
+                "--spring.jpa.open-in-view=true",
+                "--spring.datasource.hikari.maximum-pool-size=10",
+                "--spring.threads.virtual.enabled=" + virtualThreads);
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api";
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        productStockIds = BenchmarkData.createProducts(context.getBean(SellerService.class), CATALOG_PRODUCTS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        httpClient.close();
+        context.close();
+    }
+
+    @State(Scope.Thread)
+    public static class Client {
+
+        private Long customerId;
+        private int nextProduct;
+
+        @Setup(Level.Trial)
+        public void setUp(HttpLoadBenchmark benchmark) {
+            customerId = BenchmarkData.createCustomer(benchmark.context.getBean(CustomerService.class));
+            nextProduct = (int) (customerId % CATALOG_PRODUCTS);
+        }
+    }
+
+    @Benchmark
+    public int catalogPage() throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + "/customers/products?size=20&sort=PRICE")).GET().build());
+    }
+
+    @Benchmark
+    public int addToCart(Client client) throws IOException, InterruptedException {
+        Long productStockId = productStockIds.get(client.nextProduct++ % productStockIds.size());
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/customers/" + client.customerId + "/cart"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"productStockId\":" + productStockId + ",\"quantity\":1}"))
+                .build();
+        return send(request);
+    }
+
+    private int send(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+        // A 503 from the pool guard is a shed request, not completed work; fail loudly instead of counting it
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException("Unexpected status " + response.statusCode() + " from " + request.uri());
+        }
+        return response.statusCode();
+    }
+}
@@ -0,0 +1,172 @@
+package com.dietergandalf.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import com.dietergandalf.store_manager.dto.CustomerDto;
+import com.dietergandalf.store_manager.dto.OrderDto;
+import com.dietergandalf.store_manager.dto.ProductStockDto;
+import com.dietergandalf.store_manager.model.Address;
+import com.dietergandalf.store_manager.model.Customer;
+import com.dietergandalf.store_manager.model.Order;
+import com.dietergandalf.store_manager.model.OrderItem;
+import com.dietergandalf.store_manager.model.OrderStatus;
+import com.dietergandalf.store_manager.model.Product;
+import com.dietergandalf.store_manager.model.ProductStock;
+import com.dietergandalf.store_manager.model.Seller;
+import com.dietergandalf.store_manager.model.ShoppingCart;
+import com.dietergandalf.store_manager.util.CustomerMapper;
+import com.dietergandalf.store_manager.util.OrderMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.dietergandalf.store_manager.util.ProductMapper;
+
+/**
+ * Throughput of the entity-to-DTO list mappers on detached, fully initialised entity graphs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+    private static final int ITEMS_PER_ORDER = 3;
+
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    private AnnotationConfigApplicationContext mapperContext;
+    private CustomerMapper customerMapper;
+    private ProductMapper productMapper;
+    private OrderMapper orderMapper;
+
+    private List<Customer> customers;
+    private List<ProductStock> productStocks;
+    private List<Order> orders;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // The mappers use field injection, so wire them in a bare context rather than by hand
+        mapperContext = new AnnotationConfigApplicationContext();
+        mapperContext.registerBean(ObjectMapper.class);
+        mapperContext.scan("com.dietergandalf.store_manager.util");
+        mapperContext.refresh();
+        customerMapper = mapperContext.getBean(CustomerMapper.class);
+        productMapper = mapperContext.getBean(ProductMapper.class);
+        orderMapper = mapperContext.getBean(OrderMapper.class);
+
+        Seller seller = new Seller();
+        seller.setPerson_id(1L);
+        seller.setFirst_name("Bench");
+        seller.setLast_name("Seller");
+
+        customers = new ArrayList<>(size);
+        productStocks = new ArrayList<>(size);
+        orders = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Customer customer = customer(i);
+            customers.add(customer);
+            productStocks.add(productStock(i, seller));
+        }
+        for (int i = 0; i < size; i++) {
+            orders.add(order(i, customers.get(i)));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        mapperContext.close();
+    }
+
+    @Benchmark
+    public List<CustomerDto> customerToDtoList() {
+        return customerMapper.toDtoList(customers);
+    }
+
+    @Benchmark
+    public List<ProductStockDto> productStockToDtoList() {
+        return productMapper.toStockDtoList(productStocks);
+    }
+
+    @Benchmark
+    public List<OrderDto> orderToDtoList() {
+        return orderMapper.toDtoList(orders);
+    }
+
+    private Customer customer(int i) {
+        Customer customer = new Customer();
+        customer.setPerson_id((long) i);
+        customer.setFirst_name("Customer");
+        customer.setLast_name(String.valueOf(i));
+        customer.setEmail("customer" + i + "@benchmark.local");
+        customer.setPhone_number("0000000000");
+        customer.setDate_of_birth("1990-01-01");
+        customer.setAddress(new Address("Main Street " + i, "1000", "Vienna", "Vienna", "Austria"));
+        ShoppingCart cart = new ShoppingCart();
+        cart.setCart_id((long) i);
+        customer.setCart(cart);
+        return customer;
+    }
+
+    private ProductStock productStock(int i, Seller seller) {
+        Product product = new Product();
+        product.setProduct_id(i);
+        product.setName("Product " + i);
+        product.setDescription("Description of product " + i);
+        product.setPrice(1.0 + i % 50);
+
+        ProductStock productStock = new ProductStock();
+        productStock.setProduct_stock_id(i);
+        productStock.setProduct(product);
+        productStock.setSeller(seller);
+        productStock.setAmount(100);
+        return productStock;
+    }
+
+    private Order order(int i, Customer customer) {
+        Order order = new Order();
+        order.setOrderId((long) i);
+        order.setCustomer(customer);
+        order.setOrderDate(LocalDateTime.now());
+        order.setStatus(OrderStatus.CONFIRMED);
+        order.setPaymentStatus("CONFIRMED");
+        order.setPaymentMethod("CREDIT_CARD");
+        order.setShippingAddress("Main Street " + i);
+        order.setBillingAddress("Main Street " + i);
+
+        List<OrderItem> orderItems = new ArrayList<>(ITEMS_PER_ORDER);
+        double totalAmount = 0;
+        for (int j = 0; j < ITEMS_PER_ORDER; j++) {
+            ProductStock productStock = productStocks.get((i + j) % productStocks.size());
+            OrderItem orderItem = new OrderItem();
+            orderItem.setOrderItemId((long) i * ITEMS_PER_ORDER + j);
+            orderItem.setOrder(order);
+            orderItem.setProductStock(productStock);
+            orderItem.setQuantity(j + 1);
+            orderItem.setPriceAtTimeOfOrder(productStock.getProduct().getPrice());
+            orderItems.add(orderItem);
+            totalAmount += orderItem.getQuantity() * orderItem.getPriceAtTimeOfOrder();
+        }
+        order.setOrderItems(orderItems);
+        order.setTotalAmount(totalAmount);
+        return order;
+    }
+}
@@ -0,0 +1,97 @@
+package com.dietergandalf.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.dietergandalf.store_manager.dto.CreateProductRequestDto;
+import com.dietergandalf.store_manager.dto.ProductSearchPageDto;
+import com.dietergandalf.store_manager.dto.RegisterRequestDto;
+import com.dietergandalf.store_manager.search.ProductSearchIndex;
+import com.dietergandalf.store_manager.service.CustomerService;
+import com.dietergandalf.store_manager.service.SellerService;
+
+/**
+ * Product search latency over a catalog of {@code catalogSize} products with varied names: the in-memory index
+ * lookup alone and the full first page through {@link CustomerService#searchProducts}. The queries mix exact
+ * words, prefixes and typos. Sample mode reports percentiles to hold against the targets in the README.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchBenchmark {
+
+    private static final String[] ADJECTIVES = {
+        "Oak", "Walnut", "Brass", "Linen", "Ceramic", "Vintage", "Compact", "Folding", "Woolen", "Glass",
+        "Copper", "Rustic", "Modern", "Velvet", "Bamboo", "Marble", "Leather", "Cotton", "Steel", "Wicker"
+    };
+    private static final String[] NOUNS = {
+        "Lamp", "Table", "Chair", "Vase", "Shelf", "Mirror", "Rug", "Blanket", "Kettle", "Clock",
+        "Basket", "Bench", "Cushion", "Stool", "Lantern", "Tray", "Bowl", "Desk", "Curtain", "Planter"
+    };
+    private static final String[] QUERIES = {
+        "lamp", "oak table", "cer", "mirorr", "walnut desk", "vintage clok", "linen cushion", "ba"
+    };
+
+    @Param({"1000", "10000"})
+    private int catalogSize;
+
+    private ConfigurableApplicationContext context;
+    private CustomerService customerService;
+    private ProductSearchIndex productSearchIndex;
+    private int nextQuery;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        customerService = context.getBean(CustomerService.class);
+        productSearchIndex = context.getBean(ProductSearchIndex.class);
+
+        SellerService sellerService = context.getBean(SellerService.class);
+        Long sellerId = sellerService.createSeller(RegisterRequestDto.builder()
+                .firstName("Bench").lastName("Search").email("search-seller@benchmark.local")
+                .password("benchmark").phoneNumber("0000000000").dateOfBirth("1990-01-01").build()).getPersonId();
+        for (int i = 0; i < catalogSize; i++) {
+            String adjective = ADJECTIVES[i % ADJECTIVES.length];
+            String noun = NOUNS[(i / ADJECTIVES.length) % NOUNS.length];
+            sellerService.addProduct(sellerId, CreateProductRequestDto.builder()
+                    .name(adjective + " " + noun + " " + i)
+                    .description("A " + adjective.toLowerCase() + " " + noun.toLowerCase() + " for the home, model " + i)
+                    .price(1.0 + i % 50)
+                    .initialStock(BenchmarkData.UNLIMITED_STOCK)
+                    .build());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Long> indexSearch() {
+        return productSearchIndex.search(QUERIES[nextQuery++ % QUERIES.length]);
+    }
+
+    @Benchmark
+    public ProductSearchPageDto searchProducts() {
+        return customerService.searchProducts(QUERIES[nextQuery++ % QUERIES.length], 0, 20);
+    }
+}
@@ -0,0 +1,207 @@
+package com.dietergandalf.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.dietergandalf.store_manager.dto.ApiResponseDto;
+import com.dietergandalf.store_manager.dto.CatalogPageDto;
+import com.dietergandalf.store_manager.dto.CatalogSort;
+import com.dietergandalf.store_manager.dto.OrderDto;
+import com.dietergandalf.store_manager.dto.OrderItemDto;
+import com.dietergandalf.store_manager.dto.ProductDto;
+import com.dietergandalf.store_manager.dto.ProductStockDto;
+import com.dietergandalf.store_manager.model.OrderStatus;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Serialization cost and payload size of catalog pages and order listings in each wire format: JSON or CBOR,
+ * plain or gzipped as the server sends them. {@code bytesPerPayload} is the encoded size of one response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    private static final int ITEMS_PER_ORDER = 3;
+    private static final TypeReference<ApiResponseDto<List<OrderDto>>> ORDER_LISTING = new TypeReference<>() {
+    };
+
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    @Param({"json", "cbor"})
+    private String format;
+
+    @Param({"false", "true"})
+    private boolean gzip;
+
+    private ObjectMapper objectMapper;
+    private CatalogPageDto catalogPage;
+    private ApiResponseDto<List<OrderDto>> orderListing;
+    private byte[] encodedCatalogPage;
+    private byte[] encodedOrderListing;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PayloadSize {
+        public long bytes;
+        public long payloads;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytes = 0;
+            payloads = 0;
+        }
+
+        // JMH reports EVENTS counters per iteration, so expose the per-payload average directly
+        public double bytesPerPayload() {
+            return payloads == 0 ? 0 : (double) bytes / payloads;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        // The same builder settings the application's JSON and CBOR converters start from
+        objectMapper = "cbor".equals(format)
+                ? Jackson2ObjectMapperBuilder.cbor().build()
+                : Jackson2ObjectMapperBuilder.json().build();
+
+        List<ProductStockDto> productStocks = new ArrayList<>(size);
+        List<OrderDto> orders = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            productStocks.add(productStock(i));
+        }
+        for (int i = 0; i < size; i++) {
+            orders.add(order(i, productStocks));
+        }
+        catalogPage = CatalogPageDto.builder()
+                .items(productStocks)
+                .size(size)
+                .sort(CatalogSort.ID)
+                .nextCursor("eyJpZCI6MTAwMH0")
+                .hasMore(true)
+                .build();
+        orderListing = ApiResponseDto.success(orders, "Orders retrieved");
+
+        encodedCatalogPage = encode(catalogPage);
+        encodedOrderListing = encode(orderListing);
+    }
+
+    @Benchmark
+    public byte[] writeCatalogPage(PayloadSize counters) throws IOException {
+        return count(encode(catalogPage), counters);
+    }
+
+    @Benchmark
+    public CatalogPageDto readCatalogPage() throws IOException {
+        try (InputStream in = decoding(encodedCatalogPage)) {
+            return objectMapper.readValue(in, CatalogPageDto.class);
+        }
+    }
+
+    @Benchmark
+    public byte[] writeOrderListing(PayloadSize counters) throws IOException {
+        return count(encode(orderListing), counters);
+    }
+
+    @Benchmark
+    public ApiResponseDto<List<OrderDto>> readOrderListing() throws IOException {
+        try (InputStream in = decoding(encodedOrderListing)) {
+            return objectMapper.readValue(in, ORDER_LISTING);
+        }
+    }
+
+    private byte[] encode(Object value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = gzip ? new GZIPOutputStream(bytes) : bytes) {
+            objectMapper.writeValue(out, value);
+        }
+        return bytes.toByteArray();
+    }
+
+    private InputStream decoding(byte[] encoded) throws IOException {
+        InputStream in = new ByteArrayInputStream(encoded);
+        return gzip ? new GZIPInputStream(in) : in;
+    }
+
+    private static byte[] count(byte[] payload, PayloadSize counters) {
+        counters.bytes += payload.length;
+        counters.payloads++;
+        return payload;
+    }
+
+    private static ProductStockDto productStock(int i) {
+        return ProductStockDto.builder()
+                .productStockId((long) i)
+                .product(ProductDto.builder()
+                        .productId((long) i)
+                        .name("Product " + i)
+                        .description("Description of product " + i)
+                        .price(1.0 + i % 50)
+                        .build())
+                .sellerId(1L + i % 20)
+                .sellerName("Bench Seller " + i % 20)
+                .amount(100)
+                .build();
+    }
+
+    private static OrderDto order(int i, List<ProductStockDto> productStocks) {
+        List<OrderItemDto> orderItems = new ArrayList<>(ITEMS_PER_ORDER);
+        double totalAmount = 0;
+        for (int j = 0; j < ITEMS_PER_ORDER; j++) {
+            ProductStockDto productStock = productStocks.get((i + j) % productStocks.size());
+            double price = productStock.getProduct().getPrice();
+            orderItems.add(OrderItemDto.builder()
+                    .orderItemId((long) i * ITEMS_PER_ORDER + j)
+                    .productStockId(productStock.getProductStockId())
+                    .productName(productStock.getProduct().getName())
+                    .productDescription(productStock.getProduct().getDescription())
+                    .priceAtTimeOfOrder(price)
+                    .quantity(j + 1)
+                    .totalPrice(price * (j + 1))
+                    .build());
+            totalAmount += price * (j + 1);
+        }
+        return OrderDto.builder()
+                .orderId((long) i)
+                .customerId((long) i)
+                .customerName("Customer " + i)
+                .orderItems(orderItems)
+                .orderDate(LocalDateTime.of(2025, 1, 1, 12, 0).plusMinutes(i))
+                .totalAmount(totalAmount)
+                .shippingAddress("Main Street " + i + ", 1000 Vienna")
+                .billingAddress("Main Street " + i + ", 1000 Vienna")
+                .paymentMethod("CREDIT_CARD")
+                .paymentStatus("CONFIRMED")
+                .status(OrderStatus.CONFIRMED)
+                .build();
+    }
+}
@@ -0,0 +1,44 @@
+package com.dietergandalf.store_manager.analytics;
+
+/**
+ * Count-min sketch over long keys: a fixed {@code depth x width} table of counters, one hashed counter per row
+ * for every key. An estimate is the smallest of a key's counters, so it never undercounts and overcounts by
+ * at most {@code e / width} of all counted units with probability {@code 1 - e^-depth}.
+ *
+ * Not thread-safe; callers synchronize.
+ */
+public final class CountMinSketch {
+    private final int width;
+    private final long[][] counters;
+
+    public CountMinSketch(int depth, int width) {
+        if (depth < 1 || width < 1) {
+            throw new IllegalArgumentException("Sketch depth and width must be positive");
+        }
+        this.width = width;
+        this.counters = new long[depth][width];
+    }
+
+    public void add(long key, long count) {
+        for (int row = 0; row < counters.length; row++) {
+            counters[row][index(key, row)] += count;
+        }
+    }
+
+    public long estimate(long key) {
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < counters.length; row++) {
+            estimate = Math.min(estimate, counters[row][index(key, row)]);
+        }
+        return estimate;
+    }
+
+    private int index(long key, int row) {
+        // SplitMix64 finalizer with a different seed per row, so rows collide independently
+        long h = key + 0x9E3779B97F4A7C15L * (row + 1);
+        h = (h ^ (h >>> 30)) * 0xBF58476D1CE4E5B9L;
+        h = (h ^ (h >>> 27)) * 0x94D049BB133111EBL;
+        h ^= h >>> 31;
+        return (int) Math.floorMod(h, (long) width);
+    }
+}
@@ -0,0 +1,169 @@
+package com.dietergandalf.store_manager.analytics;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.hibernate.Session;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.dietergandalf.store_manager.dto.OrderSalesLineDto;
+import com.dietergandalf.store_manager.model.Order;
+import com.dietergandalf.store_manager.model.OrderItem;
+import com.dietergandalf.store_manager.model.OrderStatus;
+import com.dietergandalf.store_manager.repository.OrderItemRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Keeps the hourly and daily seller sales rollups current.
+ *
+ * An order counts as a sale from checkout on, in the hour and day of its order date, unless it is CANCELLED
+ * or REFUNDED. Checkout adds its lines, and a status change that moves an order out of (or back into) the
+ * counting statuses subtracts (or re-adds) them. Each change is an additive upsert run in the caller's
+ * transaction, so the rollups commit or roll back together with the order, and concurrent checkouts for
+ * the same seller only ever add to a row rather than rewrite it.
+ */
+@Component
+public class SalesRollup {
+    static final String HOURLY_TABLE = "seller_sales_hourly";
+    static final String DAILY_TABLE = "seller_sales_daily";
+
+    private static final Set<OrderStatus> NOT_SALES = EnumSet.of(OrderStatus.CANCELLED, OrderStatus.REFUNDED);
+
+    // Identifiers are quoted for the H2 test profile, as in ProductStockRepositoryCustomImpl
+    private static final String POSTGRES_UPSERT_SQL =
+            "INSERT INTO \"%1$s\" (\"seller_id\", \"bucket_start\", \"product_stock_id\", \"revenue\", \"units_sold\") "
+            + "VALUES (?, ?, ?, ?, ?) "
+            + "ON CONFLICT (\"seller_id\", \"bucket_start\", \"product_stock_id\") DO UPDATE "
+            + "SET \"revenue\" = \"%1$s\".\"revenue\" + EXCLUDED.\"revenue\", "
+            + "\"units_sold\" = \"%1$s\".\"units_sold\" + EXCLUDED.\"units_sold\"";
+    private static final String MERGE_UPSERT_SQL =
+            "MERGE INTO \"%1$s\" t USING (SELECT CAST(? AS BIGINT) AS \"seller_id\", CAST(? AS TIMESTAMP) AS \"bucket_start\", "
+            + "CAST(? AS BIGINT) AS \"product_stock_id\", CAST(? AS NUMERIC(19,4)) AS \"revenue\", "
+            + "CAST(? AS BIGINT) AS \"units_sold\") s "
+            + "ON t.\"seller_id\" = s.\"seller_id\" AND t.\"bucket_start\" = s.\"bucket_start\" "
+            + "AND t.\"product_stock_id\" = s.\"product_stock_id\" "
+            + "WHEN MATCHED THEN UPDATE SET \"revenue\" = t.\"revenue\" + s.\"revenue\", "
+            + "\"units_sold\" = t.\"units_sold\" + s.\"units_sold\" "
+            + "WHEN NOT MATCHED THEN INSERT (\"seller_id\", \"bucket_start\", \"product_stock_id\", \"revenue\", \"units_sold\") "
+            + "VALUES (s.\"seller_id\", s.\"bucket_start\", s.\"product_stock_id\", s.\"revenue\", s.\"units_sold\")";
+
+    private static final Comparator<LineKey> LOCK_ORDER =
+            Comparator.comparing(LineKey::sellerId).thenComparing(LineKey::productStockId);
+
+    private final OrderItemRepository orderItemRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    public SalesRollup(OrderItemRepository orderItemRepository) {
+        this.orderItemRepository = orderItemRepository;
+    }
+
+    public static boolean countsAsSale(OrderStatus status) {
+        return status == null || !NOT_SALES.contains(status);
+    }
+
+    /** Adds a just placed order, whose items are in memory, to the rollups. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void orderPlaced(Order order) {
+        if (!countsAsSale(order.getStatus())) {
+            return;
+        }
+        List<OrderSalesLineDto> lines = new ArrayList<>(order.getOrderItems().size());
+        for (OrderItem orderItem : order.getOrderItems()) {
+            lines.add(OrderSalesLineDto.builder()
+                    .sellerId(orderItem.getProductStock().getSeller() != null
+                            ? orderItem.getProductStock().getSeller().getPerson_id() : null)
+                    .productStockId(orderItem.getProductStock().getProduct_stock_id())
+                    .quantity(orderItem.getQuantity())
+                    .priceAtTimeOfOrder(orderItem.getPriceAtTimeOfOrder())
+                    .build());
+        }
+        apply(order.getOrderDate(), lines, false);
+    }
+
+    /** Subtracts or re-adds the order when its status moved out of or back into the counting statuses. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void orderStatusChanged(Order order, OrderStatus previousStatus) {
+        boolean counted = countsAsSale(previousStatus);
+        boolean counts = countsAsSale(order.getStatus());
+        if (counted == counts) {
+            return;
+        }
+        apply(order.getOrderDate(), orderItemRepository.findSalesLinesByOrderId(order.getOrderId()), counted);
+    }
+
+    private void apply(LocalDateTime orderDate, List<OrderSalesLineDto> lines, boolean reverse) {
+        if (orderDate == null) {
+            return;
+        }
+
+        // Sum lines per seller and stock, sorted so concurrent orders lock rollup rows in the same order
+        Map<LineKey, Totals> totals = new TreeMap<>(LOCK_ORDER);
+        for (OrderSalesLineDto line : lines) {
+            if (line.getSellerId() == null || line.getQuantity() == null || line.getPriceAtTimeOfOrder() == null) {
+                continue;
+            }
+            BigDecimal revenue = BigDecimal.valueOf(line.getPriceAtTimeOfOrder()).multiply(BigDecimal.valueOf(line.getQuantity()));
+            long units = line.getQuantity();
+            totals.merge(new LineKey(line.getSellerId(), line.getProductStockId()),
+                    reverse ? new Totals(revenue.negate(), -units) : new Totals(revenue, units),
+                    Totals::plus);
+        }
+        if (totals.isEmpty()) {
+            return;
+        }
+
+        String upsertSql = isPostgres() ? POSTGRES_UPSERT_SQL : MERGE_UPSERT_SQL;
+        LocalDateTime hour = orderDate.truncatedTo(ChronoUnit.HOURS);
+        LocalDateTime day = orderDate.truncatedTo(ChronoUnit.DAYS);
+
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            for (String table : List.of(HOURLY_TABLE, DAILY_TABLE)) {
+                LocalDateTime bucketStart = table.equals(HOURLY_TABLE) ? hour : day;
+                try (PreparedStatement statement = connection.prepareStatement(String.format(upsertSql, table))) {
+                    for (Map.Entry<LineKey, Totals> entry : totals.entrySet()) {
+                        statement.setLong(1, entry.getKey().sellerId());
+                        statement.setObject(2, bucketStart);
+                        statement.setLong(3, entry.getKey().productStockId());
+                        statement.setBigDecimal(4, entry.getValue().revenue());
+                        statement.setLong(5, entry.getValue().units());
+                        statement.addBatch();
+                    }
+                    statement.executeBatch();
+                }
+            }
+        });
+    }
+
+    private boolean isPostgres() {
+        return entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect() instanceof PostgreSQLDialect;
+    }
+
+    private record LineKey(Long sellerId, Long productStockId) {
+    }
+
+    private record Totals(BigDecimal revenue, long units) {
+        Totals plus(Totals other) {
+            return new Totals(revenue.add(other.revenue), units + other.units);
+        }
+    }
+}
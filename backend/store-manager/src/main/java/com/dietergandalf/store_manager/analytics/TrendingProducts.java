@@ -0,0 +1,247 @@
+package com.dietergandalf.store_manager.analytics;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.dietergandalf.store_manager.model.Order;
+import com.dietergandalf.store_manager.model.OrderItem;
+import com.dietergandalf.store_manager.model.OrderStatus;
+import com.dietergandalf.store_manager.util.AfterCommit;
+
+/**
+ * Best selling product stocks over a sliding window, by units sold, tracked in memory.
+ *
+ * The window is split into {@code store.trending.slices} time slices. Each slice counts units in a
+ * {@link CountMinSketch} and remembers the {@code store.trending.capacity} stocks with the highest counts
+ * as heavy-hitter candidates, so memory stays fixed however many products sell. A stock's score is the sum
+ * of its estimates over the live slices, and the oldest slice drops out as time moves on. The ranking is
+ * recomputed at most once per {@code store.trending.refresh-interval}, so reads cost a list copy.
+ *
+ * Units count from checkout on, in the slice of the order date, and are taken back when the order leaves the
+ * statuses {@link SalesRollup} counts as sales (a declined payment or a cancellation), and re-added if it
+ * returns to them.
+ *
+ * Counts are estimates: a stock can be overcounted by hash collisions, and one that sells too little to
+ * stay a candidate in any slice is not ranked at all.
+ */
+@Component
+public class TrendingProducts {
+    static final int SKETCH_DEPTH = 4;
+    static final int SKETCH_WIDTH = 2048;
+
+    /** A ranked product stock with its estimated units sold over the window. */
+    public record Hitter(long productStockId, long units) {
+    }
+
+    /** Units counted for a candidate in one slice, as snapshotted to and restored from the database. */
+    public record SliceCount(LocalDateTime sliceStart, long productStockId, long units) {
+    }
+
+    private static final Comparator<Hitter> RANKING =
+            Comparator.comparingLong(Hitter::units).reversed().thenComparingLong(Hitter::productStockId);
+
+    private final long sliceMillis;
+    private final Slice[] slices;
+    private final int capacity;
+    private final long refreshMillis;
+    private final Clock clock;
+
+    private List<Hitter> ranking = List.of();
+    private long rankedAt;
+    private boolean ranked;
+
+    @Autowired
+    public TrendingProducts(@Value("${store.trending.window:PT24H}") Duration window,
+                            @Value("${store.trending.slices:24}") int slices,
+                            @Value("${store.trending.capacity:200}") int capacity,
+                            @Value("${store.trending.refresh-interval:PT10S}") Duration refreshInterval) {
+        this(window, slices, capacity, refreshInterval, Clock.systemDefaultZone());
+    }
+
+    public TrendingProducts(Duration window, int slices, int capacity, Duration refreshInterval, Clock clock) {
+        if (slices < 1 || window.toMillis() < slices) {
+            throw new IllegalArgumentException("Trending window must be at least one millisecond per slice");
+        }
+        this.sliceMillis = window.toMillis() / slices;
+        this.slices = new Slice[slices];
+        this.capacity = capacity;
+        this.refreshMillis = refreshInterval.toMillis();
+        this.clock = clock;
+    }
+
+    /** Counts the units of a checkout happening now once its transaction commits. */
+    public void recordSale(Map<Long, Integer> quantitiesByProductStockId) {
+        recordSale(LocalDateTime.now(clock), quantitiesByProductStockId);
+    }
+
+    /** Counts the units of an order placed at {@code soldAt} once the current transaction commits. */
+    public void recordSale(LocalDateTime soldAt, Map<Long, Integer> quantitiesByProductStockId) {
+        count(soldAt, quantitiesByProductStockId, 1);
+    }
+
+    /**
+     * Takes an order's units back when it stops counting as a sale, or adds them again when it counts once more.
+     * Call from the transaction that changed the status, with the order items loaded.
+     */
+    public void orderStatusChanged(Order order, OrderStatus previousStatus) {
+        boolean counted = SalesRollup.countsAsSale(previousStatus);
+        if (counted == SalesRollup.countsAsSale(order.getStatus()) || order.getOrderDate() == null) {
+            return;
+        }
+        Map<Long, Integer> quantities = new HashMap<>();
+        for (OrderItem orderItem : order.getOrderItems()) {
+            if (orderItem.getProductStock() != null && orderItem.getQuantity() != null) {
+                quantities.merge(orderItem.getProductStock().getProduct_stock_id(), orderItem.getQuantity(), Integer::sum);
+            }
+        }
+        count(order.getOrderDate(), quantities, counted ? -1 : 1);
+    }
+
+    /** The up to {@code limit} best selling product stocks of the window, best first. */
+    public synchronized List<Hitter> top(int limit) {
+        long now = clock.millis();
+        if (!ranked || now - rankedAt >= refreshMillis) {
+            ranking = rank();
+            rankedAt = now;
+            ranked = true;
+        }
+        return ranking.subList(0, Math.min(limit, ranking.size()));
+    }
+
+    public synchronized List<SliceCount> snapshot() {
+        List<SliceCount> counts = new ArrayList<>();
+        long current = currentSlice();
+        for (Slice slice : slices) {
+            if (isLive(slice, current)) {
+                LocalDateTime sliceStart = LocalDateTime.ofInstant(Instant.ofEpochMilli(slice.index * sliceMillis), clock.getZone());
+                for (Long productStockId : slice.candidates.keySet()) {
+                    counts.add(new SliceCount(sliceStart, productStockId, slice.sketch.estimate(productStockId)));
+                }
+            }
+        }
+        return counts;
+    }
+
+    /** Adds snapshotted counts back, skipping slices that have left the window since. */
+    public synchronized void restore(List<SliceCount> counts) {
+        long current = currentSlice();
+        for (SliceCount count : counts) {
+            long index = sliceOf(count.sliceStart());
+            if (index <= current && index > current - slices.length) {
+                slice(index).add(count.productStockId(), count.units());
+            }
+        }
+        ranked = false;
+    }
+
+    private void count(LocalDateTime soldAt, Map<Long, Integer> quantitiesByProductStockId, int sign) {
+        Map<Long, Integer> quantities = Map.copyOf(quantitiesByProductStockId);
+        long index = sliceOf(soldAt);
+        AfterCommit.run(() -> {
+            synchronized (this) {
+                long current = currentSlice();
+                // Sales that have left the window no longer count either way
+                if (index <= current && index > current - slices.length) {
+                    Slice slice = slice(index);
+                    quantities.forEach((productStockId, units) -> slice.add(productStockId, sign * (long) units));
+                }
+            }
+        });
+    }
+
+    private List<Hitter> rank() {
+        long current = currentSlice();
+        Set<Long> candidates = new HashSet<>();
+        for (Slice slice : slices) {
+            if (isLive(slice, current)) {
+                candidates.addAll(slice.candidates.keySet());
+            }
+        }
+
+        List<Hitter> hitters = new ArrayList<>(candidates.size());
+        for (Long productStockId : candidates) {
+            long units = 0;
+            for (Slice slice : slices) {
+                if (isLive(slice, current)) {
+                    units += slice.sketch.estimate(productStockId);
+                }
+            }
+            hitters.add(new Hitter(productStockId, units));
+        }
+        hitters.sort(RANKING);
+        return List.copyOf(hitters.subList(0, Math.min(capacity, hitters.size())));
+    }
+
+    private long currentSlice() {
+        return Math.floorDiv(clock.millis(), sliceMillis);
+    }
+
+    private long sliceOf(LocalDateTime time) {
+        return Math.floorDiv(time.atZone(clock.getZone()).toInstant().toEpochMilli(), sliceMillis);
+    }
+
+    private boolean isLive(Slice slice, long current) {
+        return slice != null && slice.index > current - slices.length && slice.index <= current;
+    }
+
+    private Slice slice(long index) {
+        int position = (int) Math.floorMod(index, (long) slices.length);
+        if (slices[position] == null || slices[position].index != index) {
+            // Reuses the ring position of a slice that has left the window
+            slices[position] = new Slice(index, capacity);
+        }
+        return slices[position];
+    }
+
+
+    private static final class Slice {
+        private final long index;
+        private final int capacity;
+        private final CountMinSketch sketch = new CountMinSketch(SKETCH_DEPTH, SKETCH_WIDTH);
+        // Candidate -> its estimate when last counted
+        private final Map<Long, Long> candidates = new HashMap<>();
+
+        Slice(long index, int capacity) {
+            this.index = index;
+            this.capacity = capacity;
+        }
+
+        void add(long productStockId, long units) {
+            sketch.add(productStockId, units);
+            long estimate = sketch.estimate(productStockId);
+            if (units < 0) {
+                // Units taken back only lower a candidate, and drop it once nothing is left
+                candidates.computeIfPresent(productStockId, (id, previous) -> estimate > 0 ? estimate : null);
+                return;
+            }
+            if (candidates.containsKey(productStockId) || candidates.size() < capacity) {
+                candidates.put(productStockId, estimate);
+                return;
+            }
+            // Full: the stock replaces the weakest candidate once it has sold more
+            Map.Entry<Long, Long> weakest = null;
+            for (Map.Entry<Long, Long> candidate : candidates.entrySet()) {
+                if (weakest == null || candidate.getValue() < weakest.getValue()) {
+                    weakest = candidate;
+                }
+            }
+            if (weakest != null && estimate > weakest.getValue()) {
+                candidates.remove(weakest.getKey());
+                candidates.put(productStockId, estimate);
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.dietergandalf.store_manager.analytics;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.dietergandalf.store_manager.model.TrendingProductSlice;
+import com.dietergandalf.store_manager.model.TrendingSliceKey;
+import com.dietergandalf.store_manager.repository.TrendingProductSliceRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Saves the {@link TrendingProducts} slices to the database every {@code store.trending.snapshot-interval}
+ * and on shutdown, and loads them back once the application has started.
+ *
+ * Assumes a single application instance: each snapshot replaces the table with this instance's counts.
+ * With several instances every one ranks only the sales it handled and the table holds the counts of
+ * whichever wrote last. Merging them would need per-instance rows that are never restored twice, which is
+ * not worth it for a ranking that only has to look right; scale out with a shared counter store instead.
+ */
+@Component
+public class TrendingSnapshotter implements DisposableBean {
+    private static final Logger log = LoggerFactory.getLogger(TrendingSnapshotter.class);
+
+    private final TrendingProducts trendingProducts;
+    private final TrendingProductSliceRepository trendingProductSliceRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    public TrendingSnapshotter(TrendingProducts trendingProducts,
+                               TrendingProductSliceRepository trendingProductSliceRepository,
+                               PlatformTransactionManager transactionManager) {
+        this.trendingProducts = trendingProducts;
+        this.trendingProductSliceRepository = trendingProductSliceRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void restore() {
+        List<TrendingProducts.SliceCount> counts = trendingProductSliceRepository.findAll().stream()
+                .map(slice -> new TrendingProducts.SliceCount(slice.getId().getSliceStart(),
+                        slice.getId().getProductStockId(), slice.getUnits()))
+                .toList();
+        trendingProducts.restore(counts);
+        log.info("Restored {} trending product counts", counts.size());
+    }
+
+    @Scheduled(fixedDelayString = "${store.trending.snapshot-interval:PT1M}")
+    public void snapshot() {
+        List<TrendingProducts.SliceCount> counts = trendingProducts.snapshot();
+        transactionTemplate.executeWithoutResult(status -> {
+            trendingProductSliceRepository.deleteAllInBatch();
+            for (TrendingProducts.SliceCount count : counts) {
+                // persist rather than save: the ids are assigned, and save would look each one up first
+                entityManager.persist(new TrendingProductSlice(
+                        new TrendingSliceKey(count.sliceStart(), count.productStockId()), count.units()));
+            }
+        });
+    }
+
+    @Override
+    public void destroy() {
+        try {
+            snapshot();
+        } catch (DataAccessException | TransactionException e) {
+            log.warn("Could not save the trending products snapshot on shutdown", e);
+        }
+    }
+}
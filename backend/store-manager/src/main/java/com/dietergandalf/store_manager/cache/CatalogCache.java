@@ -0,0 +1,244 @@
+package com.dietergandalf.store_manager.cache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.dietergandalf.store_manager.dto.CatalogPageDto;
+import com.dietergandalf.store_manager.dto.ProductStockDto;
+import com.dietergandalf.store_manager.model.ProductStock;
+import com.dietergandalf.store_manager.util.AfterCommit;
+import com.dietergandalf.store_manager.util.CatalogCursor;
+
+/**
+ * Read-through cache for catalog pages and seller product listings.
+ *
+ * Entries are evicted least-recently-used once {@code maxEntries} is reached and expire
+ * after {@code ttl}. Writes invalidate only the entries a product stock can affect: those
+ * listing it, its seller's listing, and catalog pages whose filters and keyset range it
+ * now falls into. Invalidation runs after the surrounding transaction commits.
+ */
+@Component
+public class CatalogCache {
+    private final int maxEntries;
+    private final Duration ttl;
+    private final Clock clock;
+
+    private final LinkedHashMap<Object, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long generation;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    @Autowired
+    public CatalogCache(@Value("${store.catalog-cache.max-entries:1000}") int maxEntries,
+                        @Value("${store.catalog-cache.ttl:PT30S}") Duration ttl) {
+        this(maxEntries, ttl, Clock.systemUTC());
+    }
+
+    public CatalogCache(int maxEntries, Duration ttl, Clock clock) {
+        this.maxEntries = maxEntries;
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    public CatalogPageDto getCatalogPage(CatalogPageKey key, CatalogCursor cursor, Supplier<CatalogPageDto> loader) {
+        return getOrLoad(key, loader, page -> new Entry(page, expiry(), idsOf(page.getItems()), null,
+                stock -> pageAdmits(key, cursor, page, stock)));
+    }
+
+    public List<ProductStockDto> getSellerProducts(Long sellerId, Supplier<List<ProductStockDto>> loader) {
+        return getOrLoad(new SellerProductsKey(sellerId), loader,
+                products -> new Entry(products, expiry(), idsOf(products), sellerId, stock -> false));
+    }
+
+    /**
+     * Drops every entry the given product stock can appear in, using its current state.
+     * Call after adding, updating or removing a stock.
+     */
+    public void invalidateProductStock(ProductStock productStock) {
+        // Read now: by the time the transaction has committed, the stock's lazy associations can no longer load
+        StockState stock = StockState.of(productStock);
+        AfterCommit.run(() -> evictIf(entry -> entry.productStockIds.contains(stock.productStockId())
+                || (stock.sellerId() != null && stock.sellerId().equals(entry.sellerId))
+                || entry.admits.test(stock)));
+    }
+
+    /**
+     * Same as {@link #invalidateProductStock} for a batch of stocks, in a single pass over the cache.
+     */
+    public void invalidateProductStocks(Collection<ProductStock> productStocks) {
+        List<StockState> stocks = productStocks.stream().map(StockState::of).toList();
+        Set<Long> productStockIds = stocks.stream().map(StockState::productStockId).collect(Collectors.toUnmodifiableSet());
+        Set<Long> sellerIds = stocks.stream()
+                .map(StockState::sellerId)
+                .filter(sellerId -> sellerId != null)
+                .collect(Collectors.toUnmodifiableSet());
+        AfterCommit.run(() -> evictIf(entry -> entry.productStockIds.stream().anyMatch(productStockIds::contains)
+                || (entry.sellerId != null && sellerIds.contains(entry.sellerId))
+                || stocks.stream().anyMatch(entry.admits)));
+    }
+
+    /**
+     * Drops every entry listing one of the given product stocks. Enough for changes that can
+     * only remove a stock from listings, such as stock being reserved at checkout.
+     */
+    public void invalidateProductStockIds(Collection<Long> productStockIds) {
+        Set<Long> ids = Set.copyOf(productStockIds);
+        AfterCommit.run(() -> evictIf(entry -> entry.productStockIds.stream().anyMatch(ids::contains)));
+    }
+
+    public synchronized CatalogCacheStats getStats() {
+        return CatalogCacheStats.builder()
+                .hits(hits.get())
+                .misses(misses.get())
+                .evictions(evictions.get())
+                .invalidations(invalidations.get())
+                .size(entries.size())
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T getOrLoad(Object key, Supplier<T> loader, Function<T, Entry> entryFactory) {
+        long loadGeneration;
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                if (entry.expiresAt.isAfter(clock.instant())) {
+                    hits.incrementAndGet();
+                    return (T) entry.value;
+                }
+                entries.remove(key);
+                evictions.incrementAndGet();
+            }
+            misses.incrementAndGet();
+            loadGeneration = generation;
+        }
+
+        // Load outside the lock so slow queries do not serialize unrelated readers
+        T value = loader.get();
+
+        synchronized (this) {
+            // Skip the put if a write invalidated entries while this value was loading
+            if (loadGeneration == generation) {
+                entries.put(key, entryFactory.apply(value));
+                evictOverflow();
+            }
+        }
+        return value;
+    }
+
+    private synchronized void evictIf(Predicate<Entry> affected) {
+        generation++;
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            if (affected.test(iterator.next())) {
+                iterator.remove();
+                invalidations.incrementAndGet();
+            }
+        }
+    }
+
+    private void evictOverflow() {
+        Iterator<Map.Entry<Object, Entry>> iterator = entries.entrySet().iterator();
+        while (entries.size() > maxEntries && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+
+    private Instant expiry() {
+        return clock.instant().plus(ttl);
+    }
+
+    private static Set<Long> idsOf(List<ProductStockDto> productStocks) {
+        return productStocks.stream()
+                .map(ProductStockDto::getProductStockId)
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    private static boolean pageAdmits(CatalogPageKey key, CatalogCursor cursor, CatalogPageDto page, StockState stock) {
+        if (stock.amount() <= 0 || stock.price() == null) {
+            return false;
+        }
+        double price = stock.price();
+        String name = stock.name();
+
+        if (key.getSellerId() != null && !key.getSellerId().equals(stock.sellerId())) {
+            return false;
+        }
+        if ((key.getMinPrice() != null && price < key.getMinPrice())
+                || (key.getMaxPrice() != null && price > key.getMaxPrice())) {
+            return false;
+        }
+        if (key.getNameTerm() != null && (name == null || !name.toLowerCase().contains(key.getNameTerm()))) {
+            return false;
+        }
+
+        long id = stock.productStockId();
+        ProductStockDto last = page.isHasMore() ? page.getItems().get(page.getItems().size() - 1) : null;
+        return switch (key.getSort()) {
+            case ID -> (cursor == null || id > cursor.getProductStockId())
+                    && (last == null || id <= last.getProductStockId());
+            case PRICE -> (cursor == null || comparePrice(price, id, cursor.getPrice(), cursor.getProductStockId()) > 0)
+                    && (last == null || comparePrice(price, id, last.getProduct().getPrice(), last.getProductStockId()) <= 0);
+            // Name order follows the database collation, so any matching row may belong to the page
+            case NAME -> true;
+        };
+    }
+
+    private static int comparePrice(double price, long id, double otherPrice, long otherId) {
+        int byPrice = Double.compare(price, otherPrice);
+        return byPrice != 0 ? byPrice : Long.compare(id, otherId);
+    }
+
+    private record SellerProductsKey(Long sellerId) {
+    }
+
+    // The fields of a product stock that decide which entries it belongs in; price is null without a product
+    private record StockState(long productStockId, Long sellerId, int amount, Double price, String name) {
+        static StockState of(ProductStock productStock) {
+            return new StockState(productStock.getProduct_stock_id(),
+                    productStock.getSeller() != null ? productStock.getSeller().getPerson_id() : null,
+                    productStock.getAmount(),
+                    productStock.getProduct() != null ? productStock.getProduct().getPrice() : null,
+                    productStock.getProduct() != null ? productStock.getProduct().getName() : null);
+        }
+    }
+
+    private static final class Entry {
+        private final Object value;
+        private final Instant expiresAt;
+        private final Set<Long> productStockIds;
+        private final Long sellerId;
+        private final Predicate<StockState> admits;
+
+        private Entry(Object value, Instant expiresAt, Set<Long> productStockIds, Long sellerId,
+                      Predicate<StockState> admits) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+            this.productStockIds = productStockIds;
+            this.sellerId = sellerId;
+            this.admits = admits;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.dietergandalf.store_manager.cache;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Publishes {@link CatalogCache} statistics, read on every scrape rather than pushed per request.
+ */
+@Component
+public class CatalogCacheMetrics implements MeterBinder {
+    private final CatalogCache catalogCache;
+
+    @Autowired
+    public CatalogCacheMetrics(CatalogCache catalogCache) {
+        this.catalogCache = catalogCache;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("store.catalog.cache.requests", catalogCache, cache -> cache.getStats().getHits())
+                .tag("result", "hit")
+                .description("Catalog cache lookups")
+                .register(registry);
+        FunctionCounter.builder("store.catalog.cache.requests", catalogCache, cache -> cache.getStats().getMisses())
+                .tag("result", "miss")
+                .description("Catalog cache lookups")
+                .register(registry);
+        FunctionCounter.builder("store.catalog.cache.evictions", catalogCache, cache -> cache.getStats().getEvictions())
+                .description("Catalog cache entries evicted by size or age")
+                .register(registry);
+        FunctionCounter.builder("store.catalog.cache.invalidations", catalogCache, cache -> cache.getStats().getInvalidations())
+                .description("Catalog cache entries dropped by product stock writes")
+                .register(registry);
+        Gauge.builder("store.catalog.cache.size", catalogCache, cache -> cache.getStats().getSize())
+                .description("Catalog cache entries currently held")
+                .register(registry);
+    }
+}
@@ -0,0 +1,23 @@
+package com.dietergandalf.store_manager.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CatalogCacheStats {
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+    private int size;
+
+    public double getHitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 0.0 : (double) hits / requests;
+    }
+}
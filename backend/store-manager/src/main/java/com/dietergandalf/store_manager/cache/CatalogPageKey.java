@@ -0,0 +1,22 @@
+package com.dietergandalf.store_manager.cache;
+
+import com.dietergandalf.store_manager.dto.CatalogSort;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Normalized catalog query used as cache key: page size is already resolved and the
+ * name filter is the trimmed, lower-cased search term.
+ */
+@Data
+@AllArgsConstructor
+public class CatalogPageKey {
+    private final CatalogSort sort;
+    private final int pageSize;
+    private final String cursor;
+    private final Long sellerId;
+    private final Double minPrice;
+    private final Double maxPrice;
+    private final String nameTerm;
+}
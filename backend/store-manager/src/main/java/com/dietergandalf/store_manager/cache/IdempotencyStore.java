@@ -0,0 +1,142 @@
+package com.dietergandalf.store_manager.cache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+/**
+ * Remembers the responses of requests sent with an {@code Idempotency-Key} header, so a client retrying
+ * after a lost response gets the original result instead of running the operation again.
+ *
+ * Keys are scoped per operation and resource by the caller. Only successful responses are kept; a failed
+ * request may be retried under the same key. A key still being processed answers 409, and a key reused
+ * with a different request answers 422. Entries expire after {@code ttl} and the least recently used are
+ * dropped beyond {@code maxEntries}. The store is per instance and held in memory.
+ */
+@Component
+public class IdempotencyStore {
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    static final int MAX_KEY_LENGTH = 255;
+
+    private final int maxEntries;
+    private final Duration ttl;
+    private final Clock clock;
+
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    @Autowired
+    public IdempotencyStore(@Value("${store.idempotency.max-entries:10000}") int maxEntries,
+                            @Value("${store.idempotency.ttl:PT1H}") Duration ttl) {
+        this(maxEntries, ttl, Clock.systemUTC());
+    }
+
+    public IdempotencyStore(int maxEntries, Duration ttl, Clock clock) {
+        this.maxEntries = maxEntries;
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    /**
+     * Runs {@code operation} once per key within {@code scope}, replaying its stored response on repeats.
+     * Without a key the operation simply runs.
+     *
+     * @param request what the client asked for; a repeat must be equal to it
+     */
+    public <T> ResponseEntity<T> execute(String idempotencyKey, String scope, Object request,
+                                         Supplier<ResponseEntity<T>> operation) {
+        if (idempotencyKey == null) {
+            return operation.get();
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        String key = scope + ":" + idempotencyKey;
+        Entry entry;
+        synchronized (this) {
+            Entry existing = entries.get(key);
+            if (existing != null && existing.expiresAt != null && !existing.expiresAt.isAfter(clock.instant())) {
+                entries.remove(key);
+                existing = null;
+            }
+            if (existing != null) {
+                return replay(existing, request);
+            }
+            entry = new Entry(request);
+            entries.put(key, entry);
+            evictOverflow();
+        }
+
+        ResponseEntity<T> response;
+        try {
+            response = operation.get();
+        } catch (RuntimeException e) {
+            forget(key, entry);
+            throw e;
+        }
+
+        if (response.getStatusCode().is2xxSuccessful()) {
+            synchronized (this) {
+                entry.response = response;
+                entry.expiresAt = clock.instant().plus(ttl);
+            }
+        } else {
+            forget(key, entry);
+        }
+        return response;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> ResponseEntity<T> replay(Entry entry, Object request) {
+        if (!Objects.equals(entry.request, request)) {
+            return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).build();
+        }
+        if (entry.response == null) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        ResponseEntity<T> original = (ResponseEntity<T>) entry.response;
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(original.getHeaders());
+        headers.set(REPLAYED_HEADER, "true");
+        return new ResponseEntity<>(original.getBody(), headers, original.getStatusCode());
+    }
+
+    private synchronized void forget(String key, Entry entry) {
+        entries.remove(key, entry);
+    }
+
+    private void evictOverflow() {
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while (entries.size() > maxEntries && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private static final class Entry {
+        private final Object request;
+        private ResponseEntity<?> response;
+        private Instant expiresAt;
+
+        private Entry(Object request) {
+            this.request = request;
+        }
+    }
+}
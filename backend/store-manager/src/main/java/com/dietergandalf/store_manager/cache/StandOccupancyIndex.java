@@ -0,0 +1,143 @@
+package com.dietergandalf.store_manager.cache;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.dietergandalf.store_manager.dto.OwnerStandSummaryDto;
+import com.dietergandalf.store_manager.util.AfterCommit;
+
+/**
+ * Per-owner stand occupancy: stand counts and rent split by occupied and available stands.
+ *
+ * An owner's entry is loaded once with the aggregate query and from then on kept current by
+ * applying each stand write as a delta after its transaction commits, so owner dashboards do
+ * not re-aggregate the stand table. Rent sums are kept as decimals so repeated deltas do not
+ * drift. A load that raced with a stand write is returned but not kept. Entries are evicted
+ * least-recently-used beyond {@code maxEntries} and expire after {@code ttl}, which bounds how
+ * long writes made by other application instances stay invisible here.
+ */
+@Component
+public class StandOccupancyIndex {
+    private final int maxEntries;
+    private final Duration ttl;
+    private final Clock clock;
+
+    private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long generation;
+
+    @Autowired
+    public StandOccupancyIndex(@Value("${store.stand-occupancy.max-entries:1000}") int maxEntries,
+                               @Value("${store.stand-occupancy.ttl:PT5M}") Duration ttl) {
+        this(maxEntries, ttl, Clock.systemUTC());
+    }
+
+    public StandOccupancyIndex(int maxEntries, Duration ttl, Clock clock) {
+        this.maxEntries = maxEntries;
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    public OwnerStandSummaryDto get(Long ownerId, Supplier<OwnerStandSummaryDto> loader) {
+        long loadGeneration;
+        synchronized (this) {
+            Entry entry = entries.get(ownerId);
+            if (entry != null) {
+                if (entry.expiresAt.isAfter(clock.instant())) {
+                    return entry.occupancy.toDto(ownerId);
+                }
+                entries.remove(ownerId);
+            }
+            loadGeneration = generation;
+        }
+
+        OwnerStandSummaryDto summary = loader.get();
+
+        synchronized (this) {
+            if (loadGeneration == generation) {
+                entries.put(ownerId, new Entry(Occupancy.of(summary), clock.instant().plus(ttl)));
+                evictOverflow();
+            }
+        }
+        return summary;
+    }
+
+    /** Call after a stand was added to {@code ownerId}. */
+    public void standAdded(Long ownerId, double price, boolean occupied) {
+        AfterCommit.run(() -> apply(ownerId, new Occupancy(1, occupied ? 1 : 0,
+                occupied ? BigDecimal.valueOf(price) : BigDecimal.ZERO,
+                occupied ? BigDecimal.ZERO : BigDecimal.valueOf(price))));
+    }
+
+    /** Call after a stand of {@code ownerId} was rented out ({@code occupied}) or vacated. */
+    public void standOccupancyChanged(Long ownerId, double price, boolean occupied) {
+        BigDecimal rent = BigDecimal.valueOf(price);
+        AfterCommit.run(() -> apply(ownerId, occupied
+                ? new Occupancy(0, 1, rent, rent.negate())
+                : new Occupancy(0, -1, rent.negate(), rent)));
+    }
+
+    /** Drops the owner's entry; the next read aggregates it again. */
+    public void evict(Long ownerId) {
+        AfterCommit.run(() -> {
+            synchronized (this) {
+                generation++;
+                entries.remove(ownerId);
+            }
+        });
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    // A single generation for all owners: a load racing with any stand write is not kept, which is rare and
+    // only costs a repeated aggregate, and nothing is tracked per owner outside the bounded entries
+    private synchronized void apply(Long ownerId, Occupancy delta) {
+        generation++;
+        entries.computeIfPresent(ownerId, (id, entry) -> new Entry(entry.occupancy.plus(delta), entry.expiresAt));
+    }
+
+    private void evictOverflow() {
+        Iterator<Long> iterator = entries.keySet().iterator();
+        while (entries.size() > maxEntries && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+
+    private record Entry(Occupancy occupancy, Instant expiresAt) {
+    }
+
+    private record Occupancy(long total, long occupied, BigDecimal occupiedRent, BigDecimal vacantRent) {
+        static Occupancy of(OwnerStandSummaryDto summary) {
+            return new Occupancy(summary.getTotalStands(), summary.getOccupiedStands(),
+                    BigDecimal.valueOf(summary.getMonthlyRent()), BigDecimal.valueOf(summary.getVacantRent()));
+        }
+
+        Occupancy plus(Occupancy delta) {
+            return new Occupancy(total + delta.total, occupied + delta.occupied,
+                    occupiedRent.add(delta.occupiedRent), vacantRent.add(delta.vacantRent));
+        }
+
+        OwnerStandSummaryDto toDto(Long ownerId) {
+            return OwnerStandSummaryDto.builder()
+                    .ownerId(ownerId)
+                    .totalStands(total)
+                    .occupiedStands(occupied)
+                    .availableStands(total - occupied)
+                    .monthlyRent(occupiedRent.doubleValue())
+                    .vacantRent(vacantRent.doubleValue())
+                    .build();
+        }
+    }
+}
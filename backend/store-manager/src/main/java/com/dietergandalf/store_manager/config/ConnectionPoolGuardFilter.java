@@ -0,0 +1,80 @@
+package com.dietergandalf.store_manager.config;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Admits at most {@code maxConcurrentRequests} API requests at a time.
+ *
+ * With virtual threads Tomcat no longer caps concurrency, so every request would reach
+ * HikariCP at once and time out inside the pool. Sized to the pool, this filter keeps the
+ * excess waiting fairly in front of the pool instead, and turns requests that still cannot
+ * get in within {@code admissionTimeout} into a 503 the client can retry.
+ */
+public class ConnectionPoolGuardFilter extends OncePerRequestFilter {
+    private final Semaphore permits;
+    private final int maxConcurrentRequests;
+    private final Duration admissionTimeout;
+    private final Counter rejections;
+
+    public ConnectionPoolGuardFilter(int maxConcurrentRequests, Duration admissionTimeout, MeterRegistry meterRegistry) {
+        if (maxConcurrentRequests < 1) {
+            throw new IllegalArgumentException("maxConcurrentRequests must be positive");
+        }
+        this.permits = new Semaphore(maxConcurrentRequests, true);
+        this.maxConcurrentRequests = maxConcurrentRequests;
+        this.admissionTimeout = admissionTimeout;
+        this.rejections = Counter.builder("store.pool.guard.rejections")
+                .description("API requests turned away because the connection pool stayed saturated")
+                .register(meterRegistry);
+        Gauge.builder("store.pool.guard.in.flight", permits, p -> maxConcurrentRequests - p.availablePermits())
+                .description("API requests currently admitted past the connection pool guard")
+                .register(meterRegistry);
+        Gauge.builder("store.pool.guard.waiting", permits, Semaphore::getQueueLength)
+                .description("API requests waiting for admission")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean admitted;
+        try {
+            admitted = permits.tryAcquire(admissionTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            admitted = false;
+        }
+
+        if (!admitted) {
+            rejections.increment();
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Server is at capacity, retry shortly");
+            return;
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+
+    public int getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+}
@@ -0,0 +1,54 @@
+package com.dietergandalf.store_manager.config;
+
+import java.lang.reflect.Method;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.retry.RetryCallback;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.RetryListener;
+import org.springframework.retry.interceptor.MethodInvocationRetryCallback;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Counts optimistic locking conflicts per service operation, and the operations that still failed after the
+ * last retry.
+ */
+public class OptimisticLockRetryListener implements RetryListener {
+    private final MeterRegistry meterRegistry;
+
+    public OptimisticLockRetryListener(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public <T, E extends Throwable> void onError(RetryContext context, RetryCallback<T, E> callback, Throwable throwable) {
+        if (throwable instanceof OptimisticLockingFailureException) {
+            Counter.builder("store.optimistic.lock.conflicts")
+                    .tag("operation", operation(callback))
+                    .description("Transactions that lost an optimistic locking race and were rolled back")
+                    .register(meterRegistry)
+                    .increment();
+        }
+    }
+
+    @Override
+    public <T, E extends Throwable> void close(RetryContext context, RetryCallback<T, E> callback, Throwable throwable) {
+        if (throwable instanceof OptimisticLockingFailureException) {
+            Counter.builder("store.optimistic.lock.exhausted")
+                    .tag("operation", operation(callback))
+                    .description("Operations that still conflicted after their last retry")
+                    .register(meterRegistry)
+                    .increment();
+        }
+    }
+
+    private static String operation(RetryCallback<?, ?> callback) {
+        if (callback instanceof MethodInvocationRetryCallback<?, ?> methodCallback) {
+            Method method = methodCallback.getInvocation().getMethod();
+            return method.getDeclaringClass().getSimpleName() + "." + method.getName();
+        }
+        return "unknown";
+    }
+}
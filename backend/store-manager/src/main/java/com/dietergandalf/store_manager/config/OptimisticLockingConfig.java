@@ -0,0 +1,21 @@
+package com.dietergandalf.store_manager.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.retry.annotation.EnableRetry;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Enables {@link com.dietergandalf.store_manager.service.RetryOnOptimisticLock}. The retry advice is ordered
+ * just outside the transaction advice, so every attempt runs in a fresh transaction.
+ */
+@Configuration
+@EnableRetry
+public class OptimisticLockingConfig {
+
+    @Bean
+    public OptimisticLockRetryListener optimisticLockRetryListener(MeterRegistry meterRegistry) {
+        return new OptimisticLockRetryListener(meterRegistry);
+    }
+}
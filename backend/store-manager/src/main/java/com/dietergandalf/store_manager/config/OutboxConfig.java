@@ -0,0 +1,49 @@
+package com.dietergandalf.store_manager.config;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+import com.dietergandalf.store_manager.outbox.ApplicationEventOutboxSink;
+import com.dietergandalf.store_manager.outbox.FileOutboxSink;
+import com.dietergandalf.store_manager.outbox.WebhookOutboxSink;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Outbox sinks, each switched on by its own property.
+ */
+@Configuration
+public class OutboxConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "store.outbox.sinks.in-process.enabled", havingValue = "true", matchIfMissing = true)
+    public ApplicationEventOutboxSink applicationEventOutboxSink(ApplicationEventPublisher eventPublisher) {
+        return new ApplicationEventOutboxSink(eventPublisher);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "store.outbox.sinks.file.path")
+    public FileOutboxSink fileOutboxSink(@Value("${store.outbox.sinks.file.path}") Path path, ObjectMapper objectMapper) {
+        return new FileOutboxSink(path, objectMapper);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "store.outbox.sinks.webhook.url")
+    public WebhookOutboxSink webhookOutboxSink(RestClient.Builder restClientBuilder,
+                                               @Value("${store.outbox.sinks.webhook.url}") URI url,
+                                               @Value("${store.outbox.sinks.webhook.timeout:PT5S}") Duration timeout) {
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(
+                HttpClient.newBuilder().connectTimeout(timeout).build());
+        requestFactory.setReadTimeout(timeout);
+        return new WebhookOutboxSink(restClientBuilder.requestFactory(requestFactory).build(), url);
+    }
+}
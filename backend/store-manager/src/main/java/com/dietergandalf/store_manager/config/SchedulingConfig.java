@@ -0,0 +1,15 @@
+package com.dietergandalf.store_manager.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Runs the background jobs: the outbox relay, the stale payment sweep, the trending snapshots and the search index rebuild. Tests
+ * switch it off and call the jobs directly.
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "store.scheduling.enabled", havingValue = "true", matchIfMissing = true)
+public class SchedulingConfig {
+}
@@ -0,0 +1,107 @@
+package com.dietergandalf.store_manager.config;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+
+/**
+ * Opt-in Hibernate second-level cache for reference data: products, people (sellers, owners and, since
+ * Hibernate caches an inheritance hierarchy at its root, customers), stands and the owner and seller stand
+ * collections. A cached collection only stores element ids, so its elements are cached too; otherwise a hit
+ * would load them one by one. Product stocks are not cached: checkout reserves and releases stock with plain
+ * JDBC batches that the cache would never see.
+ *
+ * Regions are Caffeine caches bounded to {@code max-entries} each and expire after {@code ttl}. Writes through
+ * Hibernate update or evict the cached entries in the same transaction (read-write strategy), and a
+ * stand write also evicts the cached collections on its seller and owner. The cache is local to each
+ * instance, so writes made by another instance only show up here once the entries expire.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+    public static final String PRODUCT_REGION = "store.product";
+    public static final String PERSON_REGION = "store.person";
+    public static final String STAND_REGION = "store.stand";
+    public static final String SELLER_STAND_REGION = "store.seller.stand";
+    public static final String OWNER_STANDS_REGION = "store.owner.stands";
+
+    static final List<String> REGIONS = List.of(PRODUCT_REGION, PERSON_REGION, STAND_REGION, SELLER_STAND_REGION,
+            OWNER_STANDS_REGION);
+
+    @Configuration
+    @ConditionalOnProperty(name = "store.second-level-cache.enabled", havingValue = "true")
+    static class Enabled {
+
+        @Bean(destroyMethod = "close")
+        public CacheManager secondLevelCacheManager(@Value("${store.second-level-cache.max-entries:10000}") long maxEntries,
+                                                    @Value("${store.second-level-cache.ttl:PT10M}") Duration ttl) {
+            // A cache manager of its own per application context, so contexts never share regions
+            CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                    .getCacheManager(URI.create("store-manager:" + UUID.randomUUID()), getClass().getClassLoader());
+            for (String region : REGIONS) {
+                CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+                configuration.setMaximumSize(OptionalLong.of(maxEntries));
+                configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+                configuration.setStatisticsEnabled(true);
+                cacheManager.createCache(region, configuration);
+            }
+            return cacheManager;
+        }
+
+        @Bean
+        public HibernatePropertiesCustomizer secondLevelCacheProperties(CacheManager secondLevelCacheManager) {
+            return properties -> {
+                properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+                properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+                properties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+                // Every region is created above; a region missing there is a mapping mistake, not a cache to invent
+                properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+                // Cached collections are the inverse side, so writes to their elements have to evict them
+                properties.put(AvailableSettings.AUTO_EVICT_COLLECTION_CACHE, true);
+            };
+        }
+
+        /**
+         * Size-bound evictions and per-region hit ratios as {@code cache.*} meters tagged {@code cache=<region>}.
+         * Hibernate's own {@code hibernate.second.level.cache.*} meters come with the Hibernate statistics.
+         */
+        @Bean
+        public MeterBinder secondLevelCacheMetrics(CacheManager secondLevelCacheManager) {
+            return registry -> REGIONS.forEach(region -> JCacheMetrics.monitor(registry,
+                    secondLevelCacheManager.getCache(region), "cache.layer", "hibernate-second-level"));
+        }
+    }
+
+    /**
+     * Keeps the cache off while the property is off. Hibernate switches it on by itself whenever a region factory
+     * is on the classpath, as hibernate-jcache is, and would then cache the {@code @Cache} entities in the JVM-wide
+     * default JCache manager: unbounded, never expiring and shared by every application context in the JVM.
+     */
+    @Configuration
+    @ConditionalOnProperty(name = "store.second-level-cache.enabled", havingValue = "false", matchIfMissing = true)
+    static class Disabled {
+
+        @Bean
+        public HibernatePropertiesCustomizer secondLevelCacheDisabled() {
+            return properties -> properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, false);
+        }
+    }
+}
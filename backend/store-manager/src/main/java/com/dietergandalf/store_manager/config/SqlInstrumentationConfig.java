@@ -0,0 +1,63 @@
+package com.dietergandalf.store_manager.config;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Service;
+
+import com.dietergandalf.store_manager.jdbc.ServiceCallTracker;
+import com.dietergandalf.store_manager.jdbc.SlowQueryLog;
+import com.dietergandalf.store_manager.jdbc.StatementTimingDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Statement-level SQL instrumentation that is cheap enough to leave on in production, unlike
+ * {@code spring.jpa.show-sql}: the data source is wrapped to time each statement, service calls are tracked
+ * to attribute statements to a method, and only statements over {@code store.sql.slow-query-threshold} are
+ * logged (see {@link SlowQueryLog}).
+ */
+@Configuration
+@ConditionalOnProperty(name = "store.sql.instrumentation.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlInstrumentationConfig {
+
+    @Bean
+    public SlowQueryLog slowQueryLog(@Value("${store.sql.slow-query-threshold:PT0.2S}") Duration threshold,
+                                     ObjectProvider<MeterRegistry> meterRegistry) {
+        return new SlowQueryLog(threshold, meterRegistry);
+    }
+
+    @Bean
+    public static BeanPostProcessor statementTimingDataSourcePostProcessor(ObjectProvider<SlowQueryLog> slowQueryLog) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof StatementTimingDataSource)) {
+                    return new StatementTimingDataSource(dataSource, (sql, elapsedNanos, bindCount, batchSize) ->
+                            slowQueryLog.getObject().statementExecuted(sql, elapsedNanos, bindCount, batchSize));
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public static Advisor serviceCallTrackerAdvisor(ObjectProvider<MeterRegistry> meterRegistry) {
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(
+                new AnnotationMatchingPointcut(Service.class, true), new ServiceCallTracker(meterRegistry));
+        // Outside the transaction advice, so the statement count covers the commit as well
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+}
@@ -0,0 +1,41 @@
+package com.dietergandalf.store_manager.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Guards active only when {@code spring.threads.virtual.enabled=true}. Spring Boot then serves
+ * Tomcat requests and the application task executors on virtual threads.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    @Bean
+    public FilterRegistrationBean<ConnectionPoolGuardFilter> connectionPoolGuardFilter(
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+            @Value("${store.virtual-threads.max-concurrent-requests:${spring.datasource.hikari.maximum-pool-size:10}}") int maxConcurrentRequests,
+            @Value("${store.virtual-threads.admission-timeout:PT2S}") Duration admissionTimeout,
+            MeterRegistry meterRegistry) {
+        if (maxConcurrentRequests > poolSize) {
+            // Open-in-view holds a connection for the rest of the request, so admitting more requests
+            // than connections only moves the queue back into HikariCP
+            throw new IllegalStateException("store.virtual-threads.max-concurrent-requests (" + maxConcurrentRequests
+                    + ") must not exceed spring.datasource.hikari.maximum-pool-size (" + poolSize + ")");
+        }
+        FilterRegistrationBean<ConnectionPoolGuardFilter> registration = new FilterRegistrationBean<>(
+                new ConnectionPoolGuardFilter(maxConcurrentRequests, admissionTimeout, meterRegistry));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
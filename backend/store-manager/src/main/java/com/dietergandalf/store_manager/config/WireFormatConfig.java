@@ -0,0 +1,23 @@
+package com.dietergandalf.store_manager.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+
+/**
+ * CBOR as an opt-in binary alternative to JSON: every controller answers {@code Accept: application/cbor} with
+ * the same DTOs in CBOR and reads {@code application/cbor} request bodies. JSON stays the default, since the
+ * JSON converter is ahead of this one for {@code *}{@code /*} and missing Accept headers.
+ */
+@Configuration
+public class WireFormatConfig {
+
+    // Built from Boot's builder so CBOR gets the same modules and date handling as JSON
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        return new MappingJackson2CborHttpMessageConverter(objectMapperBuilder.factory(new CBORFactory()).build());
+    }
+}
@@ -3,17 +3,26 @@ package com.dietergandalf.store_manager.controller;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import com.dietergandalf.store_manager.cache.IdempotencyStore;
 import com.dietergandalf.store_manager.dto.AddToCartRequestDto;
+import com.dietergandalf.store_manager.dto.CartUpdateDto;
+import com.dietergandalf.store_manager.dto.CatalogPageDto;
+import com.dietergandalf.store_manager.dto.CatalogQueryDto;
 import com.dietergandalf.store_manager.dto.CustomerDto;
+import com.dietergandalf.store_manager.dto.ProductSearchPageDto;
 import com.dietergandalf.store_manager.dto.ProductStockDto;
 import com.dietergandalf.store_manager.dto.RegisterRequestDto;
 import com.dietergandalf.store_manager.dto.ShoppingCartDto;
 import com.dietergandalf.store_manager.dto.UpdateProfileRequestDto;
 import com.dietergandalf.store_manager.service.CustomerService;
+import com.dietergandalf.store_manager.util.ETags;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -22,11 +31,16 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 @RequestMapping("/api")
 @Tag(name = "Customer Management", description = "Operations related to customers and their shopping experience")
 public class CustomerController {
+    // Clients may keep responses but must revalidate them with If-None-Match before each use
+    private static final CacheControl PRIVATE_REVALIDATE = CacheControl.noCache().cachePrivate();
+
     private final CustomerService customerService;
+    private final IdempotencyStore idempotencyStore;
 
     @Autowired
-    public CustomerController(CustomerService customerService) {
+    public CustomerController(CustomerService customerService, IdempotencyStore idempotencyStore) {
         this.customerService = customerService;
+        this.idempotencyStore = idempotencyStore;
     }
 
     @Operation(summary = "Get all customers", description = "Retrieves a list of all registered customers in the system")
@@ -77,30 +91,82 @@ public class CustomerController {
         return ResponseEntity.notFound().build();
     }
 
-    @Operation(summary = "Get all available products", description = "Retrieves all products that are currently in stock and available for purchase")
+    @Operation(summary = "Browse available products", description = "Retrieves one keyset-paginated page of in-stock products, sorted by ID, PRICE or NAME "
+            + "and optionally filtered by seller, price range and name. Pass the returned nextCursor to fetch the following page. "
+            + "Responses carry an ETag; a request whose If-None-Match still matches gets 304 Not Modified")
     @GetMapping("/customers/products")
-    public ResponseEntity<List<ProductStockDto>> getAllAvailableProducts() {
-        List<ProductStockDto> products = customerService.getAllAvailableProducts();
-        return ResponseEntity.ok(products);
+    public ResponseEntity<CatalogPageDto> getAvailableProducts(CatalogQueryDto query,
+                                                               @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        try {
+            // Pages usually come from the catalog cache, so a matching poll costs neither a query nor a mapping
+            CatalogPageDto page = customerService.getAvailableProducts(query);
+            String etag = ETags.of(page);
+            if (ETags.matches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).varyBy(HttpHeaders.ACCEPT).cacheControl(CacheControl.noCache()).build();
+            }
+            return ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT).cacheControl(CacheControl.noCache()).body(page);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
-    @Operation(summary = "Add product to cart", description = "Adds a specified quantity of a product to the customer's shopping cart")
-    @PostMapping("/customers/{customerId}/cart")
-    public ResponseEntity<ShoppingCartDto> addToCart(@PathVariable Long customerId, @RequestBody AddToCartRequestDto addToCartRequest) {
+    @Operation(summary = "Search products", description = "Full-text search over product names and descriptions. Matches word prefixes and "
+            + "tolerates small typos; results are in-stock products ranked by relevance, paged by a zero-based page number")
+    @GetMapping("/customers/products/search")
+    public ResponseEntity<ProductSearchPageDto> searchProducts(@RequestParam("q") String query,
+                                                               @RequestParam(required = false) Integer page,
+                                                               @RequestParam(required = false) Integer size) {
+        try {
+            ProductSearchPageDto results = customerService.searchProducts(query, page, size);
+            return ResponseEntity.ok(results);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @Operation(summary = "Trending products", description = "The best selling in-stock products of the trending window (the last day by default), best first. "
+            + "Rankings are estimated in memory and refreshed every few seconds")
+    @GetMapping("/customers/products/trending")
+    public ResponseEntity<List<ProductStockDto>> getTrendingProducts(@RequestParam(required = false) Integer size) {
         try {
-            ShoppingCartDto cart = customerService.addToCart(customerId, addToCartRequest);
-            return ResponseEntity.ok(cart);
+            return ResponseEntity.ok(customerService.getTrendingProducts(size));
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().build();
         }
     }
 
-    @Operation(summary = "Get customer's shopping cart", description = "Retrieves the current contents of the customer's shopping cart")
+    @Operation(summary = "Add product to cart", description = "Adds a specified quantity of a product to the customer's shopping cart and returns the changed item with the updated cart totals. "
+            + "With an Idempotency-Key header, a retried request returns the original result instead of adding the quantity again")
+    @PostMapping("/customers/{customerId}/cart")
+    public ResponseEntity<CartUpdateDto> addToCart(@PathVariable Long customerId,
+                                                   @RequestHeader(value = IdempotencyStore.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+                                                   @RequestBody AddToCartRequestDto addToCartRequest) {
+        return idempotencyStore.execute(idempotencyKey, "cart-add:" + customerId, addToCartRequest, () -> {
+            try {
+                CartUpdateDto cart = customerService.addToCart(customerId, addToCartRequest);
+                return ResponseEntity.ok(cart);
+            } catch (OptimisticLockingFailureException e) {
+                return ResponseEntity.status(HttpStatus.CONFLICT).build();
+            } catch (RuntimeException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        });
+    }
+
+    @Operation(summary = "Get customer's shopping cart", description = "Retrieves the current contents of the customer's shopping cart. "
+            + "Responses carry an ETag; a request whose If-None-Match still matches gets 304 Not Modified")
     @GetMapping("/customers/{customerId}/cart")
-    public ResponseEntity<ShoppingCartDto> getCart(@PathVariable Long customerId) {
+    public ResponseEntity<ShoppingCartDto> getCart(@PathVariable Long customerId,
+                                                   @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // Tag first: a write landing before the cart is read only makes the tag older than the body, and an old
+        // tag never matches again
+        String etag = customerService.getCartETag(customerId);
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).varyBy(HttpHeaders.ACCEPT).cacheControl(PRIVATE_REVALIDATE).build();
+        }
         ShoppingCartDto cart = customerService.getCart(customerId);
         if (cart != null) {
-            return ResponseEntity.ok(cart);
+            return ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT).cacheControl(PRIVATE_REVALIDATE).body(cart);
         }
         return ResponseEntity.notFound().build();
     }
@@ -115,33 +181,41 @@ public class CustomerController {
         return ResponseEntity.notFound().build();
     }
 
-    @Operation(summary = "Remove item from cart", description = "Removes a specific item from the customer's shopping cart")
+    @Operation(summary = "Remove item from cart", description = "Removes a specific item from the customer's shopping cart and returns the updated cart totals")
     @DeleteMapping("/customers/{customerId}/cart/items/{cartItemId}")
-    public ResponseEntity<ShoppingCartDto> removeFromCart(@PathVariable Long customerId, @PathVariable Long cartItemId) {
+    public ResponseEntity<CartUpdateDto> removeFromCart(@PathVariable Long customerId, @PathVariable Long cartItemId) {
         try {
-            ShoppingCartDto cart = customerService.removeFromCart(customerId, cartItemId);
+            CartUpdateDto cart = customerService.removeFromCart(customerId, cartItemId);
             if (cart != null) {
                 return ResponseEntity.ok(cart);
             }
             return ResponseEntity.notFound().build();
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().build();
         }
     }
 
-    @Operation(summary = "Update cart item quantity", description = "Updates the quantity of a specific item in the customer's shopping cart")
+    @Operation(summary = "Update cart item quantity", description = "Updates the quantity of a specific item in the customer's shopping cart and returns the changed item with the updated cart totals. "
+            + "With an Idempotency-Key header, a retried request returns the original result without touching the cart again")
     @PutMapping("/customers/{customerId}/cart/items/{cartItemId}")
-    public ResponseEntity<ShoppingCartDto> updateCartItemQuantity(@PathVariable Long customerId, 
-                                                                 @PathVariable Long cartItemId, 
-                                                                 @RequestParam Integer quantity) {
-        try {
-            ShoppingCartDto cart = customerService.updateCartItemQuantity(customerId, cartItemId, quantity);
-            if (cart != null) {
-                return ResponseEntity.ok(cart);
+    public ResponseEntity<CartUpdateDto> updateCartItemQuantity(@PathVariable Long customerId, 
+                                                               @PathVariable Long cartItemId, 
+                                                               @RequestHeader(value = IdempotencyStore.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+                                                               @RequestParam Integer quantity) {
+        return idempotencyStore.execute(idempotencyKey, "cart-update:" + customerId + ":" + cartItemId, quantity, () -> {
+            try {
+                CartUpdateDto cart = customerService.updateCartItemQuantity(customerId, cartItemId, quantity);
+                if (cart != null) {
+                    return ResponseEntity.ok(cart);
+                }
+                return ResponseEntity.notFound().build();
+            } catch (OptimisticLockingFailureException e) {
+                return ResponseEntity.status(HttpStatus.CONFLICT).build();
+            } catch (RuntimeException e) {
+                return ResponseEntity.badRequest().build();
             }
-            return ResponseEntity.notFound().build();
-        } catch (RuntimeException e) {
-            return ResponseEntity.badRequest().build();
-        }
+        });
     }
 }
@@ -1,56 +1,95 @@
 package com.dietergandalf.store_manager.controller;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import com.dietergandalf.store_manager.cache.IdempotencyStore;
 import com.dietergandalf.store_manager.dto.CheckoutRequestDto;
 import com.dietergandalf.store_manager.dto.OrderDto;
+import com.dietergandalf.store_manager.dto.OrderExportFormat;
+import com.dietergandalf.store_manager.dto.OrderPageDto;
 import com.dietergandalf.store_manager.model.OrderStatus;
 import com.dietergandalf.store_manager.service.OrderService;
+import com.dietergandalf.store_manager.util.ETags;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 
 @RestController
 @RequestMapping("/api")
 @Tag(name = "Order Management", description = "Operations related to order processing and management")
 public class OrderController {
+    // Clients may keep responses but must revalidate them with If-None-Match before each use
+    private static final CacheControl PRIVATE_REVALIDATE = CacheControl.noCache().cachePrivate();
     
     private final OrderService orderService;
+    private final IdempotencyStore idempotencyStore;
     
     @Autowired
-    public OrderController(OrderService orderService) {
+    public OrderController(OrderService orderService, IdempotencyStore idempotencyStore) {
         this.orderService = orderService;
+        this.idempotencyStore = idempotencyStore;
     }
     
-    @Operation(summary = "Checkout and create order", description = "Process checkout and create an order from the customer's shopping cart")
+    @Operation(summary = "Checkout and create order", description = "Process checkout and create an order from the customer's shopping cart. "
+            + "The order is returned PENDING and paid asynchronously. Send an Idempotency-Key header to make retries safe: "
+            + "a repeated key returns the original order instead of placing another one")
     @PostMapping("/customers/{customerId}/checkout")
-    public ResponseEntity<OrderDto> checkout(@PathVariable Long customerId, @RequestBody CheckoutRequestDto checkoutRequest) {
+    public ResponseEntity<OrderDto> checkout(@PathVariable Long customerId,
+                                             @RequestHeader(value = IdempotencyStore.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+                                             @RequestBody CheckoutRequestDto checkoutRequest) {
+        return idempotencyStore.execute(idempotencyKey, "checkout:" + customerId, checkoutRequest, () -> {
+            try {
+                OrderDto order = orderService.checkout(customerId, checkoutRequest);
+                return ResponseEntity.status(HttpStatus.CREATED).body(order);
+            } catch (OptimisticLockingFailureException e) {
+                return ResponseEntity.status(HttpStatus.CONFLICT).build();
+            } catch (RuntimeException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        });
+    }
+    
+    @Operation(summary = "Get customer orders", description = "Retrieves one keyset-paginated page of the customer's orders, newest first, "
+            + "with their items. Pass the returned nextCursor to fetch the following page.")
+    @GetMapping("/customers/{customerId}/orders")
+    public ResponseEntity<OrderPageDto> getCustomerOrders(@PathVariable Long customerId,
+                                                          @RequestParam(required = false) String cursor,
+                                                          @RequestParam(required = false) Integer size) {
         try {
-            OrderDto order = orderService.checkout(customerId, checkoutRequest);
-            return ResponseEntity.status(HttpStatus.CREATED).body(order);
+            OrderPageDto orders = orderService.getCustomerOrders(customerId, cursor, size);
+            return ResponseEntity.ok(orders);
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().build();
         }
     }
     
-    @Operation(summary = "Get customer orders", description = "Retrieves all orders for a specific customer")
-    @GetMapping("/customers/{customerId}/orders")
-    public ResponseEntity<List<OrderDto>> getCustomerOrders(@PathVariable Long customerId) {
-        List<OrderDto> orders = orderService.getCustomerOrders(customerId);
-        return ResponseEntity.ok(orders);
-    }
-    
-    @Operation(summary = "Get order by ID", description = "Retrieves a specific order by its unique identifier")
+    @Operation(summary = "Get order by ID", description = "Retrieves a specific order by its unique identifier. "
+            + "Responses carry an ETag; a request whose If-None-Match still matches gets 304 Not Modified")
     @GetMapping("/orders/{orderId}")
-    public ResponseEntity<OrderDto> getOrderById(@PathVariable Long orderId) {
+    public ResponseEntity<OrderDto> getOrderById(@PathVariable Long orderId,
+                                                 @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // Tag first: a status change landing before the order is read only makes the tag older than the body
+        String etag = orderService.getOrderETag(orderId);
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).varyBy(HttpHeaders.ACCEPT).cacheControl(PRIVATE_REVALIDATE).build();
+        }
         OrderDto order = orderService.getOrderById(orderId);
         if (order != null) {
-            return ResponseEntity.ok(order);
+            return ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT).cacheControl(PRIVATE_REVALIDATE).body(order);
         }
         return ResponseEntity.notFound().build();
     }
@@ -72,4 +111,26 @@ public class OrderController {
         List<OrderDto> orders = orderService.getAllOrders();
         return ResponseEntity.ok(orders);
     }
+
+    @Operation(summary = "Export orders", description = "Streams the orders placed between the optional from and to dates (inclusive) "
+            + "with the optional status, as NDJSON (one order with its items per line) or CSV (one line per order item). "
+            + "Rows are written while they are read, so memory use does not grow with the number of orders (admin functionality)")
+    @GetMapping("/orders/export")
+    public void exportOrders(@RequestParam(defaultValue = "NDJSON") OrderExportFormat format,
+                             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                             @RequestParam(required = false) OrderStatus status,
+                             HttpServletResponse response) throws IOException {
+        response.setContentType(format.getContentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename("orders." + format.getFileExtension()).build().toString());
+        try {
+            orderService.exportOrders(format, from, to, status, response.getWriter());
+        } catch (IllegalArgumentException e) {
+            // Rejected before the first row was written, so the response is still uncommitted
+            response.reset();
+            response.setStatus(HttpStatus.BAD_REQUEST.value());
+        }
+    }
 }
@@ -8,8 +8,11 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import com.dietergandalf.store_manager.dto.CreateStandRequestDto;
 import com.dietergandalf.store_manager.dto.OwnerDto;
+import com.dietergandalf.store_manager.dto.OwnerStandSummaryDto;
 import com.dietergandalf.store_manager.dto.RegisterRequestDto;
+import com.dietergandalf.store_manager.dto.StandDto;
 import com.dietergandalf.store_manager.dto.UpdateProfileRequestDto;
 import com.dietergandalf.store_manager.service.OwnerService;
 
@@ -70,4 +73,59 @@ public class OwnerController {
         }
         return ResponseEntity.notFound().build();
     }
+
+    @Operation(summary = "Get owner stand summary", description = "Returns the owner's stand counts and monthly rent, split into "
+            + "occupied and available stands, without loading the stands themselves")
+    @GetMapping("/owners/{id}/stands/summary")
+    public ResponseEntity<OwnerStandSummaryDto> getStandSummary(@PathVariable Long id) {
+        OwnerStandSummaryDto summary = ownerService.getStandSummary(id);
+        if (summary != null) {
+            return ResponseEntity.ok(summary);
+        }
+        return ResponseEntity.notFound().build();
+    }
+
+    @Operation(summary = "Get available stands", description = "Lists the owner's stands no seller occupies in id order. "
+            + "Pass the last stand id of a page as afterId to get the next one")
+    @GetMapping("/owners/{id}/stands/available")
+    public ResponseEntity<List<StandDto>> getAvailableStands(@PathVariable Long id,
+                                                             @RequestParam(required = false) Long afterId,
+                                                             @RequestParam(defaultValue = "50") int size) {
+        try {
+            return ResponseEntity.ok(ownerService.getAvailableStands(id, afterId, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @Operation(summary = "Add a stand", description = "Adds an available stand with the given monthly price and size to the owner")
+    @PostMapping("/owners/{id}/stands")
+    public ResponseEntity<StandDto> addStand(@PathVariable Long id, @RequestBody CreateStandRequestDto standRequest) {
+        try {
+            StandDto createdStand = ownerService.addStand(id, standRequest);
+            return ResponseEntity.status(HttpStatus.CREATED).body(createdStand);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @Operation(summary = "Rent out a stand", description = "Assigns an available stand to a seller. A seller rents at most one stand")
+    @PutMapping("/owners/{id}/stands/{standId}/tenant")
+    public ResponseEntity<StandDto> rentStand(@PathVariable Long id, @PathVariable Long standId, @RequestParam Long sellerId) {
+        try {
+            return ResponseEntity.ok(ownerService.rentStand(id, standId, sellerId));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @Operation(summary = "Vacate a stand", description = "Ends the current seller's rental of the stand, making it available again")
+    @DeleteMapping("/owners/{id}/stands/{standId}/tenant")
+    public ResponseEntity<StandDto> vacateStand(@PathVariable Long id, @PathVariable Long standId) {
+        try {
+            return ResponseEntity.ok(ownerService.vacateStand(id, standId));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
 }
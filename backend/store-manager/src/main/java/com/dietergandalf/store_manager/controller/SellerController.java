@@ -1,32 +1,52 @@
 package com.dietergandalf.store_manager.controller;
 
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import com.dietergandalf.store_manager.dto.CreateProductRequestDto;
+import com.dietergandalf.store_manager.dto.ProductImportFormat;
+import com.dietergandalf.store_manager.dto.ProductImportReportDto;
 import com.dietergandalf.store_manager.dto.ProductStockDto;
 import com.dietergandalf.store_manager.dto.RegisterRequestDto;
 import com.dietergandalf.store_manager.dto.SellerDto;
+import com.dietergandalf.store_manager.dto.SellerSalesReportDto;
 import com.dietergandalf.store_manager.dto.UpdateProfileRequestDto;
 import com.dietergandalf.store_manager.dto.UpdateProductStockRequestDto;
+import com.dietergandalf.store_manager.service.ProductImportService;
+import com.dietergandalf.store_manager.service.SellerSalesService;
 import com.dietergandalf.store_manager.service.SellerService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 
 @RestController
 @RequestMapping("/api")
 @Tag(name = "Seller Management", description = "Operations related to sellers and their product management")
 public class SellerController {
     private final SellerService sellerService;
+    private final ProductImportService productImportService;
+    private final SellerSalesService sellerSalesService;
 
     @Autowired
-    public SellerController(SellerService sellerService) {
+    public SellerController(SellerService sellerService, ProductImportService productImportService,
+                            SellerSalesService sellerSalesService) {
         this.sellerService = sellerService;
+        this.productImportService = productImportService;
+        this.sellerSalesService = sellerSalesService;
     }
 
     @Operation(summary = "Get all sellers", description = "Retrieves a list of all registered sellers in the system")
@@ -88,6 +108,26 @@ public class SellerController {
         }
     }
 
+    @Operation(summary = "Import products", description = "Adds many products to a seller's inventory from a CSV (header naming "
+            + "name, description, price and initialStock) or NDJSON (one product per line) request body. Rows are validated "
+            + "while the body is read and written in chunked batches; invalid rows are skipped and listed by line in the report. "
+            + "An import that stops early answers 400 with the report so far and the line it stopped at")
+    @PostMapping(value = "/sellers/{sellerId}/products/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<ProductImportReportDto> importProducts(@PathVariable Long sellerId,
+                                                                 @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                                 HttpServletRequest request) throws IOException {
+        Charset charset = request.getCharacterEncoding() != null
+                ? Charset.forName(request.getCharacterEncoding()) : StandardCharsets.UTF_8;
+        try (InputStreamReader body = new InputStreamReader(request.getInputStream(), charset)) {
+            ProductImportReportDto report = productImportService.importProducts(
+                    sellerId, ProductImportFormat.fromContentType(contentType), body);
+            // A stopped import still returns its report: the chunks written before it stopped stay imported
+            return report.getAbortedAt() == null ? ResponseEntity.ok(report) : ResponseEntity.badRequest().body(report);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @Operation(summary = "Get seller's products", description = "Retrieves all products that belong to a specific seller")
     @GetMapping("/sellers/{sellerId}/products")
     public ResponseEntity<List<ProductStockDto>> getSellerProducts(@PathVariable Long sellerId) {
@@ -116,6 +156,8 @@ public class SellerController {
             }
             
             return ResponseEntity.badRequest().build();
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().build();
         }
@@ -147,4 +189,30 @@ public class SellerController {
             return ResponseEntity.badRequest().build();
         }
     }
-}
+
+    @Operation(summary = "Get daily sales", description = "Revenue and units sold per day over the days from..to (inclusive, "
+            + "at most three years), with per-product totals. Cancelled and refunded orders are not counted")
+    @GetMapping("/sellers/{sellerId}/sales/daily")
+    public ResponseEntity<SellerSalesReportDto> getDailySales(@PathVariable Long sellerId,
+                                                              @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                              @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            return ResponseEntity.ok(sellerSalesService.getDailySales(sellerId, from, to));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @Operation(summary = "Get hourly sales", description = "Revenue and units sold per hour over from..to (end exclusive, "
+            + "at most 31 days), with per-product totals. Cancelled and refunded orders are not counted")
+    @GetMapping("/sellers/{sellerId}/sales/hourly")
+    public ResponseEntity<SellerSalesReportDto> getHourlySales(@PathVariable Long sellerId,
+                                                               @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                               @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        try {
+            return ResponseEntity.ok(sellerSalesService.getHourlySales(sellerId, from, to));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
\ No newline at end of file
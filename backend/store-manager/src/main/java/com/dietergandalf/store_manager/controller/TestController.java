@@ -44,19 +44,6 @@ public class TestController {
         return ResponseEntity.ok(response);
     }
 
-    @GetMapping("/actuator/health")
-    @Operation(summary = "Actuator health check", description = "Returns application health status (actuator-compatible)")
-    @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Application is healthy",
-                    content = @Content(schema = @Schema(implementation = Map.class)))
-    })
-    public ResponseEntity<Map<String, String>> actuatorHealth() {
-        Map<String, String> response = new HashMap<>();
-        response.put("status", "UP");
-        response.put("application", "store-manager");
-        return ResponseEntity.ok(response);
-    }
-
     @GetMapping("/api/test")
     @Operation(summary = "CORS test endpoint", description = "Test endpoint to verify CORS configuration and backend connectivity")
     @ApiResponses(value = {
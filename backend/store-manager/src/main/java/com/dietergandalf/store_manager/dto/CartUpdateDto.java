@@ -0,0 +1,23 @@
+package com.dietergandalf.store_manager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Result of a single cart mutation: the changed line (or the id of the removed one)
+ * plus the cart's running totals, so clients can patch their copy of the cart.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CartUpdateDto {
+    private Long cartId;
+    private Long customerId;
+    private CartItemDto cartItem;
+    private Long removedCartItemId;
+    private Double totalAmount;
+    private Integer totalItems;
+}
@@ -0,0 +1,20 @@
+package com.dietergandalf.store_manager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CatalogPageDto {
+    private List<ProductStockDto> items;
+    private Integer size;
+    private CatalogSort sort;
+    private String nextCursor;
+    private boolean hasMore;
+}
@@ -0,0 +1,20 @@
+package com.dietergandalf.store_manager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CatalogQueryDto {
+    private String cursor;
+    private Integer size;
+    private CatalogSort sort;
+    private Long sellerId;
+    private Double minPrice;
+    private Double maxPrice;
+    private String name;
+}
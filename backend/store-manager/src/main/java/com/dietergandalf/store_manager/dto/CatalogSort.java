@@ -0,0 +1,7 @@
+package com.dietergandalf.store_manager.dto;
+
+public enum CatalogSort {
+    ID,
+    PRICE,
+    NAME
+}
@@ -0,0 +1,31 @@
+package com.dietergandalf.store_manager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+import com.dietergandalf.store_manager.model.OrderEventType;
+import com.dietergandalf.store_manager.model.OrderStatus;
+
+/**
+ * An order lifecycle event as delivered to outbox sinks. {@code eventId} increases with every event,
+ * and a redelivered event keeps its id, so consumers can use it to drop duplicates.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderEventDto {
+    private Long eventId;
+    private OrderEventType type;
+    private Long orderId;
+    private Long customerId;
+    private OrderStatus status;
+    private OrderStatus previousStatus;
+    private Double totalAmount;
+    private String paymentStatus;
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,38 @@
+package com.dietergandalf.store_manager.dto;
+
+import java.time.LocalDateTime;
+
+import com.dietergandalf.store_manager.model.OrderStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One order item joined with its order, customer and product, as streamed by the order export.
+ * Orders without items produce a single row whose item columns are null.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderExportRowDto {
+    private Long orderId;
+    private LocalDateTime orderDate;
+    private OrderStatus status;
+    private Long customerId;
+    private String customerName;
+    private Double totalAmount;
+    private String shippingAddress;
+    private String billingAddress;
+    private String paymentMethod;
+    private String paymentStatus;
+    private String orderNotes;
+    private Long orderItemId;
+    private Long productStockId;
+    private String productName;
+    private String productDescription;
+    private Integer quantity;
+    private Double priceAtTimeOfOrder;
+}
@@ -0,0 +1,19 @@
+package com.dietergandalf.store_manager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderPageDto {
+    private List<OrderDto> items;
+    private Integer size;
+    private String nextCursor;
+    private boolean hasMore;
+}
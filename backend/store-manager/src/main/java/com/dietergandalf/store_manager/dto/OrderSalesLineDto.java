@@ -0,0 +1,17 @@
+package com.dietergandalf.store_manager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderSalesLineDto {
+    private Long sellerId;
+    private Long productStockId;
+    private Integer quantity;
+    private Double priceAtTimeOfOrder;
+}
@@ -0,0 +1,21 @@
+package com.dietergandalf.store_manager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OwnerStandSummaryDto {
+    private Long ownerId;
+    private Long totalStands;
+    private Long occupiedStands;
+    private Long availableStands;
+    // Rent collected each month from the occupied stands
+    private Double monthlyRent;
+    // Rent the available stands would add once occupied
+    private Double vacantRent;
+}
@@ -9,8 +9,7 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class PayPalPaymentDto {
-    private Long paypalId;
-    private String email;
-    private String type;
+public class ProductImportErrorDto {
+    private Long line;
+    private String message;
 }
@@ -0,0 +1,28 @@
+package com.dietergandalf.store_manager.dto;
+
+import org.springframework.http.MediaType;
+
+public enum ProductImportFormat {
+    NDJSON("application/x-ndjson"),
+    CSV("text/csv");
+
+    private final String contentType;
+
+    ProductImportFormat(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public static ProductImportFormat fromContentType(String contentType) {
+        MediaType mediaType = MediaType.parseMediaType(contentType);
+        for (ProductImportFormat format : values()) {
+            if (MediaType.parseMediaType(format.contentType).equalsTypeAndSubtype(mediaType)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported import content type: " + contentType);
+    }
+}
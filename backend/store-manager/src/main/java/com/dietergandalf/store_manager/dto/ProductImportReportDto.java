@@ -0,0 +1,22 @@
+package com.dietergandalf.store_manager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductImportReportDto {
+    private Integer totalRows;
+    private Integer importedRows;
+    private Integer failedRows;
+    private List<ProductImportErrorDto> errors;
+    private boolean errorsTruncated;
+    // Set when the import stopped before the end of the body: the last row read and why; rows after it were not read
+    private ProductImportErrorDto abortedAt;
+}
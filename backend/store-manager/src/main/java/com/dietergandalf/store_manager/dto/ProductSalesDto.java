@@ -0,0 +1,18 @@
+package com.dietergandalf.store_manager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductSalesDto {
+    private Long productStockId;
+    // Null once the product has been removed from the seller's inventory
+    private String productName;
+    private Double revenue;
+    private Long unitsSold;
+}
@@ -0,0 +1,21 @@
+package com.dietergandalf.store_manager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductSearchPageDto {
+    private String query;
+    private List<ProductStockDto> items;
+    private Integer page;
+    private Integer size;
+    private Integer totalHits;
+    private boolean hasMore;
+}
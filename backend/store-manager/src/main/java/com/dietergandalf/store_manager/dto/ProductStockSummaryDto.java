@@ -13,6 +13,7 @@ public class ProductStockSummaryDto {
     private Long productStockId;
     private Long productId;
     private String productName;
+    private String productDescription;
     private Double productPrice;
     private Integer amount;
     private Long sellerId;
@@ -0,0 +1,19 @@
+package com.dietergandalf.store_manager.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SalesBucketDto {
+    // Start of the hour or day the sales fall into
+    private LocalDateTime bucketStart;
+    private Double revenue;
+    private Long unitsSold;
+}
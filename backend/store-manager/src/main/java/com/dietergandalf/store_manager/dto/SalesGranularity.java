@@ -0,0 +1,6 @@
+package com.dietergandalf.store_manager.dto;
+
+public enum SalesGranularity {
+    HOURLY,
+    DAILY
+}
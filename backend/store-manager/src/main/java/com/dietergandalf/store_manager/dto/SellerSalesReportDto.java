@@ -0,0 +1,27 @@
+package com.dietergandalf.store_manager.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SellerSalesReportDto {
+    private Long sellerId;
+    // Covers [from, to)
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private SalesGranularity granularity;
+    private Double totalRevenue;
+    private Long totalUnitsSold;
+    // Only buckets with sales, oldest first
+    private List<SalesBucketDto> buckets;
+    // Best selling products of the range first
+    private List<ProductSalesDto> products;
+}
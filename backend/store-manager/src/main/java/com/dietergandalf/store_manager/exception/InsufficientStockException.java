@@ -0,0 +1,16 @@
+package com.dietergandalf.store_manager.exception;
+
+import java.util.List;
+
+public class InsufficientStockException extends RuntimeException {
+    private final List<Long> productStockIds;
+
+    public InsufficientStockException(List<Long> productStockIds) {
+        super("Insufficient stock for product stock ids: " + productStockIds);
+        this.productStockIds = List.copyOf(productStockIds);
+    }
+
+    public List<Long> getProductStockIds() {
+        return productStockIds;
+    }
+}
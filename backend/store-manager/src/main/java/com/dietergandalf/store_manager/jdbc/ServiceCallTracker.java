@@ -0,0 +1,73 @@
+package com.dietergandalf.store_manager.jdbc;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Remembers the outermost service method running on the current thread so statements can be attributed to
+ * it, and records how many statements each call issued as {@code store.jdbc.statements.per.call}, tagged
+ * {@code method=<Service.method>}. A service method that suddenly issues hundreds of statements is an N+1
+ * long before any single statement shows up as slow.
+ */
+public class ServiceCallTracker implements MethodInterceptor {
+    public static final String UNKNOWN_METHOD = "none";
+
+    private static final ThreadLocal<Call> CURRENT = new ThreadLocal<>();
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public ServiceCallTracker(ObjectProvider<MeterRegistry> meterRegistry) {
+        // Resolved lazily: advisors are created while the bean post-processors are still being registered
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        if (CURRENT.get() != null) {
+            // Nested service calls count towards the method the request entered through
+            return invocation.proceed();
+        }
+        Class<?> targetClass = invocation.getThis() != null
+                ? AopUtils.getTargetClass(invocation.getThis())
+                : invocation.getMethod().getDeclaringClass();
+        Call call = new Call(targetClass.getSimpleName() + "." + invocation.getMethod().getName());
+        CURRENT.set(call);
+        try {
+            return invocation.proceed();
+        } finally {
+            CURRENT.remove();
+            DistributionSummary.builder("store.jdbc.statements.per.call")
+                    .description("JDBC statements executed per service method call")
+                    .tag("method", call.method)
+                    .register(meterRegistry.getObject())
+                    .record(call.statements);
+        }
+    }
+
+    /**
+     * Counts a statement against the current call and returns the method it belongs to, or
+     * {@value #UNKNOWN_METHOD} outside of service calls (schedulers, startup, the outbox relay).
+     */
+    public static String statementExecuted() {
+        Call call = CURRENT.get();
+        if (call == null) {
+            return UNKNOWN_METHOD;
+        }
+        call.statements++;
+        return call.method;
+    }
+
+    private static final class Call {
+        private final String method;
+        private int statements;
+
+        Call(String method) {
+            this.method = method;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.dietergandalf.store_manager.jdbc;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Logs statements that ran for at least the threshold to the {@value #LOGGER_NAME} logger, one structured
+ * event each: duration, the service method it ran under, bind and batch counts and the SQL text (never the
+ * bound values). Slow statements are also counted as {@code store.jdbc.slow.statements} per method.
+ */
+public class SlowQueryLog implements StatementTimingDataSource.Listener {
+    public static final String LOGGER_NAME = "store.sql.slow";
+
+    static final int MAX_SQL_LENGTH = 2000;
+
+    private static final Logger log = LoggerFactory.getLogger(LOGGER_NAME);
+
+    private final long thresholdNanos;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public SlowQueryLog(Duration threshold, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.thresholdNanos = threshold.toNanos();
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void statementExecuted(String sql, long elapsedNanos, int bindCount, int batchSize) {
+        String serviceMethod = ServiceCallTracker.statementExecuted();
+        if (elapsedNanos < thresholdNanos) {
+            return;
+        }
+        Counter.builder("store.jdbc.slow.statements")
+                .description("JDBC statements slower than store.sql.slow-query-threshold")
+                .tag("method", serviceMethod)
+                .register(meterRegistry.getObject())
+                .increment();
+        log.atWarn()
+                .setMessage("Slow SQL statement")
+                .addKeyValue("durationMs", TimeUnit.NANOSECONDS.toMillis(elapsedNanos))
+                .addKeyValue("serviceMethod", serviceMethod)
+                .addKeyValue("bindCount", bindCount)
+                .addKeyValue("batchSize", batchSize)
+                .addKeyValue("sql", truncate(sql))
+                .log();
+    }
+
+    private static String truncate(String sql) {
+        if (sql == null) {
+            return "";
+        }
+        return sql.length() <= MAX_SQL_LENGTH ? sql : sql.substring(0, MAX_SQL_LENGTH) + "...";
+    }
+}
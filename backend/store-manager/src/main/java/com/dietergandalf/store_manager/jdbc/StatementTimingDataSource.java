@@ -0,0 +1,146 @@
+package com.dietergandalf.store_manager.jdbc;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Times every statement executed through connections of the wrapped data source and reports it to a
+ * {@link Listener} together with its bind count and, for batches, the number of grouped rows.
+ *
+ * Connections and statements are JDK proxies, so {@code unwrap} still reaches the driver (or the Hikari)
+ * objects underneath. Bind values themselves are never kept, only how many were set.
+ */
+public class StatementTimingDataSource extends DelegatingDataSource {
+
+    /**
+     * Receives each executed statement. Called on the executing thread right after the driver returns, so
+     * implementations have to be cheap for statements they do not care about.
+     */
+    @FunctionalInterface
+    public interface Listener {
+        void statementExecuted(String sql, long elapsedNanos, int bindCount, int batchSize);
+    }
+
+    private final Listener listener;
+
+    public StatementTimingDataSource(DataSource targetDataSource, Listener listener) {
+        super(targetDataSource);
+        this.listener = listener;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return (T) this;
+        }
+        return obtainTargetDataSource().unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || obtainTargetDataSource().isWrapperFor(iface);
+    }
+
+    private Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { Connection.class },
+                new ConnectionHandler(connection));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private final class ConnectionHandler implements InvocationHandler {
+        private final Connection target;
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = StatementTimingDataSource.invoke(target, method, args);
+            if (result instanceof Statement statement) {
+                // prepareStatement/prepareCall carry the SQL up front; plain statements get it on execute
+                String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+                Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+                        : statement instanceof PreparedStatement ? PreparedStatement.class
+                        : Statement.class;
+                return Proxy.newProxyInstance(StatementTimingDataSource.class.getClassLoader(), new Class<?>[] { type },
+                        new StatementHandler(statement, sql));
+            }
+            return result;
+        }
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+        private final Statement target;
+        private final String preparedSql;
+        private int bindCount;
+        private int batchSize;
+
+        StatementHandler(Statement target, String preparedSql) {
+            this.target = target;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                return timed(method, args);
+            }
+            if (name.startsWith("set") && method.getDeclaringClass() != Statement.class) {
+                // PreparedStatement/CallableStatement parameter setters; Statement's own setters are options
+                bindCount++;
+            } else if (name.equals("addBatch")) {
+                batchSize++;
+            } else if (name.equals("clearBatch")) {
+                batchSize = 0;
+            }
+            return StatementTimingDataSource.invoke(target, method, args);
+        }
+
+        private Object timed(Method method, Object[] args) throws Throwable {
+            String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : preparedSql;
+            int batched = method.getName().equals("executeBatch") || method.getName().equals("executeLargeBatch")
+                    ? batchSize : 0;
+            long start = System.nanoTime();
+            try {
+                return StatementTimingDataSource.invoke(target, method, args);
+            } finally {
+                listener.statementExecuted(sql, System.nanoTime() - start, bindCount, batched);
+                bindCount = 0;
+                if (batched > 0) {
+                    batchSize = 0;
+                }
+            }
+        }
+    }
+}
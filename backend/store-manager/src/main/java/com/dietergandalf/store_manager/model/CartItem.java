@@ -1,12 +1,18 @@
 package com.dietergandalf.store_manager.model;
 
+import org.hibernate.annotations.ColumnDefault;
+
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -15,9 +21,14 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
+@Table(indexes = {
+    @Index(name = "idx_cart_item_cart_id", columnList = "cart_id"),
+    @Index(name = "idx_cart_item_product_stock_id", columnList = "product_stock_id")
+})
 public class CartItem {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cart_item_seq")
+    @SequenceGenerator(name = "cart_item_seq", sequenceName = "cart_item_seq", allocationSize = 50)
     private Long cart_item_id;
     
     @ManyToOne(fetch = FetchType.LAZY)
@@ -30,4 +41,8 @@ public class CartItem {
     
     private Integer quantity;
     private Double priceAtTimeOfAdd; // Store price when item was added to cart
+
+    @Version
+    @ColumnDefault("0")
+    private long version;
 }
@@ -0,0 +1,19 @@
+package com.dietergandalf.store_manager.model;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+
+public enum OrderEventType {
+    ORDER_PLACED("OrderPlaced"),
+    ORDER_STATUS_CHANGED("OrderStatusChanged");
+
+    private final String eventName;
+
+    OrderEventType(String eventName) {
+        this.eventName = eventName;
+    }
+
+    @JsonValue
+    public String getEventName() {
+        return eventName;
+    }
+}
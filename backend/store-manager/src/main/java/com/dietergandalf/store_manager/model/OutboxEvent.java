@@ -0,0 +1,57 @@
+package com.dietergandalf.store_manager.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * An order event written in the same transaction as the order change it describes, waiting for the
+ * {@link com.dietergandalf.store_manager.outbox.OutboxRelay} to publish it.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(indexes = {
+    @Index(name = "idx_outbox_event_published_at", columnList = "published_at"),
+    @Index(name = "idx_outbox_event_order_id", columnList = "order_id, outbox_event_id")
+})
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_event_seq")
+    @SequenceGenerator(name = "outbox_event_seq", sequenceName = "outbox_event_seq", allocationSize = 50)
+    private Long outboxEventId;
+
+    @Enumerated(EnumType.STRING)
+    private OrderEventType eventType;
+
+    private Long orderId;
+
+    @Column(length = 4000)
+    private String payload;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime publishedAt;
+    private int attempts;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    // Not claimed again before this time: the lease of a batch being published, or the backoff after a failure
+    private LocalDateTime nextAttemptAt;
+
+    // Set once the relay gives up on the event; parked events stay in the table for inspection
+    private LocalDateTime parkedAt;
+}
@@ -2,6 +2,9 @@ package com.dietergandalf.store_manager.model;
 
 import java.util.List;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import jakarta.persistence.Entity;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.OneToMany;
@@ -18,23 +21,38 @@ import lombok.NoArgsConstructor;
 public class Owner extends Person {
     
     @OneToMany(mappedBy = "stand_owner")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "store.owner.stands")
     List<Stand> stands;
 
+	/**
+	 * Stands of this owner no seller occupies. Walks the loaded {@code stands} collection, so services
+	 * use the aggregate queries in {@code StandRepository} instead of calling this on large owners.
+	 */
 	public List<Stand> getAvailableStands() {
-        //TODO: Logic to return available stands
-		return stands;
-    }
+		if (stands == null) {
+			return List.of();
+		}
+		return stands.stream()
+				.filter(stand -> stand.getStand_user() == null)
+				.toList();
+	}
 
-    public double getRent() {
-        //TODO: Logic to calculate and return the rent for the owner
-		return 0;
-    }
+	/**
+	 * Monthly rent collected from the occupied stands.
+	 */
+	public double getRent() {
+		if (stands == null) {
+			return 0;
+		}
+		return stands.stream()
+				.filter(stand -> stand.getStand_user() != null)
+				.mapToDouble(Stand::getPrice)
+				.sum();
+	}
 
-    public boolean hasAvailableStand(){
-        //TODO: Logic to check if the owner has any available stands
-        List<Stand> availableStands = getAvailableStands();
-        return availableStands != null && availableStands.size() > 0;
-    }
+	public boolean hasAvailableStand() {
+		return stands != null && stands.stream().anyMatch(stand -> stand.getStand_user() == null);
+	}
 
     @Override
 	public Owner login(String email, String password) {
@@ -1,12 +1,18 @@
 package com.dietergandalf.store_manager.model;
 
+import org.hibernate.annotations.ColumnDefault;
+
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -15,9 +21,14 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
+@Table(indexes = {
+	@Index(name = "idx_product_stock_seller_id", columnList = "seller_id"),
+	@Index(name = "idx_product_stock_amount", columnList = "amount")
+})
 public class ProductStock {
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_stock_seq")
+	@SequenceGenerator(name = "product_stock_seq", sequenceName = "product_stock_seq", allocationSize = 50)
 	private long product_stock_id;
 	
 	@ManyToOne(fetch = FetchType.LAZY)
@@ -29,4 +40,9 @@ public class ProductStock {
 	private Seller seller;
 	
 	private int amount;
+
+	// Seller restocks and checkout reservations both bump this, so neither can overwrite the other unseen
+	@Version
+	@ColumnDefault("0")
+	private long version;
 }
@@ -0,0 +1,22 @@
+package com.dietergandalf.store_manager.model;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Key of a sales rollup row: one seller's product stock within one hour or day, starting at {@code bucketStart}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Embeddable
+public class SalesBucketKey implements Serializable {
+    private Long sellerId;
+    private LocalDateTime bucketStart;
+    private Long productStockId;
+}
@@ -2,10 +2,11 @@ package com.dietergandalf.store_manager.model;
 
 import java.util.List;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import jakarta.persistence.Entity;
-import jakarta.persistence.JoinColumn;
 import jakarta.persistence.OneToMany;
-import jakarta.persistence.OneToOne;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
@@ -17,11 +18,19 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @Entity
 public class Seller extends Person {
+	// Not cached: stock amounts are also changed by plain JDBC batches the cache would not see
 	@OneToMany(mappedBy = "seller")
 	List<ProductStock> products;
 	
-	@OneToOne(mappedBy = "stand_user")
-	Stand stand;
+	// At most one stand (ux_stand_seller_id). Mapped as a collection because an inverse one-to-one cannot be
+	// lazy, and would query stand on every seller load, cache hits included.
+	@OneToMany(mappedBy = "stand_user")
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "store.seller.stand")
+	List<Stand> stands;
+
+	public Stand getStand() {
+		return stands == null || stands.isEmpty() ? null : stands.get(0);
+	}
 
 	@Override
 	Person login(String email, String password) {
@@ -0,0 +1,30 @@
+package com.dietergandalf.store_manager.model;
+
+import java.math.BigDecimal;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Revenue and units sold per seller, product stock and hour, maintained by {@code SalesRollup}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "seller_sales_hourly")
+public class SellerSalesHourly {
+    @EmbeddedId
+    private SalesBucketKey id;
+
+    @Column(nullable = false, precision = 19, scale = 4)
+    private BigDecimal revenue;
+
+    @Column(nullable = false)
+    private long unitsSold;
+}
@@ -3,6 +3,8 @@ package com.dietergandalf.store_manager.model;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.hibernate.annotations.ColumnDefault;
+
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
@@ -11,6 +13,8 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OneToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -21,7 +25,8 @@ import lombok.NoArgsConstructor;
 @Entity
 public class ShoppingCart {
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "shopping_cart_seq")
+	@SequenceGenerator(name = "shopping_cart_seq", sequenceName = "shopping_cart_seq", allocationSize = 50)
 	private long cart_id;
 	
 	@OneToOne(fetch = FetchType.LAZY, mappedBy = "cart")
@@ -29,4 +34,34 @@ public class ShoppingCart {
 	
 	@OneToMany(mappedBy = "cart", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
 	private List<CartItem> cartItems = new ArrayList<>();
+
+	// Running totals kept in step with every cart mutation; null until first computed for carts
+	// created before the columns existed
+	private Double totalAmount;
+	private Integer totalItems;
+
+	// Every cart mutation rewrites the running totals, so concurrent mutations of one cart conflict here
+	@Version
+	@ColumnDefault("0")
+	private long version;
+
+	public boolean hasTotals() {
+		return totalAmount != null && totalItems != null;
+	}
+
+	public void applyLineChange(int quantityDelta, double unitPrice) {
+		totalItems += quantityDelta;
+		// Reset exactly on empty so floating point drift cannot accumulate across cart lifetimes
+		totalAmount = totalItems == 0 ? 0.0 : totalAmount + quantityDelta * unitPrice;
+	}
+
+	public void recalculateTotals(List<CartItem> items) {
+		totalItems = items.stream().mapToInt(CartItem::getQuantity).sum();
+		totalAmount = items.stream().mapToDouble(item -> item.getQuantity() * item.getPriceAtTimeOfAdd()).sum();
+	}
+
+	public void resetTotals() {
+		totalAmount = 0.0;
+		totalItems = 0;
+	}
 }
@@ -1,12 +1,18 @@
 package com.dietergandalf.store_manager.model;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -17,9 +23,15 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @Builder
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "store.stand")
+@Table(indexes = {
+    @Index(name = "idx_stand_owner_id_seller_id", columnList = "owner_id, seller_id, price"),
+    @Index(name = "ux_stand_seller_id", columnList = "seller_id", unique = true)
+})
 public class Stand {
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stand_seq")
+	@SequenceGenerator(name = "stand_seq", sequenceName = "stand_seq", allocationSize = 50)
     private long stand_id;
     private double price;
     
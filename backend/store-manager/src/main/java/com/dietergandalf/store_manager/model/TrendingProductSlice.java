@@ -0,0 +1,26 @@
+package com.dietergandalf.store_manager.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Snapshot of a heavy-hitter candidate's units sold in one time slice, written periodically by
+ * {@code TrendingSnapshotter} so the trending ranking survives a restart.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "trending_product_slice")
+public class TrendingProductSlice {
+    @EmbeddedId
+    private TrendingSliceKey id;
+
+    @Column(nullable = false)
+    private long units;
+}
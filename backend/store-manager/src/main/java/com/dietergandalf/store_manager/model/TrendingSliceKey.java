@@ -0,0 +1,21 @@
+package com.dietergandalf.store_manager.model;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Key of a trending snapshot row: one product stock within the time slice starting at {@code sliceStart}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Embeddable
+public class TrendingSliceKey implements Serializable {
+    private LocalDateTime sliceStart;
+    private Long productStockId;
+}
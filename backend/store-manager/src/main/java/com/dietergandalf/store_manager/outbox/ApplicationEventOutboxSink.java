@@ -0,0 +1,29 @@
+package com.dietergandalf.store_manager.outbox;
+
+import java.util.List;
+
+import org.springframework.context.ApplicationEventPublisher;
+
+import com.dietergandalf.store_manager.dto.OrderEventDto;
+
+/**
+ * Publishes each event as a Spring application event, so in-process consumers only need an
+ * {@code @EventListener} method taking an {@link OrderEventDto}.
+ */
+public class ApplicationEventOutboxSink implements OutboxSink {
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ApplicationEventOutboxSink(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public String name() {
+        return "in-process";
+    }
+
+    @Override
+    public void publish(List<OrderEventDto> events) {
+        events.forEach(eventPublisher::publishEvent);
+    }
+}
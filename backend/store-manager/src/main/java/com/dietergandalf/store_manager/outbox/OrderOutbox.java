@@ -0,0 +1,72 @@
+package com.dietergandalf.store_manager.outbox;
+
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.dietergandalf.store_manager.dto.OrderEventDto;
+import com.dietergandalf.store_manager.model.Order;
+import com.dietergandalf.store_manager.model.OrderEventType;
+import com.dietergandalf.store_manager.model.OrderStatus;
+import com.dietergandalf.store_manager.model.OutboxEvent;
+import com.dietergandalf.store_manager.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Records order events in the outbox table. Must be called inside the transaction that changes the order,
+ * so an event is stored exactly when the change commits.
+ */
+@Component
+public class OrderOutbox {
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public OrderOutbox(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void orderPlaced(Order order) {
+        append(OrderEventType.ORDER_PLACED, order, null);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void orderStatusChanged(Order order, OrderStatus previousStatus) {
+        append(OrderEventType.ORDER_STATUS_CHANGED, order, previousStatus);
+    }
+
+    private void append(OrderEventType type, Order order, OrderStatus previousStatus) {
+        LocalDateTime now = LocalDateTime.now();
+        OrderEventDto event = OrderEventDto.builder()
+                .type(type)
+                .orderId(order.getOrderId())
+                .customerId(order.getCustomer() != null ? order.getCustomer().getPerson_id() : null)
+                .status(order.getStatus())
+                .previousStatus(previousStatus)
+                .totalAmount(order.getTotalAmount())
+                .paymentStatus(order.getPaymentStatus())
+                .occurredAt(now)
+                .build();
+
+        OutboxEvent outboxEvent = new OutboxEvent();
+        outboxEvent.setEventType(type);
+        outboxEvent.setOrderId(order.getOrderId());
+        outboxEvent.setPayload(toJson(event));
+        outboxEvent.setCreatedAt(now);
+        outboxEventRepository.save(outboxEvent);
+    }
+
+    private String toJson(OrderEventDto event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize order event", e);
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.dietergandalf.store_manager.outbox;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.dietergandalf.store_manager.dto.OrderEventDto;
+import com.dietergandalf.store_manager.model.OutboxEvent;
+import com.dietergandalf.store_manager.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Publishes pending outbox events to every {@link OutboxSink} in batches, oldest first.
+ *
+ * A batch is claimed in a short transaction with row locks that concurrent relays skip, and leased by moving
+ * its next attempt past the claim timeout. The sinks are then called outside any transaction, so a slow sink
+ * holds neither row locks nor a connection, and the outcome is recorded in a second short transaction. A
+ * failed batch is retried with exponential backoff while later events carry on; an event that keeps failing
+ * is parked after the maximum number of attempts, and one whose payload cannot be read is parked right away.
+ * Every sink gets the batch even when another one fails, so a retry can repeat events a sink already took:
+ * delivery is at least once, under stable event ids that increase per order. Published events are deleted
+ * once older than the retention; parked ones are kept.
+ */
+@Component
+public class OutboxRelay {
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final List<OutboxSink> sinks;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final int batchSize;
+    private final Duration retention;
+    private final Duration claimTimeout;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+
+    @Autowired
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       List<OutboxSink> sinks,
+                       ObjectMapper objectMapper,
+                       PlatformTransactionManager transactionManager,
+                       MeterRegistry meterRegistry,
+                       @Value("${store.outbox.relay.batch-size:100}") int batchSize,
+                       @Value("${store.outbox.retention:P7D}") Duration retention,
+                       @Value("${store.outbox.relay.claim-timeout:PT1M}") Duration claimTimeout,
+                       @Value("${store.outbox.relay.max-attempts:10}") int maxAttempts,
+                       @Value("${store.outbox.relay.initial-backoff:PT5S}") Duration initialBackoff,
+                       @Value("${store.outbox.relay.max-backoff:PT10M}") Duration maxBackoff) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.sinks = sinks;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.batchSize = batchSize;
+        this.retention = retention;
+        this.claimTimeout = claimTimeout;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+    }
+
+    @Scheduled(fixedDelayString = "${store.outbox.relay.interval:PT1S}")
+    public void relay() {
+        int settled;
+        do {
+            settled = relayBatch();
+        } while (settled == batchSize);
+
+        Integer purged = transactionTemplate.execute(status ->
+                outboxEventRepository.deletePublishedBefore(LocalDateTime.now().minus(retention)));
+        if (purged != null && purged > 0) {
+            log.debug("Purged {} published outbox events", purged);
+        }
+    }
+
+    /**
+     * Publishes the oldest batch that is due. Returns the number of events published or parked, 0 when
+     * nothing was due or a sink failed.
+     */
+    public int relayBatch() {
+        List<OutboxEvent> batch = claimBatch();
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, String> unreadable = new HashMap<>();
+        List<OrderEventDto> events = new ArrayList<>(batch.size());
+        for (OutboxEvent outboxEvent : batch) {
+            try {
+                events.add(toEvent(outboxEvent));
+            } catch (JsonProcessingException e) {
+                unreadable.put(outboxEvent.getOutboxEventId(), "unreadable payload: " + e.getOriginalMessage());
+            }
+        }
+
+        List<String> failures = new ArrayList<>();
+        if (!events.isEmpty()) {
+            for (OutboxSink sink : sinks) {
+                try {
+                    sink.publish(events);
+                    counter("store.outbox.events.published", sink, "Order events delivered to an outbox sink")
+                            .increment(events.size());
+                } catch (Exception e) {
+                    log.warn("Outbox sink {} failed on events {}..{}: {}", sink.name(),
+                            events.get(0).getEventId(), events.get(events.size() - 1).getEventId(), e.toString());
+                    counter("store.outbox.publish.failures", sink, "Outbox batches a sink failed to accept")
+                            .increment();
+                    failures.add(sink.name() + ": " + e);
+                }
+            }
+        }
+
+        String error = failures.isEmpty() ? null : String.join("; ", failures);
+        transactionTemplate.executeWithoutResult(status -> settle(batch, error, unreadable));
+        return error == null ? batch.size() : 0;
+    }
+
+    private List<OutboxEvent> claimBatch() {
+        List<OutboxEvent> batch = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<OutboxEvent> due = outboxEventRepository.lockDueBatch(now, Limit.of(batchSize));
+            // A relay that dies while publishing leaves the batch to be claimed again once the lease runs out
+            due.forEach(event -> event.setNextAttemptAt(now.plus(claimTimeout)));
+            return due;
+        });
+        return batch != null ? batch : List.of();
+    }
+
+    private void settle(List<OutboxEvent> batch, String error, Map<Long, String> unreadable) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = batch.stream().map(OutboxEvent::getOutboxEventId).toList();
+        for (OutboxEvent event : outboxEventRepository.findAllById(ids)) {
+            event.setAttempts(event.getAttempts() + 1);
+            String unreadablePayload = unreadable.get(event.getOutboxEventId());
+            String failure = unreadablePayload != null ? unreadablePayload : error;
+            if (failure == null) {
+                event.setPublishedAt(now);
+                event.setNextAttemptAt(null);
+                event.setLastError(null);
+                continue;
+            }
+            event.setLastError(failure.length() > MAX_ERROR_LENGTH ? failure.substring(0, MAX_ERROR_LENGTH) : failure);
+            if (unreadablePayload != null || event.getAttempts() >= maxAttempts) {
+                log.error("Parked outbox event {} after {} attempts: {}",
+                        event.getOutboxEventId(), event.getAttempts(), event.getLastError());
+                Counter.builder("store.outbox.events.parked")
+                        .description("Outbox events the relay gave up on")
+                        .register(meterRegistry)
+                        .increment();
+                event.setParkedAt(now);
+                event.setNextAttemptAt(null);
+            } else {
+                event.setNextAttemptAt(now.plus(backoff(event.getAttempts())));
+            }
+        }
+    }
+
+    // initial-backoff, doubled per failed attempt up to max-backoff
+    private Duration backoff(int attempts) {
+        Duration backoff = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff;
+    }
+
+    private OrderEventDto toEvent(OutboxEvent outboxEvent) throws JsonProcessingException {
+        OrderEventDto event = objectMapper.readValue(outboxEvent.getPayload(), OrderEventDto.class);
+        event.setEventId(outboxEvent.getOutboxEventId());
+        return event;
+    }
+
+    private Counter counter(String name, OutboxSink sink, String description) {
+        return Counter.builder(name)
+                .tag("sink", sink.name())
+                .description(description)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,18 @@
+package com.dietergandalf.store_manager.outbox;
+
+import java.util.List;
+
+import com.dietergandalf.store_manager.dto.OrderEventDto;
+
+/**
+ * A destination for order events relayed from the outbox. Every sink bean receives every batch, in event
+ * order. A batch is retried until all sinks accept it, so a sink may see the same event more than once.
+ */
+public interface OutboxSink {
+
+    /** Short name used in logs and the {@code sink} metric tag. */
+    String name();
+
+    /** Delivers a batch; throwing leaves the whole batch pending for the next relay run. */
+    void publish(List<OrderEventDto> events) throws Exception;
+}
@@ -0,0 +1,37 @@
+package com.dietergandalf.store_manager.outbox;
+
+import java.net.URI;
+import java.util.List;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.client.RestClient;
+
+import com.dietergandalf.store_manager.dto.OrderEventDto;
+
+/**
+ * POSTs each batch as a JSON array to a configured URL. Any non-2xx response fails the batch.
+ */
+public class WebhookOutboxSink implements OutboxSink {
+    private final RestClient restClient;
+    private final URI url;
+
+    public WebhookOutboxSink(RestClient restClient, URI url) {
+        this.restClient = restClient;
+        this.url = url;
+    }
+
+    @Override
+    public String name() {
+        return "webhook";
+    }
+
+    @Override
+    public void publish(List<OrderEventDto> events) {
+        restClient.post()
+                .uri(url)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(events)
+                .retrieve()
+                .toBodilessEntity();
+    }
+}
@@ -0,0 +1,73 @@
+package com.dietergandalf.store_manager.payment;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Local stand-in for a payment provider: every call takes {@code latency}, and authorizations are
+ * declined at {@code failureRate}. Repeated authorizations of an order return its first outcome, for as long as the
+ * order is among the {@code max-authorizations} most recently authorized ones.
+ */
+@Component
+@ConditionalOnProperty(name = "store.payment.gateway", havingValue = "fake", matchIfMissing = true)
+public class FakePaymentGateway implements PaymentGateway {
+    private static final String DECLINED = "";
+    private static final String REFERENCE_PREFIX = "fake-";
+
+    private final Duration latency;
+    private final double failureRate;
+    private final Map<Long, String> authorizations;
+
+    @Autowired
+    public FakePaymentGateway(@Value("${store.payment.fake-gateway.latency:PT0.2S}") Duration latency,
+                              @Value("${store.payment.fake-gateway.failure-rate:0.0}") double failureRate,
+                              @Value("${store.payment.fake-gateway.max-authorizations:10000}") int maxAuthorizations) {
+        if (failureRate < 0.0 || failureRate > 1.0) {
+            throw new IllegalArgumentException("store.payment.fake-gateway.failure-rate must be between 0 and 1");
+        }
+        this.latency = latency;
+        this.failureRate = failureRate;
+        // Least recently authorized orders are forgotten first; the lock is only held for the map update
+        this.authorizations = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, String> eldest) {
+                return size() > maxAuthorizations;
+            }
+        });
+    }
+
+    @Override
+    public String authorize(Long orderId, String paymentType, double amount) {
+        simulateLatency();
+        String reference = authorizations.computeIfAbsent(orderId, id ->
+                ThreadLocalRandom.current().nextDouble() < failureRate ? DECLINED : REFERENCE_PREFIX + UUID.randomUUID());
+        return DECLINED.equals(reference) ? null : reference;
+    }
+
+    @Override
+    public boolean verify(String transactionReference) {
+        simulateLatency();
+        return transactionReference.startsWith(REFERENCE_PREFIX);
+    }
+
+    private void simulateLatency() {
+        if (latency.isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(latency);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the payment gateway", e);
+        }
+    }
+}
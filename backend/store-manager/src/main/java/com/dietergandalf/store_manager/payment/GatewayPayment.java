@@ -0,0 +1,37 @@
+package com.dietergandalf.store_manager.payment;
+
+import com.dietergandalf.store_manager.model.PaymentMethod;
+
+/**
+ * The payment of one order, carried out through a {@link PaymentGateway}.
+ */
+public class GatewayPayment implements PaymentMethod {
+    private final PaymentGateway paymentGateway;
+    private final Long orderId;
+    private final String type;
+    private final double amount;
+    private String transactionReference;
+
+    public GatewayPayment(PaymentGateway paymentGateway, Long orderId, String type, double amount) {
+        this.paymentGateway = paymentGateway;
+        this.orderId = orderId;
+        this.type = type;
+        this.amount = amount;
+    }
+
+    @Override
+    public String getType() {
+        return type;
+    }
+
+    @Override
+    public boolean initiatePayment() {
+        transactionReference = paymentGateway.authorize(orderId, type, amount);
+        return transactionReference != null;
+    }
+
+    @Override
+    public boolean verifyPayment() {
+        return transactionReference != null && paymentGateway.verify(transactionReference);
+    }
+}
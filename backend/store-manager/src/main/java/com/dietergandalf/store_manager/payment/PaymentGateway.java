@@ -0,0 +1,19 @@
+package com.dietergandalf.store_manager.payment;
+
+/**
+ * A payment provider. Calls may be slow, so they are only made from the payment stage, never while a
+ * request thread or database transaction is waiting.
+ */
+public interface PaymentGateway {
+
+    /**
+     * Authorizes {@code amount} for the order. The order id is the idempotency key: authorizing the same
+     * order again must not charge twice.
+     *
+     * @return the provider's transaction reference, or {@code null} when the payment was declined
+     */
+    String authorize(Long orderId, String paymentType, double amount);
+
+    /** Checks that an authorized transaction was settled. */
+    boolean verify(String transactionReference);
+}
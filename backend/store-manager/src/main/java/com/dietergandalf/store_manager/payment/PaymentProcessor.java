@@ -0,0 +1,188 @@
+package com.dietergandalf.store_manager.payment;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.dietergandalf.store_manager.analytics.SalesRollup;
+import com.dietergandalf.store_manager.analytics.TrendingProducts;
+import com.dietergandalf.store_manager.cache.CatalogCache;
+import com.dietergandalf.store_manager.model.Order;
+import com.dietergandalf.store_manager.model.OrderItem;
+import com.dietergandalf.store_manager.model.OrderStatus;
+import com.dietergandalf.store_manager.outbox.OrderOutbox;
+import com.dietergandalf.store_manager.repository.OrderRepository;
+import com.dietergandalf.store_manager.repository.ProductStockRepository;
+import com.dietergandalf.store_manager.util.AfterCommit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Asynchronous payment stage of checkout.
+ *
+ * Checkout commits a PENDING order with its stock reserved and hands the order id to a bounded pool of
+ * payment workers. A worker reads the order in a short transaction, calls the {@link PaymentGateway} with no
+ * transaction open, then moves the order to CONFIRMED, or to CANCELLED with its stock released. Orders left
+ * PENDING by a full queue, a gateway error or a restart are resubmitted by a periodic sweep; the gateway's
+ * per-order idempotency keeps a resubmitted order from being charged twice.
+ */
+@Component
+public class PaymentProcessor implements DisposableBean {
+    private static final Logger log = LoggerFactory.getLogger(PaymentProcessor.class);
+    private static final int RECOVERY_BATCH_SIZE = 100;
+
+    private final OrderRepository orderRepository;
+    private final ProductStockRepository productStockRepository;
+    private final OrderOutbox orderOutbox;
+    private final SalesRollup salesRollup;
+    private final TrendingProducts trendingProducts;
+    private final CatalogCache catalogCache;
+    private final PaymentGateway paymentGateway;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final ThreadPoolTaskExecutor executor;
+    private final Duration staleAfter;
+    private final MeterRegistry meterRegistry;
+    private final Counter rejections;
+
+    @Autowired
+    public PaymentProcessor(OrderRepository orderRepository,
+                            ProductStockRepository productStockRepository,
+                            OrderOutbox orderOutbox,
+                            SalesRollup salesRollup,
+                            TrendingProducts trendingProducts,
+                            CatalogCache catalogCache,
+                            PaymentGateway paymentGateway,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry,
+                            @Value("${store.payment.workers:4}") int workers,
+                            @Value("${store.payment.queue-capacity:500}") int queueCapacity,
+                            @Value("${store.payment.stale-after:PT5M}") Duration staleAfter) {
+        this.orderRepository = orderRepository;
+        this.productStockRepository = productStockRepository;
+        this.orderOutbox = orderOutbox;
+        this.salesRollup = salesRollup;
+        this.trendingProducts = trendingProducts;
+        this.catalogCache = catalogCache;
+        this.paymentGateway = paymentGateway;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.staleAfter = staleAfter;
+        this.meterRegistry = meterRegistry;
+        this.rejections = Counter.builder("store.payment.rejections")
+                .description("Payments not queued because the payment queue was full")
+                .register(meterRegistry);
+
+        // Kept private rather than exposed as an Executor bean, which would replace Spring Boot's
+        // applicationTaskExecutor
+        this.executor = new ThreadPoolTaskExecutor();
+        this.executor.setCorePoolSize(workers);
+        this.executor.setMaxPoolSize(workers);
+        this.executor.setQueueCapacity(queueCapacity);
+        this.executor.setThreadNamePrefix("payment-");
+        this.executor.setWaitForTasksToCompleteOnShutdown(true);
+        this.executor.setAwaitTerminationSeconds(10);
+        this.executor.initialize();
+    }
+
+    /**
+     * Queues payment of the order once the current transaction commits, so a worker never sees the order
+     * before it exists and a rolled back checkout is never charged.
+     */
+    public void submitAfterCommit(Long orderId) {
+        AfterCommit.run(() -> submit(orderId));
+    }
+
+    public void submit(Long orderId) {
+        try {
+            executor.execute(() -> process(orderId));
+        } catch (TaskRejectedException e) {
+            rejections.increment();
+            log.warn("Payment queue full, order {} stays PENDING until the recovery sweep", orderId);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${store.payment.recovery-interval:PT1M}")
+    public void resubmitStalePayments() {
+        List<Long> orderIds = orderRepository.findIdsByStatusPlacedBefore(OrderStatus.PENDING,
+                LocalDateTime.now().minus(staleAfter), Limit.of(RECOVERY_BATCH_SIZE));
+        if (!orderIds.isEmpty()) {
+            log.info("Resubmitting payment of {} stale PENDING orders", orderIds.size());
+            orderIds.forEach(this::submit);
+        }
+    }
+
+    /**
+     * Runs the payment of one order on the calling thread.
+     */
+    public void process(Long orderId) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome;
+        try {
+            GatewayPayment payment = readOnlyTransactionTemplate.execute(status -> orderRepository.findById(orderId)
+                    .filter(order -> order.getStatus() == OrderStatus.PENDING)
+                    .map(order -> new GatewayPayment(paymentGateway, order.getOrderId(), order.getPaymentMethod(),
+                            order.getTotalAmount() != null ? order.getTotalAmount() : 0.0))
+                    .orElse(null));
+            if (payment == null) {
+                outcome = "skipped";
+            } else {
+                boolean approved = payment.initiatePayment() && payment.verifyPayment();
+                Boolean completed = transactionTemplate.execute(status -> complete(orderId, approved));
+                outcome = !Boolean.TRUE.equals(completed) ? "skipped" : approved ? "approved" : "declined";
+            }
+        } catch (RuntimeException e) {
+            outcome = "error";
+            log.warn("Payment of order {} failed, leaving it PENDING for the recovery sweep: {}", orderId, e.toString());
+        }
+        sample.stop(Timer.builder("store.payment")
+                .tag("outcome", outcome)
+                .description("Payment stage latency, from reading the order to recording the result")
+                .register(meterRegistry));
+    }
+
+    private boolean complete(Long orderId, boolean approved) {
+        OrderStatus newStatus = approved ? OrderStatus.CONFIRMED : OrderStatus.CANCELLED;
+        if (orderRepository.completePendingPayment(orderId, newStatus, approved ? "CONFIRMED" : "FAILED") == 0) {
+            // Cancelled meanwhile, or completed by a concurrent attempt
+            return false;
+        }
+
+        Order order = orderRepository.findById(orderId).orElseThrow();
+        if (!approved) {
+            Map<Long, Integer> reservedQuantities = new HashMap<>();
+            for (OrderItem orderItem : order.getOrderItems()) {
+                reservedQuantities.merge(orderItem.getProductStock().getProduct_stock_id(), orderItem.getQuantity(), Integer::sum);
+            }
+            productStockRepository.releaseStock(reservedQuantities);
+            productStockRepository.findAllById(reservedQuantities.keySet()).forEach(catalogCache::invalidateProductStock);
+        }
+        orderOutbox.orderStatusChanged(order, OrderStatus.PENDING);
+        salesRollup.orderStatusChanged(order, OrderStatus.PENDING);
+        trendingProducts.orderStatusChanged(order, OrderStatus.PENDING);
+        return true;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
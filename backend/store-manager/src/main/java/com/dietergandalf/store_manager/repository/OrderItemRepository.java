@@ -3,12 +3,21 @@ package com.dietergandalf.store_manager.repository;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.dietergandalf.store_manager.dto.OrderSalesLineDto;
 import com.dietergandalf.store_manager.model.Order;
 import com.dietergandalf.store_manager.model.OrderItem;
 
 @Repository
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
     List<OrderItem> findByOrder(Order order);
+
+    @Query("SELECT new com.dietergandalf.store_manager.dto.OrderSalesLineDto("
+            + "s.person_id, ps.product_stock_id, oi.quantity, oi.priceAtTimeOfOrder) "
+            + "FROM OrderItem oi JOIN oi.productStock ps JOIN ps.seller s "
+            + "WHERE oi.order.orderId = :orderId")
+    List<OrderSalesLineDto> findSalesLinesByOrderId(@Param("orderId") Long orderId);
 }
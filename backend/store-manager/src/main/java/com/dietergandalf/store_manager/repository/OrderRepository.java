@@ -1,12 +1,23 @@
 package com.dietergandalf.store_manager.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+
+import com.dietergandalf.store_manager.dto.OrderExportRowDto;
 import com.dietergandalf.store_manager.model.Customer;
 import com.dietergandalf.store_manager.model.Order;
 import com.dietergandalf.store_manager.model.OrderStatus;
@@ -15,11 +26,63 @@ import com.dietergandalf.store_manager.model.OrderStatus;
 public interface OrderRepository extends JpaRepository<Order, Long> {
     List<Order> findByCustomer(Customer customer);
     
-    @Query("SELECT o FROM Order o WHERE o.customer.person_id = :customerId ORDER BY o.orderDate DESC")
-    List<Order> findByCustomerPersonIdOrderByOrderDateDesc(@Param("customerId") Long customerId);
+    // Ids first: paging a collection fetch join would make Hibernate apply the limit in memory
+    @Query("SELECT o.orderId FROM Order o WHERE o.customer.person_id = :customerId "
+            + "AND (:afterDate IS NULL OR o.orderDate < :afterDate "
+            + "OR (o.orderDate = :afterDate AND o.orderId < :afterId)) "
+            + "ORDER BY o.orderDate DESC, o.orderId DESC")
+    List<Long> findOrderHistoryPageIds(@Param("customerId") Long customerId,
+                                       @Param("afterDate") LocalDateTime afterDate,
+                                       @Param("afterId") Long afterId,
+                                       Limit limit);
+
+    @EntityGraph(attributePaths = {"customer", "orderItems", "orderItems.productStock", "orderItems.productStock.product"})
+    @Query("SELECT o FROM Order o WHERE o.orderId IN :orderIds")
+    List<Order> findWithDetailsByOrderIdIn(@Param("orderIds") Collection<Long> orderIds);
     
     List<Order> findByStatus(OrderStatus status);
     
     @Query("SELECT o FROM Order o WHERE o.customer.person_id = :customerId AND o.status = :status")
     List<Order> findByCustomerPersonIdAndStatus(@Param("customerId") Long customerId, @Param("status") OrderStatus status);
+
+    // Flat projection rows are never managed, so the persistence context stays empty however many rows
+    // pass through; rows of one order are adjacent so the export can regroup them on the fly
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.dietergandalf.store_manager.dto.OrderExportRowDto("
+            + "o.orderId, o.orderDate, o.status, c.person_id, CONCAT(c.first_name, ' ', c.last_name), "
+            + "o.totalAmount, o.shippingAddress, o.billingAddress, o.paymentMethod, o.paymentStatus, o.orderNotes, "
+            + "i.orderItemId, ps.product_stock_id, p.name, p.description, i.quantity, i.priceAtTimeOfOrder) "
+            + "FROM Order o JOIN o.customer c LEFT JOIN o.orderItems i "
+            + "LEFT JOIN i.productStock ps LEFT JOIN ps.product p "
+            + "WHERE (:fromDate IS NULL OR o.orderDate >= :fromDate) "
+            + "AND (:toDate IS NULL OR o.orderDate < :toDate) "
+            + "AND (:status IS NULL OR o.status = :status) "
+            + "ORDER BY o.orderDate, o.orderId, i.orderItemId")
+    Stream<OrderExportRowDto> streamExportRows(@Param("fromDate") LocalDateTime fromDate,
+                                               @Param("toDate") LocalDateTime toDate,
+                                               @Param("status") OrderStatus status);
+
+    // Guarded transition: of two concurrent payment completions for an order, only one sees it still PENDING
+    @Modifying
+    @Query("UPDATE Order o SET o.status = :status, o.paymentStatus = :paymentStatus "
+            + "WHERE o.orderId = :orderId AND o.status = com.dietergandalf.store_manager.model.OrderStatus.PENDING")
+    int completePendingPayment(@Param("orderId") Long orderId,
+                               @Param("status") OrderStatus status,
+                               @Param("paymentStatus") String paymentStatus);
+
+    // What an order response can change with after checkout, one row per line: status, payment status and notes,
+    // and the customer and product names shown; dates, addresses, prices and quantities are fixed at checkout
+    @Query("SELECT o.orderId, o.status, o.paymentStatus, o.orderNotes, c.first_name, c.last_name, "
+            + "i.orderItemId, p.name, p.description "
+            + "FROM Order o LEFT JOIN o.customer c LEFT JOIN o.orderItems i LEFT JOIN i.productStock ps LEFT JOIN ps.product p "
+            + "WHERE o.orderId = :orderId ORDER BY i.orderItemId")
+    List<Object[]> findOrderFingerprint(@Param("orderId") Long orderId);
+
+    @Query("SELECT o.orderId FROM Order o WHERE o.status = :status AND o.orderDate < :placedBefore ORDER BY o.orderDate")
+    List<Long> findIdsByStatusPlacedBefore(@Param("status") OrderStatus status,
+                                           @Param("placedBefore") LocalDateTime placedBefore,
+                                           Limit limit);
 }
@@ -1,20 +1,82 @@
 package com.dietergandalf.store_manager.repository;
 
+import com.dietergandalf.store_manager.dto.ProductStockSummaryDto;
 import com.dietergandalf.store_manager.model.ProductStock;
 import com.dietergandalf.store_manager.model.Seller;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface ProductStockRepository extends JpaRepository<ProductStock, Long> {
+public interface ProductStockRepository extends JpaRepository<ProductStock, Long>, ProductStockRepositoryCustom {
+    String STOCK_SUMMARY = "SELECT new com.dietergandalf.store_manager.dto.ProductStockSummaryDto("
+            + "ps.product_stock_id, p.product_id, p.name, p.description, p.price, ps.amount, "
+            + "s.person_id, CONCAT(s.first_name, ' ', s.last_name)) "
+            + "FROM ProductStock ps JOIN ps.product p JOIN ps.seller s ";
+
+    String AVAILABLE_CATALOG_PAGE = STOCK_SUMMARY
+            + "WHERE ps.amount > 0 "
+            + "AND (:sellerId IS NULL OR s.person_id = :sellerId) "
+            + "AND (:minPrice IS NULL OR p.price >= :minPrice) "
+            + "AND (:maxPrice IS NULL OR p.price <= :maxPrice) "
+            + "AND (:namePattern IS NULL OR LOWER(p.name) LIKE :namePattern) ";
+
     List<ProductStock> findBySeller(Seller seller);
     
     @Query("SELECT ps FROM ProductStock ps WHERE ps.seller.person_id = :sellerId")
     List<ProductStock> findBySellerPersonId(@Param("sellerId") Long sellerId);
     
     List<ProductStock> findByAmountGreaterThan(Integer minStock);
+
+    @Query(STOCK_SUMMARY + "WHERE s.person_id = :sellerId ORDER BY ps.product_stock_id")
+    List<ProductStockSummaryDto> findStockSummariesBySellerPersonId(@Param("sellerId") Long sellerId);
+
+    @Query(STOCK_SUMMARY + "ORDER BY ps.product_stock_id")
+    Stream<ProductStockSummaryDto> streamStockSummaries();
+
+    @Query("SELECT ps.product_stock_id FROM ProductStock ps WHERE ps.amount > 0 AND ps.product_stock_id IN :ids")
+    List<Long> findAvailableIdsIn(@Param("ids") Collection<Long> ids);
+
+    @Query(STOCK_SUMMARY + "WHERE ps.product_stock_id IN :ids")
+    List<ProductStockSummaryDto> findStockSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(AVAILABLE_CATALOG_PAGE
+            + "AND (:afterId IS NULL OR ps.product_stock_id > :afterId) "
+            + "ORDER BY ps.product_stock_id")
+    List<ProductStockSummaryDto> findAvailableCatalogPageById(@Param("sellerId") Long sellerId,
+                                                              @Param("minPrice") Double minPrice,
+                                                              @Param("maxPrice") Double maxPrice,
+                                                              @Param("namePattern") String namePattern,
+                                                              @Param("afterId") Long afterId,
+                                                              Limit limit);
+
+    @Query(AVAILABLE_CATALOG_PAGE
+            + "AND (:afterPrice IS NULL OR p.price > :afterPrice "
+            + "OR (p.price = :afterPrice AND ps.product_stock_id > :afterId)) "
+            + "ORDER BY p.price, ps.product_stock_id")
+    List<ProductStockSummaryDto> findAvailableCatalogPageByPrice(@Param("sellerId") Long sellerId,
+                                                                 @Param("minPrice") Double minPrice,
+                                                                 @Param("maxPrice") Double maxPrice,
+                                                                 @Param("namePattern") String namePattern,
+                                                                 @Param("afterPrice") Double afterPrice,
+                                                                 @Param("afterId") Long afterId,
+                                                                 Limit limit);
+
+    @Query(AVAILABLE_CATALOG_PAGE
+            + "AND (:afterName IS NULL OR COALESCE(p.name, '') > :afterName "
+            + "OR (COALESCE(p.name, '') = :afterName AND ps.product_stock_id > :afterId)) "
+            + "ORDER BY COALESCE(p.name, ''), ps.product_stock_id")
+    List<ProductStockSummaryDto> findAvailableCatalogPageByName(@Param("sellerId") Long sellerId,
+                                                                @Param("minPrice") Double minPrice,
+                                                                @Param("maxPrice") Double maxPrice,
+                                                                @Param("namePattern") String namePattern,
+                                                                @Param("afterName") String afterName,
+                                                                @Param("afterId") Long afterId,
+                                                                Limit limit);
 }
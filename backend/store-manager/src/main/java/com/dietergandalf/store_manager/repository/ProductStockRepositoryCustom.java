@@ -0,0 +1,28 @@
+package com.dietergandalf.store_manager.repository;
+
+import java.util.List;
+import java.util.Map;
+
+public interface ProductStockRepositoryCustom {
+    /**
+     * Decrements the stock of every line with a guarded
+     * {@code UPDATE ... SET amount = amount - ? WHERE id = ? AND amount >= ?},
+     * sent to the database as a single JDBC batch. Each accepted decrement also bumps the row version
+     * so that a concurrent versioned write of the same stock fails instead of overwriting it.
+     * Stocks already loaded in the persistence context are refreshed afterwards. Callers must roll back when
+     * any line is rejected: a line whose outcome the driver did not report counts as rejected even though its
+     * decrement may have applied.
+     *
+     * @param quantitiesByProductStockId requested quantity per product stock id
+     * @return the product stock ids whose decrement was rejected for lack of stock
+     */
+    List<Long> reserveStock(Map<Long, Integer> quantitiesByProductStockId);
+
+    /**
+     * Returns reserved units to stock in a single JDBC batch, bumping each row version. Stocks already loaded
+     * in the persistence context are refreshed afterwards.
+     *
+     * @param quantitiesByProductStockId released quantity per product stock id
+     */
+    void releaseStock(Map<Long, Integer> quantitiesByProductStockId);
+}
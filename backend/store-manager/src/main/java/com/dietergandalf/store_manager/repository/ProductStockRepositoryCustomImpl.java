@@ -0,0 +1,106 @@
+package com.dietergandalf.store_manager.repository;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+
+import com.dietergandalf.store_manager.model.ProductStock;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+public class ProductStockRepositoryCustomImpl implements ProductStockRepositoryCustom {
+
+    // Identifiers are quoted so the statement resolves the same way under PostgreSQL and the
+    // H2 test profile, which runs with hibernate.globally_quoted_identifiers enabled.
+    private static final String RESERVE_STOCK_SQL =
+            "UPDATE \"product_stock\" SET \"amount\" = \"amount\" - ?, \"version\" = \"version\" + 1 "
+            + "WHERE \"product_stock_id\" = ? AND \"amount\" >= ?";
+    private static final String RELEASE_STOCK_SQL =
+            "UPDATE \"product_stock\" SET \"amount\" = \"amount\" + ?, \"version\" = \"version\" + 1 "
+            + "WHERE \"product_stock_id\" = ?";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Long> reserveStock(Map<Long, Integer> quantitiesByProductStockId) {
+        if (quantitiesByProductStockId.isEmpty()) {
+            return List.of();
+        }
+
+        // Lock rows in ascending id order so concurrent checkouts cannot deadlock each other
+        List<Map.Entry<Long, Integer>> lines = new ArrayList<>(new TreeMap<>(quantitiesByProductStockId).entrySet());
+
+        // Push pending changes first, the batch runs on the same connection outside the persistence context
+        entityManager.flush();
+
+        int[] updateCounts = entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(RESERVE_STOCK_SQL)) {
+                for (Map.Entry<Long, Integer> line : lines) {
+                    statement.setInt(1, line.getValue());
+                    statement.setLong(2, line.getKey());
+                    statement.setInt(3, line.getValue());
+                    statement.addBatch();
+                }
+                return statement.executeBatch();
+            }
+        });
+
+        refreshManaged(lines);
+
+        // Only a count of exactly one proves the guarded decrement applied. Drivers may answer a batch with
+        // SUCCESS_NO_INFO instead; such lines count as rejected, and the caller's rollback undoes them.
+        List<Long> rejectedIds = new ArrayList<>();
+        for (int i = 0; i < updateCounts.length; i++) {
+            if (updateCounts[i] != 1) {
+                rejectedIds.add(lines.get(i).getKey());
+            }
+        }
+        return rejectedIds;
+    }
+
+    @Override
+    public void releaseStock(Map<Long, Integer> quantitiesByProductStockId) {
+        if (quantitiesByProductStockId.isEmpty()) {
+            return;
+        }
+
+        // Same ascending lock order as reserveStock
+        List<Map.Entry<Long, Integer>> lines = new ArrayList<>(new TreeMap<>(quantitiesByProductStockId).entrySet());
+
+        entityManager.flush();
+
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(RELEASE_STOCK_SQL)) {
+                for (Map.Entry<Long, Integer> line : lines) {
+                    statement.setInt(1, line.getValue());
+                    statement.setLong(2, line.getKey());
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+        });
+
+        refreshManaged(lines);
+    }
+
+    // The batch bypassed the persistence context, so stocks it already holds still carry the old amount and
+    // version; reload those so the rest of the transaction neither reads nor writes stale state
+    private void refreshManaged(List<Map.Entry<Long, Integer>> lines) {
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        EntityPersister persister = session.getFactory().getMappingMetamodel().getEntityDescriptor(ProductStock.class);
+        for (Map.Entry<Long, Integer> line : lines) {
+            Object managed = session.getPersistenceContextInternal().getEntity(session.generateEntityKey(line.getKey(), persister));
+            if (managed != null) {
+                entityManager.refresh(managed);
+            }
+        }
+    }
+}
@@ -9,5 +9,4 @@ import java.util.Optional;
 @Repository
 public interface SellerRepository extends JpaRepository<Seller, Long> {
     Optional<Seller> findByEmail(String email);
-    boolean existsByEmail(String email);
 }
@@ -0,0 +1,39 @@
+package com.dietergandalf.store_manager.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.dietergandalf.store_manager.dto.ProductSalesDto;
+import com.dietergandalf.store_manager.dto.SalesBucketDto;
+import com.dietergandalf.store_manager.model.SalesBucketKey;
+import com.dietergandalf.store_manager.model.SellerSalesDaily;
+
+@Repository
+public interface SellerSalesDailyRepository extends JpaRepository<SellerSalesDaily, SalesBucketKey> {
+    // Both read one seller's key range [from, to); buckets whose orders were all cancelled are left out
+    @Query("SELECT new com.dietergandalf.store_manager.dto.SalesBucketDto("
+            + "r.id.bucketStart, CAST(SUM(r.revenue) AS Double), SUM(r.unitsSold)) "
+            + "FROM SellerSalesDaily r "
+            + "WHERE r.id.sellerId = :sellerId AND r.id.bucketStart >= :from AND r.id.bucketStart < :to "
+            + "GROUP BY r.id.bucketStart HAVING SUM(r.unitsSold) <> 0 "
+            + "ORDER BY r.id.bucketStart")
+    List<SalesBucketDto> findBuckets(@Param("sellerId") Long sellerId,
+                                     @Param("from") LocalDateTime from,
+                                     @Param("to") LocalDateTime to);
+
+    @Query("SELECT new com.dietergandalf.store_manager.dto.ProductSalesDto("
+            + "r.id.productStockId, p.name, CAST(SUM(r.revenue) AS Double), SUM(r.unitsSold)) "
+            + "FROM SellerSalesDaily r "
+            + "LEFT JOIN ProductStock ps ON ps.product_stock_id = r.id.productStockId LEFT JOIN ps.product p "
+            + "WHERE r.id.sellerId = :sellerId AND r.id.bucketStart >= :from AND r.id.bucketStart < :to "
+            + "GROUP BY r.id.productStockId, p.name HAVING SUM(r.unitsSold) <> 0 "
+            + "ORDER BY SUM(r.revenue) DESC, r.id.productStockId")
+    List<ProductSalesDto> findProductTotals(@Param("sellerId") Long sellerId,
+                                            @Param("from") LocalDateTime from,
+                                            @Param("to") LocalDateTime to);
+}
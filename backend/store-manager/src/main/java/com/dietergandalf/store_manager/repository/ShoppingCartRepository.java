@@ -2,8 +2,21 @@ package com.dietergandalf.store_manager.repository;
 
 import com.dietergandalf.store_manager.model.ShoppingCart;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface ShoppingCartRepository extends JpaRepository<ShoppingCart, Long> {
+    // Everything a cart response can change with, one row per line: cart and line versions, stock versions
+    // (amount), and the product and seller fields shown, which carry no version of their own
+    @Query("SELECT c.cart_id, c.version, c.totalAmount, c.totalItems, cu.first_name, cu.last_name, "
+            + "ci.cart_item_id, ci.version, ps.product_stock_id, ps.version, p.name, p.description, p.price, "
+            + "s.first_name, s.last_name "
+            + "FROM Customer cu JOIN cu.cart c LEFT JOIN c.cartItems ci LEFT JOIN ci.productStock ps "
+            + "LEFT JOIN ps.product p LEFT JOIN ps.seller s "
+            + "WHERE cu.person_id = :customerId ORDER BY ci.cart_item_id")
+    List<Object[]> findCartFingerprintByCustomerId(@Param("customerId") Long customerId);
 }
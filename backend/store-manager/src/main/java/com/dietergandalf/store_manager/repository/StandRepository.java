@@ -0,0 +1,45 @@
+package com.dietergandalf.store_manager.repository;
+
+import com.dietergandalf.store_manager.dto.OwnerStandSummaryDto;
+import com.dietergandalf.store_manager.model.Seller;
+import com.dietergandalf.store_manager.model.Stand;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface StandRepository extends JpaRepository<Stand, Long> {
+    // One row per owner: stands and rent split by whether a seller occupies the stand
+    String OCCUPANCY_SUMMARY = "SELECT new com.dietergandalf.store_manager.dto.OwnerStandSummaryDto("
+            + "s.stand_owner.person_id, COUNT(s), "
+            + "SUM(CASE WHEN s.stand_user IS NULL THEN 0 ELSE 1 END), "
+            + "SUM(CASE WHEN s.stand_user IS NULL THEN 1 ELSE 0 END), "
+            + "SUM(CASE WHEN s.stand_user IS NULL THEN 0.0 ELSE s.price END), "
+            + "SUM(CASE WHEN s.stand_user IS NULL THEN s.price ELSE 0.0 END)) "
+            + "FROM Stand s ";
+
+    @Query(OCCUPANCY_SUMMARY + "WHERE s.stand_owner.person_id = :ownerId GROUP BY s.stand_owner.person_id")
+    Optional<OwnerStandSummaryDto> findOccupancySummaryByOwnerId(@Param("ownerId") Long ownerId);
+
+    @Query("SELECT s FROM Stand s WHERE s.stand_owner.person_id = :ownerId AND s.stand_user IS NULL "
+            + "AND (:afterId IS NULL OR s.stand_id > :afterId) ORDER BY s.stand_id")
+    List<Stand> findAvailableByOwnerId(@Param("ownerId") Long ownerId, @Param("afterId") Long afterId, Limit limit);
+
+    @Query("SELECT COUNT(s) > 0 FROM Stand s WHERE s.stand_user.person_id = :sellerId")
+    boolean existsByStandUserId(@Param("sellerId") Long sellerId);
+
+    // Conditional updates, so two requests cannot both rent out (or both vacate) the same stand
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Stand s SET s.stand_user = :seller WHERE s.stand_id = :standId AND s.stand_user IS NULL")
+    int occupy(@Param("standId") Long standId, @Param("seller") Seller seller);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Stand s SET s.stand_user = NULL WHERE s.stand_id = :standId AND s.stand_user IS NOT NULL")
+    int vacate(@Param("standId") Long standId);
+}
@@ -0,0 +1,11 @@
+package com.dietergandalf.store_manager.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.dietergandalf.store_manager.model.TrendingProductSlice;
+import com.dietergandalf.store_manager.model.TrendingSliceKey;
+
+@Repository
+public interface TrendingProductSliceRepository extends JpaRepository<TrendingProductSlice, TrendingSliceKey> {
+}
@@ -0,0 +1,350 @@
+package com.dietergandalf.store_manager.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.dietergandalf.store_manager.util.AfterCommit;
+
+/**
+ * In-memory inverted index over product names and descriptions, one document per product stock.
+ *
+ * Every query term must match a document, either exactly, as the prefix of an indexed term, or within a small
+ * edit distance (one edit up to seven characters, two beyond). Exact matches outrank prefix matches, which
+ * outrank typo matches; within each, rarer terms and name hits weigh more, BM25 style. Ties go to the lower
+ * product stock id so pages stay stable.
+ *
+ * The index only knows text. Callers check stock and existence against the database, so an entry that outlives
+ * its product stock is harmless. Writes reach only the instance that made them; {@link ProductSearchIndexLoader}
+ * rebuilds the whole index from the database periodically so the other instances catch up.
+ */
+@Component
+public class ProductSearchIndex {
+    static final int MAX_QUERY_TERMS = 8;
+    static final int MIN_PREFIX_LENGTH = 2;
+    static final int MIN_FUZZY_LENGTH = 4;
+
+    private static final float NAME_WEIGHT = 3.0f;
+    private static final float DESCRIPTION_WEIGHT = 1.0f;
+    private static final float EXACT_BOOST = 1.0f;
+    private static final float PREFIX_BOOST = 0.7f;
+    private static final float FUZZY_BOOST = 0.3f;
+    private static final float SATURATION = 1.2f;
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final int maxHits;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Documents documents = new Documents();
+    // Product stocks written while a rebuild reads the database; their live documents win over what it read
+    private Set<Long> writtenDuringRebuild;
+
+    @Autowired
+    public ProductSearchIndex(@Value("${store.search.max-hits:500}") int maxHits) {
+        this.maxHits = maxHits;
+    }
+
+    /**
+     * Adds or replaces the document of a product stock once the surrounding transaction commits.
+     */
+    public void index(long productStockId, String name, String description) {
+        AfterCommit.run(() -> put(productStockId, name, description));
+    }
+
+    /**
+     * Drops the document of a product stock once the surrounding transaction commits.
+     */
+    public void remove(long productStockId) {
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                documents.remove(productStockId);
+                markWritten(productStockId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Starts building a replacement for the whole index. Searches keep using the current documents until
+     * {@link Rebuild#commit()} swaps the new ones in.
+     */
+    Rebuild beginRebuild() {
+        lock.writeLock().lock();
+        try {
+            writtenDuringRebuild = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return new Rebuild();
+    }
+
+    /**
+     * Returns the ids of matching product stocks, most relevant first, at most {@code store.search.max-hits}.
+     */
+    public List<Long> search(String query) {
+        List<String> queryTerms = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        if (queryTerms.isEmpty()) {
+            return List.of();
+        }
+        if (queryTerms.size() > MAX_QUERY_TERMS) {
+            queryTerms = queryTerms.subList(0, MAX_QUERY_TERMS);
+        }
+
+        Map<Long, Float> scores = null;
+        lock.readLock().lock();
+        try {
+            for (String queryTerm : queryTerms) {
+                Map<Long, Float> termScores = scoreTerm(queryTerm);
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    // Every query term has to match
+                    scores.keySet().retainAll(termScores.keySet());
+                    scores.replaceAll((id, score) -> score + termScores.get(id));
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return scores.entrySet().stream()
+                .sorted(Map.Entry.<Long, Float>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(maxHits)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.documentTerms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    void put(long productStockId, String name, String description) {
+        Map<String, Float> weights = weights(name, description);
+
+        lock.writeLock().lock();
+        try {
+            documents.add(productStockId, weights);
+            markWritten(productStockId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * A replacement index filled outside the lock. Documents written through {@link #index} or {@link #remove}
+     * since the rebuild began keep their current state when it is committed. Closing a rebuild that was not
+     * committed abandons it.
+     */
+    final class Rebuild implements AutoCloseable {
+        private final Documents rebuilt = new Documents();
+        private boolean committed;
+
+        private Rebuild() {
+        }
+
+        void add(long productStockId, String name, String description) {
+            rebuilt.add(productStockId, weights(name, description));
+        }
+
+        void commit() {
+            lock.writeLock().lock();
+            try {
+                for (Long productStockId : writtenDuringRebuild) {
+                    Map<String, Float> weights = documents.weightsOf(productStockId);
+                    if (weights == null) {
+                        rebuilt.remove(productStockId);
+                    } else {
+                        rebuilt.add(productStockId, weights);
+                    }
+                }
+                documents = rebuilt;
+                writtenDuringRebuild = null;
+                committed = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        @Override
+        public void close() {
+            if (committed) {
+                return;
+            }
+            lock.writeLock().lock();
+            try {
+                writtenDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String folded = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        return SEPARATORS.splitAsStream(folded).filter(term -> !term.isEmpty()).toList();
+    }
+
+    /**
+     * Optimal string alignment distance (adjacent transpositions count as one edit), giving up once it
+     * exceeds {@code max}.
+     */
+    static int editDistance(String a, String b, int max) {
+        if (Math.abs(a.length() - b.length()) > max) {
+            return max + 1;
+        }
+        int[] previousPrevious = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMinimum = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    current[j] = Math.min(current[j], previousPrevious[j - 2] + 1);
+                }
+                rowMinimum = Math.min(rowMinimum, current[j]);
+            }
+            if (rowMinimum > max) {
+                return max + 1;
+            }
+            int[] recycled = previousPrevious;
+            previousPrevious = previous;
+            previous = current;
+            current = recycled;
+        }
+        return Math.min(previous[b.length()], max + 1);
+    }
+
+    // Best score per document for one query term across its exact, prefix and typo matches
+    private Map<Long, Float> scoreTerm(String queryTerm) {
+        Map<Long, Float> scores = new HashMap<>();
+        Map<Long, Float> exact = documents.postings.get(queryTerm);
+        if (exact != null) {
+            accumulate(scores, exact, EXACT_BOOST);
+        }
+        if (queryTerm.length() >= MIN_PREFIX_LENGTH) {
+            NavigableMap<String, Map<Long, Float>> prefixed = documents.postings.subMap(queryTerm, false, queryTerm + Character.MAX_VALUE, false);
+            prefixed.values().forEach(documents -> accumulate(scores, documents, PREFIX_BOOST));
+        }
+        if (queryTerm.length() >= MIN_FUZZY_LENGTH) {
+            int maxEdits = queryTerm.length() < 8 ? 1 : 2;
+            // Terms whose length differs by more than maxEdits are out of reach, so only nearby lengths are compared
+            for (int length = queryTerm.length() - maxEdits; length <= queryTerm.length() + maxEdits; length++) {
+                for (String term : documents.termsByLength.getOrDefault(length, Set.of())) {
+                    if (!term.equals(queryTerm) && !term.startsWith(queryTerm)
+                            && editDistance(queryTerm, term, maxEdits) <= maxEdits) {
+                        accumulate(scores, documents.postings.get(term), FUZZY_BOOST);
+                    }
+                }
+            }
+        }
+        return scores;
+    }
+
+    private void accumulate(Map<Long, Float> scores, Map<Long, Float> matches, float boost) {
+        int documentCount = documents.documentTerms.size();
+        double idf = Math.log(1 + (documentCount - matches.size() + 0.5) / (matches.size() + 0.5));
+        matches.forEach((id, weight) -> {
+            float score = (float) (boost * idf * weight * (SATURATION + 1) / (weight + SATURATION));
+            scores.merge(id, score, Math::max);
+        });
+    }
+
+    private void markWritten(long productStockId) {
+        if (writtenDuringRebuild != null) {
+            writtenDuringRebuild.add(productStockId);
+        }
+    }
+
+    private static Map<String, Float> weights(String name, String description) {
+        Map<String, Float> weights = new HashMap<>();
+        tokenize(name).forEach(term -> weights.merge(term, NAME_WEIGHT, Float::sum));
+        tokenize(description).forEach(term -> weights.merge(term, DESCRIPTION_WEIGHT, Float::sum));
+        return weights;
+    }
+
+    // One generation of the index: the live one, or the replacement a rebuild fills
+    private static final class Documents {
+        // term -> product stock id -> weighted term frequency; sorted so prefixes are a range scan
+        final TreeMap<String, Map<Long, Float>> postings = new TreeMap<>();
+        final Map<Long, Set<String>> documentTerms = new HashMap<>();
+        // term length -> terms, the candidates for typo matches
+        final Map<Integer, Set<String>> termsByLength = new HashMap<>();
+
+        void add(long productStockId, Map<String, Float> weights) {
+            remove(productStockId);
+            weights.forEach((term, weight) -> postings.computeIfAbsent(term, t -> {
+                termsByLength.computeIfAbsent(t.length(), length -> new HashSet<>()).add(t);
+                return new HashMap<>();
+            }).put(productStockId, weight));
+            documentTerms.put(productStockId, weights.keySet());
+        }
+
+        void remove(long productStockId) {
+            Set<String> terms = documentTerms.remove(productStockId);
+            if (terms == null) {
+                return;
+            }
+            for (String term : terms) {
+                Map<Long, Float> matches = postings.get(term);
+                matches.remove(productStockId);
+                if (matches.isEmpty()) {
+                    postings.remove(term);
+                    Set<String> sameLength = termsByLength.get(term.length());
+                    sameLength.remove(term);
+                    if (sameLength.isEmpty()) {
+                        termsByLength.remove(term.length());
+                    }
+                }
+            }
+        }
+
+        Map<String, Float> weightsOf(long productStockId) {
+            Set<String> terms = documentTerms.get(productStockId);
+            if (terms == null) {
+                return null;
+            }
+            Map<String, Float> weights = new HashMap<>();
+            terms.forEach(term -> weights.put(term, postings.get(term).get(productStockId)));
+            return weights;
+        }
+    }
+}
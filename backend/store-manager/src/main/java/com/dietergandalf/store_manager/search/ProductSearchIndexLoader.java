@@ -0,0 +1,58 @@
+package com.dietergandalf.store_manager.search;
+
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.dietergandalf.store_manager.dto.ProductStockSummaryDto;
+import com.dietergandalf.store_manager.repository.ProductStockRepository;
+
+/**
+ * Fills the {@link ProductSearchIndex} from the database once the application has started, then rebuilds it
+ * every {@code store.search.rebuild-interval}. Seller writes keep the index of the instance that handled them
+ * current right away; the rebuild is how the other instances pick them up.
+ */
+@Component
+public class ProductSearchIndexLoader {
+    private static final Logger log = LoggerFactory.getLogger(ProductSearchIndexLoader.class);
+
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductStockRepository productStockRepository;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    @Autowired
+    public ProductSearchIndexLoader(ProductSearchIndex productSearchIndex,
+                                    ProductStockRepository productStockRepository,
+                                    PlatformTransactionManager transactionManager) {
+        this.productSearchIndex = productSearchIndex;
+        this.productStockRepository = productStockRepository;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${store.search.rebuild-interval:PT10M}",
+            initialDelayString = "${store.search.rebuild-interval:PT10M}")
+    public synchronized void load() {
+        long started = System.nanoTime();
+        try (ProductSearchIndex.Rebuild rebuild = productSearchIndex.beginRebuild()) {
+            readOnlyTransactionTemplate.executeWithoutResult(status -> {
+                try (Stream<ProductStockSummaryDto> productStocks = productStockRepository.streamStockSummaries()) {
+                    productStocks.forEach(productStock -> rebuild.add(productStock.getProductStockId(),
+                            productStock.getProductName(), productStock.getProductDescription()));
+                }
+            });
+            rebuild.commit();
+        }
+        log.info("Indexed {} product stocks for search in {} ms", productSearchIndex.size(),
+                (System.nanoTime() - started) / 1_000_000);
+    }
+}
@@ -1,8 +1,17 @@
 package com.dietergandalf.store_manager.service;
 
+import com.dietergandalf.store_manager.analytics.TrendingProducts;
+import com.dietergandalf.store_manager.cache.CatalogCache;
+import com.dietergandalf.store_manager.cache.CatalogPageKey;
 import com.dietergandalf.store_manager.dto.AddToCartRequestDto;
+import com.dietergandalf.store_manager.dto.CartUpdateDto;
+import com.dietergandalf.store_manager.dto.CatalogPageDto;
+import com.dietergandalf.store_manager.dto.CatalogQueryDto;
+import com.dietergandalf.store_manager.dto.CatalogSort;
 import com.dietergandalf.store_manager.dto.CustomerDto;
+import com.dietergandalf.store_manager.dto.ProductSearchPageDto;
 import com.dietergandalf.store_manager.dto.ProductStockDto;
+import com.dietergandalf.store_manager.dto.ProductStockSummaryDto;
 import com.dietergandalf.store_manager.dto.RegisterRequestDto;
 import com.dietergandalf.store_manager.dto.ShoppingCartDto;
 import com.dietergandalf.store_manager.dto.UpdateProfileRequestDto;
@@ -14,18 +23,36 @@ import com.dietergandalf.store_manager.repository.CartItemRepository;
 import com.dietergandalf.store_manager.repository.CustomerRepository;
 import com.dietergandalf.store_manager.repository.ProductStockRepository;
 import com.dietergandalf.store_manager.repository.ShoppingCartRepository;
+import com.dietergandalf.store_manager.search.ProductSearchIndex;
 import com.dietergandalf.store_manager.util.CartItemMapper;
+import com.dietergandalf.store_manager.util.CatalogCursor;
+import com.dietergandalf.store_manager.util.ConstraintViolations;
 import com.dietergandalf.store_manager.util.CustomerMapper;
+import com.dietergandalf.store_manager.util.ETags;
 import com.dietergandalf.store_manager.util.ProductMapper;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class CustomerService {
+    static final int DEFAULT_CATALOG_PAGE_SIZE = 20;
+    static final int MAX_CATALOG_PAGE_SIZE = 100;
+    static final int DEFAULT_TRENDING_SIZE = 10;
+    static final int MAX_TRENDING_SIZE = 50;
+
     private final CustomerRepository customerRepository;
     private final ProductStockRepository productStockRepository;
     private final ShoppingCartRepository shoppingCartRepository;
@@ -33,6 +60,9 @@ public class CustomerService {
     private final CustomerMapper customerMapper;
     private final ProductMapper productMapper;
     private final CartItemMapper cartItemMapper;
+    private final CatalogCache catalogCache;
+    private final ProductSearchIndex productSearchIndex;
+    private final TrendingProducts trendingProducts;
 
     @Autowired
     public CustomerService(CustomerRepository customerRepository, 
@@ -41,7 +71,10 @@ public class CustomerService {
                           CartItemRepository cartItemRepository,
                           CustomerMapper customerMapper,
                           ProductMapper productMapper,
-                          CartItemMapper cartItemMapper) {
+                          CartItemMapper cartItemMapper,
+                          CatalogCache catalogCache,
+                          ProductSearchIndex productSearchIndex,
+                          TrendingProducts trendingProducts) {
         this.customerRepository = customerRepository;
         this.productStockRepository = productStockRepository;
         this.shoppingCartRepository = shoppingCartRepository;
@@ -49,6 +82,9 @@ public class CustomerService {
         this.customerMapper = customerMapper;
         this.productMapper = productMapper;
         this.cartItemMapper = cartItemMapper;
+        this.catalogCache = catalogCache;
+        this.productSearchIndex = productSearchIndex;
+        this.trendingProducts = trendingProducts;
     }
 
     public List<CustomerDto> getAllCustomers() {
@@ -62,12 +98,17 @@ public class CustomerService {
     }
 
     public CustomerDto createCustomer(RegisterRequestDto registerRequest) {
-        if (customerRepository.existsByEmail(registerRequest.getEmail())) {
-            throw new RuntimeException("Email already exists");
-        }
-
         Customer customer = customerMapper.fromRegisterRequest(registerRequest);
-        Customer savedCustomer = customerRepository.save(customer);
+        Customer savedCustomer;
+        try {
+            // Flushed here so the unique email index rejects a duplicate before the caller sees a result
+            savedCustomer = customerRepository.saveAndFlush(customer);
+        } catch (DataIntegrityViolationException e) {
+            if (ConstraintViolations.isViolationOf(e, "ux_person_email")) {
+                throw new RuntimeException("Email already exists", e);
+            }
+            throw e;
+        }
         return customerMapper.toDto(savedCustomer);
     }
 
@@ -91,13 +132,130 @@ public class CustomerService {
         return false;
     }
 
-    public List<ProductStockDto> getAllAvailableProducts() {
-        List<ProductStock> availableProducts = productStockRepository.findByAmountGreaterThan(0);
-        return productMapper.toStockDtoList(availableProducts);
+    @Timed(value = "store.catalog.read", extraTags = {"view", "catalog"}, description = "Catalog read latency", histogram = true)
+    public CatalogPageDto getAvailableProducts(CatalogQueryDto query) {
+        int pageSize = resolvePageSize(query.getSize());
+        CatalogSort sort = query.getSort() != null ? query.getSort() : CatalogSort.ID;
+        CatalogCursor cursor = CatalogCursor.decode(query.getCursor(), sort);
+        String nameTerm = query.getName() != null && !query.getName().isBlank()
+                ? query.getName().trim().toLowerCase() : null;
+
+        CatalogPageKey key = new CatalogPageKey(sort, pageSize, query.getCursor(), query.getSellerId(),
+                query.getMinPrice(), query.getMaxPrice(), nameTerm);
+        return catalogCache.getCatalogPage(key, cursor, () -> loadCatalogPage(key, cursor));
+    }
+
+    private CatalogPageDto loadCatalogPage(CatalogPageKey key, CatalogCursor cursor) {
+        String namePattern = key.getNameTerm() != null ? "%" + key.getNameTerm() + "%" : null;
+        Long afterId = cursor != null ? cursor.getProductStockId() : null;
+
+        // Fetch one extra row to find out whether another page follows
+        Limit limit = Limit.of(key.getPageSize() + 1);
+        List<ProductStockSummaryDto> productStocks = switch (key.getSort()) {
+            case PRICE -> productStockRepository.findAvailableCatalogPageByPrice(key.getSellerId(),
+                    key.getMinPrice(), key.getMaxPrice(), namePattern,
+                    cursor != null ? cursor.getPrice() : null, afterId, limit);
+            case NAME -> productStockRepository.findAvailableCatalogPageByName(key.getSellerId(),
+                    key.getMinPrice(), key.getMaxPrice(), namePattern,
+                    cursor != null ? cursor.getName() : null, afterId, limit);
+            case ID -> productStockRepository.findAvailableCatalogPageById(key.getSellerId(),
+                    key.getMinPrice(), key.getMaxPrice(), namePattern, afterId, limit);
+        };
+
+        boolean hasMore = productStocks.size() > key.getPageSize();
+        List<ProductStockSummaryDto> page = hasMore ? productStocks.subList(0, key.getPageSize()) : productStocks;
+
+        return CatalogPageDto.builder()
+                .items(productMapper.summariesToStockDtoList(page))
+                .size(page.size())
+                .sort(key.getSort())
+                .nextCursor(hasMore ? CatalogCursor.after(page.get(page.size() - 1), key.getSort()).encode() : null)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    /**
+     * Full-text search over product names and descriptions, most relevant in-stock products first.
+     * Pages are numbered from 0; relevance comes from the in-memory index, stock and prices from the database.
+     */
+    @Timed(value = "store.catalog.read", extraTags = {"view", "search"}, description = "Catalog read latency", histogram = true)
+    @Transactional(readOnly = true)
+    public ProductSearchPageDto searchProducts(String query, Integer page, Integer size) {
+        int pageSize = resolvePageSize(size);
+        int pageNumber = page != null ? page : 0;
+        if (pageNumber < 0) {
+            throw new IllegalArgumentException("Page must not be negative");
+        }
+
+        List<Long> rankedIds = productSearchIndex.search(query);
+        Set<Long> availableIds = rankedIds.isEmpty() ? Set.of() : new HashSet<>(productStockRepository.findAvailableIdsIn(rankedIds));
+        List<Long> hits = rankedIds.stream().filter(availableIds::contains).toList();
+
+        int from = (int) Math.min((long) pageNumber * pageSize, hits.size());
+        List<Long> pageIds = hits.subList(from, Math.min(from + pageSize, hits.size()));
+        List<ProductStockDto> items = List.of();
+        if (!pageIds.isEmpty()) {
+            Map<Long, ProductStockSummaryDto> summaries = productStockRepository.findStockSummariesByIdIn(pageIds).stream()
+                    .collect(Collectors.toMap(ProductStockSummaryDto::getProductStockId, Function.identity()));
+            items = productMapper.summariesToStockDtoList(pageIds.stream()
+                    .map(summaries::get)
+                    .filter(Objects::nonNull)
+                    .toList());
+        }
+
+        return ProductSearchPageDto.builder()
+                .query(query)
+                .items(items)
+                .page(pageNumber)
+                .size(items.size())
+                .totalHits(hits.size())
+                .hasMore(from + pageIds.size() < hits.size())
+                .build();
+    }
+
+    /**
+     * The best selling in-stock products of the trending window, best first. The ranking comes from the
+     * in-memory {@link TrendingProducts} tracker, so a read is one lookup of the ranked stocks by id.
+     */
+    @Timed(value = "store.catalog.read", extraTags = {"view", "trending"}, description = "Catalog read latency", histogram = true)
+    @Transactional(readOnly = true)
+    public List<ProductStockDto> getTrendingProducts(Integer size) {
+        int limit = size != null ? size : DEFAULT_TRENDING_SIZE;
+        if (limit < 1) {
+            throw new IllegalArgumentException("Size must be positive");
+        }
+        limit = Math.min(limit, MAX_TRENDING_SIZE);
+
+        // Rank past the limit so sold out or removed stocks can be skipped without a second lookup
+        List<Long> rankedIds = trendingProducts.top(MAX_TRENDING_SIZE * 2).stream()
+                .map(TrendingProducts.Hitter::productStockId)
+                .toList();
+        if (rankedIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, ProductStockSummaryDto> summaries = productStockRepository.findStockSummariesByIdIn(rankedIds).stream()
+                .collect(Collectors.toMap(ProductStockSummaryDto::getProductStockId, Function.identity()));
+        return productMapper.summariesToStockDtoList(rankedIds.stream()
+                .map(summaries::get)
+                .filter(summary -> summary != null && summary.getAmount() != null && summary.getAmount() > 0)
+                .limit(limit)
+                .toList());
+    }
+
+    private int resolvePageSize(Integer requestedSize) {
+        if (requestedSize == null) {
+            return DEFAULT_CATALOG_PAGE_SIZE;
+        }
+        if (requestedSize < 1) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        return Math.min(requestedSize, MAX_CATALOG_PAGE_SIZE);
     }
 
     @Transactional
-    public ShoppingCartDto addToCart(Long customerId, AddToCartRequestDto addToCartRequest) {
+    @RetryOnOptimisticLock
+    @Timed(value = "store.cart.add", description = "Add-to-cart latency", histogram = true)
+    public CartUpdateDto addToCart(Long customerId, AddToCartRequestDto addToCartRequest) {
         Optional<Customer> optionalCustomer = customerRepository.findById(customerId);
         if (optionalCustomer.isEmpty()) {
             throw new RuntimeException("Customer not found");
@@ -120,16 +278,19 @@ public class CustomerService {
         if (cart == null) {
             cart = new ShoppingCart();
             cart.setCustomer(customer);
+            cart.resetTotals();
             customer.setCart(cart);
             cart = shoppingCartRepository.save(cart);
         }
+        ensureTotals(cart);
 
         // Check if this product is already in the cart
         Optional<CartItem> existingCartItem = cartItemRepository.findByCartAndProductStock(cart, productStock);
         
+        CartItem cartItem;
         if (existingCartItem.isPresent()) {
             // Update quantity of existing item
-            CartItem cartItem = existingCartItem.get();
+            cartItem = existingCartItem.get();
             int newQuantity = cartItem.getQuantity() + addToCartRequest.getQuantity();
             
             // Check if we still have enough stock
@@ -138,18 +299,18 @@ public class CustomerService {
             }
             
             cartItem.setQuantity(newQuantity);
-            cartItemRepository.save(cartItem);
         } else {
             // Create new cart item
-            CartItem cartItem = new CartItem();
+            cartItem = new CartItem();
             cartItem.setCart(cart);
             cartItem.setProductStock(productStock);
             cartItem.setQuantity(addToCartRequest.getQuantity());
             cartItem.setPriceAtTimeOfAdd(productStock.getProduct().getPrice());
-            cartItemRepository.save(cartItem);
         }
+        cart.applyLineChange(addToCartRequest.getQuantity(), cartItem.getPriceAtTimeOfAdd());
+        cartItemRepository.save(cartItem);
 
-        return getCartDto(cart);
+        return toCartUpdateDto(cart, cartItem, null);
     }
 
     public ShoppingCartDto getCart(Long customerId) {
@@ -168,7 +329,19 @@ public class CustomerService {
         return getCartDto(cart);
     }
 
+    /**
+     * ETag of the customer's cart, or {@code null} if there is none. Read with one narrow query over the
+     * versions and displayed fields the cart is built from, so an unchanged cart is answered without loading
+     * or mapping its lines.
+     */
+    @Transactional(readOnly = true)
+    public String getCartETag(Long customerId) {
+        List<Object[]> fingerprint = shoppingCartRepository.findCartFingerprintByCustomerId(customerId);
+        return fingerprint.isEmpty() ? null : ETags.of(fingerprint.toArray());
+    }
+
     @Transactional
+    @RetryOnOptimisticLock
     public boolean clearCart(Long customerId) {
         Optional<Customer> optionalCustomer = customerRepository.findById(customerId);
         if (optionalCustomer.isEmpty()) {
@@ -180,6 +353,7 @@ public class CustomerService {
         
         if (cart != null) {
             cartItemRepository.deleteByCart(cart);
+            cart.resetTotals();
             return true;
         }
         
@@ -187,7 +361,8 @@ public class CustomerService {
     }
 
     @Transactional
-    public ShoppingCartDto removeFromCart(Long customerId, Long cartItemId) {
+    @RetryOnOptimisticLock
+    public CartUpdateDto removeFromCart(Long customerId, Long cartItemId) {
         Optional<Customer> optionalCustomer = customerRepository.findById(customerId);
         if (optionalCustomer.isEmpty()) {
             throw new RuntimeException("Customer not found");
@@ -198,20 +373,23 @@ public class CustomerService {
             throw new RuntimeException("Cart item not found");
         }
 
-        Customer customer = optionalCustomer.get();
         CartItem cartItem = optionalCartItem.get();
+        ShoppingCart cart = cartItem.getCart();
 
         // Verify the cart item belongs to this customer
-        if (!cartItem.getCart().getCustomer().getPerson_id().equals(customerId)) {
+        if (!cart.getCustomer().getPerson_id().equals(customerId)) {
             throw new RuntimeException("Cart item does not belong to this customer");
         }
 
+        ensureTotals(cart);
+        cart.applyLineChange(-cartItem.getQuantity(), cartItem.getPriceAtTimeOfAdd());
         cartItemRepository.delete(cartItem);
-        return getCartDto(customer.getCart());
+        return toCartUpdateDto(cart, null, cartItem.getCart_item_id());
     }
 
     @Transactional
-    public ShoppingCartDto updateCartItemQuantity(Long customerId, Long cartItemId, Integer newQuantity) {
+    @RetryOnOptimisticLock
+    public CartUpdateDto updateCartItemQuantity(Long customerId, Long cartItemId, Integer newQuantity) {
         if (newQuantity <= 0) {
             return removeFromCart(customerId, cartItemId);
         }
@@ -226,11 +404,11 @@ public class CustomerService {
             throw new RuntimeException("Cart item not found");
         }
 
-        Customer customer = optionalCustomer.get();
         CartItem cartItem = optionalCartItem.get();
+        ShoppingCart cart = cartItem.getCart();
 
         // Verify the cart item belongs to this customer
-        if (!cartItem.getCart().getCustomer().getPerson_id().equals(customerId)) {
+        if (!cart.getCustomer().getPerson_id().equals(customerId)) {
             throw new RuntimeException("Cart item does not belong to this customer");
         }
 
@@ -240,30 +418,45 @@ public class CustomerService {
             throw new RuntimeException("Insufficient stock for requested quantity");
         }
 
+        ensureTotals(cart);
+        cart.applyLineChange(newQuantity - cartItem.getQuantity(), cartItem.getPriceAtTimeOfAdd());
         cartItem.setQuantity(newQuantity);
         cartItemRepository.save(cartItem);
 
-        return getCartDto(customer.getCart());
+        return toCartUpdateDto(cart, cartItem, null);
+    }
+
+    // Carts persisted before running totals existed are backfilled once, on their next access
+    private void ensureTotals(ShoppingCart cart) {
+        if (!cart.hasTotals()) {
+            cart.recalculateTotals(cartItemRepository.findByCart(cart));
+        }
+    }
+
+    private CartUpdateDto toCartUpdateDto(ShoppingCart cart, CartItem changedItem, Long removedCartItemId) {
+        return CartUpdateDto.builder()
+                .cartId(cart.getCart_id())
+                .customerId(cart.getCustomer().getPerson_id())
+                .cartItem(changedItem != null ? cartItemMapper.toDto(changedItem) : null)
+                .removedCartItemId(removedCartItemId)
+                .totalAmount(cart.getTotalAmount())
+                .totalItems(cart.getTotalItems())
+                .build();
     }
 
     private ShoppingCartDto getCartDto(ShoppingCart cart) {
         List<CartItem> cartItems = cartItemRepository.findByCart(cart);
-        
-        double totalAmount = cartItems.stream()
-                .mapToDouble(item -> item.getQuantity() * item.getPriceAtTimeOfAdd())
-                .sum();
-        
-        int totalItems = cartItems.stream()
-                .mapToInt(CartItem::getQuantity)
-                .sum();
+        if (!cart.hasTotals()) {
+            cart.recalculateTotals(cartItems);
+        }
 
         return ShoppingCartDto.builder()
                 .cartId(cart.getCart_id())
                 .customerId(cart.getCustomer().getPerson_id())
                 .customerName(cart.getCustomer().getFirst_name() + " " + cart.getCustomer().getLast_name())
                 .cartItems(cartItemMapper.toDtoList(cartItems))
-                .totalAmount(totalAmount)
-                .totalItems(totalItems)
+                .totalAmount(cart.getTotalAmount())
+                .totalItems(cart.getTotalItems())
                 .build();
     }
 }
@@ -1,32 +1,58 @@
 package com.dietergandalf.store_manager.service;
 
-import java.time.LocalDateTime;
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDate;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.dietergandalf.store_manager.analytics.SalesRollup;
+import com.dietergandalf.store_manager.analytics.TrendingProducts;
+import com.dietergandalf.store_manager.cache.CatalogCache;
 import com.dietergandalf.store_manager.dto.CheckoutRequestDto;
 import com.dietergandalf.store_manager.dto.OrderDto;
+import com.dietergandalf.store_manager.dto.OrderExportFormat;
+import com.dietergandalf.store_manager.dto.OrderExportRowDto;
+import com.dietergandalf.store_manager.dto.OrderPageDto;
+import com.dietergandalf.store_manager.exception.InsufficientStockException;
 import com.dietergandalf.store_manager.model.CartItem;
 import com.dietergandalf.store_manager.model.Customer;
 import com.dietergandalf.store_manager.model.Order;
 import com.dietergandalf.store_manager.model.OrderItem;
 import com.dietergandalf.store_manager.model.OrderStatus;
-import com.dietergandalf.store_manager.model.ProductStock;
 import com.dietergandalf.store_manager.model.ShoppingCart;
+import com.dietergandalf.store_manager.outbox.OrderOutbox;
+import com.dietergandalf.store_manager.payment.PaymentProcessor;
 import com.dietergandalf.store_manager.repository.CartItemRepository;
 import com.dietergandalf.store_manager.repository.CustomerRepository;
 import com.dietergandalf.store_manager.repository.OrderItemRepository;
 import com.dietergandalf.store_manager.repository.OrderRepository;
 import com.dietergandalf.store_manager.repository.ProductStockRepository;
+import com.dietergandalf.store_manager.util.ETags;
+import com.dietergandalf.store_manager.util.OrderExportWriter;
+import com.dietergandalf.store_manager.util.OrderHistoryCursor;
 import com.dietergandalf.store_manager.util.OrderItemMapper;
 import com.dietergandalf.store_manager.util.OrderMapper;
 
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
 @Service
 public class OrderService {
+    static final int DEFAULT_ORDER_PAGE_SIZE = 20;
+    static final int MAX_ORDER_PAGE_SIZE = 100;
     
     private final OrderRepository orderRepository;
     private final OrderItemRepository orderItemRepository;
@@ -35,6 +61,13 @@ public class OrderService {
     private final ProductStockRepository productStockRepository;
     private final OrderMapper orderMapper;
     private final OrderItemMapper orderItemMapper;
+    private final CatalogCache catalogCache;
+    private final OrderExportWriter orderExportWriter;
+    private final OrderOutbox orderOutbox;
+    private final PaymentProcessor paymentProcessor;
+    private final SalesRollup salesRollup;
+    private final TrendingProducts trendingProducts;
+    private final Counter stockRejections;
     
     @Autowired
     public OrderService(OrderRepository orderRepository,
@@ -43,7 +76,14 @@ public class OrderService {
                        CartItemRepository cartItemRepository,
                        ProductStockRepository productStockRepository,
                        OrderMapper orderMapper,
-                       OrderItemMapper orderItemMapper) {
+                       OrderItemMapper orderItemMapper,
+                       CatalogCache catalogCache,
+                       OrderExportWriter orderExportWriter,
+                       OrderOutbox orderOutbox,
+                       PaymentProcessor paymentProcessor,
+                       SalesRollup salesRollup,
+                       TrendingProducts trendingProducts,
+                       MeterRegistry meterRegistry) {
         this.orderRepository = orderRepository;
         this.orderItemRepository = orderItemRepository;
         this.customerRepository = customerRepository;
@@ -51,9 +91,20 @@ public class OrderService {
         this.productStockRepository = productStockRepository;
         this.orderMapper = orderMapper;
         this.orderItemMapper = orderItemMapper;
+        this.catalogCache = catalogCache;
+        this.orderExportWriter = orderExportWriter;
+        this.orderOutbox = orderOutbox;
+        this.paymentProcessor = paymentProcessor;
+        this.salesRollup = salesRollup;
+        this.trendingProducts = trendingProducts;
+        this.stockRejections = Counter.builder("store.checkout.stock.rejections")
+                .description("Checkouts rejected because a cart line exceeded the remaining stock")
+                .register(meterRegistry);
     }
     
     @Transactional
+    @RetryOnOptimisticLock
+    @Timed(value = "store.checkout", description = "Checkout latency", histogram = true)
     public OrderDto checkout(Long customerId, CheckoutRequestDto checkoutRequest) {
         Optional<Customer> optionalCustomer = customerRepository.findById(customerId);
         if (optionalCustomer.isEmpty()) {
@@ -72,13 +123,17 @@ public class OrderService {
             throw new RuntimeException("Shopping cart is empty");
         }
         
-        // Validate stock availability
+        // Reserve stock for every line in one guarded batch; any rejected line rolls the checkout back
+        Map<Long, Integer> requestedQuantities = new HashMap<>();
         for (CartItem cartItem : cartItems) {
-            ProductStock productStock = cartItem.getProductStock();
-            if (productStock.getAmount() < cartItem.getQuantity()) {
-                throw new RuntimeException("Insufficient stock for product: " + productStock.getProduct().getName());
-            }
+            requestedQuantities.merge(cartItem.getProductStock().getProduct_stock_id(), cartItem.getQuantity(), Integer::sum);
+        }
+        List<Long> rejectedProductStockIds = productStockRepository.reserveStock(requestedQuantities);
+        if (!rejectedProductStockIds.isEmpty()) {
+            stockRejections.increment();
+            throw new InsufficientStockException(rejectedProductStockIds);
         }
+        catalogCache.invalidateProductStockIds(requestedQuantities.keySet());
         
         // Create order
         Order order = orderMapper.fromCartItemsAndRequest(customer, cartItems, checkoutRequest);
@@ -89,29 +144,60 @@ public class OrderService {
         orderItemRepository.saveAll(orderItems);
         savedOrder.setOrderItems(orderItems);
         
-        // Update product stock
-        for (CartItem cartItem : cartItems) {
-            ProductStock productStock = cartItem.getProductStock();
-            productStock.setAmount(productStock.getAmount() - cartItem.getQuantity());
-            productStockRepository.save(productStock);
-        }
-        
         // Clear the shopping cart
         cartItemRepository.deleteByCart(cart);
+        cart.resetTotals();
         
-        // Simulate payment processing
-        savedOrder.setPaymentStatus("CONFIRMED");
-        savedOrder.setStatus(OrderStatus.CONFIRMED);
-        savedOrder = orderRepository.save(savedOrder);
+        // The order stays PENDING; payment runs asynchronously once this transaction commits
+        orderOutbox.orderPlaced(savedOrder);
+        salesRollup.orderPlaced(savedOrder);
+        trendingProducts.recordSale(savedOrder.getOrderDate(), requestedQuantities);
+        paymentProcessor.submitAfterCommit(savedOrder.getOrderId());
         
         return orderMapper.toDto(savedOrder);
     }
     
-    public List<OrderDto> getCustomerOrders(Long customerId) {
-        List<Order> orders = orderRepository.findByCustomerPersonIdOrderByOrderDateDesc(customerId);
-        return orderMapper.toDtoList(orders);
+    @Transactional(readOnly = true)
+    public OrderPageDto getCustomerOrders(Long customerId, String cursorToken, Integer size) {
+        int pageSize = resolvePageSize(size);
+        OrderHistoryCursor cursor = OrderHistoryCursor.decode(cursorToken);
+
+        // Fetch one extra id to find out whether another page follows
+        List<Long> orderIds = orderRepository.findOrderHistoryPageIds(customerId,
+                cursor != null ? cursor.getOrderDate() : null,
+                cursor != null ? cursor.getOrderId() : null,
+                Limit.of(pageSize + 1));
+        boolean hasMore = orderIds.size() > pageSize;
+        List<Long> pageIds = hasMore ? orderIds.subList(0, pageSize) : orderIds;
+
+        // One query loads the whole page with customer, items and products; restore the newest-first order
+        Map<Long, Order> ordersById = pageIds.isEmpty() ? Map.of()
+                : orderRepository.findWithDetailsByOrderIdIn(pageIds).stream()
+                        .collect(Collectors.toMap(Order::getOrderId, Function.identity()));
+        List<Order> page = pageIds.stream()
+                .map(ordersById::get)
+                .filter(Objects::nonNull)
+                .toList();
+
+        return OrderPageDto.builder()
+                .items(orderMapper.toDtoList(page))
+                .size(page.size())
+                .nextCursor(hasMore ? OrderHistoryCursor.after(page.get(page.size() - 1)).encode() : null)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    private int resolvePageSize(Integer requestedSize) {
+        if (requestedSize == null) {
+            return DEFAULT_ORDER_PAGE_SIZE;
+        }
+        if (requestedSize < 1) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        return Math.min(requestedSize, MAX_ORDER_PAGE_SIZE);
     }
     
+    @Transactional(readOnly = true)
     public OrderDto getOrderById(Long orderId) {
         Optional<Order> optionalOrder = orderRepository.findById(orderId);
         if (optionalOrder.isEmpty()) {
@@ -120,6 +206,16 @@ public class OrderService {
         return orderMapper.toDto(optionalOrder.get());
     }
     
+    /**
+     * ETag of the order, or {@code null} if it does not exist. Read with one narrow query, so an
+     * unchanged order is answered without loading it.
+     */
+    @Transactional(readOnly = true)
+    public String getOrderETag(Long orderId) {
+        List<Object[]> fingerprint = orderRepository.findOrderFingerprint(orderId);
+        return fingerprint.isEmpty() ? null : ETags.of(fingerprint.toArray());
+    }
+
     @Transactional
     public OrderDto updateOrderStatus(Long orderId, OrderStatus newStatus) {
         Optional<Order> optionalOrder = orderRepository.findById(orderId);
@@ -128,8 +224,21 @@ public class OrderService {
         }
         
         Order order = optionalOrder.get();
+        OrderStatus previousStatus = order.getStatus();
+        // PENDING belongs to the payment stage, which releases the reserved stock when it cancels an order
+        if (previousStatus == OrderStatus.PENDING && newStatus != OrderStatus.PENDING) {
+            throw new RuntimeException("Order payment is still pending");
+        }
+        if (newStatus == OrderStatus.PENDING && previousStatus != OrderStatus.PENDING) {
+            throw new RuntimeException("Order cannot be set back to PENDING");
+        }
         order.setStatus(newStatus);
         Order updatedOrder = orderRepository.save(order);
+        if (previousStatus != newStatus) {
+            orderOutbox.orderStatusChanged(updatedOrder, previousStatus);
+            salesRollup.orderStatusChanged(updatedOrder, previousStatus);
+            trendingProducts.orderStatusChanged(updatedOrder, previousStatus);
+        }
         
         return orderMapper.toDto(updatedOrder);
     }
@@ -138,4 +247,23 @@ public class OrderService {
         List<Order> orders = orderRepository.findAll();
         return orderMapper.toDtoList(orders);
     }
+
+    /**
+     * Streams every order placed in {@code [from, to]} (whole days, both optional) with the optional status
+     * to {@code writer}, reading the rows with a forward-only cursor so memory use does not grow with the table.
+     */
+    @Transactional(readOnly = true)
+    public void exportOrders(OrderExportFormat format, LocalDate from, LocalDate to, OrderStatus status, Writer writer)
+            throws IOException {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("Export range starts after it ends");
+        }
+
+        try (Stream<OrderExportRowDto> rows = orderRepository.streamExportRows(
+                from != null ? from.atStartOfDay() : null,
+                to != null ? to.plusDays(1).atStartOfDay() : null,
+                status)) {
+            orderExportWriter.write(rows.iterator(), format, writer);
+        }
+    }
 }
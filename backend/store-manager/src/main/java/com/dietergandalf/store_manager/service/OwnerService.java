@@ -3,24 +3,51 @@ package com.dietergandalf.store_manager.service;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.dietergandalf.store_manager.cache.StandOccupancyIndex;
+import com.dietergandalf.store_manager.dto.CreateStandRequestDto;
 import com.dietergandalf.store_manager.dto.OwnerDto;
+import com.dietergandalf.store_manager.dto.OwnerStandSummaryDto;
 import com.dietergandalf.store_manager.dto.RegisterRequestDto;
+import com.dietergandalf.store_manager.dto.StandDto;
 import com.dietergandalf.store_manager.dto.UpdateProfileRequestDto;
 import com.dietergandalf.store_manager.model.Owner;
+import com.dietergandalf.store_manager.model.Stand;
 import com.dietergandalf.store_manager.repository.OwnerRepository;
+import com.dietergandalf.store_manager.repository.SellerRepository;
+import com.dietergandalf.store_manager.repository.StandRepository;
+import com.dietergandalf.store_manager.util.ConstraintViolations;
 import com.dietergandalf.store_manager.util.OwnerMapper;
+import com.dietergandalf.store_manager.util.StandMapper;
 
 @Service
 public class OwnerService {
+    static final int MAX_STAND_PAGE_SIZE = 200;
+
     private final OwnerRepository ownerRepository;
     private final OwnerMapper ownerMapper;
+    private final StandRepository standRepository;
+    private final SellerRepository sellerRepository;
+    private final StandMapper standMapper;
+    private final StandOccupancyIndex standOccupancyIndex;
 
     @Autowired
-    public OwnerService(OwnerRepository ownerRepository, OwnerMapper ownerMapper) {
+    public OwnerService(OwnerRepository ownerRepository,
+                        OwnerMapper ownerMapper,
+                        StandRepository standRepository,
+                        SellerRepository sellerRepository,
+                        StandMapper standMapper,
+                        StandOccupancyIndex standOccupancyIndex) {
         this.ownerRepository = ownerRepository;
         this.ownerMapper = ownerMapper;
+        this.standRepository = standRepository;
+        this.sellerRepository = sellerRepository;
+        this.standMapper = standMapper;
+        this.standOccupancyIndex = standOccupancyIndex;
     }
 
     public List<OwnerDto> getAllOwners() {
@@ -52,8 +79,102 @@ public class OwnerService {
     public boolean deleteOwner(Long id) {
         if (ownerRepository.existsById(id)) {
             ownerRepository.deleteById(id);
+            standOccupancyIndex.evict(id);
             return true;
         }
         return false;
     }
+
+    /**
+     * Stand counts and rent of an owner, split by occupancy. Served from the occupancy index; an owner
+     * missing there is aggregated with a single query over the stand table. Returns {@code null} for an
+     * unknown owner.
+     */
+    public OwnerStandSummaryDto getStandSummary(Long ownerId) {
+        if (!ownerRepository.existsById(ownerId)) {
+            return null;
+        }
+        return standOccupancyIndex.get(ownerId, () -> standRepository.findOccupancySummaryByOwnerId(ownerId)
+                .orElseGet(() -> OwnerStandSummaryDto.builder()
+                        .ownerId(ownerId)
+                        .totalStands(0L)
+                        .occupiedStands(0L)
+                        .availableStands(0L)
+                        .monthlyRent(0.0)
+                        .vacantRent(0.0)
+                        .build()));
+    }
+
+    /**
+     * Available stands of an owner in id order, {@code size} at a time after the stand {@code afterId}.
+     */
+    @Transactional(readOnly = true)
+    public List<StandDto> getAvailableStands(Long ownerId, Long afterId, int size) {
+        if (size < 1 || size > MAX_STAND_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_STAND_PAGE_SIZE);
+        }
+        return standMapper.toDtoList(standRepository.findAvailableByOwnerId(ownerId, afterId, Limit.of(size)));
+    }
+
+    @Transactional
+    public StandDto addStand(Long ownerId, CreateStandRequestDto standRequest) {
+        if (standRequest.getPrice() == null || standRequest.getPrice() < 0) {
+            throw new RuntimeException("Stand price must not be negative");
+        }
+        if (standRequest.getSize() == null || standRequest.getSize() <= 0) {
+            throw new RuntimeException("Stand size must be positive");
+        }
+        Owner owner = ownerRepository.findById(ownerId)
+                .orElseThrow(() -> new RuntimeException("Owner not found"));
+
+        Stand savedStand = standRepository.save(standMapper.fromCreateRequest(standRequest, owner));
+        standOccupancyIndex.standAdded(ownerId, savedStand.getPrice(), false);
+        return standMapper.toDto(savedStand);
+    }
+
+    @Transactional
+    public StandDto rentStand(Long ownerId, Long standId, Long sellerId) {
+        Stand stand = findOwnedStand(ownerId, standId);
+        if (!sellerRepository.existsById(sellerId)) {
+            throw new RuntimeException("Seller not found");
+        }
+        if (standRepository.existsByStandUserId(sellerId)) {
+            throw new RuntimeException("Seller already rents a stand");
+        }
+
+        int updated;
+        try {
+            updated = standRepository.occupy(standId, sellerRepository.getReferenceById(sellerId));
+        } catch (DataIntegrityViolationException e) {
+            // Another request rented a stand to the same seller in the meantime
+            if (ConstraintViolations.isViolationOf(e, "ux_stand_seller_id")) {
+                throw new RuntimeException("Seller already rents a stand", e);
+            }
+            throw e;
+        }
+        if (updated == 0) {
+            throw new RuntimeException("Stand is already occupied");
+        }
+        standOccupancyIndex.standOccupancyChanged(ownerId, stand.getPrice(), true);
+        return standMapper.toDto(standRepository.findById(standId).orElseThrow());
+    }
+
+    @Transactional
+    public StandDto vacateStand(Long ownerId, Long standId) {
+        Stand stand = findOwnedStand(ownerId, standId);
+        if (standRepository.vacate(standId) == 0) {
+            throw new RuntimeException("Stand is not occupied");
+        }
+        standOccupancyIndex.standOccupancyChanged(ownerId, stand.getPrice(), false);
+        return standMapper.toDto(standRepository.findById(standId).orElseThrow());
+    }
+
+    private Stand findOwnedStand(Long ownerId, Long standId) {
+        Stand stand = standRepository.findById(standId)
+                .orElseThrow(() -> new RuntimeException("Stand not found"));
+        if (stand.getStand_owner() == null || !ownerId.equals(stand.getStand_owner().getPerson_id())) {
+            throw new RuntimeException("Stand does not belong to this owner");
+        }
+        return stand;
+    }
 }
@@ -0,0 +1,169 @@
+package com.dietergandalf.store_manager.service;
+
+import com.dietergandalf.store_manager.cache.CatalogCache;
+import com.dietergandalf.store_manager.dto.ProductImportErrorDto;
+import com.dietergandalf.store_manager.dto.ProductImportFormat;
+import com.dietergandalf.store_manager.dto.ProductImportReportDto;
+import com.dietergandalf.store_manager.model.Product;
+import com.dietergandalf.store_manager.model.ProductStock;
+import com.dietergandalf.store_manager.model.Seller;
+import com.dietergandalf.store_manager.repository.SellerRepository;
+import com.dietergandalf.store_manager.search.ProductSearchIndex;
+import com.dietergandalf.store_manager.util.ProductImportReader;
+import com.dietergandalf.store_manager.util.ProductMapper;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Bulk product import for sellers. Rows are read and validated one at a time and the valid ones are written
+ * in chunks of {@code store.product-import.chunk-size}, each in a transaction of its own: products and stocks
+ * go out as JDBC batches (hibernate.jdbc.batch_size, ids from the pooled sequences) and a failing chunk only
+ * rolls back its own rows. Invalid rows are skipped and listed in the report. An unexpected failure stops the
+ * import; the report then covers the rows handled so far and says where and why it stopped.
+ */
+@Service
+public class ProductImportService {
+    private static final Logger log = LoggerFactory.getLogger(ProductImportService.class);
+
+    private final SellerRepository sellerRepository;
+    private final ProductMapper productMapper;
+    private final ProductImportReader productImportReader;
+    private final CatalogCache catalogCache;
+    private final ProductSearchIndex productSearchIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int maxReportedErrors;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    public ProductImportService(SellerRepository sellerRepository,
+                                ProductMapper productMapper,
+                                ProductImportReader productImportReader,
+                                CatalogCache catalogCache,
+                                ProductSearchIndex productSearchIndex,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${store.product-import.chunk-size:1000}") int chunkSize,
+                                @Value("${store.product-import.max-reported-errors:1000}") int maxReportedErrors) {
+        this.sellerRepository = sellerRepository;
+        this.productMapper = productMapper;
+        this.productImportReader = productImportReader;
+        this.catalogCache = catalogCache;
+        this.productSearchIndex = productSearchIndex;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    @Timed(value = "store.product.import", description = "Bulk product import duration")
+    public ProductImportReportDto importProducts(Long sellerId, ProductImportFormat format, Reader in) throws IOException {
+        Seller seller = sellerRepository.findById(sellerId)
+                .orElseThrow(() -> new RuntimeException("Seller not found"));
+
+        Iterator<ProductImportReader.Row> rows = productImportReader.read(format, in);
+        Report report = new Report();
+        List<ProductImportReader.Row> chunk = new ArrayList<>(chunkSize);
+        long line = 0;
+        try {
+            while (rows.hasNext()) {
+                ProductImportReader.Row row = rows.next();
+                line = row.line();
+                report.totalRows++;
+                if (!row.isValid()) {
+                    report.reject(row.line(), row.error());
+                    continue;
+                }
+                chunk.add(row);
+                if (chunk.size() == chunkSize) {
+                    insertChunk(seller, chunk, report);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                insertChunk(seller, chunk, report);
+            }
+        } catch (RuntimeException e) {
+            // Earlier chunks are committed, so report them rather than failing the whole request
+            log.warn("Product import for seller {} stopped at line {}", sellerId, line, e);
+            for (ProductImportReader.Row row : chunk) {
+                report.reject(row.line(), "Not imported: the import stopped before this row was written");
+            }
+            report.abortedAt = ProductImportErrorDto.builder().line(line).message("Import stopped: " + e.getMessage()).build();
+        }
+        return report.toDto();
+    }
+
+    private void insertChunk(Seller seller, List<ProductImportReader.Row> chunk, Report report) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<ProductStock> productStocks = new ArrayList<>(chunk.size());
+                for (ProductImportReader.Row row : chunk) {
+                    Product product = productMapper.fromCreateRequest(row.product());
+                    entityManager.persist(product);
+                    ProductStock productStock = productMapper.createProductStock(product, seller, row.product().getInitialStock());
+                    entityManager.persist(productStock);
+                    productStocks.add(productStock);
+                }
+                entityManager.flush();
+                // Open-in-view keeps one persistence context for the whole request, so let go of each chunk once written
+                entityManager.clear();
+
+                catalogCache.invalidateProductStocks(productStocks);
+                for (ProductStock productStock : productStocks) {
+                    productSearchIndex.index(productStock.getProduct_stock_id(),
+                            productStock.getProduct().getName(), productStock.getProduct().getDescription());
+                }
+            });
+            report.importedRows += chunk.size();
+        } catch (DataAccessException | TransactionException | PersistenceException e) {
+            log.warn("Product import chunk of {} rows for seller {} failed", chunk.size(), seller.getPerson_id(), e);
+            for (ProductImportReader.Row row : chunk) {
+                report.reject(row.line(), "Not imported: the chunk containing this row could not be written");
+            }
+        }
+    }
+
+    private final class Report {
+        private final List<ProductImportErrorDto> errors = new ArrayList<>();
+        private int totalRows;
+        private int importedRows;
+        private int failedRows;
+        private ProductImportErrorDto abortedAt;
+
+        void reject(long line, String message) {
+            failedRows++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(ProductImportErrorDto.builder().line(line).message(message).build());
+            }
+        }
+
+        ProductImportReportDto toDto() {
+            return ProductImportReportDto.builder()
+                    .totalRows(totalRows)
+                    .importedRows(importedRows)
+                    .failedRows(failedRows)
+                    .errors(errors)
+                    .errorsTruncated(failedRows > errors.size())
+                    .abortedAt(abortedAt)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.dietergandalf.store_manager.service;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.retry.annotation.Retryable;
+
+/**
+ * Re-runs a transactional service method from scratch when its commit loses a {@code @Version} check.
+ * Attempts back off exponentially with jitter; once they are used up the conflict propagates to the caller.
+ * The retry wraps the transaction, so the annotated method must not be called inside an existing one.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Retryable(retryFor = OptimisticLockingFailureException.class,
+        maxAttemptsExpression = "${store.optimistic-lock.max-attempts:4}",
+        backoff = @Backoff(delayExpression = "${store.optimistic-lock.initial-backoff-ms:20}",
+                maxDelayExpression = "${store.optimistic-lock.max-backoff-ms:200}",
+                multiplier = 2,
+                random = true))
+public @interface RetryOnOptimisticLock {
+}
@@ -0,0 +1,108 @@
+package com.dietergandalf.store_manager.service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.dietergandalf.store_manager.dto.ProductSalesDto;
+import com.dietergandalf.store_manager.dto.SalesBucketDto;
+import com.dietergandalf.store_manager.dto.SalesGranularity;
+import com.dietergandalf.store_manager.dto.SellerSalesReportDto;
+import com.dietergandalf.store_manager.repository.SellerRepository;
+import com.dietergandalf.store_manager.repository.SellerSalesDailyRepository;
+import com.dietergandalf.store_manager.repository.SellerSalesHourlyRepository;
+
+import io.micrometer.core.annotation.Timed;
+
+/**
+ * Seller revenue reports, read from the rollups kept by {@code SalesRollup} rather than from the order
+ * tables, so a report costs one index range scan per granularity however many orders it covers.
+ */
+@Service
+public class SellerSalesService {
+    static final int MAX_DAILY_RANGE_DAYS = 3 * 366;
+    static final Duration MAX_HOURLY_RANGE = Duration.ofDays(31);
+
+    private final SellerRepository sellerRepository;
+    private final SellerSalesHourlyRepository hourlyRepository;
+    private final SellerSalesDailyRepository dailyRepository;
+
+    @Autowired
+    public SellerSalesService(SellerRepository sellerRepository,
+                              SellerSalesHourlyRepository hourlyRepository,
+                              SellerSalesDailyRepository dailyRepository) {
+        this.sellerRepository = sellerRepository;
+        this.hourlyRepository = hourlyRepository;
+        this.dailyRepository = dailyRepository;
+    }
+
+    /** Sales per day over the whole days {@code [from, to]}. */
+    @Transactional(readOnly = true)
+    @Timed(value = "store.seller.sales.report", extraTags = {"granularity", "daily"})
+    public SellerSalesReportDto getDailySales(Long sellerId, LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("Sales range starts after it ends");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_DAILY_RANGE_DAYS) {
+            throw new IllegalArgumentException("Daily sales range is limited to " + MAX_DAILY_RANGE_DAYS + " days");
+        }
+        requireSeller(sellerId);
+
+        LocalDateTime start = from.atStartOfDay();
+        LocalDateTime end = to.plusDays(1).atStartOfDay();
+        return report(sellerId, start, end, SalesGranularity.DAILY,
+                dailyRepository.findBuckets(sellerId, start, end),
+                dailyRepository.findProductTotals(sellerId, start, end));
+    }
+
+    /** Sales per hour over {@code [from, to)}; both ends are truncated to the hour. */
+    @Transactional(readOnly = true)
+    @Timed(value = "store.seller.sales.report", extraTags = {"granularity", "hourly"})
+    public SellerSalesReportDto getHourlySales(Long sellerId, LocalDateTime from, LocalDateTime to) {
+        LocalDateTime start = from.truncatedTo(ChronoUnit.HOURS);
+        LocalDateTime end = to.truncatedTo(ChronoUnit.HOURS);
+        if (!start.isBefore(end)) {
+            throw new IllegalArgumentException("Sales range must span at least one hour");
+        }
+        if (Duration.between(start, end).compareTo(MAX_HOURLY_RANGE) > 0) {
+            throw new IllegalArgumentException("Hourly sales range is limited to " + MAX_HOURLY_RANGE.toDays() + " days");
+        }
+        requireSeller(sellerId);
+
+        return report(sellerId, start, end, SalesGranularity.HOURLY,
+                hourlyRepository.findBuckets(sellerId, start, end),
+                hourlyRepository.findProductTotals(sellerId, start, end));
+    }
+
+    private void requireSeller(Long sellerId) {
+        if (!sellerRepository.existsById(sellerId)) {
+            throw new RuntimeException("Seller not found");
+        }
+    }
+
+    private SellerSalesReportDto report(Long sellerId, LocalDateTime from, LocalDateTime to, SalesGranularity granularity,
+                                        List<SalesBucketDto> buckets, List<ProductSalesDto> products) {
+        double totalRevenue = 0;
+        long totalUnitsSold = 0;
+        for (SalesBucketDto bucket : buckets) {
+            totalRevenue += bucket.getRevenue();
+            totalUnitsSold += bucket.getUnitsSold();
+        }
+        return SellerSalesReportDto.builder()
+                .sellerId(sellerId)
+                .from(from)
+                .to(to)
+                .granularity(granularity)
+                .totalRevenue(totalRevenue)
+                .totalUnitsSold(totalUnitsSold)
+                .buckets(buckets)
+                .products(products)
+                .build();
+    }
+}
@@ -1,7 +1,9 @@
 package com.dietergandalf.store_manager.service;
 
+import com.dietergandalf.store_manager.cache.CatalogCache;
 import com.dietergandalf.store_manager.dto.CreateProductRequestDto;
 import com.dietergandalf.store_manager.dto.ProductStockDto;
+import com.dietergandalf.store_manager.dto.ProductStockSummaryDto;
 import com.dietergandalf.store_manager.dto.RegisterRequestDto;
 import com.dietergandalf.store_manager.dto.SellerDto;
 import com.dietergandalf.store_manager.dto.UpdateProfileRequestDto;
@@ -11,9 +13,13 @@ import com.dietergandalf.store_manager.model.Seller;
 import com.dietergandalf.store_manager.repository.ProductRepository;
 import com.dietergandalf.store_manager.repository.ProductStockRepository;
 import com.dietergandalf.store_manager.repository.SellerRepository;
+import com.dietergandalf.store_manager.search.ProductSearchIndex;
+import com.dietergandalf.store_manager.util.ConstraintViolations;
 import com.dietergandalf.store_manager.util.ProductMapper;
 import com.dietergandalf.store_manager.util.SellerMapper;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -27,18 +33,24 @@ public class SellerService {
     private final ProductStockRepository productStockRepository;
     private final SellerMapper sellerMapper;
     private final ProductMapper productMapper;
+    private final CatalogCache catalogCache;
+    private final ProductSearchIndex productSearchIndex;
 
     @Autowired
     public SellerService(SellerRepository sellerRepository,
                         ProductRepository productRepository,
                         ProductStockRepository productStockRepository,
                         SellerMapper sellerMapper,
-                        ProductMapper productMapper) {
+                        ProductMapper productMapper,
+                        CatalogCache catalogCache,
+                        ProductSearchIndex productSearchIndex) {
         this.sellerRepository = sellerRepository;
         this.productRepository = productRepository;
         this.productStockRepository = productStockRepository;
         this.sellerMapper = sellerMapper;
         this.productMapper = productMapper;
+        this.catalogCache = catalogCache;
+        this.productSearchIndex = productSearchIndex;
     }
 
     public List<SellerDto> getAllSellers() {
@@ -52,12 +64,16 @@ public class SellerService {
     }
 
     public SellerDto createSeller(RegisterRequestDto registerRequest) {
-        if (sellerRepository.existsByEmail(registerRequest.getEmail())) {
-            throw new RuntimeException("Email already exists");
-        }
-
         Seller seller = sellerMapper.fromRegisterRequest(registerRequest);
-        Seller savedSeller = sellerRepository.save(seller);
+        Seller savedSeller;
+        try {
+            savedSeller = sellerRepository.saveAndFlush(seller);
+        } catch (DataIntegrityViolationException e) {
+            if (ConstraintViolations.isViolationOf(e, "ux_person_email")) {
+                throw new RuntimeException("Email already exists", e);
+            }
+            throw e;
+        }
         return sellerMapper.toDto(savedSeller);
     }
 
@@ -97,15 +113,22 @@ public class SellerService {
         // Create product stock for this seller
         ProductStock productStock = productMapper.createProductStock(savedProduct, seller, productRequest.getInitialStock());
         ProductStock savedProductStock = productStockRepository.save(productStock);
+        catalogCache.invalidateProductStock(savedProductStock);
+        productSearchIndex.index(savedProductStock.getProduct_stock_id(), savedProduct.getName(), savedProduct.getDescription());
 
         return productMapper.toStockDto(savedProductStock);
     }
 
+    @Timed(value = "store.catalog.read", extraTags = {"view", "seller"}, description = "Catalog read latency", histogram = true)
     public List<ProductStockDto> getSellerProducts(Long sellerId) {
-        List<ProductStock> productStocks = productStockRepository.findBySellerPersonId(sellerId);
-        return productMapper.toStockDtoList(productStocks);
+        return catalogCache.getSellerProducts(sellerId, () -> {
+            List<ProductStockSummaryDto> productStocks = productStockRepository.findStockSummariesBySellerPersonId(sellerId);
+            return productMapper.summariesToStockDtoList(productStocks);
+        });
     }
 
+    @Transactional
+    @RetryOnOptimisticLock
     public ProductStockDto updateProductStock(Long sellerId, Long productStockId, Integer newQuantity) {
         Optional<ProductStock> optionalProductStock = productStockRepository.findById(productStockId);
         if (optionalProductStock.isEmpty()) {
@@ -121,10 +144,12 @@ public class SellerService {
 
         productStock.setAmount(newQuantity);
         ProductStock updatedProductStock = productStockRepository.save(productStock);
+        catalogCache.invalidateProductStock(updatedProductStock);
         
         return productMapper.toStockDto(updatedProductStock);
     }
 
+    @Transactional
     public boolean removeProduct(Long sellerId, Long productStockId) {
         Optional<ProductStock> optionalProductStock = productStockRepository.findById(productStockId);
         if (optionalProductStock.isEmpty()) {
@@ -139,9 +164,12 @@ public class SellerService {
         }
 
         productStockRepository.delete(productStock);
+        catalogCache.invalidateProductStock(productStock);
+        productSearchIndex.remove(productStock.getProduct_stock_id());
         return true;
     }
 
+    @Transactional
     public ProductStockDto updateProductPrice(Long sellerId, Long productStockId, Double newPrice) {
         Optional<ProductStock> optionalProductStock = productStockRepository.findById(productStockId);
         if (optionalProductStock.isEmpty()) {
@@ -158,6 +186,7 @@ public class SellerService {
         Product product = productStock.getProduct();
         product.setPrice(newPrice);
         productRepository.save(product);
+        catalogCache.invalidateProductStock(productStock);
         
         return productMapper.toStockDto(productStock);
     }
@@ -0,0 +1,28 @@
+package com.dietergandalf.store_manager.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers in-memory side effects of a write (cache invalidation, index updates, handing work to another thread)
+ * until the surrounding transaction commits, so nothing outside the database sees a change that is rolled back.
+ */
+public final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    /** Runs {@code action} once the current transaction commits, or right away when there is none. */
+    public static void run(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
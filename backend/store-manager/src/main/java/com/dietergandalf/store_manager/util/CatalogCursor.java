@@ -0,0 +1,80 @@
+package com.dietergandalf.store_manager.util;
+
+import com.dietergandalf.store_manager.dto.CatalogSort;
+import com.dietergandalf.store_manager.dto.ProductStockSummaryDto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque keyset position in the catalog: the sort key and product stock id of the
+ * last row of a page. Encoded as URL-safe Base64 of {@code SORT|id|value}.
+ */
+public final class CatalogCursor {
+    private static final String SEPARATOR = "|";
+
+    private final CatalogSort sort;
+    private final long productStockId;
+    private final String sortValue;
+
+    private CatalogCursor(CatalogSort sort, long productStockId, String sortValue) {
+        this.sort = sort;
+        this.productStockId = productStockId;
+        this.sortValue = sortValue;
+    }
+
+    public static CatalogCursor after(ProductStockSummaryDto productStock, CatalogSort sort) {
+        String sortValue = switch (sort) {
+            case PRICE -> Double.toString(productStock.getProductPrice());
+            case NAME -> productStock.getProductName() != null ? productStock.getProductName() : "";
+            case ID -> "";
+        };
+        return new CatalogCursor(sort, productStock.getProductStockId(), sortValue);
+    }
+
+    public static CatalogCursor decode(String token, CatalogSort expectedSort) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\|", 3);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed catalog cursor");
+        }
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Malformed catalog cursor");
+        }
+
+        try {
+            CatalogSort sort = CatalogSort.valueOf(parts[0]);
+            if (sort != expectedSort) {
+                throw new IllegalArgumentException("Catalog cursor was issued for sort " + sort);
+            }
+            if (sort == CatalogSort.PRICE) {
+                Double.parseDouble(parts[2]);
+            }
+            return new CatalogCursor(sort, Long.parseLong(parts[1]), parts[2]);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed catalog cursor");
+        }
+    }
+
+    public String encode() {
+        String raw = sort.name() + SEPARATOR + productStockId + SEPARATOR + sortValue;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public long getProductStockId() {
+        return productStockId;
+    }
+
+    public Double getPrice() {
+        return Double.valueOf(sortValue);
+    }
+
+    public String getName() {
+        return sortValue;
+    }
+}
@@ -0,0 +1,35 @@
+package com.dietergandalf.store_manager.util;
+
+import java.util.Locale;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+/**
+ * Tells which unique index or constraint a failed write ran into, so services can turn the violations they expect
+ * into messages and let every other integrity error through unchanged.
+ */
+public final class ConstraintViolations {
+
+    private ConstraintViolations() {
+    }
+
+    /**
+     * Whether {@code e} was caused by the constraint or index named {@code constraintName}. Uses the name Hibernate
+     * extracted where it has one, otherwise the driver messages, since databases report names in their own case
+     * and H2 appends a suffix to index names.
+     */
+    public static boolean isViolationOf(DataIntegrityViolationException e, String constraintName) {
+        String name = constraintName.toLowerCase(Locale.ROOT);
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null
+                    && violation.getConstraintName().toLowerCase(Locale.ROOT).contains(name)) {
+                return true;
+            }
+            if (cause.getMessage() != null && cause.getMessage().toLowerCase(Locale.ROOT).contains(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
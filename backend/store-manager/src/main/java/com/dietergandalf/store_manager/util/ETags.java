@@ -0,0 +1,59 @@
+package com.dietergandalf.store_manager.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Entity tags for conditional GETs. A tag is a hash of everything the response body is built from, so two
+ * responses share a tag exactly when they carry the same content, and every instance computes the same tag
+ * for it. Tags are weak: the same content goes out as JSON or CBOR, gzipped or not, and Tomcat only
+ * compresses responses without a strong tag.
+ */
+public final class ETags {
+    private static final int TAG_BYTES = 16;
+
+    private ETags() {
+    }
+
+    /**
+     * Tag over the string forms of {@code parts}. Nested arrays are expanded, so fingerprint query rows can be
+     * passed as they are.
+     */
+    public static String of(Object... parts) {
+        byte[] hash = sha256().digest(Arrays.deepToString(parts).getBytes(StandardCharsets.UTF_8));
+        return "W/\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(hash, TAG_BYTES)) + "\"";
+    }
+
+    /**
+     * Whether an {@code If-None-Match} header names {@code etag}. The header may list several tags or be
+     * {@code *}; as RFC 9110 asks for this header, tags are compared weakly, ignoring any {@code W/} prefix.
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || etag == null) {
+            return false;
+        }
+        String opaqueTag = opaque(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.strip();
+            if (tag.equals("*") || opaque(tag).equals(opaqueTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String opaque(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.dietergandalf.store_manager.util;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.dietergandalf.store_manager.dto.OrderDto;
+import com.dietergandalf.store_manager.dto.OrderExportFormat;
+import com.dietergandalf.store_manager.dto.OrderExportRowDto;
+import com.dietergandalf.store_manager.dto.OrderItemDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Writes streamed order export rows as they arrive. NDJSON regroups the adjacent rows of an order into one
+ * {@link OrderDto} per line; CSV writes one line per order item. Only the order being written is held in memory.
+ */
+@Component
+public class OrderExportWriter {
+    static final String[] CSV_HEADER = {
+        "orderId", "orderDate", "status", "customerId", "customerName", "totalAmount", "shippingAddress",
+        "billingAddress", "paymentMethod", "paymentStatus", "orderNotes", "orderItemId", "productStockId",
+        "productName", "productDescription", "quantity", "priceAtTimeOfOrder"
+    };
+
+    private static final String CSV_LINE_END = "\r\n";
+
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public OrderExportWriter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public void write(Iterator<OrderExportRowDto> rows, OrderExportFormat format, Writer out) throws IOException {
+        switch (format) {
+            case NDJSON -> writeNdjson(rows, out);
+            case CSV -> writeCsv(rows, out);
+        }
+        out.flush();
+    }
+
+    private void writeNdjson(Iterator<OrderExportRowDto> rows, Writer out) throws IOException {
+        OrderDto order = null;
+        while (rows.hasNext()) {
+            OrderExportRowDto row = rows.next();
+            if (order == null || !order.getOrderId().equals(row.getOrderId())) {
+                if (order != null) {
+                    writeJsonLine(order, out);
+                }
+                order = toOrderDto(row);
+            }
+            if (row.getOrderItemId() != null) {
+                order.getOrderItems().add(toOrderItemDto(row));
+            }
+        }
+        if (order != null) {
+            writeJsonLine(order, out);
+        }
+    }
+
+    private void writeJsonLine(OrderDto order, Writer out) throws IOException {
+        out.write(objectMapper.writeValueAsString(order));
+        out.write('\n');
+    }
+
+    private void writeCsv(Iterator<OrderExportRowDto> rows, Writer out) throws IOException {
+        out.write(String.join(",", CSV_HEADER));
+        out.write(CSV_LINE_END);
+        while (rows.hasNext()) {
+            OrderExportRowDto row = rows.next();
+            out.write(String.join(",",
+                    value(row.getOrderId()),
+                    value(row.getOrderDate()),
+                    value(row.getStatus()),
+                    value(row.getCustomerId()),
+                    text(row.getCustomerName()),
+                    value(row.getTotalAmount()),
+                    text(row.getShippingAddress()),
+                    text(row.getBillingAddress()),
+                    text(row.getPaymentMethod()),
+                    text(row.getPaymentStatus()),
+                    text(row.getOrderNotes()),
+                    value(row.getOrderItemId()),
+                    value(row.getProductStockId()),
+                    text(row.getProductName()),
+                    text(row.getProductDescription()),
+                    value(row.getQuantity()),
+                    value(row.getPriceAtTimeOfOrder())));
+            out.write(CSV_LINE_END);
+        }
+    }
+
+    private static OrderDto toOrderDto(OrderExportRowDto row) {
+        return OrderDto.builder()
+                .orderId(row.getOrderId())
+                .customerId(row.getCustomerId())
+                .customerName(row.getCustomerName())
+                .orderItems(new ArrayList<>())
+                .orderDate(row.getOrderDate())
+                .totalAmount(row.getTotalAmount())
+                .shippingAddress(row.getShippingAddress())
+                .billingAddress(row.getBillingAddress())
+                .paymentMethod(row.getPaymentMethod())
+                .paymentStatus(row.getPaymentStatus())
+                .status(row.getStatus())
+                .orderNotes(row.getOrderNotes())
+                .build();
+    }
+
+    private static OrderItemDto toOrderItemDto(OrderExportRowDto row) {
+        return OrderItemDto.builder()
+                .orderItemId(row.getOrderItemId())
+                .productStockId(row.getProductStockId())
+                .productName(row.getProductName())
+                .productDescription(row.getProductDescription())
+                .priceAtTimeOfOrder(row.getPriceAtTimeOfOrder())
+                .quantity(row.getQuantity())
+                .totalPrice(row.getQuantity() != null && row.getPriceAtTimeOfOrder() != null
+                        ? row.getQuantity() * row.getPriceAtTimeOfOrder() : null)
+                .build();
+    }
+
+    private static String value(Object value) {
+        return value != null ? value.toString() : "";
+    }
+
+    // Free text comes from customers and sellers: quote it per RFC 4180 and keep spreadsheets from
+    // evaluating it as a formula
+    private static String text(String value) {
+        if (value == null || value.isEmpty()) {
+            return "";
+        }
+        String cell = "=+-@".indexOf(value.charAt(0)) >= 0 ? "'" + value : value;
+        if (cell.contains(",") || cell.contains("\"") || cell.contains("\n") || cell.contains("\r")) {
+            return "\"" + cell.replace("\"", "\"\"") + "\"";
+        }
+        return cell;
+    }
+}
@@ -0,0 +1,58 @@
+package com.dietergandalf.store_manager.util;
+
+import com.dietergandalf.store_manager.model.Order;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque keyset position in a customer's order history, which is sorted newest first: the order date
+ * and order id of the last order of a page. Encoded as URL-safe Base64 of {@code date|id}.
+ */
+public final class OrderHistoryCursor {
+    private static final String SEPARATOR = "|";
+
+    private final LocalDateTime orderDate;
+    private final long orderId;
+
+    private OrderHistoryCursor(LocalDateTime orderDate, long orderId) {
+        this.orderDate = orderDate;
+        this.orderId = orderId;
+    }
+
+    public static OrderHistoryCursor after(Order order) {
+        return new OrderHistoryCursor(order.getOrderDate(), order.getOrderId());
+    }
+
+    public static OrderHistoryCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\|", 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Malformed order history cursor");
+            }
+            return new OrderHistoryCursor(LocalDateTime.parse(parts[0]), Long.parseLong(parts[1]));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            // NumberFormatException and Base64 failures are IllegalArgumentExceptions as well
+            throw new IllegalArgumentException("Malformed order history cursor");
+        }
+    }
+
+    public String encode() {
+        String raw = orderDate + SEPARATOR + orderId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public LocalDateTime getOrderDate() {
+        return orderDate;
+    }
+
+    public long getOrderId() {
+        return orderId;
+    }
+}
@@ -0,0 +1,315 @@
+package com.dietergandalf.store_manager.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PushbackReader;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.dietergandalf.store_manager.dto.CreateProductRequestDto;
+import com.dietergandalf.store_manager.dto.ProductImportFormat;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Reads product import rows one at a time and validates each as it is read, so an import never holds more
+ * than the current row in memory. NDJSON carries one {@link CreateProductRequestDto} per line; CSV starts with
+ * a header naming the {@code name}, {@code description}, {@code price} and {@code initialStock} columns in any
+ * order (RFC 4180 quoting, fields may span lines).
+ *
+ * Rows are numbered by the line they start on, so the error report points into the uploaded file.
+ */
+@Component
+public class ProductImportReader {
+    static final int MAX_TEXT_LENGTH = 255;
+    static final int MAX_FIELD_LENGTH = 64 * 1024;
+
+    private static final List<String> CSV_COLUMNS = List.of("name", "description", "price", "initialstock");
+
+    /** A valid product, or the reason the row on {@code line} was rejected. */
+    public record Row(long line, CreateProductRequestDto product, String error) {
+        static Row valid(long line, CreateProductRequestDto product) {
+            return new Row(line, product, null);
+        }
+
+        static Row rejected(long line, String error) {
+            return new Row(line, null, error);
+        }
+
+        public boolean isValid() {
+            return error == null;
+        }
+    }
+
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public ProductImportReader(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Returns the rows of {@code in}. Problems with a single row come back as rejected rows; a CSV header
+     * that names unknown columns or misses {@code name} or {@code price} is rejected up front with an
+     * {@link IllegalArgumentException}, before any row is returned.
+     */
+    public Iterator<Row> read(ProductImportFormat format, Reader in) throws IOException {
+        return switch (format) {
+            case NDJSON -> new NdjsonRows(new BufferedReader(in));
+            case CSV -> new CsvRows(new PushbackReader(new BufferedReader(in), 1));
+        };
+    }
+
+    static String validate(CreateProductRequestDto product) {
+        if (product.getName() == null || product.getName().isBlank()) {
+            return "name is required";
+        }
+        if (product.getName().length() > MAX_TEXT_LENGTH) {
+            return "name is longer than " + MAX_TEXT_LENGTH + " characters";
+        }
+        if (product.getDescription() != null && product.getDescription().length() > MAX_TEXT_LENGTH) {
+            return "description is longer than " + MAX_TEXT_LENGTH + " characters";
+        }
+        if (product.getPrice() == null || !Double.isFinite(product.getPrice()) || product.getPrice() < 0) {
+            return "price must be a number of at least 0";
+        }
+        if (product.getInitialStock() != null && product.getInitialStock() < 0) {
+            return "initialStock must not be negative";
+        }
+        return null;
+    }
+
+    private static Row checked(long line, CreateProductRequestDto product) {
+        String error = validate(product);
+        return error == null ? Row.valid(line, product) : Row.rejected(line, error);
+    }
+
+    /** Shared look-ahead: subclasses produce the next row or {@code null} at the end of the input. */
+    private abstract static class RowIterator implements Iterator<Row> {
+        private Row next;
+        private boolean done;
+        private boolean broken;
+
+        @Override
+        public boolean hasNext() {
+            if (next == null && !done) {
+                if (broken) {
+                    done = true;
+                    return false;
+                }
+                try {
+                    next = readRow();
+                } catch (IOException e) {
+                    // The rest of the body is lost (e.g. the client went away); end with the row reading stopped at
+                    broken = true;
+                    next = Row.rejected(currentLine(), "Could not read the request body: " + e.getMessage());
+                }
+                done = next == null;
+            }
+            return next != null;
+        }
+
+        @Override
+        public Row next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Row row = next;
+            next = null;
+            return row;
+        }
+
+        abstract Row readRow() throws IOException;
+
+        /** The line the next row starts on, or the line a failed read got to. */
+        abstract long currentLine();
+    }
+
+    private final class NdjsonRows extends RowIterator {
+        private final BufferedReader in;
+        private long line;
+
+        NdjsonRows(BufferedReader in) {
+            this.in = in;
+        }
+
+        @Override
+        Row readRow() throws IOException {
+            String text;
+            while ((text = in.readLine()) != null) {
+                line++;
+                if (text.isBlank()) {
+                    continue;
+                }
+                try {
+                    return checked(line, objectMapper.readValue(text, CreateProductRequestDto.class));
+                } catch (JsonProcessingException e) {
+                    return Row.rejected(line, "Malformed JSON: " + e.getOriginalMessage());
+                }
+            }
+            return null;
+        }
+
+        @Override
+        long currentLine() {
+            return line + 1;
+        }
+    }
+
+    private static final class CsvRows extends RowIterator {
+        private final PushbackReader in;
+        private final Map<String, Integer> columns = new HashMap<>();
+        private long line = 1;
+        private boolean truncated;
+
+        CsvRows(PushbackReader in) throws IOException {
+            this.in = in;
+            List<String> header = readRecord();
+            if (header == null) {
+                return;
+            }
+            for (int i = 0; i < header.size(); i++) {
+                // Spreadsheet exports often start with a byte order mark
+                String name = i == 0 && header.get(i).startsWith("\uFEFF") ? header.get(i).substring(1) : header.get(i);
+                String column = name.strip().toLowerCase(Locale.ROOT);
+                if (!CSV_COLUMNS.contains(column)) {
+                    throw new IllegalArgumentException("Unknown CSV column: " + name.strip());
+                }
+                columns.put(column, i);
+            }
+            if (!columns.containsKey("name") || !columns.containsKey("price")) {
+                throw new IllegalArgumentException("CSV header must name the name and price columns");
+            }
+        }
+
+        @Override
+        Row readRow() throws IOException {
+            while (!truncated) {
+                long start = line;
+                List<String> fields;
+                try {
+                    fields = readRecord();
+                } catch (IllegalStateException e) {
+                    // Nothing after an unterminated or oversized field can be trusted to line up again
+                    truncated = true;
+                    return Row.rejected(start, e.getMessage());
+                }
+                if (fields == null) {
+                    return null;
+                }
+                if (fields.size() == 1 && fields.get(0).isBlank()) {
+                    continue;
+                }
+                if (fields.size() != columns.size()) {
+                    return Row.rejected(start, "Expected " + columns.size() + " columns but found " + fields.size());
+                }
+                return toRow(start, fields);
+            }
+            return null;
+        }
+
+        private Row toRow(long start, List<String> fields) {
+            CreateProductRequestDto product = CreateProductRequestDto.builder()
+                    .name(field(fields, "name"))
+                    .description(field(fields, "description"))
+                    .build();
+            String price = field(fields, "price");
+            String initialStock = field(fields, "initialstock");
+            try {
+                product.setPrice(price != null ? Double.valueOf(price.strip()) : null);
+            } catch (NumberFormatException e) {
+                return Row.rejected(start, "price is not a number");
+            }
+            try {
+                product.setInitialStock(initialStock != null ? Integer.valueOf(initialStock.strip()) : null);
+            } catch (NumberFormatException e) {
+                return Row.rejected(start, "initialStock is not a whole number");
+            }
+            return checked(start, product);
+        }
+
+        @Override
+        long currentLine() {
+            return line;
+        }
+
+        private String field(List<String> fields, String column) {
+            Integer index = columns.get(column);
+            if (index == null || fields.get(index).isEmpty()) {
+                return null;
+            }
+            return fields.get(index);
+        }
+
+        /** Reads one record, or returns {@code null} at the end of the input. */
+        private List<String> readRecord() throws IOException {
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            boolean read = false;
+            int c;
+            while ((c = in.read()) != -1) {
+                read = true;
+                if (field.length() > MAX_FIELD_LENGTH) {
+                    throw new IllegalStateException("Field longer than " + MAX_FIELD_LENGTH + " characters");
+                }
+                if (quoted) {
+                    if (c == '"') {
+                        int next = in.read();
+                        if (next == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            unread(next);
+                        }
+                    } else {
+                        if (c == '\n') {
+                            line++;
+                        }
+                        field.append((char) c);
+                    }
+                } else if (c == '"' && field.isEmpty()) {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\r' || c == '\n') {
+                    if (c == '\r') {
+                        int next = in.read();
+                        if (next != '\n') {
+                            unread(next);
+                        }
+                    }
+                    line++;
+                    fields.add(field.toString());
+                    return fields;
+                } else {
+                    field.append((char) c);
+                }
+            }
+            if (!read) {
+                return null;
+            }
+            if (quoted) {
+                throw new IllegalStateException("Unterminated quoted field");
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+
+        private void unread(int c) throws IOException {
+            if (c != -1) {
+                in.unread(c);
+            }
+        }
+    }
+}
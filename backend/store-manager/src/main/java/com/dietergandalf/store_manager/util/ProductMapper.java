@@ -3,6 +3,7 @@ package com.dietergandalf.store_manager.util;
 import com.dietergandalf.store_manager.dto.CreateProductRequestDto;
 import com.dietergandalf.store_manager.dto.ProductDto;
 import com.dietergandalf.store_manager.dto.ProductStockDto;
+import com.dietergandalf.store_manager.dto.ProductStockSummaryDto;
 import com.dietergandalf.store_manager.model.Product;
 import com.dietergandalf.store_manager.model.ProductStock;
 import com.dietergandalf.store_manager.model.Seller;
@@ -42,6 +43,25 @@ public class ProductMapper {
                 .build();
     }
 
+    public ProductStockDto toStockDto(ProductStockSummaryDto summary) {
+        if (summary == null) {
+            return null;
+        }
+
+        return ProductStockDto.builder()
+                .productStockId(summary.getProductStockId())
+                .product(ProductDto.builder()
+                        .productId(summary.getProductId())
+                        .name(summary.getProductName())
+                        .description(summary.getProductDescription())
+                        .price(summary.getProductPrice())
+                        .build())
+                .sellerId(summary.getSellerId())
+                .sellerName(summary.getSellerName())
+                .amount(summary.getAmount())
+                .build();
+    }
+
     public List<ProductDto> toDtoList(List<Product> products) {
         return products.stream()
                 .map(this::toDto)
@@ -54,6 +74,12 @@ public class ProductMapper {
                 .collect(Collectors.toList());
     }
 
+    public List<ProductStockDto> summariesToStockDtoList(List<ProductStockSummaryDto> summaries) {
+        return summaries.stream()
+                .map(this::toStockDto)
+                .collect(Collectors.toList());
+    }
+
     public Product fromCreateRequest(CreateProductRequestDto dto) {
         if (dto == null) {
             return null;
@@ -0,0 +1,51 @@
+package com.dietergandalf.store_manager.util;
+
+import com.dietergandalf.store_manager.dto.CreateStandRequestDto;
+import com.dietergandalf.store_manager.dto.StandDto;
+import com.dietergandalf.store_manager.model.Owner;
+import com.dietergandalf.store_manager.model.Seller;
+import com.dietergandalf.store_manager.model.Stand;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Component
+public class StandMapper {
+
+    public StandDto toDto(Stand stand) {
+        if (stand == null) {
+            return null;
+        }
+
+        Seller standUser = stand.getStand_user();
+        Owner standOwner = stand.getStand_owner();
+        return StandDto.builder()
+                .standId(stand.getStand_id())
+                .price(stand.getPrice())
+                .size(stand.getSize())
+                .standUserId(standUser != null ? standUser.getPerson_id() : null)
+                .standUserName(standUser != null ? standUser.getFirst_name() + " " + standUser.getLast_name() : null)
+                .standOwnerId(standOwner != null ? standOwner.getPerson_id() : null)
+                .standOwnerName(standOwner != null ? standOwner.getFirst_name() + " " + standOwner.getLast_name() : null)
+                .build();
+    }
+
+    public List<StandDto> toDtoList(List<Stand> stands) {
+        return stands.stream()
+                .map(this::toDto)
+                .collect(Collectors.toList());
+    }
+
+    public Stand fromCreateRequest(CreateStandRequestDto dto, Owner owner) {
+        if (dto == null) {
+            return null;
+        }
+
+        return Stand.builder()
+                .price(dto.getPrice())
+                .size(dto.getSize())
+                .stand_owner(owner)
+                .build();
+    }
+}
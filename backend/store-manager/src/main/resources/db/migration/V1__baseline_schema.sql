@@ -0,0 +1,207 @@
+-- Schema of the entities at the start of the migration series. Databases created before it by ddl-auto=update
+-- are baselined at version 0 (spring.flyway.baseline-on-migrate) and still run this script, so every statement
+-- tolerates objects that already exist, and the end of the script upgrades what that older schema lacked.
+
+CREATE SEQUENCE IF NOT EXISTS cart_item_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS credit_card_payment_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS customer_order_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS order_item_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS outbox_event_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS pay_pal_payment_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS person_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS product_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS product_stock_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS shopping_cart_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS stand_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS person (
+    person_id     BIGINT NOT NULL,
+    first_name    VARCHAR(255),
+    last_name     VARCHAR(255),
+    date_of_birth VARCHAR(255),
+    phone_number  VARCHAR(255),
+    street        VARCHAR(255),
+    postal_code   VARCHAR(255),
+    city          VARCHAR(255),
+    province      VARCHAR(255),
+    country       VARCHAR(255),
+    email         VARCHAR(255),
+    password      VARCHAR(255),
+    PRIMARY KEY (person_id)
+);
+
+CREATE TABLE IF NOT EXISTS shopping_cart (
+    cart_id      BIGINT NOT NULL,
+    total_amount FLOAT(53),
+    total_items  INTEGER,
+    version      BIGINT DEFAULT 0 NOT NULL,
+    PRIMARY KEY (cart_id)
+);
+
+CREATE TABLE IF NOT EXISTS customer (
+    person_id        BIGINT NOT NULL,
+    shopping_cart_id BIGINT UNIQUE,
+    PRIMARY KEY (person_id),
+    CONSTRAINT fk_customer_person FOREIGN KEY (person_id) REFERENCES person (person_id),
+    CONSTRAINT fk_customer_shopping_cart FOREIGN KEY (shopping_cart_id) REFERENCES shopping_cart (cart_id)
+);
+
+CREATE TABLE IF NOT EXISTS seller (
+    person_id BIGINT NOT NULL,
+    PRIMARY KEY (person_id),
+    CONSTRAINT fk_seller_person FOREIGN KEY (person_id) REFERENCES person (person_id)
+);
+
+CREATE TABLE IF NOT EXISTS owner (
+    person_id BIGINT NOT NULL,
+    PRIMARY KEY (person_id),
+    CONSTRAINT fk_owner_person FOREIGN KEY (person_id) REFERENCES person (person_id)
+);
+
+CREATE TABLE IF NOT EXISTS product (
+    product_id  BIGINT NOT NULL,
+    price       FLOAT(53) NOT NULL,
+    name        VARCHAR(255),
+    description VARCHAR(255),
+    PRIMARY KEY (product_id)
+);
+
+CREATE TABLE IF NOT EXISTS product_stock (
+    product_stock_id BIGINT NOT NULL,
+    product_id       BIGINT,
+    seller_id        BIGINT,
+    amount           INTEGER NOT NULL,
+    version          BIGINT DEFAULT 0 NOT NULL,
+    PRIMARY KEY (product_stock_id),
+    CONSTRAINT fk_product_stock_product FOREIGN KEY (product_id) REFERENCES product (product_id),
+    CONSTRAINT fk_product_stock_seller FOREIGN KEY (seller_id) REFERENCES seller (person_id)
+);
+
+CREATE TABLE IF NOT EXISTS cart_item (
+    cart_item_id         BIGINT NOT NULL,
+    cart_id              BIGINT,
+    product_stock_id     BIGINT,
+    quantity             INTEGER,
+    price_at_time_of_add FLOAT(53),
+    version              BIGINT DEFAULT 0 NOT NULL,
+    PRIMARY KEY (cart_item_id),
+    CONSTRAINT fk_cart_item_cart FOREIGN KEY (cart_id) REFERENCES shopping_cart (cart_id),
+    CONSTRAINT fk_cart_item_product_stock FOREIGN KEY (product_stock_id) REFERENCES product_stock (product_stock_id)
+);
+
+CREATE TABLE IF NOT EXISTS customer_order (
+    order_id         BIGINT NOT NULL,
+    customer_id      BIGINT,
+    order_date       TIMESTAMP(6),
+    total_amount     FLOAT(53),
+    shipping_address VARCHAR(255),
+    billing_address  VARCHAR(255),
+    payment_method   VARCHAR(255),
+    payment_status   VARCHAR(255),
+    status           VARCHAR(255),
+    order_notes      VARCHAR(255),
+    PRIMARY KEY (order_id),
+    CONSTRAINT fk_customer_order_customer FOREIGN KEY (customer_id) REFERENCES customer (person_id)
+);
+
+CREATE TABLE IF NOT EXISTS order_item (
+    order_item_id          BIGINT NOT NULL,
+    order_id               BIGINT,
+    product_stock_id       BIGINT,
+    quantity               INTEGER,
+    price_at_time_of_order FLOAT(53),
+    PRIMARY KEY (order_item_id),
+    CONSTRAINT fk_order_item_order FOREIGN KEY (order_id) REFERENCES customer_order (order_id),
+    CONSTRAINT fk_order_item_product_stock FOREIGN KEY (product_stock_id) REFERENCES product_stock (product_stock_id)
+);
+
+CREATE TABLE IF NOT EXISTS outbox_event (
+    outbox_event_id BIGINT NOT NULL,
+    event_type      VARCHAR(255),
+    order_id        BIGINT,
+    payload         VARCHAR(4000),
+    created_at      TIMESTAMP(6),
+    published_at    TIMESTAMP(6),
+    attempts        INTEGER NOT NULL,
+    last_error      VARCHAR(1000),
+    PRIMARY KEY (outbox_event_id)
+);
+
+CREATE TABLE IF NOT EXISTS stand (
+    stand_id  BIGINT NOT NULL,
+    price     FLOAT(53) NOT NULL,
+    size      FLOAT(53) NOT NULL,
+    seller_id BIGINT,
+    owner_id  BIGINT,
+    PRIMARY KEY (stand_id),
+    CONSTRAINT fk_stand_seller FOREIGN KEY (seller_id) REFERENCES seller (person_id),
+    CONSTRAINT fk_stand_owner FOREIGN KEY (owner_id) REFERENCES owner (person_id)
+);
+
+CREATE TABLE IF NOT EXISTS credit_card_payment (
+    credit_card_id BIGINT NOT NULL,
+    card_number    VARCHAR(255),
+    expiry_date    VARCHAR(255),
+    customer_id    BIGINT,
+    PRIMARY KEY (credit_card_id),
+    CONSTRAINT fk_credit_card_payment_customer FOREIGN KEY (customer_id) REFERENCES customer (person_id)
+);
+
+CREATE TABLE IF NOT EXISTS pay_pal_payment (
+    paypal_id BIGINT NOT NULL,
+    email     VARCHAR(255),
+    PRIMARY KEY (paypal_id)
+);
+
+-- Upgrade of databases created by ddl-auto=update before the series: optimistic locking versions and cart
+-- running totals (null totals are computed on the next cart read)
+ALTER TABLE shopping_cart
+    ADD COLUMN IF NOT EXISTS total_amount FLOAT(53),
+    ADD COLUMN IF NOT EXISTS total_items  INTEGER,
+    ADD COLUMN IF NOT EXISTS version      BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE product_stock ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE cart_item ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+
+-- Ids used to come from IDENTITY columns and now come from the pooled sequences above. Drop the column
+-- defaults and move every sequence past the ids already handed out; a pooled sequence value v covers the
+-- block (v - increment, v]. Sequences that are already ahead are left alone.
+DO $$
+DECLARE
+    target     RECORD;
+    max_id     BIGINT;
+    increment  BIGINT;
+    next_value BIGINT;
+BEGIN
+    FOR target IN SELECT * FROM (VALUES
+            ('cart_item', 'cart_item_id', 'cart_item_seq'),
+            ('credit_card_payment', 'credit_card_id', 'credit_card_payment_seq'),
+            ('customer_order', 'order_id', 'customer_order_seq'),
+            ('order_item', 'order_item_id', 'order_item_seq'),
+            ('outbox_event', 'outbox_event_id', 'outbox_event_seq'),
+            ('pay_pal_payment', 'paypal_id', 'pay_pal_payment_seq'),
+            ('person', 'person_id', 'person_seq'),
+            ('product', 'product_id', 'product_seq'),
+            ('product_stock', 'product_stock_id', 'product_stock_seq'),
+            ('shopping_cart', 'cart_id', 'shopping_cart_seq'),
+            ('stand', 'stand_id', 'stand_seq')
+        ) AS t (table_name, id_column, sequence_name)
+    LOOP
+        EXECUTE format('ALTER TABLE %I ALTER COLUMN %I DROP IDENTITY IF EXISTS', target.table_name, target.id_column);
+        EXECUTE format('SELECT COALESCE(MAX(%I), 0) FROM %I', target.id_column, target.table_name) INTO max_id;
+        SELECT increment_by INTO increment FROM pg_sequences
+        WHERE schemaname = current_schema() AND sequencename = target.sequence_name;
+        EXECUTE format('SELECT CASE WHEN is_called THEN last_value + %s ELSE last_value END FROM %I',
+                increment, target.sequence_name) INTO next_value;
+        IF max_id > 0 AND next_value - increment < max_id THEN
+            PERFORM setval(target.sequence_name, max_id + increment, false);
+        END IF;
+    END LOOP;
+END
+$$;
+
+-- Registration used to allow the same email twice, which ux_person_email (V2) no longer does. The oldest
+-- account keeps the email; the others get a unique placeholder that no one can log in with until it is fixed.
+UPDATE person p
+SET email = p.email || '#duplicate-' || p.person_id
+WHERE p.email IS NOT NULL
+  AND EXISTS (SELECT 1 FROM person older WHERE older.email = p.email AND older.person_id < p.person_id);
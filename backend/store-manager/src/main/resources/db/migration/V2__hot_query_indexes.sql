@@ -0,0 +1,21 @@
+-- Secondary indexes for the columns the repository queries filter, join and sort on. The entities declare
+-- the same indexes so that schemas generated for tests match.
+
+-- Cart lines of a cart (CartItemRepository.findByCart, findByCartAndProductStock, deleteByCart)
+CREATE INDEX IF NOT EXISTS idx_cart_item_cart_id ON cart_item (cart_id);
+-- Cart lines that still reference a product stock when it is removed
+CREATE INDEX IF NOT EXISTS idx_cart_item_product_stock_id ON cart_item (product_stock_id);
+
+-- Seller stock listings (ProductStockRepository.findBySellerPersonId, findStockSummariesBySellerPersonId)
+CREATE INDEX IF NOT EXISTS idx_product_stock_seller_id ON product_stock (seller_id);
+-- In-stock filters (ProductStockRepository.findByAmountGreaterThan, available catalog pages)
+CREATE INDEX IF NOT EXISTS idx_product_stock_amount ON product_stock (amount);
+
+-- Order history keyset pages, newest first (OrderRepository.findOrderHistoryPageIds)
+CREATE INDEX IF NOT EXISTS idx_customer_order_customer_id_order_date ON customer_order (customer_id, order_date, order_id);
+-- Orders by status, oldest first (OrderRepository.findByStatus, findIdsByStatusPlacedBefore)
+CREATE INDEX IF NOT EXISTS idx_customer_order_status ON customer_order (status, order_date);
+
+-- Login and registration lookups; registration relies on this index instead of checking for the email first.
+-- V1 has already renamed the duplicate emails that registration used to let in.
+CREATE UNIQUE INDEX IF NOT EXISTS ux_person_email ON person (email);
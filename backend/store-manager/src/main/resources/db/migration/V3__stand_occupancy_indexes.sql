@@ -0,0 +1,8 @@
+-- Owner stand dashboards aggregate an owner's stands by occupancy (StandRepository.findOccupancySummaryByOwnerId)
+-- and page through the available ones (StandRepository.findAvailableByOwnerId). Price is carried in the index
+-- so the aggregate is answered from the index alone.
+CREATE INDEX IF NOT EXISTS idx_stand_owner_id_seller_id ON stand (owner_id, seller_id, price);
+
+-- A seller rents at most one stand (Seller.stand is one-to-one); also serves the lookup of a seller's stand.
+-- Fails on databases where a seller already occupies two stands: vacate one of them before upgrading.
+CREATE UNIQUE INDEX IF NOT EXISTS ux_stand_seller_id ON stand (seller_id);
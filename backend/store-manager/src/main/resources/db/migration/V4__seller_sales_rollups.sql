@@ -0,0 +1,37 @@
+-- Pre-aggregated seller sales, kept current by SalesRollup in the same transaction as checkout and order
+-- status changes. Orders count as sales unless CANCELLED or REFUNDED. The primary keys lead with the seller
+-- and bucket, so a seller's time-range question reads one contiguous key range.
+CREATE TABLE seller_sales_hourly (
+    seller_id        BIGINT        NOT NULL,
+    bucket_start     TIMESTAMP(6)  NOT NULL,
+    product_stock_id BIGINT        NOT NULL,
+    revenue          NUMERIC(19,4) NOT NULL,
+    units_sold       BIGINT        NOT NULL,
+    PRIMARY KEY (seller_id, bucket_start, product_stock_id)
+);
+
+CREATE TABLE seller_sales_daily (
+    seller_id        BIGINT        NOT NULL,
+    bucket_start     TIMESTAMP(6)  NOT NULL,
+    product_stock_id BIGINT        NOT NULL,
+    revenue          NUMERIC(19,4) NOT NULL,
+    units_sold       BIGINT        NOT NULL,
+    PRIMARY KEY (seller_id, bucket_start, product_stock_id)
+);
+
+-- Backfill from the orders placed before the rollups existed
+INSERT INTO seller_sales_hourly (seller_id, bucket_start, product_stock_id, revenue, units_sold)
+SELECT ps.seller_id, date_trunc('hour', o.order_date), oi.product_stock_id,
+       SUM(CAST(oi.price_at_time_of_order AS NUMERIC(19,4)) * oi.quantity), SUM(oi.quantity)
+FROM order_item oi
+JOIN customer_order o ON o.order_id = oi.order_id
+JOIN product_stock ps ON ps.product_stock_id = oi.product_stock_id
+WHERE (o.status IS NULL OR o.status NOT IN ('CANCELLED', 'REFUNDED'))
+  AND o.order_date IS NOT NULL AND ps.seller_id IS NOT NULL
+  AND oi.quantity IS NOT NULL AND oi.price_at_time_of_order IS NOT NULL
+GROUP BY ps.seller_id, date_trunc('hour', o.order_date), oi.product_stock_id;
+
+INSERT INTO seller_sales_daily (seller_id, bucket_start, product_stock_id, revenue, units_sold)
+SELECT seller_id, date_trunc('day', bucket_start), product_stock_id, SUM(revenue), SUM(units_sold)
+FROM seller_sales_hourly
+GROUP BY seller_id, date_trunc('day', bucket_start), product_stock_id;
@@ -0,0 +1,9 @@
+-- Periodic snapshot of the in-memory trending products tracker (TrendingProducts), restored on startup.
+-- Holds only the heavy-hitter candidates of the live time slices, so it stays small; each snapshot
+-- replaces the previous one.
+CREATE TABLE trending_product_slice (
+    slice_start      TIMESTAMP(6) NOT NULL,
+    product_stock_id BIGINT       NOT NULL,
+    units            BIGINT       NOT NULL,
+    PRIMARY KEY (slice_start, product_stock_id)
+);
@@ -0,0 +1,4 @@
+-- Outbox delivery state for OutboxRelay: next_attempt_at is both the lease of a claimed batch and the
+-- backoff of a failed one; parked_at marks events given up on after too many attempts (dead letters).
+ALTER TABLE outbox_event ADD COLUMN next_attempt_at TIMESTAMP(6);
+ALTER TABLE outbox_event ADD COLUMN parked_at TIMESTAMP(6);
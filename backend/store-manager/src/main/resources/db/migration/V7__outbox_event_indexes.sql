@@ -0,0 +1,11 @@
+-- Indexes for the outbox relay and its lookups. The entity declares the plain ones so that schemas generated for
+-- tests match; the partial index is PostgreSQL only.
+
+-- Events due for publishing, oldest first (OutboxEventRepository.lockDueBatch). Only covers the unsettled rows,
+-- so it stays small however many published events the retention keeps.
+CREATE INDEX IF NOT EXISTS idx_outbox_event_pending ON outbox_event (outbox_event_id)
+    WHERE published_at IS NULL AND parked_at IS NULL;
+-- Purge of published events past the retention (OutboxEventRepository.deletePublishedBefore)
+CREATE INDEX IF NOT EXISTS idx_outbox_event_published_at ON outbox_event (published_at);
+-- Events of one order in order (OutboxEventRepository.findByOrderIdOrderByOutboxEventId)
+CREATE INDEX IF NOT EXISTS idx_outbox_event_order_id ON outbox_event (order_id, outbox_event_id);
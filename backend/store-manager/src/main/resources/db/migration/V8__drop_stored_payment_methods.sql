@@ -0,0 +1,6 @@
+-- Stored credit cards and PayPal accounts were never written by any code path; checkout hands the chosen
+-- payment type to the payment stage (GatewayPayment) instead.
+DROP TABLE IF EXISTS credit_card_payment;
+DROP TABLE IF EXISTS pay_pal_payment;
+DROP SEQUENCE IF EXISTS credit_card_payment_seq;
+DROP SEQUENCE IF EXISTS pay_pal_payment_seq;
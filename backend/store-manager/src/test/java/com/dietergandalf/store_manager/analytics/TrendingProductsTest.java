@@ -0,0 +1,205 @@
+package com.dietergandalf.store_manager.analytics;
+
+import com.dietergandalf.store_manager.model.Order;
+import com.dietergandalf.store_manager.model.OrderItem;
+import com.dietergandalf.store_manager.model.OrderStatus;
+import com.dietergandalf.store_manager.model.ProductStock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrendingProductsTest {
+
+    private MutableClock clock;
+    private TrendingProducts trendingProducts;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        trendingProducts = new TrendingProducts(Duration.ofHours(4), 4, 3, Duration.ZERO, clock);
+    }
+
+    @Test
+    void top_ShouldRankByUnitsSoldAcrossSlices() {
+        // Given
+        trendingProducts.recordSale(Map.of(1L, 2, 2L, 5));
+        clock.advance(Duration.ofHours(1));
+        trendingProducts.recordSale(Map.of(1L, 4, 3L, 1));
+
+        // When
+        List<TrendingProducts.Hitter> top = trendingProducts.top(2);
+
+        // Then
+        assertEquals(List.of(new TrendingProducts.Hitter(1L, 6), new TrendingProducts.Hitter(2L, 5)), top);
+    }
+
+    @Test
+    void top_ShouldForgetSalesThatLeftTheWindow() {
+        // Given
+        trendingProducts.recordSale(Map.of(1L, 10));
+        clock.advance(Duration.ofHours(2));
+        trendingProducts.recordSale(Map.of(2L, 1));
+
+        // When
+        clock.advance(Duration.ofHours(2));
+
+        // Then
+        assertEquals(List.of(new TrendingProducts.Hitter(2L, 1)), trendingProducts.top(10));
+    }
+
+    @Test
+    void recordSale_WhenSliceIsFull_ShouldReplaceWeakestCandidateWithBiggerSeller() {
+        // Given: capacity is three candidates per slice
+        trendingProducts.recordSale(Map.of(1L, 5, 2L, 4, 3L, 1));
+
+        // When
+        trendingProducts.recordSale(Map.of(4L, 2));
+        trendingProducts.recordSale(Map.of(5L, 1));
+
+        // Then
+        assertEquals(List.of(1L, 2L, 4L), trendingProducts.top(10).stream().map(TrendingProducts.Hitter::productStockId).toList());
+    }
+
+    @Test
+    void top_ShouldKeepRankingUntilRefreshIntervalPassed() {
+        // Given
+        trendingProducts = new TrendingProducts(Duration.ofHours(4), 4, 3, Duration.ofSeconds(10), clock);
+        trendingProducts.recordSale(Map.of(1L, 1));
+        assertEquals(1, trendingProducts.top(10).size());
+
+        // When
+        trendingProducts.recordSale(Map.of(2L, 3));
+
+        // Then
+        assertEquals(1, trendingProducts.top(10).size());
+        clock.advance(Duration.ofSeconds(10));
+        assertEquals(2L, trendingProducts.top(10).get(0).productStockId());
+    }
+
+    @Test
+    void restore_ShouldBringBackSnapshottedSlicesStillInTheWindow() {
+        // Given
+        trendingProducts.recordSale(Map.of(1L, 3));
+        clock.advance(Duration.ofHours(2));
+        trendingProducts.recordSale(Map.of(2L, 2));
+        List<TrendingProducts.SliceCount> snapshot = trendingProducts.snapshot();
+        TrendingProducts restarted = new TrendingProducts(Duration.ofHours(4), 4, 3, Duration.ZERO, clock);
+
+        // When: an hour of downtime later, the first slice is still inside the window
+        clock.advance(Duration.ofHours(1));
+        restarted.restore(snapshot);
+
+        // Then
+        assertEquals(List.of(new TrendingProducts.Hitter(1L, 3), new TrendingProducts.Hitter(2L, 2)), restarted.top(10));
+
+        // When: the first slice leaves the window
+        clock.advance(Duration.ofHours(1));
+
+        // Then
+        assertEquals(List.of(new TrendingProducts.Hitter(2L, 2)), restarted.top(10));
+    }
+
+    @Test
+    void orderStatusChanged_WhenOrderIsCancelled_ShouldTakeItsUnitsBackFromTheSliceItWasCountedIn() {
+        // Given: an order placed an hour ago, in an earlier slice
+        LocalDateTime placedAt = LocalDateTime.now(clock);
+        trendingProducts.recordSale(placedAt, Map.of(1L, 4, 2L, 3));
+        clock.advance(Duration.ofHours(1));
+        trendingProducts.recordSale(Map.of(1L, 1));
+        Order order = order(placedAt, OrderStatus.CANCELLED, 1L, 4, 2L, 3);
+
+        // When
+        trendingProducts.orderStatusChanged(order, OrderStatus.CONFIRMED);
+
+        // Then
+        assertEquals(List.of(new TrendingProducts.Hitter(1L, 1)), trendingProducts.top(10));
+
+        // When: the order counts as a sale again
+        order.setStatus(OrderStatus.CONFIRMED);
+        trendingProducts.orderStatusChanged(order, OrderStatus.CANCELLED);
+
+        // Then
+        assertEquals(List.of(new TrendingProducts.Hitter(1L, 5), new TrendingProducts.Hitter(2L, 3)), trendingProducts.top(10));
+    }
+
+    @Test
+    void orderStatusChanged_BetweenCountingStatuses_ShouldChangeNothing() {
+        // Given
+        LocalDateTime placedAt = LocalDateTime.now(clock);
+        trendingProducts.recordSale(placedAt, Map.of(1L, 2));
+
+        // When
+        trendingProducts.orderStatusChanged(order(placedAt, OrderStatus.SHIPPED, 1L, 2), OrderStatus.CONFIRMED);
+
+        // Then
+        assertEquals(List.of(new TrendingProducts.Hitter(1L, 2)), trendingProducts.top(10));
+    }
+
+    @Test
+    void countMinSketch_ShouldNeverUndercount() {
+        // Given: far more keys than counters, so most of them collide
+        CountMinSketch sketch = new CountMinSketch(4, 64);
+
+        // When
+        for (long key = 0; key < 1000; key++) {
+            sketch.add(key, key % 7 + 1);
+        }
+
+        // Then
+        for (long key = 0; key < 1000; key++) {
+            assertTrue(sketch.estimate(key) >= key % 7 + 1);
+        }
+    }
+
+    private static Order order(LocalDateTime orderDate, OrderStatus status, Object... productStockIdsAndQuantities) {
+        Order order = new Order();
+        order.setOrderDate(orderDate);
+        order.setStatus(status);
+        for (int i = 0; i < productStockIdsAndQuantities.length; i += 2) {
+            ProductStock productStock = new ProductStock();
+            productStock.setProduct_stock_id((Long) productStockIdsAndQuantities[i]);
+            OrderItem orderItem = new OrderItem();
+            orderItem.setProductStock(productStock);
+            orderItem.setQuantity((Integer) productStockIdsAndQuantities[i + 1]);
+            order.getOrderItems().add(orderItem);
+        }
+        return order;
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
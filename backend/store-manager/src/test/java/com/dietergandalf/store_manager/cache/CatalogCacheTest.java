@@ -0,0 +1,212 @@
+package com.dietergandalf.store_manager.cache;
+
+import com.dietergandalf.store_manager.dto.CatalogPageDto;
+import com.dietergandalf.store_manager.dto.CatalogSort;
+import com.dietergandalf.store_manager.dto.ProductDto;
+import com.dietergandalf.store_manager.dto.ProductStockDto;
+import com.dietergandalf.store_manager.model.Product;
+import com.dietergandalf.store_manager.model.ProductStock;
+import com.dietergandalf.store_manager.model.Seller;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogCacheTest {
+
+    private MutableClock clock;
+    private CatalogCache catalogCache;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        catalogCache = new CatalogCache(2, Duration.ofSeconds(30), clock);
+    }
+
+    @Test
+    void getCatalogPage_WhenCalledTwice_ShouldLoadOnceAndCountHit() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+        CatalogPageKey key = pageKey(CatalogSort.ID, null);
+
+        // When
+        catalogCache.getCatalogPage(key, null, () -> countingLoad(loads, page(false, stock(1L, 10.0))));
+        catalogCache.getCatalogPage(key, null, () -> countingLoad(loads, page(false, stock(1L, 10.0))));
+
+        // Then
+        assertEquals(1, loads.get());
+        assertEquals(1, catalogCache.getStats().getHits());
+        assertEquals(1, catalogCache.getStats().getMisses());
+        assertEquals(0.5, catalogCache.getStats().getHitRate());
+    }
+
+    @Test
+    void getCatalogPage_WhenTtlElapsed_ShouldReloadAndCountEviction() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+        CatalogPageKey key = pageKey(CatalogSort.ID, null);
+        catalogCache.getCatalogPage(key, null, () -> countingLoad(loads, page(false)));
+
+        // When
+        clock.advance(Duration.ofSeconds(31));
+        catalogCache.getCatalogPage(key, null, () -> countingLoad(loads, page(false)));
+
+        // Then
+        assertEquals(2, loads.get());
+        assertEquals(1, catalogCache.getStats().getEvictions());
+    }
+
+    @Test
+    void getSellerProducts_WhenFull_ShouldEvictLeastRecentlyUsed() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+        catalogCache.getSellerProducts(1L, () -> countingLoad(loads, List.of()));
+        catalogCache.getSellerProducts(2L, () -> countingLoad(loads, List.of()));
+        catalogCache.getSellerProducts(1L, () -> countingLoad(loads, List.of()));
+
+        // When
+        catalogCache.getSellerProducts(3L, () -> countingLoad(loads, List.of()));
+        catalogCache.getSellerProducts(1L, () -> countingLoad(loads, List.of()));
+
+        // Then: seller 2 was the least recently used entry
+        assertEquals(3, loads.get());
+        assertEquals(1, catalogCache.getStats().getEvictions());
+        assertEquals(2, catalogCache.getStats().getSize());
+    }
+
+    @Test
+    void invalidateProductStock_ShouldDropOnlyPagesTheStockFallsInto() {
+        // Given: a full first page ending at id 5 and an open last page after it
+        CatalogPageKey firstPageKey = pageKey(CatalogSort.ID, null);
+        CatalogPageKey otherSellerKey = new CatalogPageKey(CatalogSort.ID, 20, null, 99L, null, null, null);
+        catalogCache.getCatalogPage(firstPageKey, null, () -> page(true, stock(3L, 10.0), stock(5L, 12.0)));
+        catalogCache.getCatalogPage(otherSellerKey, null, () -> page(false));
+
+        // When: a new stock is added far after the first page's range
+        catalogCache.invalidateProductStock(productStock(8L, 7L, 11.0, 4));
+
+        // Then
+        assertEquals(2, catalogCache.getStats().getSize());
+
+        // When: a stock inside the first page's range is restocked
+        catalogCache.invalidateProductStock(productStock(4L, 7L, 11.0, 4));
+
+        // Then
+        assertEquals(1, catalogCache.getStats().getSize());
+        assertEquals(1, catalogCache.getStats().getInvalidations());
+    }
+
+    @Test
+    void invalidateProductStock_InsideTransaction_ShouldUseStateReadWhenRegistered() {
+        // Given
+        CatalogPageKey firstPageKey = pageKey(CatalogSort.ID, null);
+        catalogCache.getCatalogPage(firstPageKey, null, () -> page(true, stock(3L, 10.0), stock(5L, 12.0)));
+        ProductStock restocked = productStock(4L, 7L, 11.0, 4);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            catalogCache.invalidateProductStock(restocked);
+            // Stands in for associations that can no longer be loaded once the transaction is over
+            restocked.setProduct(null);
+            restocked.setSeller(null);
+            assertEquals(1, catalogCache.getStats().getSize());
+
+            // When
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Then
+        assertEquals(0, catalogCache.getStats().getSize());
+    }
+
+    @Test
+    void invalidateProductStockIds_ShouldDropEntriesListingThoseStocks() {
+        // Given
+        catalogCache.getSellerProducts(7L, () -> List.of(stock(3L, 10.0)));
+        catalogCache.getSellerProducts(8L, () -> List.of(stock(4L, 10.0)));
+
+        // When
+        catalogCache.invalidateProductStockIds(List.of(3L));
+
+        // Then
+        assertEquals(1, catalogCache.getStats().getSize());
+    }
+
+    private static <T> T countingLoad(AtomicInteger loads, T value) {
+        loads.incrementAndGet();
+        return value;
+    }
+
+    private static CatalogPageKey pageKey(CatalogSort sort, String cursor) {
+        return new CatalogPageKey(sort, 20, cursor, null, null, null, null);
+    }
+
+    private static CatalogPageDto page(boolean hasMore, ProductStockDto... items) {
+        return CatalogPageDto.builder()
+                .items(List.of(items))
+                .size(items.length)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    private static ProductStockDto stock(Long id, Double price) {
+        return ProductStockDto.builder()
+                .productStockId(id)
+                .product(ProductDto.builder().price(price).name("Product " + id).build())
+                .amount(1)
+                .build();
+    }
+
+    private static ProductStock productStock(long id, Long sellerId, double price, int amount) {
+        Seller seller = new Seller();
+        seller.setPerson_id(sellerId);
+        Product product = new Product();
+        product.setName("Product " + id);
+        product.setPrice(price);
+        ProductStock productStock = new ProductStock();
+        productStock.setProduct_stock_id(id);
+        productStock.setProduct(product);
+        productStock.setSeller(seller);
+        productStock.setAmount(amount);
+        return productStock;
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.dietergandalf.store_manager.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyStoreTest {
+
+    private MutableClock clock;
+    private IdempotencyStore idempotencyStore;
+    private AtomicInteger executions;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        idempotencyStore = new IdempotencyStore(2, Duration.ofMinutes(10), clock);
+        executions = new AtomicInteger();
+    }
+
+    @Test
+    void execute_WhenRepeatedWithSameKeyAndRequest_ShouldReplayStoredResponse() {
+        // Given
+        ResponseEntity<String> first = idempotencyStore.execute("key-1", "checkout:1", "request", () -> created("order-1"));
+
+        // When
+        ResponseEntity<String> repeat = idempotencyStore.execute("key-1", "checkout:1", "request", () -> created("order-2"));
+
+        // Then
+        assertEquals(1, executions.get());
+        assertEquals(HttpStatus.CREATED, repeat.getStatusCode());
+        assertEquals("order-1", repeat.getBody());
+        assertEquals("true", repeat.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER));
+        assertNull(first.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER));
+    }
+
+    @Test
+    void execute_WhenKeyIsReusedForDifferentRequestOrScope_ShouldRejectOrKeepApart() {
+        // Given
+        idempotencyStore.execute("key-1", "checkout:1", "request", () -> created("order-1"));
+
+        // When
+        ResponseEntity<String> mismatch = idempotencyStore.execute("key-1", "checkout:1", "other request", () -> created("order-2"));
+        ResponseEntity<String> otherScope = idempotencyStore.execute("key-1", "checkout:2", "request", () -> created("order-3"));
+
+        // Then
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, mismatch.getStatusCode());
+        assertEquals("order-3", otherScope.getBody());
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void execute_WhenSameKeyArrivesWhileFirstIsRunning_ShouldAnswerConflict() {
+        // When
+        ResponseEntity<String> concurrent = idempotencyStore.execute("key-1", "checkout:1", "request",
+                () -> idempotencyStore.execute("key-1", "checkout:1", "request", () -> created("order-2")));
+
+        // Then: the outer call returns the inner 409, which is not stored, so the key is free again
+        assertEquals(HttpStatus.CONFLICT, concurrent.getStatusCode());
+        assertEquals(0, executions.get());
+        assertEquals(0, idempotencyStore.size());
+    }
+
+    @Test
+    void execute_WhenOperationFails_ShouldNotStoreSoTheClientCanRetry() {
+        // Given
+        idempotencyStore.execute("key-1", "checkout:1", "request", () -> ResponseEntity.badRequest().<String>build());
+        assertThrows(IllegalStateException.class, () -> idempotencyStore.execute("key-2", "checkout:1", "request", () -> {
+            throw new IllegalStateException("boom");
+        }));
+
+        // When
+        ResponseEntity<String> retry = idempotencyStore.execute("key-1", "checkout:1", "request", () -> created("order-1"));
+
+        // Then
+        assertEquals(HttpStatus.CREATED, retry.getStatusCode());
+        assertNull(retry.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER));
+        assertEquals(1, idempotencyStore.size());
+    }
+
+    @Test
+    void execute_WhenTtlElapsed_ShouldRunOperationAgain() {
+        // Given
+        idempotencyStore.execute("key-1", "checkout:1", "request", () -> created("order-1"));
+
+        // When
+        clock.advance(Duration.ofMinutes(11));
+        ResponseEntity<String> afterExpiry = idempotencyStore.execute("key-1", "checkout:1", "request", () -> created("order-2"));
+
+        // Then
+        assertEquals("order-2", afterExpiry.getBody());
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void execute_WhenFull_ShouldEvictLeastRecentlyUsedKey() {
+        // Given
+        idempotencyStore.execute("key-1", "checkout:1", "request", () -> created("order-1"));
+        idempotencyStore.execute("key-2", "checkout:1", "request", () -> created("order-2"));
+        idempotencyStore.execute("key-1", "checkout:1", "request", () -> created("unused"));
+
+        // When
+        idempotencyStore.execute("key-3", "checkout:1", "request", () -> created("order-3"));
+
+        // Then: key-1 was replayed last, so key-2 made room
+        assertEquals(2, idempotencyStore.size());
+        assertEquals("order-1", idempotencyStore.execute("key-1", "checkout:1", "request", () -> created("unused")).getBody());
+        assertEquals("order-4", idempotencyStore.execute("key-2", "checkout:1", "request", () -> created("order-4")).getBody());
+    }
+
+    @Test
+    void execute_WithoutKeyOrWithInvalidKey_ShouldRunUnguardedOrRejectRequest() {
+        // When
+        idempotencyStore.execute(null, "checkout:1", "request", () -> created("order-1"));
+        idempotencyStore.execute(null, "checkout:1", "request", () -> created("order-2"));
+        ResponseEntity<String> blank = idempotencyStore.execute(" ", "checkout:1", "request", () -> created("order-3"));
+        ResponseEntity<String> tooLong = idempotencyStore.execute("k".repeat(IdempotencyStore.MAX_KEY_LENGTH + 1),
+                "checkout:1", "request", () -> created("order-4"));
+
+        // Then
+        assertEquals(2, executions.get());
+        assertEquals(HttpStatus.BAD_REQUEST, blank.getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, tooLong.getStatusCode());
+        assertEquals(0, idempotencyStore.size());
+    }
+
+    private ResponseEntity<String> created(String body) {
+        executions.incrementAndGet();
+        return ResponseEntity.status(HttpStatus.CREATED).body(body);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.dietergandalf.store_manager.cache;
+
+import com.dietergandalf.store_manager.dto.OwnerStandSummaryDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StandOccupancyIndexTest {
+
+    private MutableClock clock;
+    private StandOccupancyIndex standOccupancyIndex;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        standOccupancyIndex = new StandOccupancyIndex(2, Duration.ofMinutes(5), clock);
+    }
+
+    @Test
+    void get_WhenCalledTwice_ShouldLoadOnce() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+
+        // When
+        standOccupancyIndex.get(1L, () -> {
+            loads.incrementAndGet();
+            return summary(1L, 2, 1, 100.0, 50.0);
+        });
+        OwnerStandSummaryDto result = standOccupancyIndex.get(1L, () -> {
+            loads.incrementAndGet();
+            return summary(1L, 0, 0, 0.0, 0.0);
+        });
+
+        // Then
+        assertEquals(1, loads.get());
+        assertEquals(2L, result.getTotalStands());
+        assertEquals(1L, result.getAvailableStands());
+    }
+
+    @Test
+    void deltas_ShouldKeepLoadedOwnerCurrent() {
+        // Given
+        standOccupancyIndex.get(1L, () -> summary(1L, 2, 1, 100.0, 50.0));
+
+        // When
+        standOccupancyIndex.standAdded(1L, 30.1, false);
+        standOccupancyIndex.standOccupancyChanged(1L, 30.1, true);
+        standOccupancyIndex.standOccupancyChanged(1L, 100.0, false);
+
+        // Then
+        OwnerStandSummaryDto result = standOccupancyIndex.get(1L, () -> fail("should not reload"));
+        assertEquals(3L, result.getTotalStands());
+        assertEquals(1L, result.getOccupiedStands());
+        assertEquals(2L, result.getAvailableStands());
+        assertEquals(30.1, result.getMonthlyRent());
+        assertEquals(150.0, result.getVacantRent());
+    }
+
+    @Test
+    void deltas_ForOwnerNotLoaded_ShouldNotCreateEntry() {
+        // When
+        standOccupancyIndex.standAdded(1L, 10.0, false);
+
+        // Then
+        assertEquals(0, standOccupancyIndex.size());
+    }
+
+    @Test
+    void get_WhenWriteRacesWithLoad_ShouldNotKeepLoadedValue() {
+        // When
+        OwnerStandSummaryDto loaded = standOccupancyIndex.get(1L, () -> {
+            // A stand is added and committed while the aggregate query runs
+            standOccupancyIndex.standAdded(1L, 10.0, false);
+            return summary(1L, 1, 1, 10.0, 0.0);
+        });
+
+        // Then
+        assertEquals(1L, loaded.getTotalStands());
+        assertEquals(0, standOccupancyIndex.size());
+    }
+
+    @Test
+    void evict_ShouldReloadOnNextRead() {
+        // Given
+        standOccupancyIndex.get(1L, () -> summary(1L, 1, 0, 0.0, 10.0));
+
+        // When
+        standOccupancyIndex.evict(1L);
+        OwnerStandSummaryDto result = standOccupancyIndex.get(1L, () -> summary(1L, 5, 0, 0.0, 50.0));
+
+        // Then
+        assertEquals(5L, result.getTotalStands());
+    }
+
+    @Test
+    void get_WhenTtlElapsed_ShouldReload() {
+        // Given
+        standOccupancyIndex.get(1L, () -> summary(1L, 1, 0, 0.0, 10.0));
+
+        // When
+        clock.advance(Duration.ofMinutes(6));
+        OwnerStandSummaryDto result = standOccupancyIndex.get(1L, () -> summary(1L, 4, 0, 0.0, 40.0));
+
+        // Then
+        assertEquals(4L, result.getTotalStands());
+    }
+
+    @Test
+    void get_WhenFull_ShouldEvictLeastRecentlyUsed() {
+        // Given
+        standOccupancyIndex.get(1L, () -> summary(1L, 1, 0, 0.0, 10.0));
+        standOccupancyIndex.get(2L, () -> summary(2L, 2, 0, 0.0, 20.0));
+        standOccupancyIndex.get(1L, () -> fail("should not reload"));
+
+        // When
+        standOccupancyIndex.get(3L, () -> summary(3L, 3, 0, 0.0, 30.0));
+
+        // Then
+        assertEquals(2, standOccupancyIndex.size());
+        assertEquals(1L, standOccupancyIndex.get(1L, () -> fail("should not reload")).getTotalStands());
+        assertEquals(7L, standOccupancyIndex.get(2L, () -> summary(2L, 7, 0, 0.0, 70.0)).getTotalStands());
+    }
+
+    private static OwnerStandSummaryDto summary(Long ownerId, long total, long occupied, double monthlyRent, double vacantRent) {
+        return new OwnerStandSummaryDto(ownerId, total, occupied, total - occupied, monthlyRent, vacantRent);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.dietergandalf.store_manager.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConnectionPoolGuardFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ConnectionPoolGuardFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new ConnectionPoolGuardFilter(1, Duration.ofMillis(100), meterRegistry);
+    }
+
+    @Test
+    void doFilter_WhenPermitAvailable_ShouldPassRequestThrough() throws Exception {
+        // Given
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        // When
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/customers/products"), response, chain);
+
+        // Then
+        assertEquals(200, response.getStatus());
+        assertNotNull(chain.getRequest());
+        assertEquals(0.0, meterRegistry.get("store.pool.guard.in.flight").gauge().value());
+    }
+
+    @Test
+    void doFilter_WhenPoolStaysSaturated_ShouldRejectWithRetryAfter() throws Exception {
+        // Given: one request holds the only permit
+        CountDownLatch admitted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        FilterChain blockingChain = (request, response) -> {
+            admitted.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<?> holder = executor.submit(() -> {
+            filter.doFilter(new MockHttpServletRequest("GET", "/api/customers/1/cart"), new MockHttpServletResponse(), blockingChain);
+            return null;
+        });
+        assertTrue(admitted.await(5, TimeUnit.SECONDS));
+
+        // When
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/customers/products"), response, chain);
+
+        // Then
+        assertEquals(503, response.getStatus());
+        assertEquals("1", response.getHeader("Retry-After"));
+        assertNull(chain.getRequest());
+        assertEquals(1.0, meterRegistry.get("store.pool.guard.rejections").counter().count());
+
+        release.countDown();
+        holder.get(5, TimeUnit.SECONDS);
+        executor.shutdown();
+    }
+
+    @Test
+    void constructor_WithNonPositiveLimit_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new ConnectionPoolGuardFilter(0, Duration.ofSeconds(1), meterRegistry));
+    }
+}
@@ -7,18 +7,21 @@ import org.springframework.context.annotation.Profile;
 import org.springframework.boot.jdbc.DataSourceBuilder;
 
 import javax.sql.DataSource;
+import java.util.UUID;
 
 @TestConfiguration
 @Profile("test")
 public class TestConfig {
     
+    // A database per application context: contexts with different properties or mocks live side by side in the
+    // test run, and with a shared database each create-drop would reset the tables and sequences under the others
     @Bean
     @Primary
     public DataSource dataSource() {
         return DataSourceBuilder
                 .create()
                 .driverClassName("org.h2.Driver")
-                .url("jdbc:h2:mem:testdb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE")
+                .url("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE")
                 .username("sa")
                 .password("")
                 .build();
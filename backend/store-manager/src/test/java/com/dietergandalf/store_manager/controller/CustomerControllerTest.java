@@ -1,11 +1,18 @@
 package com.dietergandalf.store_manager.controller;
 
+import com.dietergandalf.store_manager.cache.IdempotencyStore;
 import com.dietergandalf.store_manager.dto.AddToCartRequestDto;
+import com.dietergandalf.store_manager.dto.CartItemDto;
+import com.dietergandalf.store_manager.dto.CartUpdateDto;
+import com.dietergandalf.store_manager.dto.CatalogPageDto;
+import com.dietergandalf.store_manager.dto.CatalogQueryDto;
+import com.dietergandalf.store_manager.dto.CatalogSort;
 import com.dietergandalf.store_manager.dto.CustomerDto;
 import com.dietergandalf.store_manager.dto.ProductStockDto;
 import com.dietergandalf.store_manager.dto.RegisterRequestDto;
 import com.dietergandalf.store_manager.dto.ShoppingCartDto;
 import com.dietergandalf.store_manager.dto.UpdateProfileRequestDto;
+import com.dietergandalf.store_manager.model.ShoppingCart;
 import com.dietergandalf.store_manager.service.CustomerService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -17,6 +24,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -25,6 +33,8 @@ import java.util.Collections;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
@@ -33,6 +43,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 @ExtendWith(MockitoExtension.class)
 @WebMvcTest(CustomerController.class)
+@Import(IdempotencyStore.class)
 class CustomerControllerTest {
 
     @Autowired
@@ -273,7 +284,7 @@ class CustomerControllerTest {
 
     @Test
     @WithMockUser
-    void getAllAvailableProducts_ShouldReturnProductList() throws Exception {
+    void getAvailableProducts_ShouldReturnCatalogPage() throws Exception {
         // Given
         ProductStockDto product1 = ProductStockDto.builder()
                 .productStockId(1L)
@@ -283,25 +294,86 @@ class CustomerControllerTest {
                 .productStockId(2L)
                 .amount(30)
                 .build();
-        List<ProductStockDto> products = Arrays.asList(product1, product2);
+        CatalogPageDto page = CatalogPageDto.builder()
+                .items(Arrays.asList(product1, product2))
+                .size(2)
+                .sort(CatalogSort.PRICE)
+                .nextCursor("next")
+                .hasMore(true)
+                .build();
 
-        when(customerService.getAllAvailableProducts()).thenReturn(products);
+        when(customerService.getAvailableProducts(any(CatalogQueryDto.class))).thenReturn(page);
 
         // When & Then
-        mockMvc.perform(get("/api/customers/products"))
+        mockMvc.perform(get("/api/customers/products")
+                        .param("sort", "PRICE")
+                        .param("size", "2")
+                        .param("sellerId", "7"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                .andExpect(jsonPath("$").isArray())
-                .andExpect(jsonPath("$.length()").value(2))
-                .andExpect(jsonPath("$[0].amount").value(50))
-                .andExpect(jsonPath("$[1].amount").value(30));
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[0].amount").value(50))
+                .andExpect(jsonPath("$.items[1].amount").value(30))
+                .andExpect(jsonPath("$.nextCursor").value("next"))
+                .andExpect(jsonPath("$.hasMore").value(true));
+
+        verify(customerService).getAvailableProducts(argThat(query ->
+                query.getSort() == CatalogSort.PRICE && query.getSize() == 2 && query.getSellerId() == 7L));
+    }
+
+    @Test
+    @WithMockUser
+    void getAvailableProducts_WithMatchingIfNoneMatch_ShouldReturnNotModified() throws Exception {
+        // Given
+        CatalogPageDto page = CatalogPageDto.builder()
+                .items(List.of(ProductStockDto.builder().productStockId(1L).amount(5).build()))
+                .size(1)
+                .sort(CatalogSort.ID)
+                .hasMore(false)
+                .build();
+        when(customerService.getAvailableProducts(any(CatalogQueryDto.class))).thenReturn(page);
+        String etag = mockMvc.perform(get("/api/customers/products"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-cache"))
+                .andReturn().getResponse().getHeader("ETag");
 
-        verify(customerService).getAllAvailableProducts();
+        // When & Then
+        mockMvc.perform(get("/api/customers/products").header("If-None-Match", "\"stale\", " + etag.substring(2)))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
     }
 
     @Test
     @WithMockUser
-    void addToCart_WithValidData_ShouldReturnShoppingCart() throws Exception {
+    void getCart_WithMatchingIfNoneMatch_ShouldNotLoadCart() throws Exception {
+        // Given
+        Long customerId = 1L;
+        when(customerService.getCartETag(customerId)).thenReturn("\"cart-v1\"");
+
+        // When & Then
+        mockMvc.perform(get("/api/customers/{customerId}/cart", customerId).header("If-None-Match", "\"cart-v1\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"cart-v1\""));
+
+        verify(customerService, never()).getCart(anyLong());
+    }
+
+    @Test
+    @WithMockUser
+    void getAvailableProducts_WithInvalidCursor_ShouldReturnBadRequest() throws Exception {
+        // Given
+        when(customerService.getAvailableProducts(any(CatalogQueryDto.class)))
+                .thenThrow(new IllegalArgumentException("Malformed catalog cursor"));
+
+        // When & Then
+        mockMvc.perform(get("/api/customers/products").param("cursor", "garbage"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser
+    void addToCart_WithValidData_ShouldReturnCartUpdate() throws Exception {
         // Given
         Long customerId = 1L;
         AddToCartRequestDto addToCartRequest = AddToCartRequestDto.builder()
@@ -309,16 +381,16 @@ class CustomerControllerTest {
                 .quantity(2)
                 .build();
 
-        ShoppingCartDto cartDto = ShoppingCartDto.builder()
+        CartUpdateDto cartUpdate = CartUpdateDto.builder()
                 .cartId(1L)
                 .customerId(customerId)
-                .customerName("John Doe")
+                .cartItem(CartItemDto.builder().cartItemId(3L).quantity(2).build())
                 .totalAmount(20.0)
                 .totalItems(2)
                 .build();
 
         when(customerService.addToCart(eq(customerId), any(AddToCartRequestDto.class)))
-                .thenReturn(cartDto);
+                .thenReturn(cartUpdate);
 
         // When & Then
         mockMvc.perform(post("/api/customers/{customerId}/cart", customerId)
@@ -329,6 +401,7 @@ class CustomerControllerTest {
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.cartId").value(1L))
                 .andExpect(jsonPath("$.customerId").value(customerId))
+                .andExpect(jsonPath("$.cartItem.cartItemId").value(3L))
                 .andExpect(jsonPath("$.totalAmount").value(20.0))
                 .andExpect(jsonPath("$.totalItems").value(2));
 
@@ -358,6 +431,74 @@ class CustomerControllerTest {
         verify(customerService).addToCart(eq(customerId), any(AddToCartRequestDto.class));
     }
 
+    @Test
+    @WithMockUser
+    void addToCart_WhenRetriesExhaustedOnConflict_ShouldReturnConflict() throws Exception {
+        // Given
+        Long customerId = 1L;
+        AddToCartRequestDto addToCartRequest = AddToCartRequestDto.builder()
+                .productStockId(1L)
+                .quantity(1)
+                .build();
+
+        when(customerService.addToCart(eq(customerId), any(AddToCartRequestDto.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(ShoppingCart.class, 1L));
+
+        // When & Then
+        mockMvc.perform(post("/api/customers/{customerId}/cart", customerId)
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(addToCartRequest)))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    @WithMockUser
+    void addToCart_WhenRetriedWithSameIdempotencyKey_ShouldReplayResponseWithoutAddingAgain() throws Exception {
+        // Given
+        Long customerId = 1L;
+        AddToCartRequestDto addToCartRequest = AddToCartRequestDto.builder()
+                .productStockId(1L)
+                .quantity(2)
+                .build();
+        CartUpdateDto cartUpdate = CartUpdateDto.builder()
+                .cartId(1L)
+                .customerId(customerId)
+                .cartItem(CartItemDto.builder().cartItemId(3L).quantity(2).build())
+                .totalAmount(20.0)
+                .totalItems(2)
+                .build();
+        when(customerService.addToCart(eq(customerId), any(AddToCartRequestDto.class))).thenReturn(cartUpdate);
+        String body = objectMapper.writeValueAsString(addToCartRequest);
+
+        // When
+        mockMvc.perform(post("/api/customers/{customerId}/cart", customerId)
+                .with(csrf())
+                .header(IdempotencyStore.IDEMPOTENCY_KEY_HEADER, "add-key-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(IdempotencyStore.REPLAYED_HEADER));
+
+        // Then
+        mockMvc.perform(post("/api/customers/{customerId}/cart", customerId)
+                .with(csrf())
+                .header(IdempotencyStore.IDEMPOTENCY_KEY_HEADER, "add-key-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isOk())
+                .andExpect(header().string(IdempotencyStore.REPLAYED_HEADER, "true"))
+                .andExpect(jsonPath("$.totalItems").value(2));
+        mockMvc.perform(post("/api/customers/{customerId}/cart", customerId)
+                .with(csrf())
+                .header(IdempotencyStore.IDEMPOTENCY_KEY_HEADER, "add-key-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(AddToCartRequestDto.builder().productStockId(1L).quantity(5).build())))
+                .andExpect(status().isUnprocessableEntity());
+
+        verify(customerService, times(1)).addToCart(eq(customerId), any(AddToCartRequestDto.class));
+    }
+
     @Test
     @WithMockUser
     void getCart_WhenCartExists_ShouldReturnShoppingCart() throws Exception {
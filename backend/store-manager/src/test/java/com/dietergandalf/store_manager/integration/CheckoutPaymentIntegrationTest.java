@@ -0,0 +1,189 @@
+package com.dietergandalf.store_manager.integration;
+
+import com.dietergandalf.store_manager.config.TestConfig;
+import com.dietergandalf.store_manager.dto.AddToCartRequestDto;
+import com.dietergandalf.store_manager.dto.CheckoutRequestDto;
+import com.dietergandalf.store_manager.dto.CreateProductRequestDto;
+import com.dietergandalf.store_manager.dto.OrderDto;
+import com.dietergandalf.store_manager.dto.RegisterRequestDto;
+import com.dietergandalf.store_manager.model.OrderStatus;
+import com.dietergandalf.store_manager.payment.PaymentGateway;
+import com.dietergandalf.store_manager.payment.PaymentProcessor;
+import com.dietergandalf.store_manager.repository.ProductStockRepository;
+import com.dietergandalf.store_manager.service.CustomerService;
+import com.dietergandalf.store_manager.service.OrderService;
+import com.dietergandalf.store_manager.service.SellerService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityFilterAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.servlet.UserDetailsServiceAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.oauth2.client.servlet.OAuth2ClientWebSecurityAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.oauth2.client.OAuth2ClientAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.oauth2.resource.servlet.OAuth2ResourceServerAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.saml2.Saml2RelyingPartyAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Checkout commits a PENDING order and returns; the payment stage settles it afterwards.
+ */
+@SpringBootTest(properties = "store.payment.stale-after=PT0S")
+@EnableAutoConfiguration(exclude = {
+    SecurityAutoConfiguration.class,
+    SecurityFilterAutoConfiguration.class,
+    UserDetailsServiceAutoConfiguration.class,
+    OAuth2ClientWebSecurityAutoConfiguration.class,
+    OAuth2ClientAutoConfiguration.class,
+    OAuth2ResourceServerAutoConfiguration.class,
+    Saml2RelyingPartyAutoConfiguration.class
+})
+@ActiveProfiles("test")
+@Import(TestConfig.class)
+public class CheckoutPaymentIntegrationTest {
+
+    private static final AtomicInteger EMAIL_SEQUENCE = new AtomicInteger();
+    private static final Duration SETTLE_TIMEOUT = Duration.ofSeconds(10);
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private SellerService sellerService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private PaymentProcessor paymentProcessor;
+
+    @Autowired
+    private ProductStockRepository productStockRepository;
+
+    @MockitoBean
+    private PaymentGateway paymentGateway;
+
+    @Test
+    void checkout_ShouldReturnPendingWithoutWaitingForTheGateway() throws Exception {
+        // Given: a gateway that hangs until released
+        CountDownLatch gatewayReleased = new CountDownLatch(1);
+        when(paymentGateway.authorize(anyLong(), anyString(), anyDouble())).thenAnswer(invocation -> {
+            assertTrue(gatewayReleased.await(10, TimeUnit.SECONDS));
+            return "ref-" + invocation.getArgument(0);
+        });
+        when(paymentGateway.verify(anyString())).thenReturn(true);
+        Long productStockId = createProductStock(10);
+
+        // When
+        OrderDto order = checkout(productStockId, 3);
+
+        // Then
+        assertEquals(OrderStatus.PENDING, order.getStatus());
+        assertEquals("PENDING", order.getPaymentStatus());
+        assertEquals(OrderStatus.PENDING, orderService.getOrderById(order.getOrderId()).getStatus());
+
+        gatewayReleased.countDown();
+        await().atMost(SETTLE_TIMEOUT).until(() -> orderService.getOrderById(order.getOrderId()).getStatus() == OrderStatus.CONFIRMED);
+        assertEquals("CONFIRMED", orderService.getOrderById(order.getOrderId()).getPaymentStatus());
+        assertEquals(7, productStockRepository.findById(productStockId).orElseThrow().getAmount());
+    }
+
+    @Test
+    void checkout_WhenPaymentIsDeclined_ShouldCancelOrderAndReleaseStock() {
+        // Given
+        when(paymentGateway.authorize(anyLong(), anyString(), anyDouble())).thenReturn(null);
+        Long productStockId = createProductStock(10);
+
+        // When
+        OrderDto order = checkout(productStockId, 4);
+
+        // Then
+        await().atMost(SETTLE_TIMEOUT).until(() -> orderService.getOrderById(order.getOrderId()).getStatus() == OrderStatus.CANCELLED);
+        assertEquals("FAILED", orderService.getOrderById(order.getOrderId()).getPaymentStatus());
+        assertEquals(10, productStockRepository.findById(productStockId).orElseThrow().getAmount());
+        verify(paymentGateway, never()).verify(anyString());
+    }
+
+    @Test
+    void updateOrderStatus_WhilePaymentIsPending_ShouldBeRejected() {
+        // Given: a gateway that hangs until released
+        CountDownLatch gatewayReleased = new CountDownLatch(1);
+        when(paymentGateway.authorize(anyLong(), anyString(), anyDouble())).thenAnswer(invocation -> {
+            assertTrue(gatewayReleased.await(10, TimeUnit.SECONDS));
+            return null;
+        });
+        Long productStockId = createProductStock(10);
+        OrderDto order = checkout(productStockId, 4);
+
+        // When & Then
+        assertThrows(RuntimeException.class, () -> orderService.updateOrderStatus(order.getOrderId(), OrderStatus.CANCELLED));
+        assertEquals(OrderStatus.PENDING, orderService.getOrderById(order.getOrderId()).getStatus());
+
+        // The payment stage still settles the order and releases its stock
+        gatewayReleased.countDown();
+        await().atMost(SETTLE_TIMEOUT).until(() -> orderService.getOrderById(order.getOrderId()).getStatus() == OrderStatus.CANCELLED);
+        assertEquals(10, productStockRepository.findById(productStockId).orElseThrow().getAmount());
+        assertThrows(RuntimeException.class, () -> orderService.updateOrderStatus(order.getOrderId(), OrderStatus.PENDING));
+    }
+
+    @Test
+    void resubmitStalePayments_AfterGatewayError_ShouldSettleTheOrder() {
+        // Given: the first attempt fails with a gateway error, leaving the order PENDING
+        AtomicInteger attempts = new AtomicInteger();
+        when(paymentGateway.authorize(anyLong(), anyString(), anyDouble())).thenAnswer(invocation -> {
+            if (attempts.getAndIncrement() == 0) {
+                throw new IllegalStateException("gateway unavailable");
+            }
+            return "ref-" + invocation.getArgument(0);
+        });
+        when(paymentGateway.verify(anyString())).thenReturn(true);
+        OrderDto order = checkout(createProductStock(5), 1);
+        await().atMost(SETTLE_TIMEOUT).until(() -> attempts.get() == 1);
+        assertEquals(OrderStatus.PENDING, orderService.getOrderById(order.getOrderId()).getStatus());
+
+        // When
+        paymentProcessor.resubmitStalePayments();
+
+        // Then
+        await().atMost(SETTLE_TIMEOUT).until(() -> orderService.getOrderById(order.getOrderId()).getStatus() == OrderStatus.CONFIRMED);
+    }
+
+    private Long createProductStock(int amount) {
+        Long sellerId = sellerService.createSeller(registerRequest("seller")).getPersonId();
+        return sellerService.addProduct(sellerId, CreateProductRequestDto.builder()
+                .name("Teapot").description("Teapot description").price(25.0).initialStock(amount).build())
+                .getProductStockId();
+    }
+
+    private OrderDto checkout(Long productStockId, int quantity) {
+        Long customerId = customerService.createCustomer(registerRequest("customer")).getPersonId();
+        customerService.addToCart(customerId, AddToCartRequestDto.builder().productStockId(productStockId).quantity(quantity).build());
+        return orderService.checkout(customerId, CheckoutRequestDto.builder()
+                .shippingAddress("2 Payment Road").billingAddress("2 Payment Road").paymentMethod("credit_card").build());
+    }
+
+    private static RegisterRequestDto registerRequest(String role) {
+        int id = EMAIL_SEQUENCE.incrementAndGet();
+        return RegisterRequestDto.builder()
+                .firstName("Payment")
+                .lastName(role + id)
+                .email(role + id + "@payment.test")
+                .password("password123")
+                .phoneNumber("1234567890")
+                .dateOfBirth("1990-01-01")
+                .build();
+    }
+}
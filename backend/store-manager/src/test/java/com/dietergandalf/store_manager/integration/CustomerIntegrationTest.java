@@ -22,6 +22,7 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
+import static org.hamcrest.Matchers.startsWith;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -85,11 +86,64 @@ public class CustomerIntegrationTest {
     }
 
     @Test
-    void getAllAvailableProducts_ShouldReturnProductsList() throws Exception {
+    void getAvailableProducts_ShouldReturnCatalogPage() throws Exception {
         // When & Then
         mockMvc.perform(get("/api/customers/products"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                .andExpect(jsonPath("$").isArray());
+                .andExpect(jsonPath("$.items").isArray())
+                .andExpect(jsonPath("$.hasMore").value(false));
+    }
+
+    @Test
+    void searchProducts_ShouldReturnSearchPage() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/customers/products/search").param("q", "lamp").param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.query").value("lamp"))
+                .andExpect(jsonPath("$.items").isArray())
+                .andExpect(jsonPath("$.page").value(0));
+    }
+
+    @Test
+    void searchProducts_WithNegativePage_ShouldReturnBadRequest() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/customers/products/search").param("q", "lamp").param("page", "-1"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getCustomerOrders_ShouldReturnOrderPage() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/customers/{customerId}/orders", 1L).param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.items").isArray())
+                .andExpect(jsonPath("$.hasMore").value(false));
+    }
+
+    @Test
+    void getCustomerOrders_WithMalformedCursor_ShouldReturnBadRequest() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/customers/{customerId}/orders", 1L).param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void exportOrders_AsCsv_ShouldStreamAttachmentWithHeader() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/orders/export").param("format", "CSV").param("from", "2024-01-01"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"orders.csv\""))
+                .andExpect(content().string(startsWith("orderId,orderDate,status,")));
+    }
+
+    @Test
+    void exportOrders_WithInvertedRange_ShouldReturnBadRequest() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/orders/export").param("from", "2024-02-01").param("to", "2024-01-01"))
+                .andExpect(status().isBadRequest());
     }
 }
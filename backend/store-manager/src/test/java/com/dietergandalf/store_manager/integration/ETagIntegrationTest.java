@@ -0,0 +1,139 @@
+package com.dietergandalf.store_manager.integration;
+
+import com.dietergandalf.store_manager.config.TestConfig;
+import com.dietergandalf.store_manager.dto.AddToCartRequestDto;
+import com.dietergandalf.store_manager.dto.CheckoutRequestDto;
+import com.dietergandalf.store_manager.dto.CreateProductRequestDto;
+import com.dietergandalf.store_manager.dto.OrderDto;
+import com.dietergandalf.store_manager.dto.RegisterRequestDto;
+import com.dietergandalf.store_manager.model.OrderStatus;
+import com.dietergandalf.store_manager.payment.PaymentGateway;
+import com.dietergandalf.store_manager.service.CustomerService;
+import com.dietergandalf.store_manager.service.OrderService;
+import com.dietergandalf.store_manager.service.SellerService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityFilterAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.servlet.UserDetailsServiceAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.oauth2.client.servlet.OAuth2ClientWebSecurityAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.oauth2.client.OAuth2ClientAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.oauth2.resource.servlet.OAuth2ResourceServerAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.saml2.Saml2RelyingPartyAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Cart and order ETags stay put while nothing changes and move with every change to what the body shows.
+ */
+@SpringBootTest
+@EnableAutoConfiguration(exclude = {
+    SecurityAutoConfiguration.class,
+    SecurityFilterAutoConfiguration.class,
+    UserDetailsServiceAutoConfiguration.class,
+    OAuth2ClientWebSecurityAutoConfiguration.class,
+    OAuth2ClientAutoConfiguration.class,
+    OAuth2ResourceServerAutoConfiguration.class,
+    Saml2RelyingPartyAutoConfiguration.class
+})
+@ActiveProfiles("test")
+@Import(TestConfig.class)
+public class ETagIntegrationTest {
+
+    private static final AtomicInteger EMAIL_SEQUENCE = new AtomicInteger();
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private SellerService sellerService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @MockitoBean
+    private PaymentGateway paymentGateway;
+
+    private Long sellerId;
+    private Long customerId;
+    private Long productStockId;
+
+    @BeforeEach
+    void setUp() {
+        when(paymentGateway.authorize(anyLong(), anyString(), anyDouble()))
+                .thenAnswer(invocation -> "ref-" + invocation.getArgument(0));
+        when(paymentGateway.verify(anyString())).thenReturn(true);
+        sellerId = sellerService.createSeller(registerRequest("seller")).getPersonId();
+        customerId = customerService.createCustomer(registerRequest("customer")).getPersonId();
+        productStockId = sellerService.addProduct(sellerId, CreateProductRequestDto.builder()
+                .name("Kettle").description("Kettle description").price(30.0).initialStock(100).build())
+                .getProductStockId();
+    }
+
+    @Test
+    void getCartETag_ShouldChangeWithCartContentsAndProductPrice() {
+        // Given
+        customerService.addToCart(customerId, AddToCartRequestDto.builder().productStockId(productStockId).quantity(1).build());
+        String first = customerService.getCartETag(customerId);
+
+        // Then
+        assertNotNull(first);
+        assertEquals(first, customerService.getCartETag(customerId));
+
+        // When
+        customerService.addToCart(customerId, AddToCartRequestDto.builder().productStockId(productStockId).quantity(1).build());
+        String second = customerService.getCartETag(customerId);
+
+        // Then
+        assertNotEquals(first, second);
+
+        // When
+        sellerService.updateProductPrice(sellerId, productStockId, 32.0);
+
+        // Then
+        assertNotEquals(second, customerService.getCartETag(customerId));
+    }
+
+    @Test
+    void getOrderETag_ShouldChangeWithOrderStatus() {
+        // Given
+        customerService.addToCart(customerId, AddToCartRequestDto.builder().productStockId(productStockId).quantity(2).build());
+        OrderDto order = orderService.checkout(customerId, CheckoutRequestDto.builder()
+                .shippingAddress("4 Tag Terrace").billingAddress("4 Tag Terrace").paymentMethod("credit_card").build());
+        await().atMost(Duration.ofSeconds(10))
+                .until(() -> orderService.getOrderById(order.getOrderId()).getStatus() == OrderStatus.CONFIRMED);
+        String confirmed = orderService.getOrderETag(order.getOrderId());
+
+        // When
+        orderService.updateOrderStatus(order.getOrderId(), OrderStatus.SHIPPED);
+
+        // Then
+        assertNotNull(confirmed);
+        assertNotEquals(confirmed, orderService.getOrderETag(order.getOrderId()));
+        assertNull(orderService.getOrderETag(-1L));
+    }
+
+    private static RegisterRequestDto registerRequest(String role) {
+        int id = EMAIL_SEQUENCE.incrementAndGet();
+        return RegisterRequestDto.builder()
+                .firstName("Tag")
+                .lastName(role + id)
+                .email(role + id + "@etag.test")
+                .password("password123")
+                .phoneNumber("1234567890")
+                .dateOfBirth("1990-01-01")
+                .build();
+    }
+}
@@ -0,0 +1,182 @@
+package com.dietergandalf.store_manager.integration;
+
+import com.dietergandalf.store_manager.config.TestConfig;
+import com.dietergandalf.store_manager.dto.AddToCartRequestDto;
+import com.dietergandalf.store_manager.dto.CartUpdateDto;
+import com.dietergandalf.store_manager.dto.CreateProductRequestDto;
+import com.dietergandalf.store_manager.dto.RegisterRequestDto;
+import com.dietergandalf.store_manager.model.CartItem;
+import com.dietergandalf.store_manager.repository.CartItemRepository;
+import com.dietergandalf.store_manager.repository.ProductStockRepository;
+import com.dietergandalf.store_manager.repository.ShoppingCartRepository;
+import com.dietergandalf.store_manager.service.CustomerService;
+import com.dietergandalf.store_manager.service.SellerService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityFilterAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.servlet.UserDetailsServiceAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.oauth2.client.servlet.OAuth2ClientWebSecurityAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.oauth2.client.OAuth2ClientAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.oauth2.resource.servlet.OAuth2ResourceServerAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.saml2.Saml2RelyingPartyAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Forces a concurrent writer between a service's read and its commit, then checks the service retried
+ * on fresh state instead of overwriting the other write.
+ */
+@SpringBootTest(properties = {
+    "store.optimistic-lock.initial-backoff-ms=1",
+    "store.optimistic-lock.max-backoff-ms=5"
+})
+@EnableAutoConfiguration(exclude = {
+    SecurityAutoConfiguration.class,
+    SecurityFilterAutoConfiguration.class,
+    UserDetailsServiceAutoConfiguration.class,
+    OAuth2ClientWebSecurityAutoConfiguration.class,
+    OAuth2ClientAutoConfiguration.class,
+    OAuth2ResourceServerAutoConfiguration.class,
+    Saml2RelyingPartyAutoConfiguration.class
+})
+@ActiveProfiles("test")
+@Import(TestConfig.class)
+public class OptimisticLockingIntegrationTest {
+
+    private static final AtomicInteger EMAIL_SEQUENCE = new AtomicInteger();
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private SellerService sellerService;
+
+    @Autowired
+    private ShoppingCartRepository shoppingCartRepository;
+
+    @MockitoSpyBean
+    private CartItemRepository cartItemRepository;
+
+    @MockitoSpyBean
+    private ProductStockRepository productStockRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private TransactionTemplate concurrentTransaction;
+
+    @BeforeEach
+    void setUp(@Autowired PlatformTransactionManager transactionManager) {
+        concurrentTransaction = new TransactionTemplate(transactionManager);
+        concurrentTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Test
+    void updateCartItemQuantity_WhenCartChangesConcurrently_ShouldRetryWithoutLosingTheOtherLine() {
+        // Given
+        Long sellerId = sellerService.createSeller(registerRequest("seller")).getPersonId();
+        Long firstStockId = sellerService.addProduct(sellerId, productRequest("Lamp", 10.0, 20)).getProductStockId();
+        Long secondStockId = sellerService.addProduct(sellerId, productRequest("Bulb", 5.0, 20)).getProductStockId();
+        Long customerId = customerService.createCustomer(registerRequest("customer")).getPersonId();
+        CartUpdateDto added = customerService.addToCart(customerId, addRequest(firstStockId, 1));
+        Long cartItemId = added.getCartItem().getCartItemId();
+
+        // Another request adds a second line after this update has read the cart totals, before it commits
+        AtomicInteger concurrentWrites = new AtomicInteger(1);
+        doAnswer(invocation -> {
+            Object cartItem = callThrough(cartItemRepository, invocation);
+            if (concurrentWrites.getAndDecrement() > 0) {
+                concurrentTransaction.executeWithoutResult(status -> customerService.addToCart(customerId, addRequest(secondStockId, 2)));
+            }
+            return cartItem;
+        }).when(cartItemRepository).save(any(CartItem.class));
+        double conflictsBefore = conflicts("CustomerService.updateCartItemQuantity");
+
+        // When
+        CartUpdateDto updated = customerService.updateCartItemQuantity(customerId, cartItemId, 3);
+
+        // Then
+        assertEquals(5, updated.getTotalItems());
+        assertEquals(40.0, updated.getTotalAmount(), 0.001);
+        assertEquals(5, shoppingCartRepository.findById(added.getCartId()).orElseThrow().getTotalItems());
+        assertEquals(1.0, conflicts("CustomerService.updateCartItemQuantity") - conflictsBefore);
+        verify(cartItemRepository, times(2)).findById(cartItemId);
+    }
+
+    @Test
+    void updateProductStock_WhenEveryAttemptConflicts_ShouldGiveUpAndKeepReservedStock() {
+        // Given
+        Long sellerId = sellerService.createSeller(registerRequest("seller")).getPersonId();
+        Long productStockId = sellerService.addProduct(sellerId, productRequest("Desk", 80.0, 10)).getProductStockId();
+
+        // A checkout reserves one unit between every read and commit of the restock
+        doAnswer(invocation -> {
+            Object productStock = callThrough(productStockRepository, invocation);
+            concurrentTransaction.executeWithoutResult(status -> productStockRepository.reserveStock(Map.of(productStockId, 1)));
+            return productStock;
+        }).when(productStockRepository).findById(productStockId);
+        double conflictsBefore = conflicts("SellerService.updateProductStock");
+
+        // When & Then
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> sellerService.updateProductStock(sellerId, productStockId, 100));
+        assertEquals(4.0, conflicts("SellerService.updateProductStock") - conflictsBefore);
+        assertEquals(1.0, meterRegistry.get("store.optimistic.lock.exhausted")
+                .tag("operation", "SellerService.updateProductStock").counter().count());
+
+        reset(productStockRepository);
+        assertEquals(6, productStockRepository.findById(productStockId).orElseThrow().getAmount());
+    }
+
+    // Repository spies wrap an interface proxy, so the real call goes through the spy's delegating default answer
+    private static Object callThrough(Object spy, InvocationOnMock invocation) throws Throwable {
+        return mockingDetails(spy).getMockCreationSettings().getDefaultAnswer().answer(invocation);
+    }
+
+    private double conflicts(String operation) {
+        var counter = meterRegistry.find("store.optimistic.lock.conflicts").tag("operation", operation).counter();
+        return counter == null ? 0.0 : counter.count();
+    }
+
+    private static RegisterRequestDto registerRequest(String role) {
+        int id = EMAIL_SEQUENCE.incrementAndGet();
+        return RegisterRequestDto.builder()
+                .firstName("Lock")
+                .lastName(role + id)
+                .email(role + id + "@locking.test")
+                .password("password123")
+                .phoneNumber("1234567890")
+                .dateOfBirth("1990-01-01")
+                .build();
+    }
+
+    private static CreateProductRequestDto productRequest(String name, double price, int stock) {
+        return CreateProductRequestDto.builder()
+                .name(name)
+                .description(name + " description")
+                .price(price)
+                .initialStock(stock)
+                .build();
+    }
+
+    private static AddToCartRequestDto addRequest(Long productStockId, int quantity) {
+        return AddToCartRequestDto.builder().productStockId(productStockId).quantity(quantity).build();
+    }
+}
@@ -0,0 +1,299 @@
+package com.dietergandalf.store_manager.integration;
+
+import com.dietergandalf.store_manager.config.TestConfig;
+import com.dietergandalf.store_manager.dto.AddToCartRequestDto;
+import com.dietergandalf.store_manager.dto.CheckoutRequestDto;
+import com.dietergandalf.store_manager.dto.CreateProductRequestDto;
+import com.dietergandalf.store_manager.dto.OrderDto;
+import com.dietergandalf.store_manager.dto.OrderEventDto;
+import com.dietergandalf.store_manager.dto.RegisterRequestDto;
+import com.dietergandalf.store_manager.model.OrderEventType;
+import com.dietergandalf.store_manager.model.OrderStatus;
+import com.dietergandalf.store_manager.model.OutboxEvent;
+import com.dietergandalf.store_manager.outbox.OutboxRelay;
+import com.dietergandalf.store_manager.outbox.OutboxSink;
+import com.dietergandalf.store_manager.repository.OutboxEventRepository;
+import com.dietergandalf.store_manager.service.CustomerService;
+import com.dietergandalf.store_manager.service.OrderService;
+import com.dietergandalf.store_manager.service.SellerService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityFilterAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.servlet.UserDetailsServiceAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.oauth2.client.servlet.OAuth2ClientWebSecurityAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.oauth2.client.OAuth2ClientAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.oauth2.resource.servlet.OAuth2ResourceServerAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.saml2.Saml2RelyingPartyAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.event.EventListener;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Order changes write outbox events in their own transaction; the relay then hands them to every sink.
+ */
+@SpringBootTest
+@EnableAutoConfiguration(exclude = {
+    SecurityAutoConfiguration.class,
+    SecurityFilterAutoConfiguration.class,
+    UserDetailsServiceAutoConfiguration.class,
+    OAuth2ClientWebSecurityAutoConfiguration.class,
+    OAuth2ClientAutoConfiguration.class,
+    OAuth2ResourceServerAutoConfiguration.class,
+    Saml2RelyingPartyAutoConfiguration.class
+})
+@ActiveProfiles("test")
+@Import({TestConfig.class, OrderOutboxIntegrationTest.OutboxTestConfig.class})
+public class OrderOutboxIntegrationTest {
+
+    private static final AtomicInteger EMAIL_SEQUENCE = new AtomicInteger();
+
+    @TempDir
+    static Path eventDirectory;
+
+    @DynamicPropertySource
+    static void outboxProperties(DynamicPropertyRegistry registry) {
+        registry.add("store.outbox.sinks.file.path", () -> eventDirectory.resolve("order-events.ndjson").toString());
+        // Retry failed batches on the next run, and give up quickly
+        registry.add("store.outbox.relay.initial-backoff", () -> "PT0S");
+        registry.add("store.outbox.relay.max-attempts", () -> "3");
+    }
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private SellerService sellerService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private OutboxTestConfig outboxTestConfig;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @AfterEach
+    void drainOutbox() {
+        outboxTestConfig.failing.set(false);
+        outboxRelay.relay();
+        outboxTestConfig.received.clear();
+    }
+
+    @Test
+    void checkoutAndStatusChange_ShouldRecordEventsAndRelayThemToEverySink() throws Exception {
+        // Given: the order is placed, paid asynchronously, then shipped (the repeated update is a no-op)
+        OrderDto order = placeOrder();
+        orderService.updateOrderStatus(order.getOrderId(), OrderStatus.SHIPPED);
+        orderService.updateOrderStatus(order.getOrderId(), OrderStatus.SHIPPED);
+
+        List<OutboxEvent> recorded = outboxEventRepository.findByOrderIdOrderByOutboxEventId(order.getOrderId());
+        assertEquals(List.of(OrderEventType.ORDER_PLACED, OrderEventType.ORDER_STATUS_CHANGED, OrderEventType.ORDER_STATUS_CHANGED),
+                recorded.stream().map(OutboxEvent::getEventType).toList());
+        assertTrue(recorded.stream().allMatch(event -> event.getPublishedAt() == null));
+
+        // When
+        outboxRelay.relay();
+
+        // Then
+        List<OrderEventDto> delivered = eventsFor(order.getOrderId(), outboxTestConfig.received);
+        assertEquals(3, delivered.size());
+        assertEquals(OrderEventType.ORDER_PLACED, delivered.get(0).getType());
+        assertEquals(OrderStatus.PENDING, delivered.get(0).getStatus());
+        assertEquals(order.getCustomerId(), delivered.get(0).getCustomerId());
+        assertEquals(OrderStatus.PENDING, delivered.get(1).getPreviousStatus());
+        assertEquals(OrderStatus.CONFIRMED, delivered.get(1).getStatus());
+        assertEquals("CONFIRMED", delivered.get(1).getPaymentStatus());
+        assertEquals(OrderEventType.ORDER_STATUS_CHANGED, delivered.get(2).getType());
+        assertEquals(OrderStatus.CONFIRMED, delivered.get(2).getPreviousStatus());
+        assertEquals(OrderStatus.SHIPPED, delivered.get(2).getStatus());
+        assertEquals(recorded.get(2).getOutboxEventId(), delivered.get(2).getEventId());
+
+        List<OrderEventDto> written = Files.readAllLines(eventDirectory.resolve("order-events.ndjson")).stream()
+                .map(this::readEvent)
+                .toList();
+        assertEquals(delivered, eventsFor(order.getOrderId(), written));
+        assertTrue(outboxEventRepository.findByOrderIdOrderByOutboxEventId(order.getOrderId()).stream()
+                .allMatch(event -> event.getPublishedAt() != null));
+        // Sinks are called between the claim and the bookkeeping transactions, not inside either
+        assertFalse(outboxTestConfig.publishedInTransaction.get());
+    }
+
+    @Test
+    void relayBatch_WhenASinkFails_ShouldKeepBatchPendingAndRecordTheAttempt() {
+        // Given
+        OrderDto order = placeOrder();
+        outboxTestConfig.failing.set(true);
+
+        // When
+        int published = outboxRelay.relayBatch();
+
+        // Then
+        assertEquals(0, published);
+        OutboxEvent pending = outboxEventRepository.findByOrderIdOrderByOutboxEventId(order.getOrderId()).get(0);
+        assertNull(pending.getPublishedAt());
+        assertEquals(1, pending.getAttempts());
+        assertEquals("flaky: java.lang.IllegalStateException: sink unavailable", pending.getLastError());
+        assertNull(pending.getParkedAt());
+        assertNotNull(pending.getNextAttemptAt());
+
+        // The next run delivers the same event again once the sink recovers
+        outboxTestConfig.failing.set(false);
+        outboxRelay.relay();
+        OutboxEvent redelivered = outboxEventRepository.findById(pending.getOutboxEventId()).orElseThrow();
+        assertNotNull(redelivered.getPublishedAt());
+        assertEquals(2, redelivered.getAttempts());
+        assertNull(redelivered.getLastError());
+        assertNull(redelivered.getNextAttemptAt());
+        // The other sinks took the failed batch as well and see it again, always under the same event ids
+        assertEquals(outboxEventRepository.findByOrderIdOrderByOutboxEventId(order.getOrderId()).stream()
+                        .map(OutboxEvent::getOutboxEventId).toList(),
+                eventsFor(order.getOrderId(), outboxTestConfig.received).stream()
+                        .map(OrderEventDto::getEventId).distinct().toList());
+    }
+
+    @Test
+    void relayBatch_WhenASinkKeepsFailing_ShouldParkTheEventsAfterMaxAttempts() {
+        // Given
+        OrderDto order = placeOrder();
+        outboxTestConfig.failing.set(true);
+
+        // When
+        for (int attempt = 0; attempt < 3; attempt++) {
+            assertEquals(0, outboxRelay.relayBatch());
+        }
+        outboxTestConfig.failing.set(false);
+        outboxTestConfig.received.clear();
+        outboxRelay.relay();
+
+        // Then: parked events are kept with their last error and no longer relayed
+        List<OutboxEvent> parked = outboxEventRepository.findByOrderIdOrderByOutboxEventId(order.getOrderId());
+        assertFalse(parked.isEmpty());
+        for (OutboxEvent event : parked) {
+            assertNotNull(event.getParkedAt());
+            assertNull(event.getPublishedAt());
+            assertEquals(3, event.getAttempts());
+            assertEquals("flaky: java.lang.IllegalStateException: sink unavailable", event.getLastError());
+        }
+        assertTrue(eventsFor(order.getOrderId(), outboxTestConfig.received).isEmpty());
+    }
+
+    @Test
+    void relay_WhenAPayloadIsUnreadable_ShouldParkItAndPublishTheRestOfTheBatch() {
+        // Given
+        OutboxEvent unreadable = outboxEventRepository.save(new OutboxEvent(null, OrderEventType.ORDER_PLACED, -1L,
+                "not json", LocalDateTime.now(), null, 0, null, null, null));
+        OrderDto order = placeOrder();
+
+        // When
+        outboxRelay.relay();
+
+        // Then
+        OutboxEvent parked = outboxEventRepository.findById(unreadable.getOutboxEventId()).orElseThrow();
+        assertNotNull(parked.getParkedAt());
+        assertEquals(1, parked.getAttempts());
+        assertTrue(parked.getLastError().startsWith("unreadable payload: "));
+        assertEquals(outboxEventRepository.findByOrderIdOrderByOutboxEventId(order.getOrderId()).stream()
+                        .map(OutboxEvent::getOutboxEventId).toList(),
+                eventsFor(order.getOrderId(), outboxTestConfig.received).stream().map(OrderEventDto::getEventId).toList());
+    }
+
+    private OrderDto placeOrder() {
+        Long sellerId = sellerService.createSeller(registerRequest("seller")).getPersonId();
+        Long productStockId = sellerService.addProduct(sellerId, CreateProductRequestDto.builder()
+                .name("Kettle").description("Kettle description").price(30.0).initialStock(10).build())
+                .getProductStockId();
+        Long customerId = customerService.createCustomer(registerRequest("customer")).getPersonId();
+        customerService.addToCart(customerId, AddToCartRequestDto.builder().productStockId(productStockId).quantity(2).build());
+        OrderDto order = orderService.checkout(customerId, CheckoutRequestDto.builder()
+                .shippingAddress("1 Outbox Way").billingAddress("1 Outbox Way").paymentMethod("CREDIT_CARD").build());
+        await().atMost(Duration.ofSeconds(10))
+                .until(() -> orderService.getOrderById(order.getOrderId()).getStatus() == OrderStatus.CONFIRMED);
+        return order;
+    }
+
+    private OrderEventDto readEvent(String line) {
+        try {
+            return objectMapper.readValue(line, OrderEventDto.class);
+        } catch (Exception e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private static List<OrderEventDto> eventsFor(Long orderId, List<OrderEventDto> events) {
+        return events.stream().filter(event -> orderId.equals(event.getOrderId())).toList();
+    }
+
+    private static RegisterRequestDto registerRequest(String role) {
+        int id = EMAIL_SEQUENCE.incrementAndGet();
+        return RegisterRequestDto.builder()
+                .firstName("Outbox")
+                .lastName(role + id)
+                .email(role + id + "@outbox.test")
+                .password("password123")
+                .phoneNumber("1234567890")
+                .dateOfBirth("1990-01-01")
+                .build();
+    }
+
+    @TestConfiguration
+    static class OutboxTestConfig {
+        final List<OrderEventDto> received = new CopyOnWriteArrayList<>();
+        final AtomicBoolean failing = new AtomicBoolean();
+        final AtomicBoolean publishedInTransaction = new AtomicBoolean();
+
+        @EventListener
+        void onOrderEvent(OrderEventDto event) {
+            received.add(event);
+        }
+
+        @Bean
+        OutboxSink flakyOutboxSink() {
+            return new OutboxSink() {
+                @Override
+                public String name() {
+                    return "flaky";
+                }
+
+                @Override
+                public void publish(List<OrderEventDto> events) {
+                    if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                        publishedInTransaction.set(true);
+                    }
+                    if (failing.get()) {
+                        throw new IllegalStateException("sink unavailable");
+                    }
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.dietergandalf.store_manager.integration;
+
+import com.dietergandalf.store_manager.config.TestConfig;
+import com.dietergandalf.store_manager.dto.RegisterRequestDto;
+import com.dietergandalf.store_manager.search.ProductSearchIndex;
+import com.dietergandalf.store_manager.service.SellerService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityFilterAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.servlet.UserDetailsServiceAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.oauth2.client.servlet.OAuth2ClientWebSecurityAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.oauth2.client.OAuth2ClientAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.oauth2.resource.servlet.OAuth2ResourceServerAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.saml2.Saml2RelyingPartyAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Imports run in chunks of two rows here, so the tests cover rows spread over several chunk transactions.
+ */
+@SpringBootTest(properties = "store.product-import.chunk-size=2")
+@EnableAutoConfiguration(exclude = {
+    SecurityAutoConfiguration.class,
+    SecurityFilterAutoConfiguration.class,
+    UserDetailsServiceAutoConfiguration.class,
+    OAuth2ClientWebSecurityAutoConfiguration.class,
+    OAuth2ClientAutoConfiguration.class,
+    OAuth2ResourceServerAutoConfiguration.class,
+    Saml2RelyingPartyAutoConfiguration.class
+})
+@AutoConfigureMockMvc(addFilters = false)
+@ActiveProfiles("test")
+@Import(TestConfig.class)
+public class ProductImportIntegrationTest {
+
+    private static final AtomicInteger EMAIL_SEQUENCE = new AtomicInteger();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SellerService sellerService;
+
+    @MockitoSpyBean
+    private ProductSearchIndex productSearchIndex;
+
+    @Test
+    void importProducts_FromCsv_ShouldInsertValidRowsAndReportInvalidOnes() throws Exception {
+        // Given
+        Long sellerId = createSeller();
+        String csv = "name,description,price,initialStock\n"
+                + "Import Lamp,Desk lamp,12.5,3\n"
+                + "Import Bulb,,2,10\n"
+                + ",Nameless,1,1\n"
+                + "Import Vase,Blue vase,30,1\n"
+                + "Import Rug,Wool rug,cheap,1\n"
+                + "Import Clock,Wall clock,15,0\n";
+
+        // When & Then
+        mockMvc.perform(post("/api/sellers/{sellerId}/products/import", sellerId)
+                .contentType("text/csv")
+                .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalRows").value(6))
+                .andExpect(jsonPath("$.importedRows").value(4))
+                .andExpect(jsonPath("$.failedRows").value(2))
+                .andExpect(jsonPath("$.errors[0].line").value(4))
+                .andExpect(jsonPath("$.errors[1].line").value(6))
+                .andExpect(jsonPath("$.errorsTruncated").value(false));
+
+        assertEquals(4, sellerService.getSellerProducts(sellerId).size());
+        assertFalse(productSearchIndex.search("import vase").isEmpty());
+    }
+
+    @Test
+    void importProducts_FromNdjson_ShouldInsertEveryRow() throws Exception {
+        // Given
+        Long sellerId = createSeller();
+        String ndjson = "{\"name\":\"Ndjson Lamp\",\"price\":12.5,\"initialStock\":3}\n"
+                + "{\"name\":\"Ndjson Bulb\",\"description\":\"LED\",\"price\":2}\n"
+                + "{\"name\":\"Ndjson Vase\",\"price\":30,\"initialStock\":1}\n";
+
+        // When & Then
+        mockMvc.perform(post("/api/sellers/{sellerId}/products/import", sellerId)
+                .contentType("application/x-ndjson")
+                .content(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.importedRows").value(3))
+                .andExpect(jsonPath("$.failedRows").value(0));
+
+        assertEquals(3, sellerService.getSellerProducts(sellerId).size());
+    }
+
+    @Test
+    void importProducts_WhenAChunkFailsUnexpectedly_ShouldReturnTheReportSoFar() throws Exception {
+        // Given: indexing the third row fails, inside the second chunk
+        Long sellerId = createSeller();
+        doThrow(new IllegalStateException("search index unavailable"))
+                .when(productSearchIndex).index(anyLong(), eq("Stopping Lamp"), any());
+        String ndjson = "{\"name\":\"Stopping Bulb\",\"price\":2}\n"
+                + "{\"name\":\"Stopping Vase\",\"price\":30}\n"
+                + "{\"name\":\"Stopping Lamp\",\"price\":12.5}\n"
+                + "{\"name\":\"Stopping Rug\",\"price\":40}\n"
+                + "{\"name\":\"Stopping Clock\",\"price\":15}\n";
+
+        // When & Then
+        mockMvc.perform(post("/api/sellers/{sellerId}/products/import", sellerId)
+                .contentType("application/x-ndjson")
+                .content(ndjson))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.totalRows").value(4))
+                .andExpect(jsonPath("$.importedRows").value(2))
+                .andExpect(jsonPath("$.failedRows").value(2))
+                .andExpect(jsonPath("$.errors[0].line").value(3))
+                .andExpect(jsonPath("$.errors[1].line").value(4))
+                .andExpect(jsonPath("$.abortedAt.line").value(4))
+                .andExpect(jsonPath("$.abortedAt.message").value("Import stopped: search index unavailable"));
+
+        assertEquals(2, sellerService.getSellerProducts(sellerId).size());
+    }
+
+    @Test
+    void importProducts_WithUnknownCsvColumn_ShouldReturnBadRequest() throws Exception {
+        // Given
+        Long sellerId = createSeller();
+
+        // When & Then
+        mockMvc.perform(post("/api/sellers/{sellerId}/products/import", sellerId)
+                .contentType("text/csv")
+                .content("name,price,colour\nLamp,1,red\n"))
+                .andExpect(status().isBadRequest());
+
+        assertTrue(sellerService.getSellerProducts(sellerId).isEmpty());
+    }
+
+    @Test
+    void importProducts_ForUnknownSeller_ShouldReturnBadRequest() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/api/sellers/{sellerId}/products/import", 999_999L)
+                .contentType("text/csv")
+                .content("name,price\nLamp,1\n"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private Long createSeller() {
+        int id = EMAIL_SEQUENCE.incrementAndGet();
+        return sellerService.createSeller(RegisterRequestDto.builder()
+                .firstName("Import")
+                .lastName("Seller" + id)
+                .email("seller" + id + "@import.test")
+                .password("password123")
+                .phoneNumber("1234567890")
+                .dateOfBirth("1990-01-01")
+                .build()).getPersonId();
+    }
+}
@@ -0,0 +1,200 @@
+package com.dietergandalf.store_manager.integration;
+
+import com.dietergandalf.store_manager.config.SecondLevelCacheConfig;
+import com.dietergandalf.store_manager.config.TestConfig;
+import com.dietergandalf.store_manager.dto.CreateProductRequestDto;
+import com.dietergandalf.store_manager.dto.ProductStockDto;
+import com.dietergandalf.store_manager.dto.RegisterRequestDto;
+import com.dietergandalf.store_manager.dto.UpdateProfileRequestDto;
+import com.dietergandalf.store_manager.model.ProductStock;
+import com.dietergandalf.store_manager.model.Stand;
+import com.dietergandalf.store_manager.repository.ProductRepository;
+import com.dietergandalf.store_manager.repository.SellerRepository;
+import com.dietergandalf.store_manager.service.SellerService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityFilterAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.servlet.UserDetailsServiceAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.oauth2.client.servlet.OAuth2ClientWebSecurityAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.oauth2.client.OAuth2ClientAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.oauth2.resource.servlet.OAuth2ResourceServerAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.saml2.Saml2RelyingPartyAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs with the second-level cache switched on and checks that repeated reads of reference data skip the
+ * database while seller writes are visible on the next read. Service writes run inside a transaction, as they
+ * do inside a web request, so the mappers can read lazy collections.
+ */
+@SpringBootTest(properties = "store.second-level-cache.enabled=true")
+@EnableAutoConfiguration(exclude = {
+    SecurityAutoConfiguration.class,
+    SecurityFilterAutoConfiguration.class,
+    UserDetailsServiceAutoConfiguration.class,
+    OAuth2ClientWebSecurityAutoConfiguration.class,
+    OAuth2ClientAutoConfiguration.class,
+    OAuth2ResourceServerAutoConfiguration.class,
+    Saml2RelyingPartyAutoConfiguration.class
+})
+@ActiveProfiles("test")
+@Import(TestConfig.class)
+public class SecondLevelCacheIntegrationTest {
+
+    private static final AtomicInteger EMAIL_SEQUENCE = new AtomicInteger();
+
+    @Autowired
+    private SellerService sellerService;
+
+    @Autowired
+    private SellerRepository sellerRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Statistics statistics;
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Test
+    void findSeller_WhenReadAgain_ShouldBeServedFromCache() {
+        // Given
+        Long sellerId = sellerService.createSeller(registerRequest()).getPersonId();
+        sellerRepository.findById(sellerId);
+        statistics.clear();
+
+        // When
+        assertTrue(sellerRepository.findById(sellerId).isPresent());
+
+        // Then
+        assertEquals(1, statistics.getSecondLevelCacheHitCount());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findSellerStand_WhenReadAgain_ShouldBeServedFromCache() {
+        // Given
+        Long sellerId = sellerService.createSeller(registerRequest()).getPersonId();
+        transactionTemplate.execute(status -> sellerRepository.findById(sellerId).orElseThrow().getStand());
+        statistics.clear();
+
+        // When
+        Stand stand = transactionTemplate.execute(status -> sellerRepository.findById(sellerId).orElseThrow().getStand());
+
+        // Then
+        assertNull(stand);
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void updateSeller_ShouldReplaceCachedSeller() {
+        // Given
+        Long sellerId = sellerService.createSeller(registerRequest()).getPersonId();
+        sellerRepository.findById(sellerId);
+
+        // When
+        transactionTemplate.executeWithoutResult(status -> sellerService.updateSeller(sellerId,
+                UpdateProfileRequestDto.builder().lastName("Renamed").build()));
+
+        // Then
+        statistics.clear();
+        assertEquals("Renamed", sellerRepository.findById(sellerId).orElseThrow().getLast_name());
+        assertEquals(1, statistics.getSecondLevelCacheHitCount());
+    }
+
+    @Test
+    void updateProductPrice_ShouldReplaceCachedProduct() {
+        // Given
+        Long sellerId = sellerService.createSeller(registerRequest()).getPersonId();
+        ProductStockDto productStock = sellerService.addProduct(sellerId, productRequest("Cached Lamp"));
+        Long productId = productStock.getProduct().getProductId();
+        productRepository.findById(productId);
+
+        // When
+        transactionTemplate.executeWithoutResult(status ->
+                sellerService.updateProductPrice(sellerId, productStock.getProductStockId(), 12.5));
+
+        // Then
+        assertEquals(12.5, productRepository.findById(productId).orElseThrow().getPrice());
+    }
+
+    @Test
+    void addProduct_ShouldShowUpInSellerProducts() {
+        // Given
+        Long sellerId = sellerService.createSeller(registerRequest()).getPersonId();
+        sellerService.addProduct(sellerId, productRequest("First Vase"));
+        assertEquals(1, productStockIdsOf(sellerId).size());
+
+        // When
+        sellerService.addProduct(sellerId, productRequest("Second Vase"));
+
+        // Then
+        assertEquals(2, productStockIdsOf(sellerId).size());
+    }
+
+    @Test
+    void regions_ShouldExportCacheMetrics() {
+        // When & Then
+        for (String region : List.of(SecondLevelCacheConfig.PRODUCT_REGION, SecondLevelCacheConfig.PERSON_REGION)) {
+            assertNotNull(meterRegistry.find("cache.evictions").tag("cache", region).meter(), region);
+            assertNotNull(meterRegistry.find("hibernate.second.level.cache.requests").tag("region", region).meter(), region);
+        }
+    }
+
+    private List<Long> productStockIdsOf(Long sellerId) {
+        return transactionTemplate.execute(status -> sellerRepository.findById(sellerId).orElseThrow()
+                .getProducts().stream()
+                .map(ProductStock::getProduct_stock_id)
+                .toList());
+    }
+
+    private static RegisterRequestDto registerRequest() {
+        int id = EMAIL_SEQUENCE.incrementAndGet();
+        return RegisterRequestDto.builder()
+                .firstName("Cache")
+                .lastName("Seller" + id)
+                .email("seller" + id + "@cache.test")
+                .password("password123")
+                .phoneNumber("1234567890")
+                .dateOfBirth("1990-01-01")
+                .build();
+    }
+
+    private static CreateProductRequestDto productRequest(String name) {
+        return CreateProductRequestDto.builder()
+                .name(name)
+                .description(name + " description")
+                .price(10.0)
+                .initialStock(5)
+                .build();
+    }
+}
@@ -0,0 +1,207 @@
+package com.dietergandalf.store_manager.integration;
+
+import com.dietergandalf.store_manager.analytics.TrendingProducts;
+import com.dietergandalf.store_manager.config.TestConfig;
+import com.dietergandalf.store_manager.dto.AddToCartRequestDto;
+import com.dietergandalf.store_manager.dto.CheckoutRequestDto;
+import com.dietergandalf.store_manager.dto.CreateProductRequestDto;
+import com.dietergandalf.store_manager.dto.OrderDto;
+import com.dietergandalf.store_manager.dto.ProductStockDto;
+import com.dietergandalf.store_manager.dto.RegisterRequestDto;
+import com.dietergandalf.store_manager.dto.SalesGranularity;
+import com.dietergandalf.store_manager.dto.SellerSalesReportDto;
+import com.dietergandalf.store_manager.model.OrderStatus;
+import com.dietergandalf.store_manager.payment.PaymentGateway;
+import com.dietergandalf.store_manager.service.CustomerService;
+import com.dietergandalf.store_manager.service.OrderService;
+import com.dietergandalf.store_manager.service.SellerSalesService;
+import com.dietergandalf.store_manager.service.SellerService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityFilterAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.servlet.UserDetailsServiceAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.oauth2.client.servlet.OAuth2ClientWebSecurityAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.oauth2.client.OAuth2ClientAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.oauth2.resource.servlet.OAuth2ResourceServerAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.saml2.Saml2RelyingPartyAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Checkout and order status changes keep the seller sales rollups current.
+ */
+@SpringBootTest
+@EnableAutoConfiguration(exclude = {
+    SecurityAutoConfiguration.class,
+    SecurityFilterAutoConfiguration.class,
+    UserDetailsServiceAutoConfiguration.class,
+    OAuth2ClientWebSecurityAutoConfiguration.class,
+    OAuth2ClientAutoConfiguration.class,
+    OAuth2ResourceServerAutoConfiguration.class,
+    Saml2RelyingPartyAutoConfiguration.class
+})
+@ActiveProfiles("test")
+@Import(TestConfig.class)
+public class SellerSalesIntegrationTest {
+
+    private static final AtomicInteger EMAIL_SEQUENCE = new AtomicInteger();
+    private static final Duration SETTLE_TIMEOUT = Duration.ofSeconds(10);
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private SellerService sellerService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private SellerSalesService sellerSalesService;
+
+    @Autowired
+    private TrendingProducts trendingProducts;
+
+    @MockitoBean
+    private PaymentGateway paymentGateway;
+
+    private Long sellerId;
+
+    @BeforeEach
+    void setUp() {
+        when(paymentGateway.authorize(anyLong(), anyString(), anyDouble()))
+                .thenAnswer(invocation -> "ref-" + invocation.getArgument(0));
+        when(paymentGateway.verify(anyString())).thenReturn(true);
+        sellerId = sellerService.createSeller(registerRequest("seller")).getPersonId();
+    }
+
+    @Test
+    void checkout_ShouldAddOrderLinesToDailyAndHourlyRollups() {
+        // Given
+        Long teapotId = addProduct("Teapot", 25.0);
+        Long cupId = addProduct("Cup", 4.5);
+
+        // When
+        checkout(teapotId, 2);
+        checkout(teapotId, 1);
+        checkout(cupId, 4);
+
+        // Then
+        SellerSalesReportDto daily = sellerSalesService.getDailySales(sellerId, LocalDate.now(), LocalDate.now());
+        assertEquals(SalesGranularity.DAILY, daily.getGranularity());
+        assertEquals(93.0, daily.getTotalRevenue(), 0.0001);
+        assertEquals(7L, daily.getTotalUnitsSold());
+        assertEquals(1, daily.getBuckets().size());
+        assertEquals(LocalDate.now().atStartOfDay(), daily.getBuckets().get(0).getBucketStart());
+        assertEquals(2, daily.getProducts().size());
+        assertEquals("Teapot", daily.getProducts().get(0).getProductName());
+        assertEquals(75.0, daily.getProducts().get(0).getRevenue(), 0.0001);
+        assertEquals(3L, daily.getProducts().get(0).getUnitsSold());
+
+        LocalDateTime now = LocalDateTime.now();
+        SellerSalesReportDto hourly = sellerSalesService.getHourlySales(sellerId, now.minusHours(1), now.plusHours(1));
+        assertEquals(93.0, hourly.getTotalRevenue(), 0.0001);
+        assertEquals(7L, hourly.getTotalUnitsSold());
+    }
+
+    @Test
+    void cancellingAnOrder_ShouldSubtractItFromTheRollups() {
+        // Given
+        Long teapotId = addProduct("Teapot", 25.0);
+        checkout(teapotId, 1);
+        OrderDto order = checkout(teapotId, 2);
+        await().atMost(SETTLE_TIMEOUT).until(() -> orderService.getOrderById(order.getOrderId()).getStatus() == OrderStatus.CONFIRMED);
+
+        // When
+        orderService.updateOrderStatus(order.getOrderId(), OrderStatus.CANCELLED);
+
+        // Then
+        SellerSalesReportDto daily = sellerSalesService.getDailySales(sellerId, LocalDate.now(), LocalDate.now());
+        assertEquals(25.0, daily.getTotalRevenue(), 0.0001);
+        assertEquals(1L, daily.getTotalUnitsSold());
+        assertEquals(1L, trendingUnits(teapotId));
+
+        // When
+        orderService.updateOrderStatus(order.getOrderId(), OrderStatus.CONFIRMED);
+
+        // Then
+        assertEquals(3L, sellerSalesService.getDailySales(sellerId, LocalDate.now(), LocalDate.now()).getTotalUnitsSold());
+        assertEquals(3L, trendingUnits(teapotId));
+    }
+
+    @Test
+    void declinedPayment_ShouldLeaveNoSalesBehind() {
+        // Given
+        when(paymentGateway.authorize(anyLong(), anyString(), anyDouble())).thenReturn(null);
+        Long teapotId = addProduct("Teapot", 25.0);
+
+        // When
+        OrderDto order = checkout(teapotId, 2);
+        await().atMost(SETTLE_TIMEOUT).until(() -> orderService.getOrderById(order.getOrderId()).getStatus() == OrderStatus.CANCELLED);
+
+        // Then
+        SellerSalesReportDto daily = sellerSalesService.getDailySales(sellerId, LocalDate.now(), LocalDate.now());
+        assertEquals(0L, daily.getTotalUnitsSold());
+        assertTrue(daily.getBuckets().isEmpty());
+        assertTrue(daily.getProducts().isEmpty());
+        assertEquals(0L, trendingUnits(teapotId));
+    }
+
+    @Test
+    void getSales_WithInvalidRange_ShouldThrow() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class,
+                () -> sellerSalesService.getDailySales(sellerId, LocalDate.now(), LocalDate.now().minusDays(1)));
+        assertThrows(IllegalArgumentException.class,
+                () -> sellerSalesService.getDailySales(sellerId, LocalDate.now().minusYears(4), LocalDate.now()));
+        assertThrows(IllegalArgumentException.class,
+                () -> sellerSalesService.getHourlySales(sellerId, LocalDateTime.now().minusDays(40), LocalDateTime.now()));
+    }
+
+    private long trendingUnits(Long productStockId) {
+        return trendingProducts.snapshot().stream()
+                .filter(count -> count.productStockId() == productStockId)
+                .mapToLong(TrendingProducts.SliceCount::units)
+                .sum();
+    }
+
+    private Long addProduct(String name, double price) {
+        ProductStockDto productStock = sellerService.addProduct(sellerId, CreateProductRequestDto.builder()
+                .name(name).description(name + " description").price(price).initialStock(100).build());
+        return productStock.getProductStockId();
+    }
+
+    private OrderDto checkout(Long productStockId, int quantity) {
+        Long customerId = customerService.createCustomer(registerRequest("customer")).getPersonId();
+        customerService.addToCart(customerId, AddToCartRequestDto.builder().productStockId(productStockId).quantity(quantity).build());
+        return orderService.checkout(customerId, CheckoutRequestDto.builder()
+                .shippingAddress("3 Rollup Road").billingAddress("3 Rollup Road").paymentMethod("credit_card").build());
+    }
+
+    private static RegisterRequestDto registerRequest(String role) {
+        int id = EMAIL_SEQUENCE.incrementAndGet();
+        return RegisterRequestDto.builder()
+                .firstName("Sales")
+                .lastName(role + id)
+                .email(role + id + "@sales.test")
+                .password("password123")
+                .phoneNumber("1234567890")
+                .dateOfBirth("1990-01-01")
+                .build();
+    }
+}
@@ -0,0 +1,141 @@
+package com.dietergandalf.store_manager.integration;
+
+import com.dietergandalf.store_manager.config.TestConfig;
+import com.dietergandalf.store_manager.dto.CatalogPageDto;
+import com.dietergandalf.store_manager.dto.CreateProductRequestDto;
+import com.dietergandalf.store_manager.dto.RegisterRequestDto;
+import com.dietergandalf.store_manager.service.SellerService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityFilterAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.servlet.UserDetailsServiceAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.oauth2.client.servlet.OAuth2ClientWebSecurityAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.oauth2.client.OAuth2ClientAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.oauth2.resource.servlet.OAuth2ResourceServerAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.saml2.Saml2RelyingPartyAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * CBOR is served on request and JSON stays the default; large responses are gzipped by the embedded server.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@EnableAutoConfiguration(exclude = {
+    SecurityAutoConfiguration.class,
+    SecurityFilterAutoConfiguration.class,
+    UserDetailsServiceAutoConfiguration.class,
+    OAuth2ClientWebSecurityAutoConfiguration.class,
+    OAuth2ClientAutoConfiguration.class,
+    OAuth2ResourceServerAutoConfiguration.class,
+    Saml2RelyingPartyAutoConfiguration.class
+})
+@AutoConfigureMockMvc(addFilters = false)
+@ActiveProfiles("test")
+@Import(TestConfig.class)
+public class WireFormatIntegrationTest {
+
+    private static final AtomicInteger EMAIL_SEQUENCE = new AtomicInteger();
+    private static final int PRODUCTS = 30;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SellerService sellerService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Long sellerId;
+
+    @BeforeEach
+    void setUp() {
+        sellerId = sellerService.createSeller(registerRequest()).getPersonId();
+        for (int i = 0; i < PRODUCTS; i++) {
+            sellerService.addProduct(sellerId, CreateProductRequestDto.builder()
+                    .name("Wire Product " + i).description("A product with a fairly long description, number " + i)
+                    .price(10.0 + i).initialStock(5).build());
+        }
+    }
+
+    @Test
+    void getAvailableProducts_AcceptingCbor_ShouldReturnSamePageAsJson() throws Exception {
+        // When
+        byte[] json = mockMvc.perform(get("/api/customers/products").param("sellerId", sellerId.toString()).param("size", "50"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/json"))
+                .andReturn().getResponse().getContentAsByteArray();
+        byte[] cbor = mockMvc.perform(get("/api/customers/products").param("sellerId", sellerId.toString()).param("size", "50")
+                        .accept("application/cbor"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/cbor"))
+                .andExpect(header().stringValues("Vary", hasItem("Accept")))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Then
+        CatalogPageDto fromJson = objectMapper.readValue(json, CatalogPageDto.class);
+        CatalogPageDto fromCbor = new ObjectMapper(new CBORFactory()).readValue(cbor, CatalogPageDto.class);
+        assertEquals(PRODUCTS, fromJson.getItems().size());
+        assertEquals(fromJson, fromCbor);
+        assertTrue(cbor.length < json.length);
+    }
+
+    @Test
+    void getAvailableProducts_AcceptingGzip_ShouldCompressLargePages() throws Exception {
+        // Given
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port
+                        + "/api/customers/products?size=50&sellerId=" + sellerId))
+                .header("Accept-Encoding", "gzip")
+                .build();
+
+        // When
+        HttpResponse<byte[]> response = HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofByteArray());
+
+        // Then
+        assertEquals(200, response.statusCode());
+        assertEquals("gzip", response.headers().firstValue("Content-Encoding").orElse(null));
+        assertTrue(response.headers().firstValue("ETag").orElseThrow().startsWith("W/"));
+        try (GZIPInputStream body = new GZIPInputStream(new ByteArrayInputStream(response.body()))) {
+            byte[] json = body.readAllBytes();
+            assertTrue(response.body().length < json.length);
+            assertEquals(PRODUCTS, objectMapper.readValue(json, CatalogPageDto.class).getItems().size());
+        }
+    }
+
+    private static RegisterRequestDto registerRequest() {
+        int id = EMAIL_SEQUENCE.incrementAndGet();
+        return RegisterRequestDto.builder()
+                .firstName("Wire")
+                .lastName("Seller" + id)
+                .email("wire.seller" + id + "@format.test")
+                .password("password123")
+                .phoneNumber("1234567890")
+                .dateOfBirth("1990-01-01")
+                .build();
+    }
+}
@@ -0,0 +1,137 @@
+package com.dietergandalf.store_manager.jdbc;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class StatementTimingDataSourceTest {
+
+    private record Executed(String sql, int bindCount, int batchSize, String serviceMethod) {}
+
+    private final List<Executed> executed = new ArrayList<>();
+    private StatementTimingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:timing-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        dataSource = new StatementTimingDataSource(h2, (sql, elapsedNanos, bindCount, batchSize) ->
+                executed.add(new Executed(sql, bindCount, batchSize, ServiceCallTracker.statementExecuted())));
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("create table item (id bigint primary key, name varchar(50))");
+        }
+        executed.clear();
+    }
+
+    @Test
+    void preparedStatement_ShouldReportSqlAndBindCount() throws SQLException {
+        // When
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("insert into item (id, name) values (?, ?)")) {
+            statement.setLong(1, 1L);
+            statement.setString(2, "lamp");
+            statement.setQueryTimeout(5);
+            statement.executeUpdate();
+        }
+
+        // Then
+        assertEquals(List.of(new Executed("insert into item (id, name) values (?, ?)", 2, 0, ServiceCallTracker.UNKNOWN_METHOD)),
+                executed);
+    }
+
+    @Test
+    void batch_ShouldReportBatchSize() throws SQLException {
+        // When
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("insert into item (id, name) values (?, ?)")) {
+            for (long id = 1; id <= 3; id++) {
+                statement.setLong(1, id);
+                statement.setString(2, "item" + id);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+
+        // Then
+        assertEquals(1, executed.size());
+        assertEquals(3, executed.get(0).batchSize());
+        assertEquals(6, executed.get(0).bindCount());
+    }
+
+    @Test
+    void plainStatement_ShouldReportSqlPassedToExecute() throws SQLException {
+        // When
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("select count(*) from item")) {
+            assertTrue(resultSet.next());
+        }
+
+        // Then
+        assertEquals("select count(*) from item", executed.get(0).sql());
+        assertEquals(0, executed.get(0).bindCount());
+    }
+
+    @Test
+    void unwrap_ShouldReachDriverObjects() throws SQLException {
+        // When & Then
+        assertSame(dataSource, dataSource.unwrap(StatementTimingDataSource.class));
+        assertNotNull(dataSource.unwrap(JdbcDataSource.class));
+        try (Connection connection = dataSource.getConnection()) {
+            assertTrue(connection.isWrapperFor(org.h2.jdbc.JdbcConnection.class));
+        }
+    }
+
+    @Test
+    void statementsInsideServiceCall_ShouldBeAttributedToOutermostMethod() throws Throwable {
+        // Given
+        MeterRegistry registry = new SimpleMeterRegistry();
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("meterRegistry", registry);
+        ObjectProvider<MeterRegistry> meterRegistry = beanFactory.getBeanProvider(MeterRegistry.class);
+        ServiceCallTracker tracker = new ServiceCallTracker(meterRegistry);
+
+        MethodInvocation invocation = mock(MethodInvocation.class);
+        when(invocation.getThis()).thenReturn(new Inventory());
+        when(invocation.getMethod()).thenReturn(Inventory.class.getMethod("restock"));
+        when(invocation.proceed()).thenAnswer(call -> {
+            try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+                statement.executeQuery("select 1").close();
+                statement.executeQuery("select 2").close();
+            }
+            return null;
+        });
+
+        // When
+        tracker.invoke(invocation);
+
+        // Then
+        assertTrue(executed.stream().allMatch(e -> e.serviceMethod().equals("Inventory.restock")));
+        assertEquals(2.0, registry.get("store.jdbc.statements.per.call").tag("method", "Inventory.restock")
+                .summary().totalAmount());
+        assertEquals(ServiceCallTracker.UNKNOWN_METHOD, ServiceCallTracker.statementExecuted());
+    }
+
+    public static class Inventory {
+        public void restock() {
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.dietergandalf.store_manager.outbox;
+
+import com.dietergandalf.store_manager.dto.OrderEventDto;
+import com.dietergandalf.store_manager.model.OrderEventType;
+import com.dietergandalf.store_manager.model.OrderStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestClient;
+
+import java.net.URI;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.*;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.*;
+
+class WebhookOutboxSinkTest {
+
+    private static final URI WEBHOOK_URL = URI.create("http://localhost:8090/order-events");
+
+    private MockRestServiceServer server;
+    private WebhookOutboxSink sink;
+
+    @BeforeEach
+    void setUp() {
+        RestClient.Builder builder = RestClient.builder();
+        server = MockRestServiceServer.bindTo(builder).build();
+        sink = new WebhookOutboxSink(builder.build(), WEBHOOK_URL);
+    }
+
+    @Test
+    void publish_ShouldPostBatchAsJsonArray() {
+        // Given
+        server.expect(requestTo(WEBHOOK_URL))
+                .andExpect(method(HttpMethod.POST))
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[0].eventId").value(7))
+                .andExpect(jsonPath("$[0].type").value("OrderStatusChanged"))
+                .andExpect(jsonPath("$[0].previousStatus").value("CONFIRMED"))
+                .andRespond(withNoContent());
+
+        // When
+        sink.publish(List.of(event()));
+
+        // Then
+        server.verify();
+    }
+
+    @Test
+    void publish_WhenReceiverFails_ShouldThrow() {
+        // Given
+        server.expect(requestTo(WEBHOOK_URL)).andRespond(withServerError());
+
+        // When & Then
+        assertThrows(HttpServerErrorException.class, () -> sink.publish(List.of(event())));
+    }
+
+    private static OrderEventDto event() {
+        return OrderEventDto.builder()
+                .eventId(7L)
+                .type(OrderEventType.ORDER_STATUS_CHANGED)
+                .orderId(3L)
+                .status(OrderStatus.SHIPPED)
+                .previousStatus(OrderStatus.CONFIRMED)
+                .build();
+    }
+}
@@ -0,0 +1,67 @@
+package com.dietergandalf.store_manager.payment;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FakePaymentGatewayTest {
+
+    @Test
+    void authorize_WithoutFailures_ShouldReturnVerifiableReference() {
+        // Given
+        FakePaymentGateway gateway = new FakePaymentGateway(Duration.ZERO, 0.0, 100);
+
+        // When
+        String reference = gateway.authorize(1L, "credit_card", 42.0);
+
+        // Then
+        assertNotNull(reference);
+        assertTrue(gateway.verify(reference));
+        assertEquals(reference, gateway.authorize(1L, "credit_card", 42.0));
+    }
+
+    @Test
+    void authorize_WithFailureRateOne_ShouldDecline() {
+        // Given
+        FakePaymentGateway gateway = new FakePaymentGateway(Duration.ZERO, 1.0, 100);
+
+        // When & Then
+        assertNull(gateway.authorize(1L, "paypal", 10.0));
+    }
+
+    @Test
+    void authorize_ShouldTakeConfiguredLatency() {
+        // Given
+        FakePaymentGateway gateway = new FakePaymentGateway(Duration.ofMillis(50), 0.0, 100);
+        long start = System.nanoTime();
+
+        // When
+        gateway.authorize(1L, "credit_card", 10.0);
+
+        // Then
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() >= 50);
+    }
+
+    @Test
+    void authorize_BeyondMaxAuthorizations_ShouldForgetTheLeastRecentOrder() {
+        // Given
+        FakePaymentGateway gateway = new FakePaymentGateway(Duration.ZERO, 0.0, 2);
+        String first = gateway.authorize(1L, "credit_card", 10.0);
+        String second = gateway.authorize(2L, "credit_card", 10.0);
+
+        // When
+        gateway.authorize(3L, "credit_card", 10.0);
+
+        // Then
+        assertEquals(second, gateway.authorize(2L, "credit_card", 10.0));
+        assertNotEquals(first, gateway.authorize(1L, "credit_card", 10.0));
+    }
+
+    @Test
+    void constructor_WithInvalidFailureRate_ShouldThrow() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> new FakePaymentGateway(Duration.ZERO, 1.5, 100));
+    }
+}
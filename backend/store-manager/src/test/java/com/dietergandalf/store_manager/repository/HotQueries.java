@@ -0,0 +1,64 @@
+package com.dietergandalf.store_manager.repository;
+
+import java.util.List;
+
+/**
+ * The SQL the hot repository queries boil down to, with the index each one should be served by.
+ * Identifiers are quoted so the statements resolve the same way under PostgreSQL and the H2 test profile.
+ */
+final class HotQueries {
+
+    record HotQuery(String name, String sql, String expectedIndex) {
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    static final List<HotQuery> ALL = List.of(
+            new HotQuery("CartItemRepository.findByCart",
+                    "SELECT \"cart_item_id\", \"quantity\" FROM \"cart_item\" WHERE \"cart_id\" = 1",
+                    "idx_cart_item_cart_id"),
+            new HotQuery("cart lines referencing a removed product stock",
+                    "SELECT \"cart_item_id\" FROM \"cart_item\" WHERE \"product_stock_id\" = 1",
+                    "idx_cart_item_product_stock_id"),
+            new HotQuery("ProductStockRepository.findBySellerPersonId",
+                    "SELECT \"product_stock_id\", \"amount\" FROM \"product_stock\" WHERE \"seller_id\" = 1",
+                    "idx_product_stock_seller_id"),
+            new HotQuery("ProductStockRepository.findByAmountGreaterThan",
+                    "SELECT \"product_stock_id\" FROM \"product_stock\" WHERE \"amount\" > 0",
+                    "idx_product_stock_amount"),
+            new HotQuery("OrderRepository.findOrderHistoryPageIds",
+                    "SELECT \"order_id\" FROM \"customer_order\" WHERE \"customer_id\" = 1 "
+                            + "ORDER BY \"order_date\" DESC, \"order_id\" DESC LIMIT 20",
+                    "idx_customer_order_customer_id_order_date"),
+            new HotQuery("OrderRepository.findIdsByStatusPlacedBefore",
+                    "SELECT \"order_id\" FROM \"customer_order\" WHERE \"status\" = 'PENDING' "
+                            + "AND \"order_date\" < TIMESTAMP '2024-01-01 00:00:00' ORDER BY \"order_date\" LIMIT 100",
+                    "idx_customer_order_status"),
+            new HotQuery("CustomerRepository.findByEmail",
+                    "SELECT p.\"person_id\" FROM \"person\" p JOIN \"customer\" c ON c.\"person_id\" = p.\"person_id\" "
+                            + "WHERE p.\"email\" = 'peter@example.com'",
+                    "ux_person_email"),
+            new HotQuery("StandRepository.findOccupancySummaryByOwnerId",
+                    "SELECT COUNT(*), SUM(\"price\") FROM \"stand\" WHERE \"owner_id\" = 1",
+                    "idx_stand_owner_id_seller_id"),
+            new HotQuery("Seller.stand",
+                    "SELECT \"stand_id\" FROM \"stand\" WHERE \"seller_id\" = 1",
+                    "ux_stand_seller_id"),
+            new HotQuery("OutboxEventRepository.lockDueBatch",
+                    "SELECT \"outbox_event_id\" FROM \"outbox_event\" WHERE \"published_at\" IS NULL "
+                            + "AND \"parked_at\" IS NULL ORDER BY \"outbox_event_id\" LIMIT 100",
+                    "idx_outbox_event_pending"),
+            new HotQuery("OutboxEventRepository.deletePublishedBefore",
+                    "SELECT \"outbox_event_id\" FROM \"outbox_event\" "
+                            + "WHERE \"published_at\" < TIMESTAMP '2024-01-01 00:00:00'",
+                    "idx_outbox_event_published_at"),
+            new HotQuery("OutboxEventRepository.findByOrderIdOrderByOutboxEventId",
+                    "SELECT \"outbox_event_id\" FROM \"outbox_event\" WHERE \"order_id\" = 1 "
+                            + "ORDER BY \"outbox_event_id\"",
+                    "idx_outbox_event_order_id"));
+
+    private HotQueries() {
+    }
+}
@@ -0,0 +1,76 @@
+package com.dietergandalf.store_manager.repository;
+
+import com.dietergandalf.store_manager.repository.HotQueries.HotQuery;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.FieldSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the Flyway migrations against PostgreSQL, lets Hibernate validate the entities against the result and
+ * checks which index the planner picks for every hot repository query. Sequential scans are disabled for the
+ * check because the planner rightly prefers them on empty tables. Skipped when Docker is not available.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+public class MigrationQueryPlanTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void migrate_ShouldApplyEveryVersion() {
+        // When
+        List<String> versions = jdbcTemplate.queryForList(
+                "SELECT version FROM flyway_schema_history WHERE success ORDER BY installed_rank", String.class);
+
+        // Then
+        assertEquals(List.of("1", "2", "3", "4", "5", "6", "7", "8"), versions);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @FieldSource("com.dietergandalf.store_manager.repository.HotQueries#ALL")
+    void hotQuery_ShouldUseMigratedIndex(HotQuery query) {
+        // Given
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+
+        // When
+        String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + query.sql(), String.class));
+
+        // Then
+        assertTrue(plan.contains(query.expectedIndex()), () -> query.name() + " does not use " + query.expectedIndex() + ":\n" + plan);
+    }
+
+    @Test
+    void personEmail_ShouldBeUnique() {
+        // Given
+        jdbcTemplate.update("INSERT INTO person (person_id, email) VALUES (1, 'taken@example.com')");
+
+        // When & Then
+        assertThrows(RuntimeException.class,
+                () -> jdbcTemplate.update("INSERT INTO person (person_id, email) VALUES (2, 'taken@example.com')"));
+    }
+}
@@ -0,0 +1,101 @@
+package com.dietergandalf.store_manager.repository;
+
+import com.dietergandalf.store_manager.model.Product;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Starts from a database that ddl-auto=update created before the Flyway migrations existed, runs every
+ * migration over it and lets Hibernate validate the entities against the result. Skipped when Docker is not
+ * available.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+public class MigrationUpgradeTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withInitScript("db/pre-series-schema.sql");
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    void migrate_FromPreSeriesSchema_ShouldBaselineAtZeroAndApplyEveryVersion() {
+        // When
+        List<String> versions = jdbcTemplate.queryForList(
+                "SELECT version FROM flyway_schema_history WHERE success ORDER BY installed_rank", String.class);
+
+        // Then
+        assertEquals(List.of("0", "1", "2", "3", "4", "5", "6", "7", "8"), versions);
+    }
+
+    @Test
+    void migrate_FromPreSeriesSchema_ShouldKeepTheOldestAccountOnADuplicateEmail() {
+        // When
+        List<String> emails = jdbcTemplate.queryForList("SELECT email FROM person ORDER BY person_id", String.class);
+
+        // Then
+        assertEquals(List.of("shared@example.com", "shared@example.com#duplicate-2", "seller@example.com"), emails);
+    }
+
+    @Test
+    void migrate_FromPreSeriesSchema_ShouldKeepRowsAndFillNewColumns() {
+        // When
+        Map<String, Object> cart = jdbcTemplate.queryForMap(
+                "SELECT version, total_amount, total_items FROM shopping_cart WHERE cart_id = 1");
+        Long stockVersion = jdbcTemplate.queryForObject(
+                "SELECT version FROM product_stock WHERE product_stock_id = 1", Long.class);
+        Long unitsSold = jdbcTemplate.queryForObject(
+                "SELECT SUM(units_sold) FROM seller_sales_daily WHERE seller_id = 3", Long.class);
+
+        // Then
+        assertEquals(0L, ((Number) cart.get("version")).longValue());
+        assertNull(cart.get("total_amount"));
+        assertNull(cart.get("total_items"));
+        assertEquals(0L, stockVersion);
+        assertEquals(1L, unitsSold);
+    }
+
+    @Test
+    void migrate_FromPreSeriesSchema_ShouldStartSequencesAboveIdentityIds() {
+        // Given
+        Product product = new Product();
+        product.setName("New Lamp");
+        product.setPrice(25.0);
+
+        // When
+        long productId = productRepository.saveAndFlush(product).getProduct_id();
+        String identity = jdbcTemplate.queryForObject(
+                "SELECT is_identity FROM information_schema.columns WHERE table_name = 'person' AND column_name = 'person_id'",
+                String.class);
+
+        // Then
+        assertTrue(productId > 1);
+        assertEquals("NO", identity);
+    }
+}
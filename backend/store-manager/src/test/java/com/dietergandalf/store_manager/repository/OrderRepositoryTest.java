@@ -0,0 +1,182 @@
+package com.dietergandalf.store_manager.repository;
+
+import com.dietergandalf.store_manager.dto.OrderDto;
+import com.dietergandalf.store_manager.dto.OrderExportRowDto;
+import com.dietergandalf.store_manager.model.Customer;
+import com.dietergandalf.store_manager.model.Order;
+import com.dietergandalf.store_manager.model.OrderItem;
+import com.dietergandalf.store_manager.model.OrderStatus;
+import com.dietergandalf.store_manager.model.Product;
+import com.dietergandalf.store_manager.model.ProductStock;
+import com.dietergandalf.store_manager.model.Seller;
+import com.dietergandalf.store_manager.util.OrderItemMapper;
+import com.dietergandalf.store_manager.util.OrderMapper;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+public class OrderRepositoryTest {
+
+    private static final LocalDateTime FIRST_ORDER_DATE = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    private Customer customer;
+    private List<ProductStock> productStocks;
+
+    @BeforeEach
+    void setUp() {
+        Seller seller = new Seller();
+        seller.setFirst_name("Olivia");
+        seller.setLast_name("Stone");
+        seller.setEmail("olivia@example.com");
+        seller.setPassword("password123");
+        entityManager.persist(seller);
+
+        customer = new Customer();
+        customer.setFirst_name("Peter");
+        customer.setLast_name("Lane");
+        customer.setEmail("peter@example.com");
+        customer.setPassword("password123");
+        entityManager.persist(customer);
+
+        productStocks = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Product product = new Product();
+            product.setName("History Product " + i);
+            product.setDescription("Description " + i);
+            product.setPrice(10.0 + i);
+            entityManager.persist(product);
+
+            ProductStock productStock = new ProductStock();
+            productStock.setProduct(product);
+            productStock.setSeller(seller);
+            productStock.setAmount(100);
+            productStocks.add(entityManager.persist(productStock));
+        }
+        entityManager.flush();
+    }
+
+    @Test
+    void findOrderHistoryPageIds_ShouldWalkPagesNewestFirstAndBreakDateTiesById() {
+        // Given: five orders, the last two placed at the same instant
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            orders.add(createOrder(FIRST_ORDER_DATE.plusDays(Math.min(i, 3)), 1));
+        }
+        entityManager.clear();
+
+        // When
+        List<Long> firstPage = orderRepository.findOrderHistoryPageIds(customer.getPerson_id(), null, null, Limit.of(2));
+        Order lastOfFirstPage = orders.get(3);
+        List<Long> secondPage = orderRepository.findOrderHistoryPageIds(customer.getPerson_id(),
+                lastOfFirstPage.getOrderDate(), lastOfFirstPage.getOrderId(), Limit.of(10));
+
+        // Then
+        assertEquals(List.of(orders.get(4).getOrderId(), orders.get(3).getOrderId()), firstPage);
+        assertEquals(List.of(orders.get(2).getOrderId(), orders.get(1).getOrderId(), orders.get(0).getOrderId()), secondPage);
+    }
+
+    @Test
+    void findWithDetailsByOrderIdIn_ShouldMapWholePageWithSingleStatement() {
+        // Given
+        List<Long> orderIds = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            orderIds.add(createOrder(FIRST_ORDER_DATE.plusHours(i), 3).getOrderId());
+        }
+        entityManager.clear();
+
+        OrderMapper orderMapper = new OrderMapper();
+        ReflectionTestUtils.setField(orderMapper, "orderItemMapper", new OrderItemMapper());
+
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // When
+        List<OrderDto> page = orderMapper.toDtoList(orderRepository.findWithDetailsByOrderIdIn(orderIds));
+
+        // Then: customer, items, stocks and products come with the orders instead of one lazy load per row
+        assertEquals(10, page.size());
+        assertTrue(page.stream().allMatch(order -> order.getOrderItems().size() == 3));
+        assertEquals("Peter Lane", page.get(0).getCustomerName());
+        assertEquals("History Product 2", page.get(0).getOrderItems().stream()
+                .filter(item -> item.getProductStockId().equals(productStocks.get(2).getProduct_stock_id()))
+                .findFirst().orElseThrow().getProductName());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void streamExportRows_ShouldFlattenItemsAndApplyDateAndStatusFilters() {
+        // Given
+        createOrder(FIRST_ORDER_DATE.minusDays(1), 1);
+        Order first = createOrder(FIRST_ORDER_DATE, 2);
+        Order second = createOrder(FIRST_ORDER_DATE.plusHours(3), 1);
+        Order cancelled = createOrder(FIRST_ORDER_DATE.plusHours(4), 1);
+        cancelled.setStatus(OrderStatus.CANCELLED);
+        createOrder(FIRST_ORDER_DATE.plusDays(1), 1);
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        List<OrderExportRowDto> rows;
+        try (Stream<OrderExportRowDto> stream = orderRepository.streamExportRows(
+                FIRST_ORDER_DATE, FIRST_ORDER_DATE.plusDays(1), OrderStatus.CONFIRMED)) {
+            rows = stream.toList();
+        }
+        long unfiltered;
+        try (Stream<OrderExportRowDto> stream = orderRepository.streamExportRows(null, null, null)) {
+            unfiltered = stream.count();
+        }
+
+        // Then: one row per item, in order date order, with the upper bound exclusive
+        assertEquals(List.of(first.getOrderId(), first.getOrderId(), second.getOrderId()),
+                rows.stream().map(OrderExportRowDto::getOrderId).toList());
+        assertEquals("Peter Lane", rows.get(0).getCustomerName());
+        assertEquals("History Product 1", rows.get(1).getProductName());
+        assertEquals(11.0, rows.get(1).getPriceAtTimeOfOrder());
+        assertEquals(6, unfiltered);
+    }
+
+    private Order createOrder(LocalDateTime orderDate, int itemCount) {
+        Order order = new Order();
+        order.setCustomer(customer);
+        order.setOrderDate(orderDate);
+        order.setStatus(OrderStatus.CONFIRMED);
+        order.setPaymentMethod("CREDIT_CARD");
+        order.setPaymentStatus("CONFIRMED");
+        double total = 0.0;
+        for (int i = 0; i < itemCount; i++) {
+            ProductStock productStock = productStocks.get(i);
+            OrderItem orderItem = new OrderItem();
+            orderItem.setOrder(order);
+            orderItem.setProductStock(productStock);
+            orderItem.setQuantity(1);
+            orderItem.setPriceAtTimeOfOrder(productStock.getProduct().getPrice());
+            order.getOrderItems().add(orderItem);
+            total += orderItem.getPriceAtTimeOfOrder();
+        }
+        order.setTotalAmount(total);
+        return entityManager.persistFlushFind(order);
+    }
+}
@@ -0,0 +1,49 @@
+package com.dietergandalf.store_manager.repository;
+
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.jdbc.ReturningWork;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import jakarta.persistence.EntityManager;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class ProductStockRepositoryCustomImplTest {
+
+    @Test
+    void reserveStock_WhenDriverDoesNotReportUpdateCounts_ShouldRejectThoseLines() throws Exception {
+        // Given: the driver confirms the first line and answers the second with SUCCESS_NO_INFO
+        PreparedStatement statement = mock(PreparedStatement.class);
+        when(statement.executeBatch()).thenReturn(new int[] {1, Statement.SUCCESS_NO_INFO});
+        Connection connection = mock(Connection.class);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+
+        Session session = mock(Session.class);
+        when(session.doReturningWork(any())).thenAnswer(invocation ->
+                invocation.<ReturningWork<?>>getArgument(0).execute(connection));
+        EntityManager entityManager = mock(EntityManager.class);
+        when(entityManager.unwrap(Session.class)).thenReturn(session);
+        when(entityManager.unwrap(SharedSessionContractImplementor.class))
+                .thenReturn(mock(SharedSessionContractImplementor.class, RETURNS_DEEP_STUBS));
+
+        ProductStockRepositoryCustomImpl repository = new ProductStockRepositoryCustomImpl();
+        ReflectionTestUtils.setField(repository, "entityManager", entityManager);
+
+        // When
+        List<Long> rejected = repository.reserveStock(Map.of(1L, 2, 2L, 3));
+
+        // Then
+        assertEquals(List.of(2L), rejected);
+    }
+}
@@ -1,20 +1,30 @@
 package com.dietergandalf.store_manager.repository;
 
+import com.dietergandalf.store_manager.dto.ProductStockDto;
+import com.dietergandalf.store_manager.dto.ProductStockSummaryDto;
 import com.dietergandalf.store_manager.model.Product;
 import com.dietergandalf.store_manager.model.ProductStock;
 import com.dietergandalf.store_manager.model.Seller;
+import com.dietergandalf.store_manager.util.ProductMapper;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 
-@DataJpaTest
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 @ActiveProfiles("test")
 public class ProductStockRepositoryTest {
 
@@ -223,6 +233,220 @@ public class ProductStockRepositoryTest {
             stock.getProduct().getName().equals("Product Y")));
     }
 
+    @Test
+    void findStockSummariesBySellerPersonId_ShouldLoadListingWithSingleStatement() {
+        // Given
+        Seller seller = createTestSeller("Liam", "Young", "liam@example.com");
+        entityManager.persistAndFlush(seller);
+        for (int i = 0; i < 5; i++) {
+            Product product = createTestProduct("Summary Product " + i, "Description " + i, 10.0 + i);
+            entityManager.persistAndFlush(product);
+            entityManager.persistAndFlush(createTestProductStock(product, seller, i + 1));
+        }
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // When
+        List<ProductStockDto> listing = new ProductMapper().summariesToStockDtoList(
+                productStockRepository.findStockSummariesBySellerPersonId(seller.getPerson_id()));
+
+        // Then
+        assertEquals(5, listing.size());
+        assertEquals("Liam Young", listing.get(0).getSellerName());
+        assertEquals("Description 0", listing.get(0).getProduct().getDescription());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findBySellerPersonId_WhenMappedThroughEntities_ShouldFireLazyLoadsPerRow() {
+        // Given
+        Seller seller = createTestSeller("Mia", "King", "mia@example.com");
+        entityManager.persistAndFlush(seller);
+        for (int i = 0; i < 5; i++) {
+            Product product = createTestProduct("Entity Product " + i, "Description", 10.0 + i);
+            entityManager.persistAndFlush(product);
+            entityManager.persistAndFlush(createTestProductStock(product, seller, i + 1));
+        }
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // When
+        new ProductMapper().toStockDtoList(productStockRepository.findBySellerPersonId(seller.getPerson_id()));
+
+        // Then: one query for the stocks, one for the seller and one per product
+        assertEquals(7, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void saveAll_WithPooledSequenceIds_ShouldInsertInJdbcBatches() {
+        // Given
+        Seller seller = createTestSeller("Noah", "Hill", "noah@example.com");
+        Product product = createTestProduct("Batched Product", "Description", 5.0);
+        entityManager.persistAndFlush(seller);
+        entityManager.persistAndFlush(product);
+        List<ProductStock> stocks = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            stocks.add(createTestProductStock(product, seller, i + 1));
+        }
+
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // When
+        productStockRepository.saveAll(stocks);
+        entityManager.flush();
+
+        // Then: at most one sequence call for the whole block, then a single batched insert
+        assertEquals(50, statistics.getEntityInsertCount());
+        assertTrue(statistics.getPrepareStatementCount() <= 2,
+                "expected batched inserts but saw " + statistics.getPrepareStatementCount() + " statements");
+    }
+
+    @Test
+    void findAvailableCatalogPageByPrice_ShouldWalkPagesInPriceOrder() {
+        // Given
+        Seller seller = createTestSeller("Kate", "Moore", "kate@example.com");
+        Product cheap = createTestProduct("Cheap Lamp", "Description", 5.0);
+        Product middle = createTestProduct("Middle Lamp", "Description", 15.0);
+        Product pricey = createTestProduct("Pricey Lamp", "Description", 25.0);
+        Product soldOut = createTestProduct("Sold Out Lamp", "Description", 10.0);
+        Product chair = createTestProduct("Chair", "Description", 12.0);
+
+        entityManager.persistAndFlush(seller);
+        for (Product product : List.of(cheap, middle, pricey, soldOut, chair)) {
+            entityManager.persistAndFlush(product);
+        }
+        entityManager.persistAndFlush(createTestProductStock(pricey, seller, 3));
+        entityManager.persistAndFlush(createTestProductStock(cheap, seller, 8));
+        entityManager.persistAndFlush(createTestProductStock(middle, seller, 2));
+        entityManager.persistAndFlush(createTestProductStock(soldOut, seller, 0));
+        entityManager.persistAndFlush(createTestProductStock(chair, seller, 4));
+        entityManager.clear();
+
+        // When
+        List<ProductStockSummaryDto> firstPage = productStockRepository.findAvailableCatalogPageByPrice(
+                seller.getPerson_id(), null, null, "%lamp%", null, null, Limit.of(2));
+        ProductStockSummaryDto last = firstPage.get(firstPage.size() - 1);
+        List<ProductStockSummaryDto> secondPage = productStockRepository.findAvailableCatalogPageByPrice(
+                seller.getPerson_id(), null, null, "%lamp%", last.getProductPrice(),
+                last.getProductStockId(), Limit.of(2));
+
+        // Then
+        assertEquals(List.of("Cheap Lamp", "Middle Lamp"),
+                firstPage.stream().map(ProductStockSummaryDto::getProductName).toList());
+        assertEquals(List.of("Pricey Lamp"),
+                secondPage.stream().map(ProductStockSummaryDto::getProductName).toList());
+        assertEquals("Kate Moore", secondPage.get(0).getSellerName());
+    }
+
+    @Test
+    void reserveStock_WhenAllLinesHaveStock_ShouldDecrementEveryLine() {
+        // Given
+        Seller seller = createTestSeller("Ivy", "Clark", "ivy@example.com");
+        Product product1 = createTestProduct("Reserve A", "Description", 4.0);
+        Product product2 = createTestProduct("Reserve B", "Description", 6.0);
+        ProductStock stock1 = createTestProductStock(product1, seller, 10);
+        ProductStock stock2 = createTestProductStock(product2, seller, 3);
+
+        entityManager.persistAndFlush(seller);
+        entityManager.persistAndFlush(product1);
+        entityManager.persistAndFlush(product2);
+        entityManager.persistAndFlush(stock1);
+        entityManager.persistAndFlush(stock2);
+
+        Map<Long, Integer> quantities = new HashMap<>();
+        quantities.put(stock1.getProduct_stock_id(), 4);
+        quantities.put(stock2.getProduct_stock_id(), 3);
+
+        // When
+        List<Long> rejected = productStockRepository.reserveStock(quantities);
+        entityManager.clear();
+
+        // Then
+        assertTrue(rejected.isEmpty());
+        assertEquals(6, productStockRepository.findById(stock1.getProduct_stock_id()).orElseThrow().getAmount());
+        assertEquals(0, productStockRepository.findById(stock2.getProduct_stock_id()).orElseThrow().getAmount());
+    }
+
+    @Test
+    void reserveStock_WhenLineExceedsStock_ShouldReportOnlyThatLine() {
+        // Given
+        Seller seller = createTestSeller("Jack", "Lewis", "jack@example.com");
+        Product product1 = createTestProduct("Reserve C", "Description", 4.0);
+        Product product2 = createTestProduct("Reserve D", "Description", 6.0);
+        ProductStock stock1 = createTestProductStock(product1, seller, 10);
+        ProductStock stock2 = createTestProductStock(product2, seller, 2);
+
+        entityManager.persistAndFlush(seller);
+        entityManager.persistAndFlush(product1);
+        entityManager.persistAndFlush(product2);
+        entityManager.persistAndFlush(stock1);
+        entityManager.persistAndFlush(stock2);
+
+        Map<Long, Integer> quantities = new HashMap<>();
+        quantities.put(stock1.getProduct_stock_id(), 5);
+        quantities.put(stock2.getProduct_stock_id(), 3);
+
+        // When
+        List<Long> rejected = productStockRepository.reserveStock(quantities);
+        entityManager.clear();
+
+        // Then
+        assertEquals(List.of(stock2.getProduct_stock_id()), rejected);
+        assertEquals(2, productStockRepository.findById(stock2.getProduct_stock_id()).orElseThrow().getAmount());
+    }
+
+    @Test
+    void saveAndFlush_WhenStockWasReservedSinceRead_ShouldRejectStaleWrite() {
+        // Given
+        Seller seller = createTestSeller("Kim", "Walker", "kim@example.com");
+        Product product = createTestProduct("Versioned", "Description", 5.0);
+        ProductStock staleStock = createTestProductStock(product, seller, 10);
+
+        entityManager.persistAndFlush(seller);
+        entityManager.persistAndFlush(product);
+        entityManager.persistAndFlush(staleStock);
+        entityManager.detach(staleStock);
+
+        productStockRepository.reserveStock(Map.of(staleStock.getProduct_stock_id(), 2));
+        staleStock.setAmount(100);
+
+        // When & Then
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> productStockRepository.saveAndFlush(staleStock));
+        entityManager.clear();
+        ProductStock current = productStockRepository.findById(staleStock.getProduct_stock_id()).orElseThrow();
+        assertEquals(8, current.getAmount());
+        assertEquals(1, current.getVersion());
+    }
+
+    @Test
+    void reserveStock_WhenStockIsAlreadyLoaded_ShouldRefreshAmountAndVersion() {
+        // Given
+        Seller seller = createTestSeller("Lena", "Young", "lena@example.com");
+        Product product = createTestProduct("Loaded", "Description", 5.0);
+        ProductStock loadedStock = createTestProductStock(product, seller, 10);
+
+        entityManager.persistAndFlush(seller);
+        entityManager.persistAndFlush(product);
+        entityManager.persistAndFlush(loadedStock);
+
+        // When
+        productStockRepository.reserveStock(Map.of(loadedStock.getProduct_stock_id(), 3));
+
+        // Then: the managed instance matches the row, so a later versioned write in the same session succeeds
+        assertEquals(7, loadedStock.getAmount());
+        assertEquals(1, loadedStock.getVersion());
+        loadedStock.setAmount(9);
+        assertDoesNotThrow(() -> productStockRepository.saveAndFlush(loadedStock));
+    }
+
     // Helper methods for creating test objects
     private Seller createTestSeller(String firstName, String lastName, String email) {
         Seller seller = new Seller();
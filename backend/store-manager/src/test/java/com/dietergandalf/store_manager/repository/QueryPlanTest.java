@@ -0,0 +1,35 @@
+package com.dietergandalf.store_manager.repository;
+
+import com.dietergandalf.store_manager.repository.HotQueries.HotQuery;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.FieldSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that H2 serves every hot repository query from an index. The schema is the one Hibernate generates
+ * from the entity index declarations; H2 may prefer its own foreign key indexes over the declared ones, so
+ * only the absence of table scans is checked here. {@link MigrationQueryPlanTest} checks the exact indexes
+ * the PostgreSQL migrations create.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+public class QueryPlanTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @ParameterizedTest(name = "{0}")
+    @FieldSource("com.dietergandalf.store_manager.repository.HotQueries#ALL")
+    void hotQuery_ShouldNotScanTables(HotQuery query) {
+        // When
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + query.sql(), String.class);
+
+        // Then
+        assertFalse(plan.contains("tableScan"), () -> query.name() + " scans a table:\n" + plan);
+    }
+}
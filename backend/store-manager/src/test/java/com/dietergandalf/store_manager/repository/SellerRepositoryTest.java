@@ -1,10 +1,12 @@
 package com.dietergandalf.store_manager.repository;
 
 import com.dietergandalf.store_manager.model.Seller;
+import com.dietergandalf.store_manager.util.ConstraintViolations;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.util.List;
@@ -108,29 +110,6 @@ public class SellerRepositoryTest {
         assertEquals("Bob", foundLowerCase.get().getFirst_name());
     }
 
-    @Test
-    void existsByEmail_WhenSellerExists_ShouldReturnTrue() {
-        // Given
-        String email = "charlie.davis@example.com";
-        Seller seller = createTestSeller("Charlie", "Davis", email);
-        entityManager.persistAndFlush(seller);
-
-        // When
-        boolean exists = sellerRepository.existsByEmail(email);
-
-        // Then
-        assertTrue(exists);
-    }
-
-    @Test
-    void existsByEmail_WhenSellerNotExists_ShouldReturnFalse() {
-        // When
-        boolean exists = sellerRepository.existsByEmail("nonexistent@example.com");
-
-        // Then
-        assertFalse(exists);
-    }
-
     @Test
     void deleteById_ShouldRemoveSeller() {
         // Given
@@ -169,8 +148,8 @@ public class SellerRepositoryTest {
     }
 
     @Test
-    void save_WithDuplicateEmail_ShouldSaveSuccessfully() {
-        // Given - Since email constraint is handled at service level, not database level
+    void save_WithDuplicateEmail_ShouldBeRejectedByUniqueIndex() {
+        // Given
         String email = "duplicate@example.com";
         Seller seller1 = createTestSeller("First", "Seller", email);
         Seller seller2 = createTestSeller("Second", "Seller", email);
@@ -179,19 +158,12 @@ public class SellerRepositoryTest {
         entityManager.clear();
 
         // When
-        Seller savedSeller = sellerRepository.saveAndFlush(seller2);
+        DataIntegrityViolationException exception = assertThrows(DataIntegrityViolationException.class,
+                () -> sellerRepository.saveAndFlush(seller2));
 
-        // Then - Both sellers should be saved successfully
-        assertNotNull(savedSeller);
-        assertNotNull(savedSeller.getPerson_id());
-        assertEquals(email, savedSeller.getEmail());
-        
-        // Verify both sellers exist in database
-        List<Seller> allSellers = sellerRepository.findAll();
-        long duplicateEmailCount = allSellers.stream()
-                .filter(s -> email.equals(s.getEmail()))
-                .count();
-        assertEquals(2, duplicateEmailCount);
+        // Then: registration tells this violation apart from other integrity errors
+        assertTrue(ConstraintViolations.isViolationOf(exception, "ux_person_email"));
+        assertFalse(ConstraintViolations.isViolationOf(exception, "ux_stand_seller_id"));
     }
 
     @Test
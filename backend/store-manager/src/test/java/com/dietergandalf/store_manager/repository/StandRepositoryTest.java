@@ -0,0 +1,130 @@
+package com.dietergandalf.store_manager.repository;
+
+import com.dietergandalf.store_manager.dto.OwnerStandSummaryDto;
+import com.dietergandalf.store_manager.model.Owner;
+import com.dietergandalf.store_manager.model.Seller;
+import com.dietergandalf.store_manager.model.Stand;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+public class StandRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private StandRepository standRepository;
+
+    @Test
+    void findOccupancySummaryByOwnerId_ShouldSplitCountsAndRentByOccupancy() {
+        // Given
+        Owner owner = persistOwner("owner@stands.test");
+        Owner otherOwner = persistOwner("other@stands.test");
+        Seller seller = persistSeller("seller1@stands.test");
+        Seller otherSeller = persistSeller("seller2@stands.test");
+        persistStand(owner, seller, 120.0);
+        persistStand(owner, otherSeller, 80.5);
+        persistStand(owner, null, 60.0);
+        persistStand(otherOwner, null, 999.0);
+        entityManager.flush();
+
+        // When
+        Optional<OwnerStandSummaryDto> summary = standRepository.findOccupancySummaryByOwnerId(owner.getPerson_id());
+
+        // Then
+        assertTrue(summary.isPresent());
+        assertEquals(owner.getPerson_id(), summary.get().getOwnerId());
+        assertEquals(3L, summary.get().getTotalStands());
+        assertEquals(2L, summary.get().getOccupiedStands());
+        assertEquals(1L, summary.get().getAvailableStands());
+        assertEquals(200.5, summary.get().getMonthlyRent());
+        assertEquals(60.0, summary.get().getVacantRent());
+    }
+
+    @Test
+    void findOccupancySummaryByOwnerId_WhenOwnerHasNoStands_ShouldReturnEmpty() {
+        // Given
+        Owner owner = persistOwner("empty@stands.test");
+
+        // When & Then
+        assertTrue(standRepository.findOccupancySummaryByOwnerId(owner.getPerson_id()).isEmpty());
+    }
+
+    @Test
+    void findAvailableByOwnerId_ShouldPageThroughVacantStandsOnly() {
+        // Given
+        Owner owner = persistOwner("pages@stands.test");
+        Seller seller = persistSeller("tenant@stands.test");
+        Stand first = persistStand(owner, null, 10.0);
+        persistStand(owner, seller, 20.0);
+        Stand second = persistStand(owner, null, 30.0);
+        Stand third = persistStand(owner, null, 40.0);
+        entityManager.flush();
+
+        // When
+        List<Stand> firstPage = standRepository.findAvailableByOwnerId(owner.getPerson_id(), null, Limit.of(2));
+        List<Stand> secondPage = standRepository.findAvailableByOwnerId(owner.getPerson_id(),
+                firstPage.get(1).getStand_id(), Limit.of(2));
+
+        // Then
+        assertEquals(List.of(first.getStand_id(), second.getStand_id()),
+                firstPage.stream().map(Stand::getStand_id).toList());
+        assertEquals(List.of(third.getStand_id()), secondPage.stream().map(Stand::getStand_id).toList());
+    }
+
+    @Test
+    void occupy_WhenStandAlreadyOccupied_ShouldUpdateNothing() {
+        // Given
+        Owner owner = persistOwner("occupy@stands.test");
+        Seller seller = persistSeller("first@stands.test");
+        Seller otherSeller = persistSeller("second@stands.test");
+        Stand stand = persistStand(owner, null, 10.0);
+        entityManager.flush();
+
+        // When
+        int first = standRepository.occupy(stand.getStand_id(), seller);
+        int second = standRepository.occupy(stand.getStand_id(), otherSeller);
+
+        // Then
+        assertEquals(1, first);
+        assertEquals(0, second);
+        assertTrue(standRepository.existsByStandUserId(seller.getPerson_id()));
+        assertFalse(standRepository.existsByStandUserId(otherSeller.getPerson_id()));
+    }
+
+    private Owner persistOwner(String email) {
+        Owner owner = new Owner();
+        owner.setFirst_name("Stand");
+        owner.setLast_name("Owner");
+        owner.setEmail(email);
+        return entityManager.persist(owner);
+    }
+
+    private Seller persistSeller(String email) {
+        Seller seller = new Seller();
+        seller.setFirst_name("Stand");
+        seller.setLast_name("Seller");
+        seller.setEmail(email);
+        return entityManager.persist(seller);
+    }
+
+    private Stand persistStand(Owner owner, Seller seller, double price) {
+        return entityManager.persist(Stand.builder()
+                .price(price)
+                .size(10.0)
+                .stand_owner(owner)
+                .stand_user(seller)
+                .build());
+    }
+}
@@ -0,0 +1,177 @@
+package com.dietergandalf.store_manager.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductSearchIndexTest {
+
+    private ProductSearchIndex productSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        productSearchIndex = new ProductSearchIndex(500);
+        productSearchIndex.index(1L, "Desk Lamp", "Brass lamp with a linen shade");
+        productSearchIndex.index(2L, "Reading Light", "Clip-on lamp for books");
+        productSearchIndex.index(3L, "Ceramic Vase", "Hand-glazed vase");
+        productSearchIndex.index(4L, "Crème Brûlée Torch", "Kitchen torch");
+    }
+
+    @Test
+    void search_ShouldRankNameMatchesAboveDescriptionMatches() {
+        // When
+        List<Long> results = productSearchIndex.search("lamp");
+
+        // Then
+        assertEquals(List.of(1L, 2L), results);
+    }
+
+    @Test
+    void search_ShouldMatchPrefixesTyposAndFoldedAccents() {
+        // When & Then
+        assertEquals(List.of(3L), productSearchIndex.search("cera"));
+        assertEquals(List.of(3L), productSearchIndex.search("cermaic"));
+        assertEquals(List.of(4L), productSearchIndex.search("creme brulee"));
+    }
+
+    @Test
+    void search_ShouldRequireEveryQueryTerm() {
+        // When & Then
+        assertEquals(List.of(1L), productSearchIndex.search("lamp desk"));
+        assertTrue(productSearchIndex.search("lamp vase").isEmpty());
+        assertTrue(productSearchIndex.search("  ,. ").isEmpty());
+        assertTrue(productSearchIndex.search(null).isEmpty());
+    }
+
+    @Test
+    void search_ShouldRankExactMatchAboveTypoMatch() {
+        // Given
+        productSearchIndex.index(5L, "Lamb Wool Blanket", null);
+
+        // When & Then
+        assertEquals(List.of(5L, 1L, 2L), productSearchIndex.search("lamb"));
+        assertEquals(List.of(1L, 2L, 5L), productSearchIndex.search("lamp"));
+    }
+
+    @Test
+    void index_WhenReindexedOrRemoved_ShouldReplaceOldTerms() {
+        // When
+        productSearchIndex.index(1L, "Floor Lantern", null);
+        productSearchIndex.remove(2L);
+
+        // Then
+        assertTrue(productSearchIndex.search("desk").isEmpty());
+        assertEquals(List.of(1L), productSearchIndex.search("lantern"));
+        assertTrue(productSearchIndex.search("reading").isEmpty());
+        assertEquals(3, productSearchIndex.size());
+    }
+
+    @Test
+    void index_InsideTransaction_ShouldApplyOnlyAfterCommit() {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            productSearchIndex.index(6L, "Standing Mirror", null);
+            assertTrue(productSearchIndex.search("mirror").isEmpty());
+
+            // When
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Then
+        assertEquals(List.of(6L), productSearchIndex.search("mirror"));
+    }
+
+    @Test
+    void rebuild_ShouldReplaceDocumentsOnlyOnCommit() {
+        // Given
+        ProductSearchIndex.Rebuild rebuild = productSearchIndex.beginRebuild();
+        rebuild.add(1L, "Desk Lamp", null);
+        rebuild.add(7L, "Oak Bookshelf", null);
+        assertTrue(productSearchIndex.search("bookshelf").isEmpty());
+
+        // When
+        rebuild.commit();
+
+        // Then
+        assertEquals(List.of(7L), productSearchIndex.search("bookshelf"));
+        assertEquals(List.of(1L), productSearchIndex.search("lamp"));
+        assertTrue(productSearchIndex.search("vase").isEmpty());
+        assertEquals(2, productSearchIndex.size());
+    }
+
+    @Test
+    void rebuild_ShouldKeepDocumentsWrittenWhileItRuns() {
+        // Given
+        ProductSearchIndex.Rebuild rebuild = productSearchIndex.beginRebuild();
+        rebuild.add(1L, "Desk Lamp", null);
+        rebuild.add(3L, "Ceramic Vase", null);
+        productSearchIndex.index(1L, "Floor Lantern", null);
+        productSearchIndex.remove(3L);
+        productSearchIndex.index(8L, "Wall Clock", null);
+
+        // When
+        rebuild.commit();
+
+        // Then
+        assertEquals(List.of(1L), productSearchIndex.search("lantern"));
+        assertTrue(productSearchIndex.search("desk").isEmpty());
+        assertTrue(productSearchIndex.search("vase").isEmpty());
+        assertEquals(List.of(8L), productSearchIndex.search("clock"));
+        assertEquals(2, productSearchIndex.size());
+    }
+
+    @Test
+    void rebuild_WhenClosedWithoutCommit_ShouldLeaveIndexAsItWas() {
+        // Given
+        try (ProductSearchIndex.Rebuild rebuild = productSearchIndex.beginRebuild()) {
+            rebuild.add(9L, "Garden Bench", null);
+        }
+
+        // When
+        productSearchIndex.index(10L, "Rocking Chair", null);
+
+        // Then
+        assertTrue(productSearchIndex.search("bench").isEmpty());
+        assertEquals(List.of(10L), productSearchIndex.search("chair"));
+        assertEquals(List.of(1L, 2L), productSearchIndex.search("lamp"));
+        assertEquals(5, productSearchIndex.size());
+    }
+
+    @Test
+    void search_ShouldMatchTyposThatChangeTheTermLength() {
+        // Given
+        productSearchIndex.index(11L, "Wooden Candlestick", null);
+
+        // When & Then
+        assertEquals(List.of(11L), productSearchIndex.search("candelstick"));
+        assertEquals(List.of(11L), productSearchIndex.search("candlestik"));
+        assertEquals(List.of(11L), productSearchIndex.search("candlesticks"));
+        assertEquals(List.of(3L), productSearchIndex.search("ceramick"));
+    }
+
+    @Test
+    void search_WhenLastDocumentWithTermIsRemoved_ShouldNoLongerMatchItsTypos() {
+        // When
+        productSearchIndex.remove(3L);
+
+        // Then
+        assertTrue(productSearchIndex.search("cermaic").isEmpty());
+        assertTrue(productSearchIndex.search("vsae").isEmpty());
+    }
+
+    @Test
+    void editDistance_ShouldCountTranspositionsAsOneEditAndStopPastTheLimit() {
+        // When & Then
+        assertEquals(1, ProductSearchIndex.editDistance("lamp", "lmap", 2));
+        assertEquals(2, ProductSearchIndex.editDistance("kitten", "sittin", 2));
+        assertEquals(3, ProductSearchIndex.editDistance("table", "chair", 2));
+    }
+}
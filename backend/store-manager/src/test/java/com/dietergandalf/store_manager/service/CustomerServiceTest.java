@@ -1,8 +1,16 @@
 package com.dietergandalf.store_manager.service;
 
+import com.dietergandalf.store_manager.analytics.TrendingProducts;
+import com.dietergandalf.store_manager.cache.CatalogCache;
 import com.dietergandalf.store_manager.dto.AddToCartRequestDto;
+import com.dietergandalf.store_manager.dto.CartUpdateDto;
+import com.dietergandalf.store_manager.dto.CatalogPageDto;
+import com.dietergandalf.store_manager.dto.CatalogQueryDto;
+import com.dietergandalf.store_manager.dto.CatalogSort;
 import com.dietergandalf.store_manager.dto.CustomerDto;
+import com.dietergandalf.store_manager.dto.ProductSearchPageDto;
 import com.dietergandalf.store_manager.dto.ProductStockDto;
+import com.dietergandalf.store_manager.dto.ProductStockSummaryDto;
 import com.dietergandalf.store_manager.dto.RegisterRequestDto;
 import com.dietergandalf.store_manager.dto.ShoppingCartDto;
 import com.dietergandalf.store_manager.dto.UpdateProfileRequestDto;
@@ -16,7 +24,9 @@ import com.dietergandalf.store_manager.repository.CartItemRepository;
 import com.dietergandalf.store_manager.repository.CustomerRepository;
 import com.dietergandalf.store_manager.repository.ProductStockRepository;
 import com.dietergandalf.store_manager.repository.ShoppingCartRepository;
+import com.dietergandalf.store_manager.search.ProductSearchIndex;
 import com.dietergandalf.store_manager.util.CartItemMapper;
+import com.dietergandalf.store_manager.util.CatalogCursor;
 import com.dietergandalf.store_manager.util.CustomerMapper;
 import com.dietergandalf.store_manager.util.ProductMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -24,10 +34,15 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 
+import java.time.Clock;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -60,6 +75,11 @@ class CustomerServiceTest {
     @Mock
     private CartItemMapper cartItemMapper;
 
+    private final ProductSearchIndex productSearchIndex = new ProductSearchIndex(500);
+
+    private final TrendingProducts trendingProducts =
+            new TrendingProducts(Duration.ofHours(24), 24, 100, Duration.ZERO, Clock.systemUTC());
+
     private CustomerService customerService;
 
     @BeforeEach
@@ -71,7 +91,10 @@ class CustomerServiceTest {
                 cartItemRepository,
                 customerMapper,
                 productMapper,
-                cartItemMapper
+                cartItemMapper,
+                new CatalogCache(100, Duration.ofMinutes(1), Clock.systemUTC()),
+                productSearchIndex,
+                trendingProducts
         );
     }
 
@@ -149,9 +172,8 @@ class CustomerServiceTest {
         Customer savedCustomer = createTestCustomer(1L, "John", "Doe");
         CustomerDto customerDto = createTestCustomerDto(1L, "John", "Doe");
 
-        when(customerRepository.existsByEmail(registerRequest.getEmail())).thenReturn(false);
         when(customerMapper.fromRegisterRequest(registerRequest)).thenReturn(customer);
-        when(customerRepository.save(customer)).thenReturn(savedCustomer);
+        when(customerRepository.saveAndFlush(customer)).thenReturn(savedCustomer);
         when(customerMapper.toDto(savedCustomer)).thenReturn(customerDto);
 
         // When
@@ -160,9 +182,8 @@ class CustomerServiceTest {
         // Then
         assertNotNull(result);
         assertEquals("John", result.getFirstName());
-        verify(customerRepository).existsByEmail(registerRequest.getEmail());
         verify(customerMapper).fromRegisterRequest(registerRequest);
-        verify(customerRepository).save(customer);
+        verify(customerRepository).saveAndFlush(customer);
         verify(customerMapper).toDto(savedCustomer);
     }
 
@@ -173,13 +194,17 @@ class CustomerServiceTest {
                 .email("existing@example.com")
                 .build();
 
-        when(customerRepository.existsByEmail(registerRequest.getEmail())).thenReturn(true);
+        Customer customer = createTestCustomer(null, "John", "Doe");
+
+        when(customerMapper.fromRegisterRequest(registerRequest)).thenReturn(customer);
+        when(customerRepository.saveAndFlush(customer)).thenThrow(new DataIntegrityViolationException("ux_person_email"));
 
         // When & Then
         RuntimeException exception = assertThrows(RuntimeException.class, 
                 () -> customerService.createCustomer(registerRequest));
         assertEquals("Email already exists", exception.getMessage());
-        verify(customerRepository).existsByEmail(registerRequest.getEmail());
+        verify(customerMapper).fromRegisterRequest(registerRequest);
+        verify(customerRepository).saveAndFlush(customer);
         verifyNoMoreInteractions(customerRepository, customerMapper);
     }
 
@@ -260,26 +285,148 @@ class CustomerServiceTest {
     }
 
     @Test
-    void getAllAvailableProducts_ShouldReturnAvailableProducts() {
+    void getAvailableProducts_WhenMoreRowsThanPageSize_ShouldReturnPageWithCursor() {
         // Given
-        ProductStock productStock1 = createTestProductStock(1L, 10);
-        ProductStock productStock2 = createTestProductStock(2L, 5);
-        List<ProductStock> productStocks = Arrays.asList(productStock1, productStock2);
-        
+        ProductStockSummaryDto productStock1 = createTestProductStockSummary(1L, 10);
+        ProductStockSummaryDto productStock2 = createTestProductStockSummary(2L, 5);
+        ProductStockSummaryDto productStock3 = createTestProductStockSummary(3L, 7);
+        List<ProductStockSummaryDto> productStocks = Arrays.asList(productStock1, productStock2, productStock3);
+
         ProductStockDto productStockDto1 = createTestProductStockDto(1L, 10);
         ProductStockDto productStockDto2 = createTestProductStockDto(2L, 5);
         List<ProductStockDto> productStockDtos = Arrays.asList(productStockDto1, productStockDto2);
 
-        when(productStockRepository.findByAmountGreaterThan(0)).thenReturn(productStocks);
-        when(productMapper.toStockDtoList(productStocks)).thenReturn(productStockDtos);
+        CatalogQueryDto query = CatalogQueryDto.builder().size(2).build();
+
+        when(productStockRepository.findAvailableCatalogPageById(null, null, null, null, null, Limit.of(3)))
+                .thenReturn(productStocks);
+        when(productMapper.summariesToStockDtoList(Arrays.asList(productStock1, productStock2))).thenReturn(productStockDtos);
 
         // When
-        List<ProductStockDto> result = customerService.getAllAvailableProducts();
+        CatalogPageDto result = customerService.getAvailableProducts(query);
 
         // Then
-        assertEquals(2, result.size());
-        verify(productStockRepository).findByAmountGreaterThan(0);
-        verify(productMapper).toStockDtoList(productStocks);
+        assertEquals(2, result.getItems().size());
+        assertTrue(result.isHasMore());
+        assertEquals(CatalogSort.ID, result.getSort());
+        assertEquals(2L, CatalogCursor.decode(result.getNextCursor(), CatalogSort.ID).getProductStockId());
+    }
+
+    @Test
+    void searchProducts_ShouldPageRankedHitsThatAreInStock() {
+        // Given: stock 2 matches as well but is sold out
+        productSearchIndex.index(1L, "Desk Lamp", "Brass desk lamp");
+        productSearchIndex.index(2L, "Lamp Shade", "Linen shade");
+        productSearchIndex.index(3L, "Lamb Wool Rug", "Soft rug");
+        productSearchIndex.index(4L, "Oak Table", "Solid oak");
+        ProductStockSummaryDto productStock3 = createTestProductStockSummary(3L, 4);
+        List<ProductStockDto> productStockDtos = Arrays.asList(createTestProductStockDto(3L, 4));
+
+        when(productStockRepository.findAvailableIdsIn(List.of(1L, 2L, 3L))).thenReturn(List.of(3L, 1L));
+        when(productStockRepository.findStockSummariesByIdIn(List.of(3L))).thenReturn(List.of(productStock3));
+        when(productMapper.summariesToStockDtoList(List.of(productStock3))).thenReturn(productStockDtos);
+
+        // When
+        ProductSearchPageDto result = customerService.searchProducts("lamp", 1, 1);
+
+        // Then: exact matches rank above the typo match, so the second page holds the rug
+        assertEquals(productStockDtos, result.getItems());
+        assertEquals(1, result.getPage());
+        assertEquals(2, result.getTotalHits());
+        assertFalse(result.isHasMore());
+    }
+
+    @Test
+    void getTrendingProducts_ShouldReturnBestSellersInStockInRankOrder() {
+        // Given: stock 2 sells best but is sold out
+        trendingProducts.recordSale(Map.of(1L, 3, 2L, 9, 3L, 5));
+        ProductStockSummaryDto productStock1 = createTestProductStockSummary(1L, 4);
+        ProductStockSummaryDto productStock2 = createTestProductStockSummary(2L, 0);
+        ProductStockSummaryDto productStock3 = createTestProductStockSummary(3L, 7);
+        List<ProductStockDto> productStockDtos = Arrays.asList(createTestProductStockDto(3L, 7), createTestProductStockDto(1L, 4));
+
+        when(productStockRepository.findStockSummariesByIdIn(List.of(2L, 3L, 1L)))
+                .thenReturn(List.of(productStock1, productStock2, productStock3));
+        when(productMapper.summariesToStockDtoList(List.of(productStock3, productStock1))).thenReturn(productStockDtos);
+
+        // When
+        List<ProductStockDto> result = customerService.getTrendingProducts(5);
+
+        // Then
+        assertEquals(productStockDtos, result);
+    }
+
+    @Test
+    void getTrendingProducts_WithoutSales_ShouldNotQueryStocks() {
+        // When
+        List<ProductStockDto> result = customerService.getTrendingProducts(null);
+
+        // Then
+        assertTrue(result.isEmpty());
+        verifyNoInteractions(productStockRepository);
+    }
+
+    @Test
+    void searchProducts_WithNegativePage_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> customerService.searchProducts("lamp", -1, null));
+    }
+
+    @Test
+    void getAvailableProducts_WhenSameQueryRepeated_ShouldServeFromCache() {
+        // Given
+        List<ProductStockSummaryDto> productStocks = Arrays.asList(createTestProductStockSummary(1L, 10));
+        List<ProductStockDto> productStockDtos = Arrays.asList(createTestProductStockDto(1L, 10));
+
+        when(productStockRepository.findAvailableCatalogPageByName(null, null, null, "%test%", null, null,
+                Limit.of(CustomerService.DEFAULT_CATALOG_PAGE_SIZE + 1))).thenReturn(productStocks);
+        when(productMapper.summariesToStockDtoList(productStocks)).thenReturn(productStockDtos);
+
+        // When
+        CatalogPageDto first = customerService.getAvailableProducts(
+                CatalogQueryDto.builder().sort(CatalogSort.NAME).name("Test").build());
+        CatalogPageDto second = customerService.getAvailableProducts(
+                CatalogQueryDto.builder().sort(CatalogSort.NAME).name(" test ").build());
+
+        // Then
+        assertSame(first, second);
+        verify(productStockRepository, times(1)).findAvailableCatalogPageByName(any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void getAvailableProducts_WithPriceCursorAndFilters_ShouldResumeAfterCursor() {
+        // Given
+        ProductStockSummaryDto lastOfPreviousPage = createTestProductStockSummary(4L, 3);
+        String cursor = CatalogCursor.after(lastOfPreviousPage, CatalogSort.PRICE).encode();
+        CatalogQueryDto query = CatalogQueryDto.builder()
+                .sort(CatalogSort.PRICE)
+                .cursor(cursor)
+                .sellerId(9L)
+                .maxPrice(50.0)
+                .name(" Lamp ")
+                .build();
+
+        when(productStockRepository.findAvailableCatalogPageByPrice(9L, null, 50.0, "%lamp%", 10.0, 4L,
+                Limit.of(CustomerService.DEFAULT_CATALOG_PAGE_SIZE + 1))).thenReturn(Collections.emptyList());
+        when(productMapper.summariesToStockDtoList(Collections.emptyList())).thenReturn(Collections.emptyList());
+
+        // When
+        CatalogPageDto result = customerService.getAvailableProducts(query);
+
+        // Then
+        assertTrue(result.getItems().isEmpty());
+        assertFalse(result.isHasMore());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void getAvailableProducts_WithCursorFromOtherSort_ShouldThrowException() {
+        // Given
+        String cursor = CatalogCursor.after(createTestProductStockSummary(4L, 3), CatalogSort.NAME).encode();
+        CatalogQueryDto query = CatalogQueryDto.builder().sort(CatalogSort.PRICE).cursor(cursor).build();
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> customerService.getAvailableProducts(query));
+        verifyNoInteractions(productStockRepository);
     }
 
     @Test
@@ -301,21 +448,120 @@ class CustomerServiceTest {
         when(cartItemRepository.findByCartAndProductStock(cart, productStock)).thenReturn(Optional.empty());
         when(cartItemRepository.findByCart(cart)).thenReturn(Collections.emptyList());
 
-        ShoppingCartDto expectedCartDto = ShoppingCartDto.builder()
-                .cartId(1L)
-                .customerId(customerId)
-                .build();
-
         // When
-        ShoppingCartDto result = customerService.addToCart(customerId, addToCartRequest);
+        CartUpdateDto result = customerService.addToCart(customerId, addToCartRequest);
 
         // Then
         assertNotNull(result);
+        assertEquals(1L, result.getCartId());
+        assertEquals(2, result.getTotalItems());
+        assertEquals(20.0, result.getTotalAmount());
+        assertNull(result.getRemovedCartItemId());
         verify(customerRepository).findById(customerId);
         verify(productStockRepository).findById(addToCartRequest.getProductStockId());
         verify(cartItemRepository).save(any(CartItem.class));
     }
 
+    @Test
+    void addToCart_WithTrackedTotals_ShouldUpdateTotalsWithoutReloadingCart() {
+        // Given
+        Long customerId = 1L;
+        AddToCartRequestDto addToCartRequest = AddToCartRequestDto.builder()
+                .productStockId(1L)
+                .quantity(3)
+                .build();
+
+        Customer customer = createTestCustomer(customerId, "John", "Doe");
+        ProductStock productStock = createTestProductStock(1L, 10);
+        ShoppingCart cart = createTestShoppingCart(1L, customer);
+        cart.setTotalItems(2);
+        cart.setTotalAmount(20.0);
+        customer.setCart(cart);
+        CartItem existingItem = createTestCartItem(5L, cart, productStock, 2);
+
+        when(customerRepository.findById(customerId)).thenReturn(Optional.of(customer));
+        when(productStockRepository.findById(addToCartRequest.getProductStockId())).thenReturn(Optional.of(productStock));
+        when(cartItemRepository.findByCartAndProductStock(cart, productStock)).thenReturn(Optional.of(existingItem));
+
+        // When
+        CartUpdateDto result = customerService.addToCart(customerId, addToCartRequest);
+
+        // Then
+        assertEquals(5, existingItem.getQuantity());
+        assertEquals(5, result.getTotalItems());
+        assertEquals(50.0, result.getTotalAmount());
+        assertEquals(5, cart.getTotalItems());
+        verify(cartItemRepository, never()).findByCart(any(ShoppingCart.class));
+        verify(cartItemMapper).toDto(existingItem);
+    }
+
+    @Test
+    void updateCartItemQuantity_ShouldApplyQuantityDeltaToTotals() {
+        // Given
+        Long customerId = 1L;
+        Customer customer = createTestCustomer(customerId, "John", "Doe");
+        ProductStock productStock = createTestProductStock(1L, 10);
+        ShoppingCart cart = createTestShoppingCart(1L, customer);
+        cart.setTotalItems(4);
+        cart.setTotalAmount(40.0);
+        CartItem cartItem = createTestCartItem(5L, cart, productStock, 3);
+
+        when(customerRepository.findById(customerId)).thenReturn(Optional.of(customer));
+        when(cartItemRepository.findById(5L)).thenReturn(Optional.of(cartItem));
+
+        // When
+        CartUpdateDto result = customerService.updateCartItemQuantity(customerId, 5L, 1);
+
+        // Then
+        assertEquals(1, cartItem.getQuantity());
+        assertEquals(2, result.getTotalItems());
+        assertEquals(20.0, result.getTotalAmount());
+        verify(cartItemRepository).save(cartItem);
+        verify(cartItemRepository, never()).findByCart(any(ShoppingCart.class));
+    }
+
+    @Test
+    void removeFromCart_ShouldSubtractLineFromTotals() {
+        // Given
+        Long customerId = 1L;
+        Customer customer = createTestCustomer(customerId, "John", "Doe");
+        ProductStock productStock = createTestProductStock(1L, 10);
+        ShoppingCart cart = createTestShoppingCart(1L, customer);
+        cart.setTotalItems(3);
+        cart.setTotalAmount(30.0);
+        CartItem cartItem = createTestCartItem(5L, cart, productStock, 3);
+
+        when(customerRepository.findById(customerId)).thenReturn(Optional.of(customer));
+        when(cartItemRepository.findById(5L)).thenReturn(Optional.of(cartItem));
+
+        // When
+        CartUpdateDto result = customerService.removeFromCart(customerId, 5L);
+
+        // Then
+        assertEquals(5L, result.getRemovedCartItemId());
+        assertNull(result.getCartItem());
+        assertEquals(0, result.getTotalItems());
+        assertEquals(0.0, result.getTotalAmount());
+        verify(cartItemRepository).delete(cartItem);
+    }
+
+    @Test
+    void removeFromCart_WithItemOfAnotherCustomer_ShouldThrowException() {
+        // Given
+        Customer customer = createTestCustomer(1L, "John", "Doe");
+        Customer otherCustomer = createTestCustomer(2L, "Jane", "Doe");
+        CartItem cartItem = createTestCartItem(5L, createTestShoppingCart(2L, otherCustomer), createTestProductStock(1L, 10), 1);
+
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(customer));
+        when(cartItemRepository.findById(5L)).thenReturn(Optional.of(cartItem));
+
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> customerService.removeFromCart(1L, 5L));
+        assertEquals("Cart item does not belong to this customer", exception.getMessage());
+        verify(cartItemRepository, never()).delete(any(CartItem.class));
+    }
+
     @Test
     void addToCart_WithInsufficientStock_ShouldThrowException() {
         // Given
@@ -369,6 +615,8 @@ class CustomerServiceTest {
 
         // Then
         assertTrue(result);
+        assertEquals(0, cart.getTotalItems());
+        assertEquals(0.0, cart.getTotalAmount());
         verify(customerRepository).findById(customerId);
         verify(cartItemRepository).deleteByCart(cart);
     }
@@ -421,6 +669,16 @@ class CustomerServiceTest {
         return productStock;
     }
 
+    private ProductStockSummaryDto createTestProductStockSummary(Long id, Integer amount) {
+        return ProductStockSummaryDto.builder()
+                .productStockId(id)
+                .productId(id)
+                .productName("Test Product " + id)
+                .productPrice(10.0)
+                .amount(amount)
+                .build();
+    }
+
     private ProductStockDto createTestProductStockDto(Long id, Integer amount) {
         return ProductStockDto.builder()
                 .productStockId(id)
@@ -434,4 +692,14 @@ class CustomerServiceTest {
         cart.setCustomer(customer);
         return cart;
     }
+
+    private CartItem createTestCartItem(Long id, ShoppingCart cart, ProductStock productStock, int quantity) {
+        CartItem cartItem = new CartItem();
+        cartItem.setCart_item_id(id);
+        cartItem.setCart(cart);
+        cartItem.setProductStock(productStock);
+        cartItem.setQuantity(quantity);
+        cartItem.setPriceAtTimeOfAdd(productStock.getProduct().getPrice());
+        return cartItem;
+    }
 }
\ No newline at end of file
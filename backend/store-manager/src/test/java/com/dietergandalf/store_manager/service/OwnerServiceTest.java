@@ -1,17 +1,25 @@
 package com.dietergandalf.store_manager.service;
 
+import com.dietergandalf.store_manager.cache.StandOccupancyIndex;
 import com.dietergandalf.store_manager.dto.OwnerDto;
+import com.dietergandalf.store_manager.dto.OwnerStandSummaryDto;
 import com.dietergandalf.store_manager.dto.RegisterRequestDto;
 import com.dietergandalf.store_manager.dto.UpdateProfileRequestDto;
 import com.dietergandalf.store_manager.model.Owner;
+import com.dietergandalf.store_manager.model.Seller;
+import com.dietergandalf.store_manager.model.Stand;
 import com.dietergandalf.store_manager.repository.OwnerRepository;
+import com.dietergandalf.store_manager.repository.SellerRepository;
+import com.dietergandalf.store_manager.repository.StandRepository;
 import com.dietergandalf.store_manager.util.OwnerMapper;
+import com.dietergandalf.store_manager.util.StandMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -30,11 +38,20 @@ class OwnerServiceTest {
     @Mock
     private OwnerMapper ownerMapper;
 
+    @Mock
+    private StandRepository standRepository;
+
+    @Mock
+    private SellerRepository sellerRepository;
+
+    private final StandOccupancyIndex standOccupancyIndex = new StandOccupancyIndex(100, Duration.ofMinutes(5));
+
     private OwnerService ownerService;
 
     @BeforeEach
     void setUp() {
-        ownerService = new OwnerService(ownerRepository, ownerMapper);
+        ownerService = new OwnerService(ownerRepository, ownerMapper, standRepository, sellerRepository,
+                new StandMapper(), standOccupancyIndex);
     }
 
     @Test
@@ -260,6 +277,115 @@ class OwnerServiceTest {
         verify(ownerRepository, never()).deleteById(anyLong());
     }
 
+    @Test
+    void getStandSummary_ShouldAggregateOnceAndServeFromIndex() {
+        // Given
+        Long ownerId = 1L;
+        when(ownerRepository.existsById(ownerId)).thenReturn(true);
+        when(standRepository.findOccupancySummaryByOwnerId(ownerId))
+                .thenReturn(Optional.of(new OwnerStandSummaryDto(ownerId, 3L, 2L, 1L, 250.0, 80.0)));
+
+        // When
+        ownerService.getStandSummary(ownerId);
+        OwnerStandSummaryDto result = ownerService.getStandSummary(ownerId);
+
+        // Then
+        assertEquals(3L, result.getTotalStands());
+        assertEquals(1L, result.getAvailableStands());
+        assertEquals(250.0, result.getMonthlyRent());
+        verify(standRepository, times(1)).findOccupancySummaryByOwnerId(ownerId);
+    }
+
+    @Test
+    void getStandSummary_WhenOwnerHasNoStands_ShouldReturnZeros() {
+        // Given
+        Long ownerId = 1L;
+        when(ownerRepository.existsById(ownerId)).thenReturn(true);
+        when(standRepository.findOccupancySummaryByOwnerId(ownerId)).thenReturn(Optional.empty());
+
+        // When
+        OwnerStandSummaryDto result = ownerService.getStandSummary(ownerId);
+
+        // Then
+        assertEquals(0L, result.getTotalStands());
+        assertEquals(0.0, result.getMonthlyRent());
+    }
+
+    @Test
+    void getStandSummary_WhenOwnerNotExists_ShouldReturnNull() {
+        // Given
+        when(ownerRepository.existsById(999L)).thenReturn(false);
+
+        // When & Then
+        assertNull(ownerService.getStandSummary(999L));
+        verifyNoInteractions(standRepository);
+    }
+
+    @Test
+    void rentStand_ShouldMoveRentFromVacantToMonthly() {
+        // Given
+        Long ownerId = 1L;
+        Owner owner = createTestOwner(ownerId, "John", "Doe");
+        Stand stand = Stand.builder().stand_id(7L).price(100.0).size(12.0).stand_owner(owner).build();
+        Seller seller = new Seller();
+        seller.setPerson_id(5L);
+        when(ownerRepository.existsById(ownerId)).thenReturn(true);
+        when(standRepository.findOccupancySummaryByOwnerId(ownerId))
+                .thenReturn(Optional.of(new OwnerStandSummaryDto(ownerId, 1L, 0L, 1L, 0.0, 100.0)));
+        ownerService.getStandSummary(ownerId);
+
+        when(standRepository.findById(7L)).thenReturn(Optional.of(stand));
+        when(sellerRepository.existsById(5L)).thenReturn(true);
+        when(standRepository.existsByStandUserId(5L)).thenReturn(false);
+        when(sellerRepository.getReferenceById(5L)).thenReturn(seller);
+        when(standRepository.occupy(7L, seller)).thenReturn(1);
+
+        // When
+        ownerService.rentStand(ownerId, 7L, 5L);
+
+        // Then
+        OwnerStandSummaryDto summary = ownerService.getStandSummary(ownerId);
+        assertEquals(1L, summary.getOccupiedStands());
+        assertEquals(0L, summary.getAvailableStands());
+        assertEquals(100.0, summary.getMonthlyRent());
+        assertEquals(0.0, summary.getVacantRent());
+        verify(standRepository, times(1)).findOccupancySummaryByOwnerId(ownerId);
+    }
+
+    @Test
+    void rentStand_WhenStandAlreadyOccupied_ShouldThrowException() {
+        // Given
+        Owner owner = createTestOwner(1L, "John", "Doe");
+        Stand stand = Stand.builder().stand_id(7L).price(100.0).size(12.0).stand_owner(owner).build();
+        when(standRepository.findById(7L)).thenReturn(Optional.of(stand));
+        when(sellerRepository.existsById(5L)).thenReturn(true);
+        when(standRepository.existsByStandUserId(5L)).thenReturn(false);
+        when(standRepository.occupy(eq(7L), any())).thenReturn(0);
+
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> ownerService.rentStand(1L, 7L, 5L));
+        assertEquals("Stand is already occupied", exception.getMessage());
+    }
+
+    @Test
+    void rentStand_WhenStandBelongsToAnotherOwner_ShouldThrowException() {
+        // Given
+        Stand stand = Stand.builder().stand_id(7L).price(100.0).stand_owner(createTestOwner(2L, "Jane", "Smith")).build();
+        when(standRepository.findById(7L)).thenReturn(Optional.of(stand));
+
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> ownerService.rentStand(1L, 7L, 5L));
+        assertEquals("Stand does not belong to this owner", exception.getMessage());
+        verify(standRepository, never()).occupy(anyLong(), any());
+    }
+
+    @Test
+    void getAvailableStands_WithOversizedPage_ShouldThrowException() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class,
+                () -> ownerService.getAvailableStands(1L, null, OwnerService.MAX_STAND_PAGE_SIZE + 1));
+    }
+
     // Helper methods for creating test objects
     private Owner createTestOwner(Long id, String firstName, String lastName) {
         Owner owner = new Owner();
@@ -1,8 +1,10 @@
 package com.dietergandalf.store_manager.service;
 
+import com.dietergandalf.store_manager.cache.CatalogCache;
 import com.dietergandalf.store_manager.dto.CreateProductRequestDto;
 import com.dietergandalf.store_manager.dto.ProductDto;
 import com.dietergandalf.store_manager.dto.ProductStockDto;
+import com.dietergandalf.store_manager.dto.ProductStockSummaryDto;
 import com.dietergandalf.store_manager.dto.RegisterRequestDto;
 import com.dietergandalf.store_manager.dto.SellerDto;
 import com.dietergandalf.store_manager.dto.UpdateProfileRequestDto;
@@ -12,6 +14,7 @@ import com.dietergandalf.store_manager.model.Seller;
 import com.dietergandalf.store_manager.repository.ProductRepository;
 import com.dietergandalf.store_manager.repository.ProductStockRepository;
 import com.dietergandalf.store_manager.repository.SellerRepository;
+import com.dietergandalf.store_manager.search.ProductSearchIndex;
 import com.dietergandalf.store_manager.util.ProductMapper;
 import com.dietergandalf.store_manager.util.SellerMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -19,7 +22,10 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 
+import java.time.Clock;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -47,6 +53,8 @@ class SellerServiceTest {
     @Mock
     private ProductMapper productMapper;
 
+    private final ProductSearchIndex productSearchIndex = new ProductSearchIndex(500);
+
     private SellerService sellerService;
 
     @BeforeEach
@@ -56,7 +64,9 @@ class SellerServiceTest {
                 productRepository,
                 productStockRepository,
                 sellerMapper,
-                productMapper
+                productMapper,
+                new CatalogCache(100, Duration.ofMinutes(1), Clock.systemUTC()),
+                productSearchIndex
         );
     }
 
@@ -139,9 +149,8 @@ class SellerServiceTest {
         Seller savedSeller = createTestSeller(1L, "John", "Doe");
         SellerDto sellerDto = createTestSellerDto(1L, "John", "Doe");
 
-        when(sellerRepository.existsByEmail(registerRequest.getEmail())).thenReturn(false);
         when(sellerMapper.fromRegisterRequest(registerRequest)).thenReturn(seller);
-        when(sellerRepository.save(seller)).thenReturn(savedSeller);
+        when(sellerRepository.saveAndFlush(seller)).thenReturn(savedSeller);
         when(sellerMapper.toDto(savedSeller)).thenReturn(sellerDto);
 
         // When
@@ -151,9 +160,8 @@ class SellerServiceTest {
         assertNotNull(result);
         assertEquals("John", result.getFirstName());
         
-        verify(sellerRepository).existsByEmail(registerRequest.getEmail());
         verify(sellerMapper).fromRegisterRequest(registerRequest);
-        verify(sellerRepository).save(seller);
+        verify(sellerRepository).saveAndFlush(seller);
         verify(sellerMapper).toDto(savedSeller);
     }
 
@@ -164,17 +172,39 @@ class SellerServiceTest {
                 .email("existing@example.com")
                 .build();
 
-        when(sellerRepository.existsByEmail(registerRequest.getEmail())).thenReturn(true);
+        Seller seller = createTestSeller(null, "John", "Doe");
+
+        when(sellerMapper.fromRegisterRequest(registerRequest)).thenReturn(seller);
+        when(sellerRepository.saveAndFlush(seller)).thenThrow(new DataIntegrityViolationException("ux_person_email"));
 
         // When & Then
         RuntimeException exception = assertThrows(RuntimeException.class, 
                 () -> sellerService.createSeller(registerRequest));
         assertEquals("Email already exists", exception.getMessage());
         
-        verify(sellerRepository).existsByEmail(registerRequest.getEmail());
+        verify(sellerMapper).fromRegisterRequest(registerRequest);
+        verify(sellerRepository).saveAndFlush(seller);
         verifyNoMoreInteractions(sellerRepository, sellerMapper);
     }
 
+    @Test
+    void createSeller_WhenAnotherConstraintFails_ShouldNotReportDuplicateEmail() {
+        // Given
+        RegisterRequestDto registerRequest = RegisterRequestDto.builder()
+                .email("new@example.com")
+                .build();
+
+        Seller seller = createTestSeller(null, "John", "Doe");
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("NULL not allowed for column \"email\"");
+
+        when(sellerMapper.fromRegisterRequest(registerRequest)).thenReturn(seller);
+        when(sellerRepository.saveAndFlush(seller)).thenThrow(violation);
+
+        // When & Then
+        assertSame(violation, assertThrows(DataIntegrityViolationException.class,
+                () -> sellerService.createSeller(registerRequest)));
+    }
+
     @Test
     void updateSeller_WhenSellerExists_ShouldUpdateSeller() {
         // Given
@@ -292,6 +322,7 @@ class SellerServiceTest {
         verify(productMapper).createProductStock(savedProduct, seller, productRequest.getInitialStock());
         verify(productStockRepository).save(productStock);
         verify(productMapper).toStockDto(savedProductStock);
+        assertEquals(List.of(1L), productSearchIndex.search("test produ"));
     }
 
     @Test
@@ -317,16 +348,20 @@ class SellerServiceTest {
     void getSellerProducts_ShouldReturnSellerProducts() {
         // Given
         Long sellerId = 1L;
-        ProductStock productStock1 = createTestProductStock(1L, createTestProduct(1L, "Product 1", 10.0), createTestSeller(sellerId, "John", "Doe"), 20);
-        ProductStock productStock2 = createTestProductStock(2L, createTestProduct(2L, "Product 2", 15.0), createTestSeller(sellerId, "John", "Doe"), 30);
-        List<ProductStock> productStocks = Arrays.asList(productStock1, productStock2);
+        ProductStockSummaryDto productStock1 = ProductStockSummaryDto.builder()
+                .productStockId(1L).productId(1L).productName("Product 1").productPrice(10.0).amount(20)
+                .sellerId(sellerId).sellerName("John Doe").build();
+        ProductStockSummaryDto productStock2 = ProductStockSummaryDto.builder()
+                .productStockId(2L).productId(2L).productName("Product 2").productPrice(15.0).amount(30)
+                .sellerId(sellerId).sellerName("John Doe").build();
+        List<ProductStockSummaryDto> productStocks = Arrays.asList(productStock1, productStock2);
         
         ProductStockDto productStockDto1 = createTestProductStockDto(1L, "Product 1", 10.0, 20);
         ProductStockDto productStockDto2 = createTestProductStockDto(2L, "Product 2", 15.0, 30);
         List<ProductStockDto> productStockDtos = Arrays.asList(productStockDto1, productStockDto2);
 
-        when(productStockRepository.findBySellerPersonId(sellerId)).thenReturn(productStocks);
-        when(productMapper.toStockDtoList(productStocks)).thenReturn(productStockDtos);
+        when(productStockRepository.findStockSummariesBySellerPersonId(sellerId)).thenReturn(productStocks);
+        when(productMapper.summariesToStockDtoList(productStocks)).thenReturn(productStockDtos);
 
         // When
         List<ProductStockDto> result = sellerService.getSellerProducts(sellerId);
@@ -337,8 +372,35 @@ class SellerServiceTest {
         assertTrue(result.stream().anyMatch(p -> p.getProduct() != null && "Product 1".equals(p.getProduct().getName())));
         assertTrue(result.stream().anyMatch(p -> p.getProduct() != null && "Product 2".equals(p.getProduct().getName())));
         
-        verify(productStockRepository).findBySellerPersonId(sellerId);
-        verify(productMapper).toStockDtoList(productStocks);
+        verify(productStockRepository).findStockSummariesBySellerPersonId(sellerId);
+        verify(productMapper).summariesToStockDtoList(productStocks);
+    }
+
+    @Test
+    void updateProductStock_ShouldInvalidateCachedSellerProducts() {
+        // Given
+        Long sellerId = 1L;
+        Long productStockId = 1L;
+        Seller seller = createTestSeller(sellerId, "John", "Doe");
+        ProductStock productStock = createTestProductStock(productStockId, createTestProduct(1L, "Product 1", 10.0), seller, 20);
+        ProductStockSummaryDto summary = ProductStockSummaryDto.builder()
+                .productStockId(productStockId).productId(1L).productName("Product 1").productPrice(10.0).amount(20)
+                .sellerId(sellerId).sellerName("John Doe").build();
+
+        when(productStockRepository.findStockSummariesBySellerPersonId(sellerId)).thenReturn(List.of(summary));
+        when(productMapper.summariesToStockDtoList(List.of(summary)))
+                .thenReturn(List.of(createTestProductStockDto(productStockId, "Product 1", 10.0, 20)));
+        when(productStockRepository.findById(productStockId)).thenReturn(Optional.of(productStock));
+        when(productStockRepository.save(productStock)).thenReturn(productStock);
+
+        // When
+        sellerService.getSellerProducts(sellerId);
+        sellerService.getSellerProducts(sellerId);
+        sellerService.updateProductStock(sellerId, productStockId, 5);
+        sellerService.getSellerProducts(sellerId);
+
+        // Then
+        verify(productStockRepository, times(2)).findStockSummariesBySellerPersonId(sellerId);
     }
 
     @Test
@@ -401,6 +463,7 @@ class SellerServiceTest {
         ProductStock productStock = createTestProductStock(productStockId, createTestProduct(1L, "Test Product", 10.0), seller, 50);
 
         when(productStockRepository.findById(productStockId)).thenReturn(Optional.of(productStock));
+        productSearchIndex.index(productStockId, "Test Product", null);
 
         // When
         boolean result = sellerService.removeProduct(sellerId, productStockId);
@@ -409,6 +472,7 @@ class SellerServiceTest {
         assertTrue(result);
         verify(productStockRepository).findById(productStockId);
         verify(productStockRepository).delete(productStock);
+        assertTrue(productSearchIndex.search("test").isEmpty());
     }
 
     @Test
@@ -0,0 +1,34 @@
+package com.dietergandalf.store_manager.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ETagsTest {
+
+    @Test
+    void of_ShouldBeStableForEqualContentAndDifferForOtherContent() {
+        // When
+        String tag = ETags.of(new Object[] {1L, "Kettle", 30.0}, new Object[] {2L, null});
+
+        // Then
+        assertEquals(tag, ETags.of(new Object[] {1L, "Kettle", 30.0}, new Object[] {2L, null}));
+        assertNotEquals(tag, ETags.of(new Object[] {1L, "Kettle", 32.0}, new Object[] {2L, null}));
+        assertTrue(tag.startsWith("W/\"") && tag.endsWith("\""));
+    }
+
+    @Test
+    void matches_ShouldAcceptListsWildcardAndStrongForms() {
+        // Given
+        String tag = ETags.of("cart", 1);
+
+        // Then
+        assertTrue(ETags.matches(tag, tag));
+        assertTrue(ETags.matches("\"other\", " + tag, tag));
+        assertTrue(ETags.matches(tag.substring(2), tag));
+        assertTrue(ETags.matches("*", tag));
+        assertFalse(ETags.matches("\"other\"", tag));
+        assertFalse(ETags.matches(null, tag));
+        assertFalse(ETags.matches("*", null));
+    }
+}
@@ -0,0 +1,97 @@
+package com.dietergandalf.store_manager.util;
+
+import com.dietergandalf.store_manager.dto.OrderDto;
+import com.dietergandalf.store_manager.dto.OrderExportFormat;
+import com.dietergandalf.store_manager.dto.OrderExportRowDto;
+import com.dietergandalf.store_manager.model.OrderStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderExportWriterTest {
+
+    private static final LocalDateTime ORDER_DATE = LocalDateTime.of(2024, 3, 1, 9, 30);
+
+    private ObjectMapper objectMapper;
+    private OrderExportWriter orderExportWriter;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        orderExportWriter = new OrderExportWriter(objectMapper);
+    }
+
+    @Test
+    void write_AsNdjson_ShouldWriteOneOrderWithItsItemsPerLine() throws Exception {
+        // Given
+        List<OrderExportRowDto> rows = List.of(
+                row(1L, 10L, "Lamp", 2, 10.0),
+                row(1L, 11L, "Bulb", 1, 5.0),
+                row(2L, null, null, null, null));
+        StringWriter out = new StringWriter();
+
+        // When
+        orderExportWriter.write(rows.iterator(), OrderExportFormat.NDJSON, out);
+
+        // Then
+        String[] lines = out.toString().split("\n");
+        assertEquals(2, lines.length);
+        OrderDto first = objectMapper.readValue(lines[0], OrderDto.class);
+        assertEquals(1L, first.getOrderId());
+        assertEquals(ORDER_DATE, first.getOrderDate());
+        assertEquals(2, first.getOrderItems().size());
+        assertEquals(20.0, first.getOrderItems().get(0).getTotalPrice());
+        assertEquals("Bulb", first.getOrderItems().get(1).getProductName());
+        OrderDto second = objectMapper.readValue(lines[1], OrderDto.class);
+        assertEquals(2L, second.getOrderId());
+        assertTrue(second.getOrderItems().isEmpty());
+    }
+
+    @Test
+    void write_AsCsv_ShouldQuoteTextAndNeutralizeFormulas() throws Exception {
+        // Given
+        OrderExportRowDto row = row(1L, 10L, "=HYPERLINK(\"http://evil\")", 2, 10.0);
+        row.setShippingAddress("1 Main St, Springfield");
+        row.setOrderNotes("-2 days late");
+        StringWriter out = new StringWriter();
+
+        // When
+        orderExportWriter.write(List.of(row).iterator(), OrderExportFormat.CSV, out);
+
+        // Then
+        String[] lines = out.toString().split("\r\n");
+        assertEquals(2, lines.length);
+        assertEquals(String.join(",", OrderExportWriter.CSV_HEADER), lines[0]);
+        assertEquals("1,2024-03-01T09:30,CONFIRMED,7,Ada Byron,25.0,\"1 Main St, Springfield\",,CREDIT_CARD,CONFIRMED,"
+                + "'-2 days late,10,3,\"'=HYPERLINK(\"\"http://evil\"\")\",,2,10.0", lines[1]);
+    }
+
+    private static OrderExportRowDto row(Long orderId, Long orderItemId, String productName, Integer quantity, Double price) {
+        return OrderExportRowDto.builder()
+                .orderId(orderId)
+                .orderDate(ORDER_DATE)
+                .status(OrderStatus.CONFIRMED)
+                .customerId(7L)
+                .customerName("Ada Byron")
+                .totalAmount(25.0)
+                .paymentMethod("CREDIT_CARD")
+                .paymentStatus("CONFIRMED")
+                .orderItemId(orderItemId)
+                .productStockId(orderItemId != null ? 3L : null)
+                .productName(productName)
+                .quantity(quantity)
+                .priceAtTimeOfOrder(price)
+                .build();
+    }
+}
@@ -0,0 +1,196 @@
+package com.dietergandalf.store_manager.util;
+
+import com.dietergandalf.store_manager.dto.ProductImportFormat;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductImportReaderTest {
+
+    private ProductImportReader productImportReader;
+
+    @BeforeEach
+    void setUp() {
+        productImportReader = new ProductImportReader(JsonMapper.builder().build());
+    }
+
+    @Test
+    void read_Csv_ShouldMapColumnsByHeaderInAnyOrder() throws Exception {
+        // Given
+        String csv = "\uFEFFPrice,name,initialStock,description\r\n"
+                + "12.5,Lamp,3,Desk lamp\r\n"
+                + "4,Bulb,,\r\n";
+
+        // When
+        List<ProductImportReader.Row> rows = read(ProductImportFormat.CSV, csv);
+
+        // Then
+        assertEquals(2, rows.size());
+        assertTrue(rows.get(0).isValid());
+        assertEquals(2, rows.get(0).line());
+        assertEquals("Lamp", rows.get(0).product().getName());
+        assertEquals("Desk lamp", rows.get(0).product().getDescription());
+        assertEquals(12.5, rows.get(0).product().getPrice());
+        assertEquals(3, rows.get(0).product().getInitialStock());
+        assertNull(rows.get(1).product().getInitialStock());
+        assertNull(rows.get(1).product().getDescription());
+    }
+
+    @Test
+    void read_CsvWithQuotedFields_ShouldKeepCommasQuotesAndLineBreaks() throws Exception {
+        // Given
+        String csv = "name,description,price\n"
+                + "\"Lamp, large\",\"Says \"\"hi\"\"\nover two lines\",10\n"
+                + "Bulb,plain,2\n";
+
+        // When
+        List<ProductImportReader.Row> rows = read(ProductImportFormat.CSV, csv);
+
+        // Then
+        assertEquals("Lamp, large", rows.get(0).product().getName());
+        assertEquals("Says \"hi\"\nover two lines", rows.get(0).product().getDescription());
+        assertEquals(2, rows.get(0).line());
+        assertEquals(4, rows.get(1).line());
+    }
+
+    @Test
+    void read_CsvWithInvalidRows_ShouldRejectThemByLine() throws Exception {
+        // Given
+        String csv = "name,price,initialStock\n"
+                + ",1,1\n"
+                + "Lamp,cheap,1\n"
+                + "Lamp,-1,1\n"
+                + "Lamp,1,-5\n"
+                + "Lamp,1\n"
+                + "\n"
+                + "Lamp,1,1\n";
+
+        // When
+        List<ProductImportReader.Row> rows = read(ProductImportFormat.CSV, csv);
+
+        // Then
+        assertEquals(6, rows.size());
+        assertEquals("name is required", rows.get(0).error());
+        assertEquals("price is not a number", rows.get(1).error());
+        assertEquals("price must be a number of at least 0", rows.get(2).error());
+        assertEquals("initialStock must not be negative", rows.get(3).error());
+        assertEquals("Expected 3 columns but found 2", rows.get(4).error());
+        assertEquals(6, rows.get(4).line());
+        assertTrue(rows.get(5).isValid());
+        assertEquals(8, rows.get(5).line());
+    }
+
+    @Test
+    void read_CsvWithUnterminatedQuote_ShouldStopAtThatRow() throws Exception {
+        // Given
+        String csv = "name,price\n"
+                + "Lamp,1\n"
+                + "\"Bulb,2\n"
+                + "Vase,3\n";
+
+        // When
+        List<ProductImportReader.Row> rows = read(ProductImportFormat.CSV, csv);
+
+        // Then
+        assertEquals(2, rows.size());
+        assertTrue(rows.get(0).isValid());
+        assertEquals("Unterminated quoted field", rows.get(1).error());
+        assertEquals(3, rows.get(1).line());
+    }
+
+    @Test
+    void read_CsvWithUnknownColumn_ShouldRejectHeader() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class,
+                () -> read(ProductImportFormat.CSV, "name,price,colour\nLamp,1,red\n"));
+        assertThrows(IllegalArgumentException.class,
+                () -> read(ProductImportFormat.CSV, "name,description\nLamp,Desk lamp\n"));
+    }
+
+    @Test
+    void read_Ndjson_ShouldReadOneProductPerLine() throws Exception {
+        // Given
+        String ndjson = "{\"name\":\"Lamp\",\"price\":12.5,\"initialStock\":3}\n"
+                + "\n"
+                + "{\"name\":\"Bulb\"\n"
+                + "{\"name\":\"Vase\",\"price\":-2}\n";
+
+        // When
+        List<ProductImportReader.Row> rows = read(ProductImportFormat.NDJSON, ndjson);
+
+        // Then
+        assertEquals(3, rows.size());
+        assertTrue(rows.get(0).isValid());
+        assertEquals(12.5, rows.get(0).product().getPrice());
+        assertTrue(rows.get(1).error().startsWith("Malformed JSON"));
+        assertEquals(3, rows.get(1).line());
+        assertEquals("price must be a number of at least 0", rows.get(2).error());
+    }
+
+    @Test
+    void read_WhenTheBodyBreaksOff_ShouldEndWithARowForWhereReadingStopped() throws Exception {
+        // Given: a body that fails after its first product line, like an aborted upload
+        Reader body = new SequenceReader(new StringReader("name,price\nLamp,1\nVa"), new Reader() {
+            @Override
+            public int read(char[] buffer, int offset, int length) throws IOException {
+                throw new IOException("Connection reset");
+            }
+
+            @Override
+            public void close() {
+            }
+        });
+
+        // When
+        List<ProductImportReader.Row> rows = new ArrayList<>();
+        productImportReader.read(ProductImportFormat.CSV, body).forEachRemaining(rows::add);
+
+        // Then
+        assertEquals(2, rows.size());
+        assertTrue(rows.get(0).isValid());
+        assertEquals("Could not read the request body: Connection reset", rows.get(1).error());
+        assertEquals(3, rows.get(1).line());
+    }
+
+    private List<ProductImportReader.Row> read(ProductImportFormat format, String body) throws Exception {
+        List<ProductImportReader.Row> rows = new ArrayList<>();
+        productImportReader.read(format, new StringReader(body)).forEachRemaining(rows::add);
+        return rows;
+    }
+
+    /** Reads {@code first} to its end, then {@code second}. */
+    private static final class SequenceReader extends Reader {
+        private final Reader first;
+        private final Reader second;
+        private boolean firstDone;
+
+        private SequenceReader(Reader first, Reader second) {
+            this.first = first;
+            this.second = second;
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) throws IOException {
+            if (!firstDone) {
+                int read = first.read(buffer, offset, length);
+                if (read != -1) {
+                    return read;
+                }
+                firstDone = true;
+            }
+            return second.read(buffer, offset, length);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,140 @@
+-- Schema and a few rows as ddl-auto=update left them before the Flyway migrations existed: IDENTITY ids, no
+-- entity sequences, no version or cart total columns, no outbox_event table, and registration that let the
+-- same email in twice.
+
+CREATE TABLE person (
+    person_id     BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    city          VARCHAR(255),
+    country       VARCHAR(255),
+    postal_code   VARCHAR(255),
+    province      VARCHAR(255),
+    street        VARCHAR(255),
+    date_of_birth VARCHAR(255),
+    email         VARCHAR(255),
+    first_name    VARCHAR(255),
+    last_name     VARCHAR(255),
+    password      VARCHAR(255),
+    phone_number  VARCHAR(255),
+    PRIMARY KEY (person_id)
+);
+
+CREATE TABLE shopping_cart (
+    cart_id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    PRIMARY KEY (cart_id)
+);
+
+CREATE TABLE customer (
+    person_id        BIGINT NOT NULL,
+    shopping_cart_id BIGINT UNIQUE,
+    PRIMARY KEY (person_id),
+    FOREIGN KEY (shopping_cart_id) REFERENCES shopping_cart (cart_id),
+    FOREIGN KEY (person_id) REFERENCES person (person_id)
+);
+
+CREATE TABLE seller (
+    person_id BIGINT NOT NULL,
+    PRIMARY KEY (person_id),
+    FOREIGN KEY (person_id) REFERENCES person (person_id)
+);
+
+CREATE TABLE owner (
+    person_id BIGINT NOT NULL,
+    PRIMARY KEY (person_id),
+    FOREIGN KEY (person_id) REFERENCES person (person_id)
+);
+
+CREATE TABLE product (
+    product_id  BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    description VARCHAR(255),
+    name        VARCHAR(255),
+    price       FLOAT(53) NOT NULL,
+    PRIMARY KEY (product_id)
+);
+
+CREATE TABLE product_stock (
+    product_stock_id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    amount           INTEGER NOT NULL,
+    product_id       BIGINT,
+    seller_id        BIGINT,
+    PRIMARY KEY (product_stock_id),
+    FOREIGN KEY (seller_id) REFERENCES seller (person_id),
+    FOREIGN KEY (product_id) REFERENCES product (product_id)
+);
+
+CREATE TABLE cart_item (
+    cart_item_id         BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    price_at_time_of_add FLOAT(53),
+    quantity             INTEGER,
+    cart_id              BIGINT,
+    product_stock_id     BIGINT,
+    PRIMARY KEY (cart_item_id),
+    FOREIGN KEY (cart_id) REFERENCES shopping_cart (cart_id),
+    FOREIGN KEY (product_stock_id) REFERENCES product_stock (product_stock_id)
+);
+
+CREATE TABLE customer_order (
+    order_id         BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    billing_address  VARCHAR(255),
+    order_date       TIMESTAMP(6),
+    order_notes      VARCHAR(255),
+    payment_method   VARCHAR(255),
+    payment_status   VARCHAR(255),
+    shipping_address VARCHAR(255),
+    status           VARCHAR(255) CHECK (status IN ('PENDING', 'CONFIRMED', 'PROCESSING', 'SHIPPED', 'DELIVERED', 'CANCELLED', 'REFUNDED')),
+    total_amount     FLOAT(53),
+    customer_id      BIGINT,
+    PRIMARY KEY (order_id),
+    FOREIGN KEY (customer_id) REFERENCES customer (person_id)
+);
+
+CREATE TABLE order_item (
+    order_item_id          BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    price_at_time_of_order FLOAT(53),
+    quantity               INTEGER,
+    order_id               BIGINT,
+    product_stock_id       BIGINT,
+    PRIMARY KEY (order_item_id),
+    FOREIGN KEY (product_stock_id) REFERENCES product_stock (product_stock_id),
+    FOREIGN KEY (order_id) REFERENCES customer_order (order_id)
+);
+
+CREATE TABLE stand (
+    stand_id  BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    price     FLOAT(53) NOT NULL,
+    size      FLOAT(53) NOT NULL,
+    owner_id  BIGINT,
+    seller_id BIGINT,
+    PRIMARY KEY (stand_id),
+    FOREIGN KEY (owner_id) REFERENCES owner (person_id),
+    FOREIGN KEY (seller_id) REFERENCES seller (person_id)
+);
+
+CREATE TABLE credit_card_payment (
+    credit_card_id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    card_number    VARCHAR(255),
+    expiry_date    VARCHAR(255),
+    customer_id    BIGINT,
+    PRIMARY KEY (credit_card_id),
+    FOREIGN KEY (customer_id) REFERENCES customer (person_id)
+);
+
+CREATE TABLE pay_pal_payment (
+    paypal_id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    email     VARCHAR(255),
+    PRIMARY KEY (paypal_id)
+);
+
+INSERT INTO person (first_name, last_name, email, password)
+VALUES ('Early', 'Customer', 'shared@example.com', 'hash'),
+       ('Late', 'Customer', 'shared@example.com', 'hash'),
+       ('Only', 'Seller', 'seller@example.com', 'hash');
+INSERT INTO shopping_cart DEFAULT VALUES;
+INSERT INTO shopping_cart DEFAULT VALUES;
+INSERT INTO customer (person_id, shopping_cart_id) VALUES (1, 1), (2, 2);
+INSERT INTO seller (person_id) VALUES (3);
+INSERT INTO product (name, description, price) VALUES ('Legacy Lamp', 'Sold before the migrations', 20.0);
+INSERT INTO product_stock (amount, product_id, seller_id) VALUES (5, 1, 3);
+INSERT INTO cart_item (price_at_time_of_add, quantity, cart_id, product_stock_id) VALUES (20.0, 2, 1, 1);
+INSERT INTO customer_order (order_date, status, total_amount, customer_id)
+VALUES ('2025-01-01 12:00:00', 'DELIVERED', 20.0, 2);
+INSERT INTO order_item (price_at_time_of_order, quantity, order_id, product_stock_id) VALUES (20.0, 1, 1, 1);
@@ -1,6 +1,7 @@
 import axios from 'axios';
 
 const API_BASE_URL = process.env.REACT_APP_API_BASE_URL || 'http://localhost:9080';
+const MAX_IDEMPOTENT_RETRIES = 2;
 
 // Create axios instance with base configuration
 const apiClient = axios.create({
@@ -31,6 +32,13 @@ apiClient.interceptors.response.use(
   },
   (error) => {
     console.error('API Response Error:', error.response?.status, error.message);
+    // A request that never got a response may still have reached the server; only retry it when the
+    // Idempotency-Key lets the server answer a repeat with the original result
+    const config = error.config;
+    if (!error.response && config?.headers?.['Idempotency-Key'] && (config.retryCount || 0) < MAX_IDEMPOTENT_RETRIES) {
+      config.retryCount = (config.retryCount || 0) + 1;
+      return new Promise((resolve) => setTimeout(resolve, 500 * config.retryCount)).then(() => apiClient(config));
+    }
     return Promise.reject(error);
   }
 );
@@ -1,13 +1,30 @@
 import apiClient from './apiClient';
 
+// One key per user action, so a retried request is recognised by the server instead of applied twice
+const idempotent = () => ({ headers: { 'Idempotency-Key': crypto.randomUUID() } });
+
 // Product API calls
 export const productApi = {
-  // Get all available products
-  getAllProducts: async () => {
-    const response = await apiClient.get('/api/customers/products');
+  // Get one page of available products ({ items, nextCursor, hasMore })
+  getProductPage: async ({ cursor, size, sort, sellerId, minPrice, maxPrice, name } = {}) => {
+    const response = await apiClient.get('/api/customers/products', {
+      params: { cursor, size, sort, sellerId, minPrice, maxPrice, name },
+    });
     return response.data;
   },
 
+  // Get all available products by following the catalog cursor
+  getAllProducts: async () => {
+    const products = [];
+    let cursor;
+    do {
+      const page = await productApi.getProductPage({ cursor, size: 100 });
+      products.push(...page.items);
+      cursor = page.hasMore ? page.nextCursor : undefined;
+    } while (cursor);
+    return products;
+  },
+
   // Get product by ID (if needed in the future)
   getProductById: async (productId) => {
     const response = await apiClient.get(`/api/products/${productId}`);
@@ -49,7 +66,7 @@ export const customerApi = {
 
   // Add product to cart
   addToCart: async (customerId, cartData) => {
-    const response = await apiClient.post(`/api/customers/${customerId}/cart`, cartData);
+    const response = await apiClient.post(`/api/customers/${customerId}/cart`, cartData, idempotent());
     return response.data;
   },
 
@@ -73,19 +90,21 @@ export const customerApi = {
 
   // Update cart item quantity
   updateCartItemQuantity: async (customerId, cartItemId, quantity) => {
-    const response = await apiClient.put(`/api/customers/${customerId}/cart/items/${cartItemId}?quantity=${quantity}`);
+    const response = await apiClient.put(`/api/customers/${customerId}/cart/items/${cartItemId}?quantity=${quantity}`, null, idempotent());
     return response.data;
   },
 
   // Checkout and create order
   checkout: async (customerId, checkoutData) => {
-    const response = await apiClient.post(`/api/customers/${customerId}/checkout`, checkoutData);
+    const response = await apiClient.post(`/api/customers/${customerId}/checkout`, checkoutData, idempotent());
     return response.data;
   },
 
-  // Get customer orders
-  getOrders: async (customerId) => {
-    const response = await apiClient.get(`/api/customers/${customerId}/orders`);
+  // Get one page of customer orders, newest first ({ items, nextCursor, hasMore })
+  getOrderPage: async (customerId, { cursor, size } = {}) => {
+    const response = await apiClient.get(`/api/customers/${customerId}/orders`, {
+      params: { cursor, size },
+    });
     return response.data;
   },
 };
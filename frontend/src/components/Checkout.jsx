@@ -1,5 +1,5 @@
 import React, { useState, useEffect, useCallback } from 'react';
-import { customerApi } from '../api/storeApi';
+import { customerApi, orderApi } from '../api/storeApi';
 import OrderConfirmation from './OrderConfirmation';
 import '../styles/Checkout.css';
 
@@ -87,6 +87,21 @@ const Checkout = ({ customerId, onOrderSuccess, onCancel }) => {
     }
   };
 
+  // Payment runs after checkout returns; poll until the order leaves PENDING
+  useEffect(() => {
+    if (!completedOrder || completedOrder.status !== 'PENDING') {
+      return undefined;
+    }
+    const timer = setTimeout(async () => {
+      try {
+        setCompletedOrder(await orderApi.getOrderById(completedOrder.orderId));
+      } catch (error) {
+        console.error('Error refreshing order status:', error);
+      }
+    }, 1000);
+    return () => clearTimeout(timer);
+  }, [completedOrder]);
+
   const handleContinueShopping = () => {
     if (onOrderSuccess) {
       onOrderSuccess(completedOrder);
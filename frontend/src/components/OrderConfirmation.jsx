@@ -32,7 +32,11 @@ const OrderConfirmation = ({ order, onContinueShopping, onViewOrders }) => {
         
         <h1>Order Placed Successfully!</h1>
         <p className="success-message">
-          Thank you for your order. We've received your payment and will begin processing your items shortly.
+          {order.paymentStatus === 'FAILED'
+            ? 'Your payment was declined and the order has been cancelled. No items were charged.'
+            : order.paymentStatus === 'CONFIRMED'
+              ? "Thank you for your order. We've received your payment and will begin processing your items shortly."
+              : 'Thank you for your order. We are confirming your payment, this usually takes a few seconds.'}
         </p>
 
         <div className="order-details">
@@ -54,7 +58,7 @@ const OrderConfirmation = ({ order, onContinueShopping, onViewOrders }) => {
           </div>
           <div className="detail-row">
             <span className="label">Payment Status:</span>
-            <span className="value status-confirmed">{order.paymentStatus}</span>
+            <span className={`value status-${order.paymentStatus?.toLowerCase()}`}>{order.paymentStatus}</span>
           </div>
           <div className="detail-row">
             <span className="label">Order Status:</span>
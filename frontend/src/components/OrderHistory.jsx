@@ -4,14 +4,18 @@ import '../styles/OrderHistory.css';
 
 const OrderHistory = ({ customerId }) => {
   const [orders, setOrders] = useState([]);
+  const [nextCursor, setNextCursor] = useState(null);
   const [loading, setLoading] = useState(true);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [error, setError] = useState('');
 
   const loadOrders = useCallback(async () => {
     try {
       setLoading(true);
-      const ordersData = await customerApi.getOrders(customerId);
-      setOrders(ordersData);
+      setError('');
+      const page = await customerApi.getOrderPage(customerId);
+      setOrders(page.items);
+      setNextCursor(page.hasMore ? page.nextCursor : null);
     } catch (error) {
       console.error('Error loading orders:', error);
       setError('Failed to load order history. Please try again.');
@@ -20,6 +24,20 @@ const OrderHistory = ({ customerId }) => {
     }
   }, [customerId]);
 
+  const loadMoreOrders = async () => {
+    try {
+      setLoadingMore(true);
+      const page = await customerApi.getOrderPage(customerId, { cursor: nextCursor });
+      setOrders((currentOrders) => [...currentOrders, ...page.items]);
+      setNextCursor(page.hasMore ? page.nextCursor : null);
+    } catch (error) {
+      console.error('Error loading more orders:', error);
+      setError('Failed to load order history. Please try again.');
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   useEffect(() => {
     loadOrders();
   }, [loadOrders]);
@@ -155,6 +173,14 @@ const OrderHistory = ({ customerId }) => {
           </div>
         ))}
       </div>
+
+      {nextCursor && (
+        <div className="load-more-orders">
+          <button onClick={loadMoreOrders} className="btn btn-primary" disabled={loadingMore}>
+            {loadingMore ? 'Loading...' : 'Load More Orders'}
+          </button>
+        </div>
+      )}
     </div>
   );
 };
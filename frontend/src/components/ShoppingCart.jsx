@@ -3,6 +3,29 @@ import { customerApi, productApi } from '../api/storeApi';
 import Checkout from './Checkout';
 import '../styles/ShoppingCart.css';
 
+// Cart mutations return only the changed item plus the new totals; patch them into the loaded cart
+const applyCartUpdate = (currentCart, update) => {
+  const items = (currentCart?.cartItems || []).filter(
+    (item) => item.cartItemId !== update.removedCartItemId
+  );
+  if (update.cartItem) {
+    const index = items.findIndex((item) => item.cartItemId === update.cartItem.cartItemId);
+    if (index >= 0) {
+      items[index] = update.cartItem;
+    } else {
+      items.push(update.cartItem);
+    }
+  }
+  return {
+    ...currentCart,
+    cartId: update.cartId,
+    customerId: update.customerId,
+    cartItems: items,
+    totalAmount: update.totalAmount,
+    totalItems: update.totalItems
+  };
+};
+
 const ShoppingCart = ({ customerId }) => {
   const [cart, setCart] = useState(null);
   const [products, setProducts] = useState([]);
@@ -46,11 +69,11 @@ const ShoppingCart = ({ customerId }) => {
 
   const addToCart = async (productStockId, quantity = 1) => {
     try {
-      const cartData = await customerApi.addToCart(customerId, {
+      const cartUpdate = await customerApi.addToCart(customerId, {
         productStockId,
         quantity
       });
-      setCart(cartData);
+      setCart((currentCart) => applyCartUpdate(currentCart, cartUpdate));
       setError(null);
       alert('Product added to cart!');
     } catch (err) {
@@ -61,8 +84,8 @@ const ShoppingCart = ({ customerId }) => {
 
   const removeFromCart = async (cartItemId) => {
     try {
-      const cartData = await customerApi.removeFromCart(customerId, cartItemId);
-      setCart(cartData);
+      const cartUpdate = await customerApi.removeFromCart(customerId, cartItemId);
+      setCart((currentCart) => applyCartUpdate(currentCart, cartUpdate));
       setError(null);
     } catch (err) {
       setError('Failed to remove item from cart');
@@ -77,8 +100,8 @@ const ShoppingCart = ({ customerId }) => {
     }
 
     try {
-      const cartData = await customerApi.updateCartItemQuantity(customerId, cartItemId, newQuantity);
-      setCart(cartData);
+      const cartUpdate = await customerApi.updateCartItemQuantity(customerId, cartItemId, newQuantity);
+      setCart((currentCart) => applyCartUpdate(currentCart, cartUpdate));
       setError(null);
     } catch (err) {
       setError('Failed to update quantity');